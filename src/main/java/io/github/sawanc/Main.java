@@ -1,14 +1,13 @@
 package io.github.sawanc;
 
 import io.github.sawanc.assignment1.*;
-import io.github.sawanc.assignment2.CSVReader;
 import io.github.sawanc.assignment2.SalesAnalysisService;
+import io.github.sawanc.assignment2.SalesDataCache;
 import io.github.sawanc.assignment2.SalesRecord;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 
 /**
@@ -51,7 +50,8 @@ public class Main {
             // Create containers and shared queue
             SourceContainer source = new SourceContainer(sourceData);
             DestinationContainer destination = new DestinationContainer();
-            BlockingQueue<Integer> sharedQueue = new ArrayBlockingQueue<>(10);
+            LatencyTracker latencyTracker = new LatencyTracker();
+            BlockingQueue<Integer> sharedQueue = new TracedQueue(10, latencyTracker);
 
             System.out.println("Configuration:");
             System.out.println("  - Source items: " + source.size());
@@ -62,8 +62,8 @@ public class Main {
             // Create producers and consumers
             Producer producer1 = new Producer(source, sharedQueue, false, 100);
             Producer producer2 = new Producer(source, sharedQueue, false, 150);
-            Consumer consumer1 = new Consumer(destination, sharedQueue, 5000, 120);
-            Consumer consumer2 = new Consumer(destination, sharedQueue, 5000, 180);
+            Consumer consumer1 = new Consumer(destination, sharedQueue, 5000, 120, latencyTracker);
+            Consumer consumer2 = new Consumer(destination, sharedQueue, 5000, 180, latencyTracker);
 
             // Start threads
             Thread p1 = new Thread(producer1, "Producer-1");
@@ -103,6 +103,10 @@ public class Main {
             
             System.out.println("\nItems in destination (first 10): " + 
                     destination.getAllItems().stream().limit(10).toList());
+
+            System.out.println("\nLatency (microseconds):");
+            printLatency("Queue sojourn", latencyTracker.getSojournHistogram());
+            printLatency("Total transit", latencyTracker.getTransitHistogram());
             
             if (destination.size() == source.size()) {
                 System.out.println("\n✓ SUCCESS: All items transferred correctly!");
@@ -117,6 +121,12 @@ public class Main {
         }
     }
 
+    private static void printLatency(String label, LatencyHistogram histogram) {
+        System.out.printf("  %-14s: p50=%d, p95=%d, p99=%d, max=%d%n", label,
+                histogram.getValueAtPercentile(50) / 1000, histogram.getValueAtPercentile(95) / 1000,
+                histogram.getValueAtPercentile(99) / 1000, histogram.getMax() / 1000);
+    }
+
     /**
      * Demonstrates Assignment 2: CSV Data Analysis with Functional Programming.
      * Reads sales data from CSV and performs various analytical operations.
@@ -126,17 +136,17 @@ public class Main {
         System.out.println("=====================================\n");
 
         try {
-            // Read sales data from CSV file
+            // Read sales data from CSV file through a cache keyed by file identity
             String csvPath = "data/sales.csv";
+            SalesAnalysisService service = new SalesAnalysisService();
+            SalesDataCache cache = new SalesDataCache(64L * 1024 * 1024, service);
             System.out.println("Reading sales data from: " + csvPath);
-            List<SalesRecord> records = CSVReader.readSalesData(csvPath);
+            List<SalesRecord> records = cache.getSalesData(csvPath);
             System.out.println("Successfully loaded " + records.size() + " sales records.\n");
 
-            // Create analysis service
-            SalesAnalysisService service = new SalesAnalysisService();
-
-            // Print comprehensive summary
-            service.printSummary(records);
+            // Print comprehensive summary, computed on the cached records
+            service.printSummary(cache.getSummary(csvPath, SalesAnalysisService.HIGH_VALUE_THRESHOLD));
+            System.out.println("\nCache: " + cache);
 
         } catch (IOException e) {
             System.err.println("Error reading CSV file: " + e.getMessage());
@@ -13,6 +13,7 @@ public class Consumer implements Runnable {
     private final BlockingQueue<Integer> sharedQueue;
     private final long timeoutMs;
     private final long delayMs;
+    private final LatencyTracker latencyTracker;
     private volatile boolean stopped = false;
     private volatile int itemsConsumed = 0;
 
@@ -36,6 +37,21 @@ public class Consumer implements Runnable {
      */
     public Consumer(DestinationContainer destination, BlockingQueue<Integer> sharedQueue, 
                     long timeoutMs, long delayMs) {
+        this(destination, sharedQueue, timeoutMs, delayMs, null);
+    }
+
+    /**
+     * Constructs a Consumer that reports each item's dequeue and commit for latency tracing.
+     * Only items taken from a {@link TracedQueue} carry the produce stamp the tracker needs.
+     * 
+     * @param destination the destination container
+     * @param sharedQueue the shared blocking queue
+     * @param timeoutMs timeout in milliseconds (0 = infinite wait)
+     * @param delayMs delay between consuming items in milliseconds
+     * @param latencyTracker tracker receiving dequeue/commit timestamps (null = tracing disabled)
+     */
+    public Consumer(DestinationContainer destination, BlockingQueue<Integer> sharedQueue, 
+                    long timeoutMs, long delayMs, LatencyTracker latencyTracker) {
         if (destination == null || sharedQueue == null) {
             throw new IllegalArgumentException("Destination and sharedQueue cannot be null");
         }
@@ -43,6 +59,7 @@ public class Consumer implements Runnable {
         this.sharedQueue = sharedQueue;
         this.timeoutMs = timeoutMs;
         this.delayMs = delayMs;
+        this.latencyTracker = latencyTracker;
     }
 
     /**
@@ -83,8 +100,15 @@ public class Consumer implements Runnable {
                     continue;
                 }
                 
+                if (latencyTracker != null) {
+                    latencyTracker.recordDequeued();
+                }
+                
                 // Store item in destination container
                 destination.add(item);
+                if (latencyTracker != null) {
+                    latencyTracker.recordCommitted();
+                }
                 itemsConsumed++;
                 
                 System.out.println("[Consumer-" + Thread.currentThread().threadId() + "] Consumed: " + item 
@@ -1,45 +1,262 @@
 package io.github.sawanc.assignment1;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * Thread-safe destination container that stores items consumed from the shared queue.
- * 
+ * <p>
+ * By default the container is unbounded. In bounded mode it keeps at most {@code memoryBudget}
+ * items on the heap; once the budget is reached the in-memory buffer is spilled to a temporary
+ * segment file and cleared. Iteration reads the spilled segments followed by the in-memory
+ * buffer, so items are always returned in the order they were added. Segments are deleted by
+ * {@link #clear()} or {@link #close()}.
+ *
  * @author sawan chakraborty
  */
-public class DestinationContainer {
+public class DestinationContainer implements Iterable<Integer>, AutoCloseable {
     private final List<Integer> items;
+    private final int memoryBudget;
+    private final Path spillDirectory;
+    private final List<Path> spillSegments;
+    private long spilledCount;
 
     public DestinationContainer() {
         this.items = new ArrayList<>();
+        this.memoryBudget = Integer.MAX_VALUE;
+        this.spillDirectory = null;
+        this.spillSegments = new ArrayList<>();
+    }
+
+    /**
+     * Constructs a bounded container that spills to the system temporary directory.
+     *
+     * @param memoryBudget maximum number of items kept in memory
+     */
+    public DestinationContainer(int memoryBudget) {
+        this(memoryBudget, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Constructs a bounded container that spills to the given directory.
+     *
+     * @param memoryBudget maximum number of items kept in memory
+     * @param spillDirectory directory in which spill segments are created
+     */
+    public DestinationContainer(int memoryBudget, Path spillDirectory) {
+        if (memoryBudget <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive, but was " + memoryBudget);
+        }
+        if (spillDirectory == null) {
+            throw new IllegalArgumentException("Spill directory cannot be null");
+        }
+        this.items = new ArrayList<>(Math.min(memoryBudget, 1024));
+        this.memoryBudget = memoryBudget;
+        this.spillDirectory = spillDirectory;
+        this.spillSegments = new ArrayList<>();
     }
 
     // All methods are synchronized to ensure thread safety
     public synchronized void add(Integer item) {
+        if (isBounded() && item == null) {
+            throw new IllegalArgumentException("Bounded container cannot store null items");
+        }
         items.add(item);
+        if (items.size() >= memoryBudget) {
+            spill();
+        }
     }
 
     public synchronized int size() {
-        return items.size();
+        return (int) Math.min(Integer.MAX_VALUE, spilledCount + items.size());
     }
 
-    // Returns immutable copy to prevent external modification
+    // Returns immutable copy to prevent external modification; reads spilled segments back into memory
     public synchronized List<Integer> getAllItems() {
-        return Collections.unmodifiableList(new ArrayList<>(items));
+        List<Integer> copy = new ArrayList<>(size());
+        try (SegmentIterator it = iterator()) {
+            while (it.hasNext()) {
+                copy.add(it.next());
+            }
+        }
+        return Collections.unmodifiableList(copy);
     }
 
     public synchronized boolean isEmpty() {
-        return items.isEmpty();
+        return spilledCount == 0 && items.isEmpty();
     }
 
     public synchronized void clear() {
         items.clear();
+        for (Path segment : spillSegments) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                System.err.println("[DestinationContainer] Could not delete spill segment " + segment + ": " + e.getMessage());
+            }
+        }
+        spillSegments.clear();
+        spilledCount = 0;
+    }
+
+    /**
+     * Releases the container's spill segments; equivalent to {@link #clear()}.
+     */
+    @Override
+    public synchronized void close() {
+        clear();
+    }
+
+    public boolean isBounded() {
+        return spillDirectory != null;
+    }
+
+    public synchronized int getInMemoryCount() {
+        return items.size();
+    }
+
+    public synchronized long getSpilledCount() {
+        return spilledCount;
+    }
+
+    public synchronized int getSpillSegmentCount() {
+        return spillSegments.size();
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the container: spilled segments first, then the
+     * in-memory buffer. Segments are streamed from disk, so heap usage stays within the budget.
+     * Calling {@link #clear()} while iterating invalidates the iterator. The open segment is closed
+     * once the iterator is exhausted; close the iterator to release it when stopping early.
+     */
+    @Override
+    public synchronized SegmentIterator iterator() {
+        return new SegmentIterator(new ArrayList<>(spillSegments), new ArrayList<>(items));
+    }
+
+    // Writes the in-memory buffer to a new segment file as fixed-width ints
+    private void spill() {
+        try {
+            Path segment = Files.createTempFile(spillDirectory, "destination-", ".seg");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(segment)))) {
+                for (Integer item : items) {
+                    out.writeInt(item);
+                }
+            } catch (IOException e) {
+                // The segment is not tracked yet, so close() would never delete it
+                try {
+                    Files.deleteIfExists(segment);
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+            spillSegments.add(segment);
+            spilledCount += items.size();
+            items.clear();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spill destination items to " + spillDirectory, e);
+        }
     }
 
     @Override
     public synchronized String toString() {
-        return "DestinationContainer{items=" + items + ", size=" + items.size() + "}";
+        if (spillSegments.isEmpty()) {
+            return "DestinationContainer{items=" + items + ", size=" + items.size() + "}";
+        }
+        return "DestinationContainer{inMemory=" + items.size() + ", spilled=" + spilledCount
+                + ", segments=" + spillSegments.size() + ", size=" + size() + "}";
+    }
+
+    /**
+     * Sequentially reads each spilled segment, then the in-memory tail.
+     */
+    public static class SegmentIterator implements Iterator<Integer>, AutoCloseable {
+        private final List<Path> segments;
+        private final List<Integer> memoryTail;
+        private int segmentIndex;
+        private int memoryIndex;
+        private DataInputStream currentSegment;
+        private Integer next;
+
+        SegmentIterator(List<Path> segments, List<Integer> memoryTail) {
+            this.segments = segments;
+            this.memoryTail = memoryTail;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = advance();
+            }
+            return next != null || memoryIndex < memoryTail.size();
+        }
+
+        @Override
+        public Integer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (next != null) {
+                Integer result = next;
+                next = null;
+                return result;
+            }
+            return memoryTail.get(memoryIndex++);
+        }
+
+        // Returns the next value from disk, or null once every segment has been consumed
+        private Integer advance() {
+            try {
+                while (segmentIndex < segments.size()) {
+                    if (currentSegment == null) {
+                        currentSegment = new DataInputStream(
+                                new BufferedInputStream(Files.newInputStream(segments.get(segmentIndex))));
+                    }
+                    try {
+                        return currentSegment.readInt();
+                    } catch (EOFException e) {
+                        currentSegment.close();
+                        currentSegment = null;
+                        segmentIndex++;
+                    }
+                }
+                return null;
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException("Failed to read spill segment", e);
+            }
+        }
+
+        /**
+         * Closes the segment currently being read; the iterator is exhausted afterwards.
+         */
+        @Override
+        public void close() {
+            segmentIndex = segments.size();
+            memoryIndex = memoryTail.size();
+            next = null;
+            if (currentSegment != null) {
+                try {
+                    currentSegment.close();
+                } catch (IOException e) {
+                    System.err.println("[DestinationContainer] Could not close spill segment: " + e.getMessage());
+                }
+                currentSegment = null;
+            }
+        }
     }
 }
@@ -0,0 +1,133 @@
+package io.github.sawanc.assignment1;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear latency histogram.
+ * Values are grouped into power-of-two ranges, each split into 16 linear sub-buckets,
+ * which keeps the relative error of reported percentiles below ~6% with a fixed footprint.
+ *
+ * @author sawan chakraborty
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final LongAdder totalCount;
+    private final LongAdder totalValue;
+    private final AtomicLong maxValue;
+
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.totalCount = new LongAdder();
+        this.totalValue = new LongAdder();
+        this.maxValue = new AtomicLong();
+    }
+
+    /**
+     * Records a single latency value. Negative values are clamped to zero.
+     *
+     * @param value the latency (typically in nanoseconds)
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(bucketIndex(v));
+        totalCount.increment();
+        totalValue.add(v);
+        maxValue.accumulateAndGet(v, Math::max);
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    public double getMean() {
+        long count = totalCount.sum();
+        return count == 0 ? 0.0 : (double) totalValue.sum() / count;
+    }
+
+    /**
+     * Returns the value at the given percentile.
+     * The result is the upper bound of the bucket holding that rank, capped at the observed maximum.
+     *
+     * @param percentile percentile in the range [0, 100]
+     * @return the latency at that percentile, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100, but was " + percentile);
+        }
+        long count = totalCount.sum();
+        if (count == 0) {
+            return 0;
+        }
+        long targetRank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= targetRank) {
+                return Math.min(bucketUpperBound(i), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    /**
+     * Exports the requested percentiles in the order they were given.
+     *
+     * @param percentiles percentiles in the range [0, 100]
+     * @return map of percentile to latency value
+     */
+    public Map<Double, Long> getPercentiles(double... percentiles) {
+        Map<Double, Long> result = new LinkedHashMap<>();
+        for (double percentile : percentiles) {
+            result.put(percentile, getValueAtPercentile(percentile));
+        }
+        return result;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        totalValue.reset();
+        maxValue.set(0);
+    }
+
+    // Values below SUB_BUCKETS map 1:1, larger values share a bucket with their top 5 significant bits
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LatencyHistogram{count=%d, p50=%d, p95=%d, p99=%d, max=%d}",
+                getCount(), getValueAtPercentile(50), getValueAtPercentile(95),
+                getValueAtPercentile(99), getMax());
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.sawanc.assignment1;
+
+/**
+ * Optional per-item latency tracer for the producer-consumer pipeline.
+ * Items are stamped when they enter a {@link TracedQueue}, which carries the stamp with the item
+ * and passes it to this tracker when a consumer thread takes it. The consumer then reports the
+ * dequeue and the commit to the DestinationContainer for the item it took last. Stamps feed two
+ * histograms: queue sojourn time (produce to dequeue) and total transit time (produce to commit).
+ * All timestamps are in nanoseconds from {@link System#nanoTime()}.
+ * <p>
+ * The only per-thread state is the stamp pair of the item in hand, so tracing costs no lookups
+ * or allocations beyond the queue's wrapper and never grows with unconsumed items.
+ *
+ * @author sawan chakraborty
+ */
+public class LatencyTracker {
+    private static final long NONE = Long.MIN_VALUE;
+
+    // Per consumer thread: {produced-at, dequeued-at} of the item it took last, NONE once reported
+    private final ThreadLocal<long[]> current = ThreadLocal.withInitial(() -> new long[]{NONE, NONE});
+    private final LatencyHistogram sojournHistogram;
+    private final LatencyHistogram transitHistogram;
+
+    public LatencyTracker() {
+        this.sojournHistogram = new LatencyHistogram();
+        this.transitHistogram = new LatencyHistogram();
+    }
+
+    // Called by TracedQueue on the consumer thread as soon as an item leaves the queue
+    void dequeued(long producedAt) {
+        long[] stamps = current.get();
+        stamps[0] = producedAt;
+        stamps[1] = System.nanoTime();
+    }
+
+    /**
+     * Records the queue sojourn time of the item the calling thread took last.
+     * Does nothing if that item did not come from a TracedQueue or was already recorded.
+     */
+    public void recordDequeued() {
+        long[] stamps = current.get();
+        if (stamps[0] == NONE || stamps[1] == NONE) {
+            return;
+        }
+        sojournHistogram.record(stamps[1] - stamps[0]);
+        stamps[1] = NONE;
+    }
+
+    /**
+     * Records the total transit time of the item the calling thread took last, once it is
+     * committed to the destination container.
+     * Does nothing if that item did not come from a TracedQueue or was already committed.
+     */
+    public void recordCommitted() {
+        long now = System.nanoTime();
+        long[] stamps = current.get();
+        if (stamps[0] == NONE) {
+            return;
+        }
+        transitHistogram.record(now - stamps[0]);
+        stamps[0] = NONE;
+        stamps[1] = NONE;
+    }
+
+    public LatencyHistogram getSojournHistogram() {
+        return sojournHistogram;
+    }
+
+    public LatencyHistogram getTransitHistogram() {
+        return transitHistogram;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyTracker{sojourn=" + sojournHistogram + ", transit=" + transitHistogram + "}";
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.sawanc.assignment1;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded blocking queue that carries a produce timestamp with every item, for latency tracing.
+ * <p>
+ * Each item is wrapped together with the {@link System#nanoTime()} taken when it is offered, so
+ * the stamp leaves the queue with the very item it belongs to no matter how many producers put
+ * equal values. A consumer thread that takes an item hands the stamp to the {@link LatencyTracker},
+ * which matches it with that thread's dequeue and commit calls. Nothing is kept outside the queue,
+ * so items that are never consumed cost nothing once the queue is dropped. Removal through
+ * {@link #drainTo} bypasses tracing.
+ *
+ * @author sawan chakraborty
+ */
+public class TracedQueue extends AbstractQueue<Integer> implements BlockingQueue<Integer> {
+    private final ArrayBlockingQueue<Stamped> queue;
+    private final LatencyTracker tracker;
+
+    /**
+     * Constructs an empty queue.
+     *
+     * @param capacity the maximum number of queued items
+     * @param tracker  tracker receiving the stamp of every dequeued item
+     */
+    public TracedQueue(int capacity, LatencyTracker tracker) {
+        if (tracker == null) {
+            throw new IllegalArgumentException("Tracker cannot be null");
+        }
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.tracker = tracker;
+    }
+
+    @Override
+    public void put(Integer item) throws InterruptedException {
+        queue.put(stamp(item));
+    }
+
+    @Override
+    public boolean offer(Integer item) {
+        return queue.offer(stamp(item));
+    }
+
+    @Override
+    public boolean offer(Integer item, long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.offer(stamp(item), timeout, unit);
+    }
+
+    @Override
+    public Integer take() throws InterruptedException {
+        return unwrap(queue.take());
+    }
+
+    @Override
+    public Integer poll() {
+        return unwrap(queue.poll());
+    }
+
+    @Override
+    public Integer poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return unwrap(queue.poll(timeout, unit));
+    }
+
+    @Override
+    public Integer peek() {
+        Stamped head = queue.peek();
+        return head == null ? null : head.item;
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        Iterator<Stamped> it = queue.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Integer next() {
+                return it.next().item;
+            }
+
+            @Override
+            public void remove() {
+                it.remove();
+            }
+        };
+    }
+
+    @Override
+    public int drainTo(Collection<? super Integer> target) {
+        return drainTo(target, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Integer> target, int maxElements) {
+        if (target == this) {
+            throw new IllegalArgumentException("Cannot drain a queue into itself");
+        }
+        int drained = 0;
+        Stamped next;
+        while (drained < maxElements && (next = queue.poll()) != null) {
+            target.add(next.item);
+            drained++;
+        }
+        return drained;
+    }
+
+    private static Stamped stamp(Integer item) {
+        if (item == null) {
+            throw new NullPointerException();
+        }
+        return new Stamped(item, System.nanoTime());
+    }
+
+    private Integer unwrap(Stamped stamped) {
+        if (stamped == null) {
+            return null;
+        }
+        tracker.dequeued(stamped.producedAt);
+        return stamped.item;
+    }
+
+    private static final class Stamped {
+        final Integer item;
+        final long producedAt;
+
+        Stamped(Integer item, long producedAt) {
+            this.item = item;
+            this.producedAt = producedAt;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.sawanc.assignment2;
+
+/**
+ * Aggregate function of a {@link SalesQuery}.
+ *
+ * @author sawan chakraborty
+ */
+public enum Aggregation {
+    SUM,
+    COUNT,
+    AVG,
+    MIN,
+    MAX
+}
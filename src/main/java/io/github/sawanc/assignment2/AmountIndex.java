@@ -0,0 +1,212 @@
+package io.github.sawanc.assignment2;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+/**
+ * Immutable index of sales rows sorted by amount.
+ * <p>
+ * The index stores a permutation of row positions ordered by amount (ties keep file order) next to
+ * the sorted amounts. A threshold or range query is then two binary searches that delimit a
+ * contiguous slice of the permutation, so its cost is O(log n) plus the size of the result instead
+ * of a scan over every row. Query results are read-only views over that slice.
+ *
+ * @author sawan chakraborty
+ */
+public class AmountIndex {
+    private final double[] sortedAmounts;
+    private final int[] rows;
+    private final int comparableCount; // rows before the NaN amounts, which sort last
+    private final IntFunction<SalesRecord> rowLoader;
+
+    private AmountIndex(double[] amounts, IntFunction<SalesRecord> rowLoader) {
+        int size = amounts.length;
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        sortByAmount(order, amounts);
+        this.rows = order;
+        this.sortedAmounts = new double[size];
+        for (int i = 0; i < size; i++) {
+            sortedAmounts[i] = amounts[order[i]];
+        }
+        int count = size;
+        while (count > 0 && Double.isNaN(sortedAmounts[count - 1])) {
+            count--;
+        }
+        this.comparableCount = count;
+        this.rowLoader = rowLoader;
+    }
+
+    /**
+     * Builds an index over a list of records. The list must not be modified afterwards.
+     *
+     * @param records the list of sales records
+     * @return the amount index
+     */
+    public static AmountIndex build(List<SalesRecord> records) {
+        List<SalesRecord> rows = records instanceof RandomAccess ? records : new ArrayList<>(records);
+        double[] amounts = new double[rows.size()];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = rows.get(i).getAmount();
+        }
+        return new AmountIndex(amounts, rows::get);
+    }
+
+    /**
+     * Builds an index over a columnar table.
+     *
+     * @param table the sales table
+     * @return the amount index
+     */
+    public static AmountIndex build(SalesTable table) {
+        return new AmountIndex(table.amountColumn(), table::getRecord);
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    /**
+     * Returns the records with amount greater than or equal to the threshold, in ascending amount order.
+     *
+     * @param threshold the minimum amount
+     * @return a read-only view of the matching records
+     */
+    public List<SalesRecord> filterHighValueTransactions(double threshold) {
+        checkBound(threshold);
+        return new SliceView(lowerBound(threshold), comparableCount);
+    }
+
+    /**
+     * Returns the records with {@code min <= amount < max}, in ascending amount order.
+     *
+     * @param min inclusive lower bound
+     * @param max exclusive upper bound
+     * @return a read-only view of the matching records
+     */
+    public List<SalesRecord> filterByAmountRange(double min, double max) {
+        int[] slice = slice(min, max);
+        return new SliceView(slice[0], slice[1]);
+    }
+
+    /**
+     * Returns the row positions with {@code min <= amount < max}, in ascending amount order.
+     */
+    public int[] getRowsInRange(double min, double max) {
+        int[] slice = slice(min, max);
+        return Arrays.copyOfRange(rows, slice[0], slice[1]);
+    }
+
+    public int countAtLeast(double threshold) {
+        checkBound(threshold);
+        return comparableCount - lowerBound(threshold);
+    }
+
+    public int countInRange(double min, double max) {
+        int[] slice = slice(min, max);
+        return slice[1] - slice[0];
+    }
+
+    /**
+     * Sums the amounts with {@code min <= amount < max}; only the matching slice is visited.
+     */
+    public double getTotalSales(double min, double max) {
+        int[] slice = slice(min, max);
+        CompensatedSum total = new CompensatedSum();
+        for (int i = slice[0]; i < slice[1]; i++) {
+            total.add(sortedAmounts[i]);
+        }
+        return total.getSum();
+    }
+
+    // Returns {from, to} delimiting the sorted positions of the range; empty when min >= max
+    private int[] slice(double min, double max) {
+        checkBound(min);
+        checkBound(max);
+        int from = lowerBound(min);
+        int to = Math.max(from, lowerBound(max));
+        return new int[]{from, to};
+    }
+
+    // First sorted position whose amount is >= value, searching only the non-NaN prefix
+    private int lowerBound(double value) {
+        int low = 0;
+        int high = comparableCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedAmounts[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void checkBound(double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Amount bound cannot be NaN");
+        }
+    }
+
+    // Stable bottom-up merge sort of row positions by amount, avoiding boxed comparators
+    private static void sortByAmount(int[] order, double[] amounts) {
+        int[] source = order;
+        int[] buffer = new int[order.length];
+        for (int width = 1; width < order.length; width *= 2) {
+            for (int low = 0; low < order.length; low += 2 * width) {
+                int mid = Math.min(low + width, order.length);
+                int high = Math.min(low + 2 * width, order.length);
+                int left = low;
+                int right = mid;
+                for (int out = low; out < high; out++) {
+                    if (left < mid && (right >= high || Double.compare(amounts[source[left]], amounts[source[right]]) <= 0)) {
+                        buffer[out] = source[left++];
+                    } else {
+                        buffer[out] = source[right++];
+                    }
+                }
+            }
+            int[] swap = source;
+            source = buffer;
+            buffer = swap;
+        }
+        if (source != order) {
+            System.arraycopy(source, 0, order, 0, order.length);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AmountIndex{rows=" + rows.length + "}";
+    }
+
+    private class SliceView extends AbstractList<SalesRecord> implements RandomAccess {
+        private final int from;
+        private final int to;
+
+        SliceView(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public SalesRecord get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + (to - from));
+            }
+            return rowLoader.apply(rows[from + index]);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
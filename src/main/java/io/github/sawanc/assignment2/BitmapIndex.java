@@ -0,0 +1,107 @@
+package io.github.sawanc.assignment2;
+
+/**
+ * Bitmap indexes over the dimension columns of a {@link SalesTable}.
+ * One {@link RowBitmap} per category, region and product value is built in a single pass over the
+ * code columns. Filters such as "Electronics in Europe" are answered by combining bitmaps with
+ * {@link RowBitmap#and} and {@link RowBitmap#or}, and the filtered aggregations of
+ * {@link SalesAnalysisService} then visit only the matching rows.
+ *
+ * @author sawan chakraborty
+ */
+public class BitmapIndex {
+    private final SalesTable table;
+    private final RowBitmap[] categoryBitmaps;
+    private final RowBitmap[] regionBitmaps;
+    private final RowBitmap[] productBitmaps;
+
+    private BitmapIndex(SalesTable table) {
+        this.table = table;
+        this.categoryBitmaps = buildBitmaps(table.categoryColumn(), table.size(), table.getCategoryDictionary().size());
+        this.regionBitmaps = buildBitmaps(table.regionColumn(), table.size(), table.getRegionDictionary().size());
+        this.productBitmaps = buildBitmaps(table.productColumn(), table.size(), table.getProductDictionary().size());
+    }
+
+    /**
+     * Builds category, region and product bitmaps for a table.
+     *
+     * @param table the sales table
+     * @return the bitmap index
+     */
+    public static BitmapIndex build(SalesTable table) {
+        if (table == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        return new BitmapIndex(table);
+    }
+
+    public SalesTable getTable() {
+        return table;
+    }
+
+    /**
+     * Returns the rows whose category is any of the given values; unknown values match nothing.
+     */
+    public RowBitmap getCategoryRows(String... categories) {
+        return lookup(categoryBitmaps, table.getCategoryDictionary(), categories);
+    }
+
+    /**
+     * Returns the rows whose region is any of the given values; unknown values match nothing.
+     */
+    public RowBitmap getRegionRows(String... regions) {
+        return lookup(regionBitmaps, table.getRegionDictionary(), regions);
+    }
+
+    /**
+     * Returns the rows whose product is any of the given values; unknown values match nothing.
+     */
+    public RowBitmap getProductRows(String... products) {
+        return lookup(productBitmaps, table.getProductDictionary(), products);
+    }
+
+    /**
+     * Returns the approximate heap size of all bitmaps in bytes.
+     */
+    public long getSizeInBytes() {
+        long bytes = 0;
+        for (RowBitmap[] bitmaps : new RowBitmap[][]{categoryBitmaps, regionBitmaps, productBitmaps}) {
+            for (RowBitmap bitmap : bitmaps) {
+                bytes += bitmap.getSizeInBytes();
+            }
+        }
+        return bytes;
+    }
+
+    private static RowBitmap lookup(RowBitmap[] bitmaps, StringDictionary dictionary, String[] values) {
+        RowBitmap result = RowBitmap.empty();
+        for (String value : values) {
+            int code = dictionary.lookup(value);
+            if (code >= 0) {
+                result = result.or(bitmaps[code]);
+            }
+        }
+        return result;
+    }
+
+    private static RowBitmap[] buildBitmaps(int[] codes, int size, int valueCount) {
+        RowBitmap.Builder[] builders = new RowBitmap.Builder[valueCount];
+        for (int code = 0; code < valueCount; code++) {
+            builders[code] = new RowBitmap.Builder();
+        }
+        for (int row = 0; row < size; row++) {
+            builders[codes[row]].add(row);
+        }
+        RowBitmap[] bitmaps = new RowBitmap[valueCount];
+        for (int code = 0; code < valueCount; code++) {
+            bitmaps[code] = builders[code].build();
+        }
+        return bitmaps;
+    }
+
+    @Override
+    public String toString() {
+        return "BitmapIndex{rows=" + table.size() + ", categories=" + categoryBitmaps.length + ", regions="
+                + regionBitmaps.length + ", products=" + productBitmaps.length + "}";
+    }
+}
@@ -1,17 +1,29 @@
 package io.github.sawanc.assignment2;
 
-import com.opencsv.exceptions.CsvException;
+import com.opencsv.exceptions.CsvValidationException;
 
+import java.io.Closeable;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility class for reading sales data from CSV files.
+ * Gzip-compressed files are recognized by their magic number and decompressed while streaming.
  *
  * @author sawan chakraborty
  */
@@ -28,46 +40,79 @@ public class CSVReader {
      * @throws IllegalArgumentException if the CSV data is malformed
      */
     public static List<SalesRecord> readSalesData(String filePath) throws IOException {
-        // Validate file exists
-        Path path = Paths.get(filePath);
-        if (!Files.exists(path)) {
-            throw new IOException("CSV file not found: " + filePath);
-        }
-
         List<SalesRecord> salesRecords = new ArrayList<>();
+        forEachSalesRecord(filePath, salesRecords::add);
+        return salesRecords;
+    }
 
-        try (com.opencsv.CSVReader csvReader = new com.opencsv.CSVReader(new FileReader(filePath))) {
-            // Read all lines from the CSV file
-            List<String[]> allRows = csvReader.readAll();
+    /**
+     * Streams sales records from a CSV file, parsing one row at a time.
+     * Only the current row is held in memory, so files larger than the heap can be aggregated.
+     * The returned stream holds an open file handle and must be closed, e.g. with try-with-resources.
+     * Malformed rows surface as IllegalArgumentException and read failures as UncheckedIOException
+     * while the stream is being consumed.
+     *
+     * @param filePath the path to the CSV file
+     * @return a sequential, ordered stream of SalesRecord objects
+     * @throws IOException if the file cannot be opened or does not exist
+     * @throws IllegalArgumentException if the file is empty
+     */
+    public static Stream<SalesRecord> streamSalesData(String filePath) throws IOException {
+        SalesRecordIterator iterator = new SalesRecordIterator(openReader(filePath), filePath);
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false)
+                .onClose(iterator::close);
+    }
 
-            // Validate that file has content
-            if (allRows.isEmpty()) {
-                throw new IllegalArgumentException("CSV file is empty: " + filePath);
+    /**
+     * Parses a CSV file row by row and passes each record to the given action.
+     *
+     * @param filePath the path to the CSV file
+     * @param action   callback invoked for every parsed record, in file order
+     * @return the number of records passed to the action
+     * @throws IOException if the file cannot be read or does not exist
+     * @throws IllegalArgumentException if the CSV data is malformed
+     */
+    public static long forEachSalesRecord(String filePath, Consumer<SalesRecord> action) throws IOException {
+        long count = 0;
+        try (SalesRecordIterator iterator = new SalesRecordIterator(openReader(filePath), filePath)) {
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                count++;
             }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count;
+    }
 
-            // Skip the header row (first row)
-            boolean isFirstRow = true;
-            for (String[] row : allRows) {
-                if (isFirstRow) {
-                    isFirstRow = false;
-                    continue; // Skip header
-                }
-
-                // Parse each row into a SalesRecord
-                try {
-                    SalesRecord record = parseRow(row);
-                    salesRecords.add(record);
-                } catch (Exception e) {
-                    throw new IllegalArgumentException(
-                            "Malformed CSV row: " + String.join(",", row) + " - " + e.getMessage(), e);
-                }
-            }
+    /**
+     * Loads a CSV file straight into a columnar SalesTable.
+     * Rows are tokenized by the memory-mapped parser and their dimensions dictionary-encoded
+     * from the raw bytes, so no intermediate SalesRecord objects are created.
+     *
+     * @param filePath the path to the CSV file
+     * @return a SalesTable holding every data row, in file order
+     * @throws IOException if the file cannot be read or does not exist
+     * @throws IllegalArgumentException if the CSV data is malformed
+     */
+    public static SalesTable readSalesTable(String filePath) throws IOException {
+        SalesTable.Builder builder = new SalesTable.Builder();
+        MappedCSVParser.parse(filePath, builder::add);
+        return builder.build();
+    }
 
-        } catch (CsvException e) {
-            throw new IllegalArgumentException("Error parsing CSV file: " + e.getMessage(), e);
+    // Validates the path and opens an OpenCSV reader over it, decompressing gzip files on the fly
+    private static com.opencsv.CSVReader openReader(String filePath) throws IOException {
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            throw new IOException("CSV file not found: " + filePath);
         }
-
-        return salesRecords;
+        if (GzipCSVParser.isGzip(path)) {
+            return new com.opencsv.CSVReader(new InputStreamReader(GzipCSVParser.open(path), StandardCharsets.UTF_8));
+        }
+        return new com.opencsv.CSVReader(new FileReader(filePath));
     }
 
     /**
@@ -116,4 +161,69 @@ public class CSVReader {
 
         return new SalesRecord(orderId, product, category, region, amount, quantity, orderDate);
     }
+
+    /**
+     * Lazily parses rows from an OpenCSV reader, skipping the header row.
+     */
+    private static class SalesRecordIterator implements Iterator<SalesRecord>, Closeable {
+        private final com.opencsv.CSVReader csvReader;
+        private String[] nextRow;
+
+        SalesRecordIterator(com.opencsv.CSVReader csvReader, String filePath) throws IOException {
+            this.csvReader = csvReader;
+            try {
+                // Validate that file has content, then skip the header row
+                if (readRow() == null) {
+                    throw new IllegalArgumentException("CSV file is empty: " + filePath);
+                }
+                this.nextRow = readRow();
+            } catch (RuntimeException | IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextRow != null;
+        }
+
+        @Override
+        public SalesRecord next() {
+            if (nextRow == null) {
+                throw new NoSuchElementException();
+            }
+            String[] row = nextRow;
+            SalesRecord record;
+            try {
+                record = parseRow(row);
+            } catch (Exception e) {
+                throw new IllegalArgumentException(
+                        "Malformed CSV row: " + String.join(",", row) + " - " + e.getMessage(), e);
+            }
+            try {
+                nextRow = readRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return record;
+        }
+
+        private String[] readRow() throws IOException {
+            try {
+                return csvReader.readNext();
+            } catch (CsvValidationException e) {
+                throw new IllegalArgumentException("Error parsing CSV file: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                csvReader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
 }
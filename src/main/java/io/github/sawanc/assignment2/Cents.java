@@ -0,0 +1,126 @@
+package io.github.sawanc.assignment2;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed-point helpers for amounts held as a {@code long} number of cents.
+ * <p>
+ * Decimal text is parsed straight into cents without going through {@code double}, so
+ * {@code "0.10"} is exactly 10 and sums of cents are exact. Amounts with non-zero digits beyond
+ * the second decimal place or outside the {@code long} range are rejected rather than rounded.
+ * Plain decimals take a byte-level fast path; anything else (exponents, very long digit runs)
+ * falls back to {@link BigDecimal}.
+ *
+ * @author sawan chakraborty
+ */
+public final class Cents {
+    public static final int SCALE = 2;
+    public static final long PER_UNIT = 100;
+
+    // Up to this many integer digits cannot overflow a long once scaled by 100
+    private static final int MAX_FAST_INTEGER_DIGITS = 16;
+
+    private Cents() {
+    }
+
+    /**
+     * Parses decimal text such as {@code "1200.50"} into cents.
+     *
+     * @throws IllegalArgumentException if the text is not a number, has more than two
+     *                                  significant decimal places or overflows a long
+     */
+    public static long parse(String text) {
+        byte[] bytes = text.trim().getBytes(StandardCharsets.US_ASCII);
+        return parse(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Parses ASCII decimal text in {@code bytes[offset, offset + length)} into cents.
+     *
+     * @see #parse(String)
+     */
+    public static long parse(byte[] bytes, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        boolean negative = false;
+        if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+        long units = 0;
+        int integerDigits = 0;
+        while (i < end && bytes[i] >= '0' && bytes[i] <= '9') {
+            units = units * 10 + (bytes[i] - '0');
+            integerDigits++;
+            i++;
+        }
+        long fraction = 0;
+        int fractionDigits = 0;
+        if (i < end && bytes[i] == '.') {
+            i++;
+            while (i < end && bytes[i] >= '0' && bytes[i] <= '9') {
+                if (fractionDigits < SCALE) {
+                    fraction = fraction * 10 + (bytes[i] - '0');
+                } else if (bytes[i] != '0') {
+                    break; // a significant third decimal; let the slow path report it
+                }
+                fractionDigits++;
+                i++;
+            }
+        }
+        if (i != end || integerDigits + fractionDigits == 0 || integerDigits > MAX_FAST_INTEGER_DIGITS) {
+            return parseSlow(new String(bytes, offset, length, StandardCharsets.UTF_8));
+        }
+        for (int d = fractionDigits; d < SCALE; d++) {
+            fraction *= 10;
+        }
+        long cents = units * PER_UNIT + fraction;
+        return negative ? -cents : cents;
+    }
+
+    private static long parseSlow(String text) {
+        BigDecimal value;
+        try {
+            value = new BigDecimal(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid amount value: " + text, e);
+        }
+        try {
+            return value.movePointRight(SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            if (value.stripTrailingZeros().scale() > SCALE) {
+                throw new IllegalArgumentException("Amount has more than " + SCALE + " decimal places: " + text, e);
+            }
+            throw new IllegalArgumentException("Amount out of range: " + text, e);
+        }
+    }
+
+    /**
+     * Converts a double amount to cents, rounding to the nearest cent.
+     *
+     * @throws IllegalArgumentException if the amount is not finite or overflows a long
+     */
+    public static long fromDouble(double amount) {
+        double scaled = amount * PER_UNIT;
+        if (!(Math.abs(scaled) < 0x1p63)) {
+            throw new IllegalArgumentException("Amount cannot be represented in cents: " + amount);
+        }
+        return Math.round(scaled);
+    }
+
+    /**
+     * Returns the amount as a double; for values below 2^53 cents this is the same double
+     * {@link Double#parseDouble} gives for the decimal text.
+     */
+    public static double toDouble(long cents) {
+        return cents / (double) PER_UNIT;
+    }
+
+    /**
+     * Formats cents as a plain decimal with two places, e.g. {@code 120050 -> "1200.50"}.
+     */
+    public static String format(long cents) {
+        return BigDecimal.valueOf(cents, SCALE).toPlainString();
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.sawanc.assignment2;
+
+/**
+ * Running double sum with Neumaier (improved Kahan) compensation.
+ * The low-order bits lost by each addition are carried in a separate compensation term,
+ * so the error stays bounded independently of the number of values added. Not thread-safe.
+ *
+ * @author sawan chakraborty
+ */
+public final class CompensatedSum {
+    private double sum;
+    private double compensation;
+
+    public CompensatedSum() {
+    }
+
+    // Restores a partial sum from its two terms, e.g. after it was written to disk
+    CompensatedSum(double sum, double compensation) {
+        this.sum = sum;
+        this.compensation = compensation;
+    }
+
+    public void add(double value) {
+        double t = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - t) + value;
+        } else {
+            compensation += (value - t) + sum;
+        }
+        sum = t;
+    }
+
+    /**
+     * Folds another partial sum into this one.
+     */
+    public void add(CompensatedSum other) {
+        add(other.sum);
+        compensation += other.compensation;
+    }
+
+    // Running sum without the compensation term
+    double sum() {
+        return sum;
+    }
+
+    // Low-order error not yet folded into sum()
+    double compensation() {
+        return compensation;
+    }
+
+    public double getSum() {
+        double result = sum + compensation;
+        // Infinite inputs make the compensation NaN; the plain sum is then the right answer
+        if (Double.isNaN(result) && Double.isInfinite(sum)) {
+            return sum;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CompensatedSum{" + getSum() + "}";
+    }
+}
@@ -0,0 +1,154 @@
+package io.github.sawanc.assignment2;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Index of the rows of a {@link SalesTable} sorted by order date.
+ * <p>
+ * Rows are counting-sorted by the rank of their distinct order date, so building costs
+ * O(rows + distinct dates log distinct dates). A date-range query binary-searches the distinct
+ * days and returns the contiguous run of rows between them, touching only the requested range.
+ * Rows without a valid date are not indexed.
+ *
+ * @author sawan chakraborty
+ */
+public class DateIndex {
+    private final SalesTable table;
+    private final int[] days;       // distinct epoch days, ascending
+    private final int[] dayStarts;  // start of each day's rows in sortedRows; dayStarts[days.length] = row count
+    private final int[] sortedRows; // row positions ordered by date, file order within a day
+
+    private DateIndex(SalesTable table) {
+        this.table = table;
+        int[] codeDays = table.dateCodeEpochDays();
+        int[] distinct = Arrays.stream(codeDays).filter(day -> day != SalesTable.NO_DATE).distinct().sorted().toArray();
+        int[] rankOfCode = new int[codeDays.length];
+        for (int code = 0; code < codeDays.length; code++) {
+            rankOfCode[code] = codeDays[code] == SalesTable.NO_DATE ? -1 : Arrays.binarySearch(distinct, codeDays[code]);
+        }
+
+        int[] dateCodes = table.dateColumn();
+        int[] starts = new int[distinct.length + 1];
+        for (int row = 0; row < table.size(); row++) {
+            int rank = rankOfCode[dateCodes[row]];
+            if (rank >= 0) {
+                starts[rank + 1]++;
+            }
+        }
+        for (int rank = 0; rank < distinct.length; rank++) {
+            starts[rank + 1] += starts[rank];
+        }
+        int[] rows = new int[starts[distinct.length]];
+        int[] next = Arrays.copyOf(starts, distinct.length);
+        for (int row = 0; row < table.size(); row++) {
+            int rank = rankOfCode[dateCodes[row]];
+            if (rank >= 0) {
+                rows[next[rank]++] = row;
+            }
+        }
+        this.days = distinct;
+        this.dayStarts = starts;
+        this.sortedRows = rows;
+    }
+
+    /**
+     * Builds a date index over a table.
+     *
+     * @param table the sales table
+     * @return the date index
+     */
+    public static DateIndex build(SalesTable table) {
+        if (table == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        return new DateIndex(table);
+    }
+
+    public SalesTable getTable() {
+        return table;
+    }
+
+    /**
+     * Returns the number of rows with a valid order date.
+     */
+    public int size() {
+        return sortedRows.length;
+    }
+
+    public LocalDate getFirstDate() {
+        return days.length == 0 ? null : LocalDate.ofEpochDay(days[0]);
+    }
+
+    public LocalDate getLastDate() {
+        return days.length == 0 ? null : LocalDate.ofEpochDay(days[days.length - 1]);
+    }
+
+    /**
+     * Returns the rows ordered on or after {@code from} and before {@code to}.
+     * The result can be passed to the RowBitmap overloads of {@link SalesAnalysisService}.
+     *
+     * @param from inclusive start date
+     * @param to   exclusive end date
+     * @return the matching rows
+     */
+    public RowBitmap getRows(LocalDate from, LocalDate to) {
+        int[] slice = slice(from, to);
+        int[] rows = Arrays.copyOfRange(sortedRows, slice[0], slice[1]);
+        Arrays.sort(rows);
+        RowBitmap.Builder builder = new RowBitmap.Builder();
+        for (int row : rows) {
+            builder.add(row);
+        }
+        return builder.build();
+    }
+
+    public int countInRange(LocalDate from, LocalDate to) {
+        int[] slice = slice(from, to);
+        return slice[1] - slice[0];
+    }
+
+    /**
+     * Sums the amounts of rows ordered on or after {@code from} and before {@code to},
+     * visiting only those rows.
+     */
+    public double getTotalSales(LocalDate from, LocalDate to) {
+        int[] slice = slice(from, to);
+        double[] amounts = table.amountColumn();
+        CompensatedSum total = new CompensatedSum();
+        for (int i = slice[0]; i < slice[1]; i++) {
+            total.add(amounts[sortedRows[i]]);
+        }
+        return total.getSum();
+    }
+
+    // Returns {from, to} positions in sortedRows; empty when from >= to
+    private int[] slice(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Date range bounds cannot be null");
+        }
+        int start = dayStarts[lowerBound(from.toEpochDay())];
+        int end = dayStarts[lowerBound(to.toEpochDay())];
+        return new int[]{start, Math.max(start, end)};
+    }
+
+    // First rank whose day is >= epochDay
+    private int lowerBound(long epochDay) {
+        int low = 0;
+        int high = days.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public String toString() {
+        return "DateIndex{rows=" + sortedRows.length + ", days=" + days.length + "}";
+    }
+}
@@ -0,0 +1,406 @@
+package io.github.sawanc.assignment2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Hash aggregation of (key, value) pairs that stays within a memory budget by spilling to disk.
+ * <p>
+ * Groups (count, sum, min and max per key) are accumulated in a hash map while its estimated heap
+ * footprint fits the budget. Once it does not, every partial group is hash-partitioned into one of
+ * {@code fanout} temporary files and the map is cleared. When the groups are read back, each
+ * partition is merged on its own; a partition that still exceeds the budget is re-partitioned
+ * with a different hash, up to {@link #MAX_SPILL_LEVEL} times. Heap use therefore stays close to
+ * the budget however many distinct keys there are. Sums are {@link CompensatedSum}s whose
+ * compensation term is spilled and merged with them, so a group's sum does not drift with the
+ * budget or the spill order. Temporary files are deleted once merged and on
+ * {@link #close()}. Not thread-safe; an aggregator produces its groups once.
+ *
+ * <pre>
+ *   try (ExternalAggregator aggregator = new ExternalAggregator(64 * 1024 * 1024)) {
+ *       records.forEach(r -> aggregator.add(r.getOrderId(), r.getAmount()));
+ *       aggregator.forEachGroup(group -> ...);
+ *   }
+ * </pre>
+ *
+ * @author sawan chakraborty
+ */
+public class ExternalAggregator implements AutoCloseable {
+    public static final int DEFAULT_FANOUT = 32;
+    // Rough heap cost of one group (map node, key String, Group object), excluding key characters
+    static final long GROUP_OVERHEAD_BYTES = 160;
+    // Re-partitioning depth after which a partition is merged in memory regardless of size
+    static final int MAX_SPILL_LEVEL = 4;
+
+    private final long memoryBudget;
+    private final Path spillDirectory;
+    private final int fanout;
+    private final List<Path> openFiles = new ArrayList<>();
+    private Map<String, Group> groups = new HashMap<>();
+    private long usedBytes;
+    private SpillFiles spill;
+    private boolean finished;
+    private long spillCount;
+    private long spilledGroups;
+
+    /**
+     * Constructs an aggregator spilling to the system temporary directory.
+     *
+     * @param memoryBudget estimated heap budget for in-memory groups, in bytes
+     */
+    public ExternalAggregator(long memoryBudget) throws IOException {
+        this(memoryBudget, Path.of(System.getProperty("java.io.tmpdir")), DEFAULT_FANOUT);
+    }
+
+    /**
+     * Constructs an aggregator.
+     *
+     * @param memoryBudget   estimated heap budget for in-memory groups, in bytes
+     * @param spillDirectory directory for temporary partition files
+     * @param fanout         number of partitions per spill
+     */
+    public ExternalAggregator(long memoryBudget, Path spillDirectory, int fanout) throws IOException {
+        if (memoryBudget <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive, but was " + memoryBudget);
+        }
+        if (fanout < 2) {
+            throw new IllegalArgumentException("Fanout must be at least 2, but was " + fanout);
+        }
+        if (!Files.isDirectory(spillDirectory)) {
+            throw new IOException("Spill directory not found: " + spillDirectory);
+        }
+        this.memoryBudget = memoryBudget;
+        this.spillDirectory = spillDirectory;
+        this.fanout = fanout;
+    }
+
+    /**
+     * Adds a value to the group of the given key, spilling to disk if the budget is exceeded.
+     *
+     * @throws UncheckedIOException if spilling fails
+     * @throws IllegalStateException if the groups have already been read
+     */
+    public void add(String key, double value) {
+        if (finished) {
+            throw new IllegalStateException("Aggregator has already produced its groups");
+        }
+        Group group = groups.get(key);
+        if (group == null) {
+            group = new Group(key);
+            groups.put(key, group);
+            usedBytes += estimateBytes(key);
+        }
+        group.add(value);
+        if (usedBytes > memoryBudget) {
+            try {
+                if (spill == null) {
+                    spill = new SpillFiles(0);
+                }
+                spill.write(groups.values());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            groups.clear();
+            usedBytes = 0;
+        }
+    }
+
+    /**
+     * Passes every group to the action, in no particular order. The Group objects are only valid
+     * during the call.
+     *
+     * @param action callback receiving each group
+     * @throws IOException if a partition file cannot be read or written
+     */
+    public void forEachGroup(Consumer<Group> action) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("Aggregator has already produced its groups");
+        }
+        finished = true;
+        if (spill == null) {
+            groups.values().forEach(action);
+            groups = new HashMap<>();
+            return;
+        }
+        spill.write(groups.values());
+        groups = new HashMap<>();
+        usedBytes = 0;
+        for (Path partition : spill.close()) {
+            mergePartition(partition, 1, action);
+        }
+    }
+
+    // Merges one partition in memory, re-partitioning it if it does not fit
+    private void mergePartition(Path partition, int level, Consumer<Group> action) throws IOException {
+        Map<String, Group> merged = new HashMap<>();
+        long used = 0;
+        SpillFiles overflow = null;
+        List<Path> children;
+        try {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(partition), 64 * 1024))) {
+                Group partial;
+                while ((partial = Group.read(in)) != null) {
+                    Group group = merged.get(partial.key);
+                    if (group == null) {
+                        merged.put(partial.key, partial);
+                        used += estimateBytes(partial.key);
+                    } else {
+                        group.merge(partial);
+                    }
+                    if (used > memoryBudget && level < MAX_SPILL_LEVEL) {
+                        if (overflow == null) {
+                            overflow = new SpillFiles(level);
+                        }
+                        overflow.write(merged.values());
+                        merged.clear();
+                        used = 0;
+                    }
+                }
+            }
+            delete(partition);
+            if (overflow == null) {
+                merged.values().forEach(action);
+                return;
+            }
+            overflow.write(merged.values());
+            merged.clear();
+            children = overflow.close();
+        } finally {
+            // Releases the overflow streams if the merge failed; a no-op once close() has run
+            if (overflow != null) {
+                overflow.closeQuietly();
+            }
+        }
+        for (Path child : children) {
+            mergePartition(child, level + 1, action);
+        }
+    }
+
+    private static long estimateBytes(String key) {
+        return GROUP_OVERHEAD_BYTES + key.length();
+    }
+
+    /**
+     * Returns how many times groups were written to disk, including re-partitioning.
+     */
+    public long getSpillCount() {
+        return spillCount;
+    }
+
+    /**
+     * Returns the total number of partial groups written to disk.
+     */
+    public long getSpilledGroups() {
+        return spilledGroups;
+    }
+
+    /**
+     * Deletes any remaining temporary files.
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        if (spill != null) {
+            try {
+                spill.closeQuietly();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        for (Path file : new ArrayList<>(openFiles)) {
+            try {
+                delete(file);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        groups = new HashMap<>();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void delete(Path file) throws IOException {
+        Files.deleteIfExists(file);
+        openFiles.remove(file);
+    }
+
+    @Override
+    public String toString() {
+        return "ExternalAggregator{budget=" + memoryBudget + ", groups=" + groups.size() + ", spills=" + spillCount
+                + ", spilledGroups=" + spilledGroups + "}";
+    }
+
+    // One temporary file per hash partition
+    private final class SpillFiles {
+        private final int level;
+        private final Path[] paths = new Path[fanout];
+        private final DataOutputStream[] outputs = new DataOutputStream[fanout];
+        private final long[] counts = new long[fanout];
+
+        SpillFiles(int level) throws IOException {
+            this.level = level;
+            try {
+                for (int p = 0; p < fanout; p++) {
+                    paths[p] = Files.createTempFile(spillDirectory, "sales-agg-", ".spill");
+                    openFiles.add(paths[p]);
+                    outputs[p] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(paths[p]), 64 * 1024));
+                }
+            } catch (IOException e) {
+                closeQuietly();
+                throw e;
+            }
+        }
+
+        void write(Iterable<Group> partials) throws IOException {
+            spillCount++;
+            for (Group group : partials) {
+                int p = Math.floorMod(mix(group.key.hashCode(), level), fanout);
+                group.write(outputs[p]);
+                counts[p]++;
+                spilledGroups++;
+            }
+        }
+
+        // Closes the files and returns the non-empty ones
+        List<Path> close() throws IOException {
+            List<Path> nonEmpty = new ArrayList<>();
+            for (int p = 0; p < fanout; p++) {
+                outputs[p].close();
+                outputs[p] = null;
+                if (counts[p] == 0) {
+                    delete(paths[p]);
+                } else {
+                    nonEmpty.add(paths[p]);
+                }
+            }
+            return nonEmpty;
+        }
+
+        // Closes every stream still open, even if one fails, and rethrows the first failure
+        void closeQuietly() throws IOException {
+            IOException failure = null;
+            for (int p = 0; p < fanout; p++) {
+                if (outputs[p] != null) {
+                    try {
+                        outputs[p].close();
+                    } catch (IOException e) {
+                        failure = failure == null ? e : failure;
+                    }
+                    outputs[p] = null;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        // Re-partitioning uses a different hash per level so one partition's keys spread out again
+        private int mix(int hash, int seed) {
+            int h = hash * 0x9E3779B9 + seed * 0x85EBCA6B;
+            h ^= h >>> 16;
+            h *= 0x7FEB352D;
+            return h ^ (h >>> 15);
+        }
+    }
+
+    /**
+     * Count, sum, min and max of the values added under one key.
+     */
+    public static final class Group {
+        private final String key;
+        private long count;
+        private CompensatedSum sum = new CompensatedSum();
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        Group(String key) {
+            this.key = key;
+        }
+
+        void add(double value) {
+            count++;
+            sum.add(value);
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        void merge(Group other) {
+            count += other.count;
+            sum.add(other.sum);
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(keyBytes.length);
+            out.write(keyBytes);
+            out.writeLong(count);
+            out.writeDouble(sum.sum());
+            out.writeDouble(sum.compensation());
+            out.writeDouble(min);
+            out.writeDouble(max);
+        }
+
+        // Returns null at the end of the file
+        static Group read(DataInputStream in) throws IOException {
+            int keyLength;
+            try {
+                keyLength = in.readInt();
+            } catch (EOFException e) {
+                return null;
+            }
+            byte[] keyBytes = new byte[keyLength];
+            in.readFully(keyBytes);
+            Group group = new Group(new String(keyBytes, StandardCharsets.UTF_8));
+            group.count = in.readLong();
+            group.sum = new CompensatedSum(in.readDouble(), in.readDouble());
+            group.min = in.readDouble();
+            group.max = in.readDouble();
+            return group;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getSum() {
+            return sum.getSum();
+        }
+
+        public double getMin() {
+            return min;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        public double getAverage() {
+            return sum.getSum() / count;
+        }
+
+        @Override
+        public String toString() {
+            return key + "{count=" + count + ", sum=" + getSum() + ", min=" + min + ", max=" + max + "}";
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package io.github.sawanc.assignment2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Parser for gzip-compressed sales CSV files, decompressing in memory as rows are tokenized.
+ * <p>
+ * Plain gzip is a single deflate stream and is inflated on the calling thread. BGZF files (as
+ * written by {@code bgzip} or {@link #compress(String, String)}) are a series of independent gzip
+ * members of at most 64 KB, each recording its compressed size in the header. Their blocks are
+ * located without inflating anything and decompressed in parallel on a ForkJoinPool, a bounded
+ * number ahead of the tokenizer. Both forms are plain gzip to any other tool.
+ * <p>
+ * Rows are tokenized by {@link MappedCSVParser.Row}, so records and error messages match the
+ * uncompressed parsers; {@link MappedCSVParser.Row#getRowOffset()} is an offset into the
+ * decompressed data.
+ *
+ * @author sawan chakraborty
+ */
+public class GzipCSVParser {
+    // Uncompressed bytes per BGZF block, as used by bgzip
+    static final int BGZF_BLOCK_SIZE = 0xff00;
+    // Bytes inflated per step when streaming plain gzip
+    static final int STREAM_CHUNK_SIZE = 1024 * 1024;
+
+    private static final int GZIP_MAGIC_1 = 0x1f;
+    private static final int GZIP_MAGIC_2 = 0x8b;
+    private static final int BGZF_HEADER_SIZE = 18;
+    private static final int GZIP_TRAILER_SIZE = 8;
+    private static final int BGZF_MAX_BLOCK = 65536;
+    private static final byte[] BGZF_EOF = {
+            0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C', 2, 0, 0x1b, 0,
+            3, 0, 0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    /**
+     * Tests whether the file starts with the gzip magic number.
+     */
+    public static boolean isGzip(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return in.read() == GZIP_MAGIC_1 && in.read() == GZIP_MAGIC_2;
+        }
+    }
+
+    /**
+     * Opens a decompressing stream over a gzip file; concatenated members are read in sequence.
+     */
+    public static InputStream open(Path path) throws IOException {
+        return new GZIPInputStream(Files.newInputStream(path), 64 * 1024);
+    }
+
+    /**
+     * Tokenizes every data row of a gzip CSV file on the common pool.
+     *
+     * @see #parse(String, ForkJoinPool, MappedCSVParser.RowHandler)
+     */
+    public static long parse(String filePath, MappedCSVParser.RowHandler handler) throws IOException {
+        return parse(filePath, ForkJoinPool.commonPool(), handler);
+    }
+
+    /**
+     * Tokenizes every data row of a gzip CSV file (the header row is skipped). BGZF blocks are
+     * decompressed on the pool; rows are still passed to the handler in order on this thread.
+     *
+     * @param filePath the path to the gzip file
+     * @param pool     the pool decompressing BGZF blocks
+     * @param handler  callback receiving each row
+     * @return the number of data rows
+     * @throws IOException if the file cannot be read, does not exist or is not valid gzip
+     * @throws IllegalArgumentException if the CSV data is empty or malformed, or a BGZF block is corrupt
+     */
+    public static long parse(String filePath, ForkJoinPool pool, MappedCSVParser.RowHandler handler) throws IOException {
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            throw new IOException("CSV file not found: " + filePath);
+        }
+        ChunkTokenizer tokenizer = new ChunkTokenizer(handler);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] blocks = bgzfBlocks(channel);
+            if (blocks != null) {
+                inflateBlocks(channel, blocks, pool, tokenizer);
+            } else {
+                try (InputStream in = open(path)) {
+                    byte[] chunk = new byte[STREAM_CHUNK_SIZE];
+                    int length;
+                    while ((length = in.readNBytes(chunk, 0, chunk.length)) > 0) {
+                        tokenizer.feed(chunk, length);
+                    }
+                }
+            }
+        }
+        if (tokenizer.totalBytes == 0) {
+            throw new IllegalArgumentException("CSV file is empty: " + filePath);
+        }
+        return tokenizer.finish();
+    }
+
+    /**
+     * Compresses a file into BGZF blocks, ending with the standard empty EOF block.
+     *
+     * @param sourcePath the file to compress
+     * @param targetPath the gzip file to write
+     * @throws IOException if either file cannot be accessed
+     */
+    public static void compress(String sourcePath, String targetPath) throws IOException {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        byte[] input = new byte[BGZF_BLOCK_SIZE];
+        byte[] block = new byte[BGZF_MAX_BLOCK];
+        CRC32 crc = new CRC32();
+        try (InputStream in = Files.newInputStream(Paths.get(sourcePath));
+             OutputStream out = Files.newOutputStream(Paths.get(targetPath))) {
+            int length;
+            while ((length = in.readNBytes(input, 0, input.length)) > 0) {
+                deflater.reset();
+                deflater.setInput(input, 0, length);
+                deflater.finish();
+                int payloadLimit = BGZF_MAX_BLOCK - BGZF_HEADER_SIZE - GZIP_TRAILER_SIZE;
+                int compressed = deflater.deflate(block, BGZF_HEADER_SIZE, payloadLimit);
+                if (!deflater.finished()) {
+                    // Incompressible data: store it instead
+                    deflater.reset();
+                    deflater.setLevel(Deflater.NO_COMPRESSION);
+                    deflater.setInput(input, 0, length);
+                    deflater.finish();
+                    compressed = deflater.deflate(block, BGZF_HEADER_SIZE, payloadLimit);
+                    deflater.setLevel(Deflater.DEFAULT_COMPRESSION);
+                }
+                crc.reset();
+                crc.update(input, 0, length);
+                int blockSize = BGZF_HEADER_SIZE + compressed + GZIP_TRAILER_SIZE;
+                ByteBuffer header = ByteBuffer.wrap(block).order(ByteOrder.LITTLE_ENDIAN);
+                header.put(0, BGZF_EOF, 0, 16).putShort(16, (short) (blockSize - 1));
+                header.putInt(blockSize - 8, (int) crc.getValue()).putInt(blockSize - 4, length);
+                out.write(block, 0, blockSize);
+            }
+            out.write(BGZF_EOF);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Returns the start offset of every BGZF block plus the file size, or null if the file is not BGZF.
+     *
+     * @throws IllegalArgumentException if a later block header is corrupt or truncated
+     */
+    static long[] bgzfBlocks(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long[] offsets = new long[16];
+        int count = 0;
+        ByteBuffer header = ByteBuffer.allocate(BGZF_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        for (long position = 0; position < size; ) {
+            header.clear();
+            readFully(channel, header, position);
+            boolean bgzf = header.position() == BGZF_HEADER_SIZE
+                    && (header.get(0) & 0xff) == GZIP_MAGIC_1 && (header.get(1) & 0xff) == GZIP_MAGIC_2
+                    && header.get(2) == 8 && (header.get(3) & 4) != 0 && header.getShort(10) == 6
+                    && header.get(12) == 'B' && header.get(13) == 'C' && header.getShort(14) == 2;
+            if (!bgzf) {
+                if (position == 0) {
+                    return null;
+                }
+                throw new IllegalArgumentException("Corrupt BGZF block header at byte " + position);
+            }
+            if (count + 1 == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[count++] = position;
+            position += (header.getShort(16) & 0xffff) + 1;
+            if (position > size) {
+                throw new IllegalArgumentException("Truncated BGZF block at byte " + offsets[count - 1]);
+            }
+        }
+        offsets[count] = size;
+        return Arrays.copyOf(offsets, count + 1);
+    }
+
+    // Keeps a bounded window of blocks inflating on the pool and feeds them to the tokenizer in order
+    private static void inflateBlocks(FileChannel channel, long[] blocks, ForkJoinPool pool,
+                                      ChunkTokenizer tokenizer) throws IOException {
+        int window = Math.max(2, pool.getParallelism() * 2);
+        Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+        int next = 0;
+        try {
+            while (next + 1 < blocks.length || !inFlight.isEmpty()) {
+                while (next + 1 < blocks.length && inFlight.size() < window) {
+                    long start = blocks[next];
+                    int length = (int) (blocks[next + 1] - start);
+                    inFlight.add(pool.submit(() -> inflateBlock(channel, start, length)));
+                    next++;
+                }
+                byte[] data = ParallelCSVLoader.await(inFlight.poll());
+                tokenizer.feed(data, data.length);
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static byte[] inflateBlock(FileChannel channel, long start, int length) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, block, start);
+        int expectedSize = block.getInt(length - 4);
+        int expectedCrc = block.getInt(length - 8);
+        if (expectedSize < 0 || expectedSize > BGZF_MAX_BLOCK) {
+            throw new IllegalArgumentException("Corrupt BGZF block at byte " + start);
+        }
+        // One spare byte lets the inflater reach the end of the stream once all data is out
+        byte[] data = new byte[expectedSize + 1];
+        int inflated = 0;
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(block.array(), BGZF_HEADER_SIZE, length - BGZF_HEADER_SIZE - GZIP_TRAILER_SIZE);
+            while (!inflater.finished() && inflated < data.length) {
+                int n = inflater.inflate(data, inflated, data.length - inflated);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += n;
+            }
+            if (!inflater.finished() || inflated != expectedSize) {
+                throw new IllegalArgumentException("Corrupt BGZF block at byte " + start);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt BGZF block at byte " + start, e);
+        } finally {
+            inflater.end();
+        }
+        data = Arrays.copyOf(data, expectedSize);
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IllegalArgumentException("CRC mismatch in BGZF block at byte " + start);
+        }
+        return data;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + buffer.position());
+            if (n < 0) {
+                break;
+            }
+        }
+    }
+
+    // Tokenizes rows from consecutive chunks of decompressed data, carrying partial rows over
+    private static final class ChunkTokenizer {
+        private final MappedCSVParser.RowHandler handler;
+        private final MappedCSVParser.Row row = new MappedCSVParser.Row();
+        private byte[] pending = new byte[0];
+        private int pendingLength;
+        private long pendingOffset; // decompressed offset of pending[0]
+        private long totalBytes;
+        private boolean headerPending = true;
+        private long rows;
+
+        ChunkTokenizer(MappedCSVParser.RowHandler handler) {
+            this.handler = handler;
+        }
+
+        void feed(byte[] chunk, int length) {
+            totalBytes += length;
+            tokenize(chunk, length, false);
+        }
+
+        long finish() {
+            if (pendingLength > 0) {
+                tokenize(new byte[0], 0, true);
+            }
+            return rows;
+        }
+
+        private void tokenize(byte[] chunk, int length, boolean atEof) {
+            byte[] data = chunk;
+            int limit = length;
+            if (pendingLength > 0) {
+                data = Arrays.copyOf(pending, pendingLength + length);
+                System.arraycopy(chunk, 0, data, pendingLength, length);
+                limit = pendingLength + length;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            int offset = 0;
+            while (offset < limit) {
+                int next = row.tokenize(buffer, offset, limit, atEof, pendingOffset);
+                if (next < 0) {
+                    break; // row continues in the next chunk
+                }
+                if (headerPending) {
+                    headerPending = false;
+                } else {
+                    handler.onRow(row);
+                    rows++;
+                }
+                offset = next;
+            }
+            // The chunk array may be reused by the caller, so the remainder is copied out
+            pending = Arrays.copyOfRange(data, offset, limit);
+            pendingLength = limit - offset;
+            pendingOffset += offset;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package io.github.sawanc.assignment2;
+
+/**
+ * HyperLogLog estimator of the number of distinct strings.
+ * <p>
+ * Uses at most 2^precision one-byte registers, so memory is fixed regardless of how many values
+ * are added. An estimator starts sparse, keeping only its non-zero registers in a small hash
+ * table, and switches to the dense register array once the table would outgrow it; per-group
+ * estimators over a few records therefore cost a few hundred bytes instead of the full array.
+ * The standard error is about {@code 1.04 / sqrt(2^precision)} (0.8% at the default
+ * precision of 14). Small cardinalities fall back to linear counting. Two estimators with the same
+ * precision can be merged, which gives the estimate of the union. Not thread-safe.
+ *
+ * @author sawan chakraborty
+ */
+public class HyperLogLog {
+    public static final int DEFAULT_PRECISION = 14;
+    static final int MIN_PRECISION = 4;
+    static final int MAX_PRECISION = 18;
+
+    private static final int INITIAL_SPARSE_CAPACITY = 8;
+
+    private final int precision;
+    private byte[] registers; // null while sparse
+    private int[] sparse;     // open addressing over index << 8 | rank, 0 marks a free slot
+    private int sparseSize;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Constructs an empty estimator.
+     *
+     * @param precision number of index bits, between 4 and 18
+     */
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between " + MIN_PRECISION + " and "
+                    + MAX_PRECISION + ", but was " + precision);
+        }
+        this.precision = precision;
+        this.sparse = new int[INITIAL_SPARSE_CAPACITY];
+    }
+
+    public void add(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+        addHash(hash64(value));
+    }
+
+    void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // The sentinel bit caps the rank at 64 - precision + 1
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        update(index, rank);
+    }
+
+    private void update(int index, int rank) {
+        if (registers != null) {
+            if (rank > registers[index]) {
+                registers[index] = (byte) rank;
+            }
+            return;
+        }
+        // The index bits come from the hash, so they spread well over the table as they are
+        int mask = sparse.length - 1;
+        for (int slot = index & mask; ; slot = (slot + 1) & mask) {
+            int entry = sparse[slot];
+            if (entry == 0) {
+                sparse[slot] = index << 8 | rank;
+                if (++sparseSize * 2 > sparse.length) {
+                    grow();
+                }
+                return;
+            }
+            if (entry >>> 8 == index) {
+                if (rank > (entry & 0xFF)) {
+                    sparse[slot] = index << 8 | rank;
+                }
+                return;
+            }
+        }
+    }
+
+    // Doubles the sparse table, or switches to dense registers once the table would be the larger
+    private void grow() {
+        int[] entries = sparse;
+        if ((long) entries.length * 2 * Integer.BYTES >= 1L << precision) {
+            registers = new byte[1 << precision];
+            sparse = null;
+            sparseSize = 0;
+        } else {
+            sparse = new int[entries.length * 2];
+            sparseSize = 0;
+        }
+        for (int entry : entries) {
+            if (entry != 0) {
+                update(entry >>> 8, entry & 0xFF);
+            }
+        }
+    }
+
+    boolean isSparse() {
+        return registers == null;
+    }
+
+    /**
+     * Returns the estimated number of distinct values added.
+     */
+    public long estimate() {
+        int m = 1 << precision;
+        double sum = 0.0;
+        int zeros = 0;
+        if (registers == null) {
+            zeros = m - sparseSize;
+            sum = zeros;
+            for (int entry : sparse) {
+                if (entry != 0) {
+                    sum += 1.0 / (1L << (entry & 0xFF));
+                }
+            }
+        } else {
+            for (byte register : registers) {
+                sum += 1.0 / (1L << register);
+                if (register == 0) {
+                    zeros++;
+                }
+            }
+        }
+        double alpha = 0.7213 / (1.0 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Folds another estimator into this one.
+     *
+     * @param other an estimator with the same precision
+     * @return this estimator
+     */
+    public HyperLogLog merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLog with precision " + other.precision
+                    + " into precision " + precision);
+        }
+        if (other.registers == null) {
+            for (int entry : other.sparse) {
+                if (entry != 0) {
+                    update(entry >>> 8, entry & 0xFF);
+                }
+            }
+            return this;
+        }
+        if (registers == null) {
+            int[] entries = sparse;
+            registers = other.registers.clone();
+            sparse = null;
+            sparseSize = 0;
+            for (int entry : entries) {
+                if (entry != 0) {
+                    update(entry >>> 8, entry & 0xFF);
+                }
+            }
+            return this;
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+        return this;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    // 64-bit FNV-1a over the UTF-16 chars, followed by the MurmurHash3 finalizer to spread the bits
+    static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "HyperLogLog{precision=" + precision + ", estimate=" + estimate() + "}";
+    }
+}
@@ -0,0 +1,197 @@
+package io.github.sawanc.assignment2;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe running aggregation of sales records.
+ * Appending or retracting a record updates the total, the per-category and per-region sums and
+ * the per-product sum/count in O(1), so dashboards can read current figures without rescanning
+ * the dataset. Sums are compensated so long append/retract histories do not drift.
+ * <p>
+ * State is bounded by the number of distinct groups, not the number of records, so the aggregator
+ * can run indefinitely. Retraction is therefore checked only against that state: the record's
+ * product, category and region must each have rows, and its amount must lie within the range of
+ * amounts appended to each of those groups. A retraction that passes these checks is trusted to
+ * match an appended record; one that fails them is rejected without changing any aggregate.
+ *
+ * @author sawan chakraborty
+ */
+public class IncrementalSalesAggregator {
+    private CompensatedSum totalSales;
+    private final Map<String, GroupStats> categories;
+    private final Map<String, GroupStats> regions;
+    private final Map<String, GroupStats> products;
+    private long recordCount;
+
+    public IncrementalSalesAggregator() {
+        this.totalSales = new CompensatedSum();
+        this.categories = new HashMap<>();
+        this.regions = new HashMap<>();
+        this.products = new HashMap<>();
+    }
+
+    // All methods are synchronized so readers always see a consistent state
+    public synchronized void append(SalesRecord record) {
+        if (record == null) {
+            throw new IllegalArgumentException("Record cannot be null");
+        }
+        double amount = record.getAmount();
+        totalSales.add(amount);
+        categories.computeIfAbsent(record.getCategory(), key -> new GroupStats()).add(amount);
+        regions.computeIfAbsent(record.getRegion(), key -> new GroupStats()).add(amount);
+        products.computeIfAbsent(record.getProduct(), key -> new GroupStats()).add(amount);
+        recordCount++;
+    }
+
+    public synchronized void appendAll(Collection<SalesRecord> records) {
+        records.forEach(this::append);
+    }
+
+    /**
+     * Removes a previously appended record from every aggregate.
+     * Groups whose last record is retracted disappear from the results.
+     *
+     * @param record the record to retract
+     * @throws IllegalStateException if the record's product, category or region has no rows, or
+     *                               its amount is outside the amounts appended to one of them
+     */
+    public synchronized void retract(SalesRecord record) {
+        if (record == null) {
+            throw new IllegalArgumentException("Record cannot be null");
+        }
+        double amount = record.getAmount();
+        if (!canRetract(categories, record.getCategory(), amount) || !canRetract(regions, record.getRegion(), amount)
+                || !canRetract(products, record.getProduct(), amount)) {
+            throw new IllegalStateException("Cannot retract a record that was never appended: " + record);
+        }
+        totalSales.add(-amount);
+        retractFrom(categories, record.getCategory(), amount);
+        retractFrom(regions, record.getRegion(), amount);
+        retractFrom(products, record.getProduct(), amount);
+        recordCount--;
+    }
+
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    public synchronized double getTotalSales() {
+        return totalSales.getSum();
+    }
+
+    public synchronized Map<String, Double> getSalesByCategory() {
+        return sums(categories);
+    }
+
+    public synchronized Map<String, Double> getSalesByRegion() {
+        return sums(regions);
+    }
+
+    public synchronized Map<String, Double> getAverageSalesPerProduct() {
+        Map<String, Double> avgSalesByProduct = new HashMap<>();
+        products.forEach((product, stats) -> avgSalesByProduct.put(product, stats.sum.getSum() / stats.count));
+        return Map.copyOf(avgSalesByProduct);
+    }
+
+    /**
+     * Returns all aggregates captured atomically with respect to concurrent writers.
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(recordCount, totalSales.getSum(), sums(categories), sums(regions),
+                getAverageSalesPerProduct());
+    }
+
+    public synchronized void clear() {
+        categories.clear();
+        regions.clear();
+        products.clear();
+        recordCount = 0;
+        totalSales = new CompensatedSum();
+    }
+
+    private static boolean canRetract(Map<String, GroupStats> groups, String key, double amount) {
+        GroupStats stats = groups.get(key);
+        // NaN amounts have no place in the range, so only the group itself is checked for them
+        return stats != null && (Double.isNaN(amount) || amount >= stats.min && amount <= stats.max);
+    }
+
+    private static void retractFrom(Map<String, GroupStats> groups, String key, double amount) {
+        GroupStats stats = groups.get(key);
+        stats.sum.add(-amount);
+        stats.count--;
+        if (stats.count == 0) {
+            groups.remove(key);
+        }
+    }
+
+    private static Map<String, Double> sums(Map<String, GroupStats> groups) {
+        Map<String, Double> result = new HashMap<>();
+        groups.forEach((key, stats) -> result.put(key, stats.sum.getSum()));
+        return Map.copyOf(result);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("IncrementalSalesAggregator{records=%d, totalSales=%.2f, categories=%d, regions=%d, products=%d}",
+                recordCount, totalSales.getSum(), categories.size(), regions.size(), products.size());
+    }
+
+    // Sum and count of a group, plus the range of amounts appended since it was created
+    private static class GroupStats {
+        private final CompensatedSum sum = new CompensatedSum();
+        private long count;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        void add(double amount) {
+            sum.add(amount);
+            count++;
+            if (!Double.isNaN(amount)) {
+                min = Math.min(min, amount);
+                max = Math.max(max, amount);
+            }
+        }
+    }
+
+    /**
+     * Immutable point-in-time view of the aggregates.
+     */
+    public static class Snapshot {
+        private final long recordCount;
+        private final double totalSales;
+        private final Map<String, Double> salesByCategory;
+        private final Map<String, Double> salesByRegion;
+        private final Map<String, Double> averageSalesPerProduct;
+
+        Snapshot(long recordCount, double totalSales, Map<String, Double> salesByCategory,
+                 Map<String, Double> salesByRegion, Map<String, Double> averageSalesPerProduct) {
+            this.recordCount = recordCount;
+            this.totalSales = totalSales;
+            this.salesByCategory = salesByCategory;
+            this.salesByRegion = salesByRegion;
+            this.averageSalesPerProduct = averageSalesPerProduct;
+        }
+
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        public double getTotalSales() {
+            return totalSales;
+        }
+
+        public Map<String, Double> getSalesByCategory() {
+            return salesByCategory;
+        }
+
+        public Map<String, Double> getSalesByRegion() {
+            return salesByRegion;
+        }
+
+        public Map<String, Double> getAverageSalesPerProduct() {
+            return averageSalesPerProduct;
+        }
+    }
+}
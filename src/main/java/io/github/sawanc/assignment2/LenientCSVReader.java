@@ -0,0 +1,261 @@
+package io.github.sawanc.assignment2;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Fault-tolerant sales CSV reader that skips malformed rows instead of aborting.
+ * <p>
+ * Rows are tokenized by {@link MappedCSVParser} (so gzip input works too) and every row the
+ * handler rejects with an {@link IllegalArgumentException} is counted and, if a quarantine file is
+ * configured, written to it as a tab-separated line: the 1-based line number where the row starts,
+ * the reason, and the raw row text (tabs and line breaks escaped). Line numbers assume a
+ * single-line header. An optional error-rate limit aborts the read early once enough rows have
+ * been seen to judge the rate. A quoted field left open at the end of the file still fails the
+ * read, since there is no row boundary to resume from.
+ *
+ * <pre>
+ *   LenientCSVReader reader = new LenientCSVReader.Builder()
+ *           .quarantineFile(Path.of("rejected.tsv"))
+ *           .maxErrorRate(0.01, 10_000)
+ *           .build();
+ *   SalesTable.Builder table = new SalesTable.Builder();
+ *   LenientCSVReader.Report report = reader.readSalesTable("sales.csv", table);
+ * </pre>
+ *
+ * @author sawan chakraborty
+ */
+public class LenientCSVReader {
+    static final String QUARANTINE_HEADER = "line\treason\trow";
+
+    private final Path quarantineFile;
+    private final double maxErrorRate;
+    private final long minRowsForRate;
+
+    private LenientCSVReader(Builder builder) {
+        this.quarantineFile = builder.quarantineFile;
+        this.maxErrorRate = builder.maxErrorRate;
+        this.minRowsForRate = builder.minRowsForRate;
+    }
+
+    /**
+     * Parses every valid record and passes it to the action, in file order.
+     *
+     * @param filePath the path to the CSV file
+     * @param action   callback invoked for every valid record
+     * @return counts of accepted and rejected rows
+     * @throws IOException if the file or quarantine file cannot be accessed
+     * @throws IllegalArgumentException if the error-rate limit is exceeded or a quoted field is unterminated
+     */
+    public Report forEachSalesRecord(String filePath, Consumer<SalesRecord> action) throws IOException {
+        StringDictionary dictionary = new StringDictionary();
+        return parse(filePath, row -> action.accept(row.toSalesRecord(dictionary)));
+    }
+
+    /**
+     * Appends every valid row to a table builder; rejected rows leave the builder untouched.
+     *
+     * @see #forEachSalesRecord(String, Consumer)
+     */
+    public Report readSalesTable(String filePath, SalesTable.Builder builder) throws IOException {
+        return parse(filePath, builder::add);
+    }
+
+    /**
+     * Tokenizes every data row and passes it to the handler; an IllegalArgumentException thrown by
+     * the handler quarantines the row and parsing continues with the next one.
+     *
+     * @see #forEachSalesRecord(String, Consumer)
+     */
+    public Report parse(String filePath, MappedCSVParser.RowHandler handler) throws IOException {
+        try (Quarantine quarantine = new Quarantine(quarantineFile)) {
+            long[] line = {2}; // line 1 is the header
+            MappedCSVParser.parse(filePath, row -> {
+                long rowLine = line[0];
+                line[0] += row.lineBreaks();
+                try {
+                    handler.onRow(row);
+                    quarantine.accepted++;
+                } catch (IllegalArgumentException e) {
+                    quarantine.reject(rowLine, reason(e), row);
+                    checkErrorRate(quarantine);
+                }
+            });
+            return quarantine.toReport();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void checkErrorRate(Quarantine quarantine) {
+        long rows = quarantine.accepted + quarantine.rejected;
+        if (rows >= minRowsForRate && quarantine.rejected > maxErrorRate * rows) {
+            throw new IllegalArgumentException(String.format(
+                    "Error rate %.4f exceeds limit %.4f after %d rows (%d rejected)",
+                    (double) quarantine.rejected / rows, maxErrorRate, rows, quarantine.rejected));
+        }
+    }
+
+    // The validation message without the "Malformed CSV row: ..." wrapper
+    static String reason(IllegalArgumentException e) {
+        if (e.getCause() instanceof IllegalArgumentException cause && e.getMessage().startsWith("Malformed CSV row: ")) {
+            return cause.getMessage();
+        }
+        return e.getMessage();
+    }
+
+    // Reasons are grouped without the offending value, e.g. "Invalid amount value"
+    static String reasonKey(String reason) {
+        int colon = reason.indexOf(':');
+        return colon < 0 ? reason : reason.substring(0, colon);
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\t", "\\t").replace("\r", "\\r").replace("\n", "\\n");
+    }
+
+    // Counts rows and streams rejected ones to the quarantine file
+    private static final class Quarantine implements AutoCloseable {
+        private final Path path;
+        private final BufferedWriter writer;
+        private final Map<String, Long> rejectedByReason = new TreeMap<>();
+        private long accepted;
+        private long rejected;
+
+        Quarantine(Path path) throws IOException {
+            this.path = path;
+            this.writer = path == null ? null : Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+            if (writer != null) {
+                writer.write(QUARANTINE_HEADER);
+                writer.newLine();
+            }
+        }
+
+        void reject(long line, String reason, MappedCSVParser.Row row) {
+            rejected++;
+            rejectedByReason.merge(reasonKey(reason), 1L, Long::sum);
+            if (writer == null) {
+                return;
+            }
+            try {
+                writer.write(line + "\t" + escape(reason) + "\t" + escape(row.rawText()));
+                writer.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        Report toReport() {
+            return new Report(accepted, rejected, rejectedByReason, path);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Outcome of a lenient read.
+     */
+    public static final class Report {
+        private final long acceptedRows;
+        private final long rejectedRows;
+        private final Map<String, Long> rejectedByReason;
+        private final Path quarantineFile;
+
+        Report(long acceptedRows, long rejectedRows, Map<String, Long> rejectedByReason, Path quarantineFile) {
+            this.acceptedRows = acceptedRows;
+            this.rejectedRows = rejectedRows;
+            this.rejectedByReason = Collections.unmodifiableMap(new TreeMap<>(rejectedByReason));
+            this.quarantineFile = quarantineFile;
+        }
+
+        public long getAcceptedRows() {
+            return acceptedRows;
+        }
+
+        public long getRejectedRows() {
+            return rejectedRows;
+        }
+
+        public long getTotalRows() {
+            return acceptedRows + rejectedRows;
+        }
+
+        public double getErrorRate() {
+            return getTotalRows() == 0 ? 0.0 : (double) rejectedRows / getTotalRows();
+        }
+
+        /**
+         * Returns rejected row counts keyed by reason, without the offending values.
+         */
+        public Map<String, Long> getRejectedByReason() {
+            return rejectedByReason;
+        }
+
+        /**
+         * Returns the quarantine file, or null if none was configured.
+         */
+        public Path getQuarantineFile() {
+            return quarantineFile;
+        }
+
+        @Override
+        public String toString() {
+            return "LenientCSVReader.Report{accepted=" + acceptedRows + ", rejected=" + rejectedRows
+                    + ", reasons=" + rejectedByReason + "}";
+        }
+    }
+
+    /**
+     * Configures the quarantine file and error-rate limit; by default nothing is written and
+     * there is no limit.
+     */
+    public static class Builder {
+        private Path quarantineFile;
+        private double maxErrorRate = 1.0;
+        private long minRowsForRate;
+
+        /**
+         * Writes rejected rows to the given file, replacing its contents.
+         */
+        public Builder quarantineFile(Path quarantineFile) {
+            this.quarantineFile = quarantineFile;
+            return this;
+        }
+
+        /**
+         * Aborts the read once more than {@code maxErrorRate} of the rows seen so far are rejected,
+         * checked only after {@code minRows} rows so a few early errors do not stop the read.
+         *
+         * @param maxErrorRate the highest tolerated fraction of rejected rows, between 0 and 1
+         * @param minRows      the number of rows to read before the rate is enforced
+         */
+        public Builder maxErrorRate(double maxErrorRate, long minRows) {
+            if (!(maxErrorRate >= 0.0 && maxErrorRate <= 1.0)) {
+                throw new IllegalArgumentException("Max error rate must be between 0 and 1, but was " + maxErrorRate);
+            }
+            if (minRows < 0) {
+                throw new IllegalArgumentException("Min rows cannot be negative, but was " + minRows);
+            }
+            this.maxErrorRate = maxErrorRate;
+            this.minRowsForRate = minRows;
+            return this;
+        }
+
+        public LenientCSVReader build() {
+            return new LenientCSVReader(this);
+        }
+    }
+}
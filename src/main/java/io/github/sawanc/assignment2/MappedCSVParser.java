@@ -0,0 +1,561 @@
+package io.github.sawanc.assignment2;
+
+import com.opencsv.CSVParser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Fast-path sales CSV parser that memory-maps the file and tokenizes raw bytes.
+ * Amount and quantity are parsed directly from the mapped bytes, and repeated dimension
+ * values (product, category, region, date) are decoded once through a {@link StringDictionary}.
+ * Produces the same records and error messages as {@link CSVReader}, including RFC 4180
+ * quoted fields with embedded commas, doubled quotes and line breaks. Rows that lean on
+ * OpenCSV's irregular rules (text after a closing quote, quotes inside unquoted fields,
+ * backslash escapes, bare carriage returns) are handed to OpenCSV's own {@link CSVParser}; such
+ * a row whose quotes never close is rejected, where {@link CSVReader} would read on into the
+ * following lines.
+ *
+ * @author sawan chakraborty
+ */
+public class MappedCSVParser {
+    static final int COLUMN_COUNT = 7;
+    static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /**
+     * Callback receiving each tokenized row. The row object is reused between calls.
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        void onRow(Row row);
+    }
+
+    /**
+     * Reads sales records from a CSV file using the memory-mapped fast path.
+     *
+     * @param filePath the path to the CSV file
+     * @return a list of SalesRecord objects parsed from the file
+     * @throws IOException if the file cannot be read or does not exist
+     * @throws IllegalArgumentException if the CSV data is malformed
+     */
+    public static List<SalesRecord> readSalesData(String filePath) throws IOException {
+        List<SalesRecord> salesRecords = new ArrayList<>();
+        forEachSalesRecord(filePath, salesRecords::add);
+        return salesRecords;
+    }
+
+    /**
+     * Parses a CSV file and passes each record to the given action, in file order.
+     *
+     * @param filePath the path to the CSV file
+     * @param action   callback invoked for every parsed record
+     * @return the number of records passed to the action
+     * @throws IOException if the file cannot be read or does not exist
+     * @throws IllegalArgumentException if the CSV data is malformed
+     */
+    public static long forEachSalesRecord(String filePath, Consumer<SalesRecord> action) throws IOException {
+        StringDictionary dictionary = new StringDictionary();
+        return parse(filePath, row -> action.accept(row.toSalesRecord(dictionary)));
+    }
+
+    /**
+     * Tokenizes every data row of a CSV file (the header row is skipped).
+     * Gzip-compressed files are detected by their magic number and decompressed by {@link GzipCSVParser}.
+     *
+     * @param filePath the path to the CSV file
+     * @param handler  callback receiving each row
+     * @return the number of data rows
+     * @throws IOException if the file cannot be read or does not exist
+     * @throws IllegalArgumentException if the file is empty or a quoted field is unterminated
+     */
+    public static long parse(String filePath, RowHandler handler) throws IOException {
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            throw new IOException("CSV file not found: " + filePath);
+        }
+        if (GzipCSVParser.isGzip(path)) {
+            return GzipCSVParser.parse(filePath, handler);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() == 0) {
+                throw new IllegalArgumentException("CSV file is empty: " + filePath);
+            }
+            return parseRange(channel, 0, channel.size(), true, DEFAULT_WINDOW_SIZE, handler);
+        }
+    }
+
+    /**
+     * Tokenizes every row that starts in {@code [start, end)}. {@code start} must be the first
+     * byte of a row; a row starting before {@code end} is parsed to completion even if it
+     * extends past {@code end}. The file is mapped in windows of {@code windowSize} bytes, and a
+     * window is grown if a single row does not fit in it.
+     *
+     * @return the number of rows passed to the handler
+     */
+    static long parseRange(FileChannel channel, long start, long end, boolean skipHeader,
+                           int windowSize, RowHandler handler) throws IOException {
+        long fileSize = channel.size();
+        Row row = new Row();
+        long rows = 0;
+        long position = start;
+        boolean headerPending = skipHeader;
+        int window = windowSize;
+
+        while (position < end) {
+            long windowEnd = Math.min(fileSize, position + window);
+            boolean atEof = windowEnd == fileSize;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, windowEnd - position);
+            int limit = buffer.limit();
+            int offset = 0;
+
+            while (position + offset < end) {
+                int next = row.tokenize(buffer, offset, limit, atEof, position);
+                if (next < 0) {
+                    break; // row continues past this window
+                }
+                if (headerPending) {
+                    headerPending = false;
+                } else {
+                    handler.onRow(row);
+                    rows++;
+                }
+                offset = next;
+            }
+
+            if (offset == 0 && position < end) {
+                // A single row is larger than the window; retry with a bigger one
+                window = (int) Math.min(Integer.MAX_VALUE, (long) window * 2);
+            }
+            position += offset;
+        }
+        return rows;
+    }
+
+    /**
+     * Byte offsets of the fields in one tokenized CSV row. Field accessors parse or decode
+     * lazily from the mapped buffer, so unused fields cost nothing.
+     */
+    public static final class Row {
+        private ByteBuffer buffer;
+        private ByteBuffer fields;
+        private boolean irregular;
+        private int[] starts = new int[COLUMN_COUNT + 1];
+        private int[] ends = new int[COLUMN_COUNT + 1];
+        private boolean[] escaped = new boolean[COLUMN_COUNT + 1];
+        private int fieldCount;
+        private long rowOffset;
+        private int rowStart;
+        private int rowEnd;
+        private byte[] scratch = new byte[64];
+
+        // Tokenizes one row starting at pos; returns the position after its line break, or -1 if incomplete
+        int tokenize(ByteBuffer buf, int pos, int limit, boolean atEof, long bufferOffset) {
+            this.buffer = buf;
+            this.fields = buf;
+            this.irregular = false;
+            this.rowOffset = bufferOffset + pos;
+            this.rowStart = pos;
+            this.fieldCount = 0;
+            int i = pos;
+
+            while (true) {
+                // Skip leading whitespace (String.trim semantics), but never past a line break
+                while (i < limit && isBlank(buf.get(i))) {
+                    i++;
+                }
+                int fieldStart;
+                int fieldEnd;
+                boolean fieldEscaped = false;
+
+                if (i < limit && buf.get(i) == '"') {
+                    fieldStart = ++i;
+                    while (true) {
+                        if (i >= limit) {
+                            if (atEof) {
+                                throw new IllegalArgumentException(
+                                        "Unterminated quoted field starting at byte " + (bufferOffset + fieldStart - 1));
+                            }
+                            return -1;
+                        }
+                        if (buf.get(i) == '"') {
+                            if (i + 1 < limit && buf.get(i + 1) == '"') {
+                                fieldEscaped = true;
+                                i += 2;
+                                continue;
+                            }
+                            if (i + 1 >= limit && !atEof) {
+                                return -1; // cannot tell an escaped quote from a closing one yet
+                            }
+                            break;
+                        }
+                        checkRegular(buf, i, limit, atEof);
+                        i++;
+                    }
+                    fieldEnd = i++;
+                    // OpenCSV keeps text after the closing quote; only a line ending may follow here
+                    int trailing = i;
+                    while (i < limit && buf.get(i) != ',' && buf.get(i) != '\n') {
+                        i++;
+                    }
+                    if (i > trailing && !(i == trailing + 1 && buf.get(trailing) == '\r' && (i < limit || atEof))) {
+                        irregular = true;
+                    }
+                } else {
+                    fieldStart = i;
+                    while (i < limit && buf.get(i) != ',' && buf.get(i) != '\n') {
+                        if (buf.get(i) == '"') {
+                            irregular = true;
+                        }
+                        checkRegular(buf, i, limit, atEof);
+                        i++;
+                    }
+                    fieldEnd = i;
+                }
+                // String.trim semantics, as CSVReader applies to every field
+                while (fieldStart < fieldEnd && isTrimmed(buf.get(fieldStart))) {
+                    fieldStart++;
+                }
+                while (fieldEnd > fieldStart && isTrimmed(buf.get(fieldEnd - 1))) {
+                    fieldEnd--;
+                }
+
+                if (i >= limit && !atEof) {
+                    return -1;
+                }
+                addField(fieldStart, fieldEnd, fieldEscaped);
+
+                if (i >= limit || buf.get(i) == '\n') {
+                    rowEnd = i >= limit ? limit : i + 1;
+                    if (irregular) {
+                        reparse();
+                    }
+                    return rowEnd;
+                }
+                i++; // delimiter
+            }
+        }
+
+        // Flags backslashes (OpenCSV's escape character) and carriage returns that do not end a line
+        private void checkRegular(ByteBuffer buf, int i, int limit, boolean atEof) {
+            byte b = buf.get(i);
+            if (b == '\\' || (b == '\r' && (i + 1 < limit ? buf.get(i + 1) != '\n' : !atEof))) {
+                irregular = true;
+            }
+        }
+
+        // Re-splits the row with OpenCSV one line at a time, as CSVReader reads it, and trims the fields
+        private void reparse() {
+            CSVParser parser = new CSVParser();
+            List<String> values = new ArrayList<>();
+            try {
+                for (String line : rawText().split("\r\n|\n|\r", -1)) {
+                    values.addAll(Arrays.asList(parser.parseLineMulti(line)));
+                }
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Error parsing CSV row at byte " + rowOffset + ": " + e.getMessage(), e);
+            }
+            if (parser.isPending()) {
+                throw new IllegalArgumentException("Unterminated quoted field starting at byte " + rowOffset);
+            }
+            List<byte[]> encoded = new ArrayList<>(values.size());
+            int size = 0;
+            for (String value : values) {
+                byte[] bytes = value.trim().getBytes(StandardCharsets.UTF_8);
+                encoded.add(bytes);
+                size += bytes.length;
+            }
+            ByteBuffer unescaped = ByteBuffer.allocate(size);
+            fieldCount = 0;
+            for (byte[] bytes : encoded) {
+                int start = unescaped.position();
+                unescaped.put(bytes);
+                addField(start, unescaped.position(), false);
+            }
+            fields = unescaped;
+        }
+
+        private static boolean isBlank(byte b) {
+            return isTrimmed(b) && b != '\n';
+        }
+
+        // String.trim semantics; bytes are compared unsigned so UTF-8 lead and continuation bytes are kept
+        private static boolean isTrimmed(byte b) {
+            return (b & 0xFF) <= ' ';
+        }
+
+        private void addField(int start, int end, boolean fieldEscaped) {
+            if (fieldCount == starts.length) {
+                starts = Arrays.copyOf(starts, fieldCount * 2);
+                ends = Arrays.copyOf(ends, fieldCount * 2);
+                escaped = Arrays.copyOf(escaped, fieldCount * 2);
+            }
+            starts[fieldCount] = start;
+            ends[fieldCount] = end;
+            escaped[fieldCount] = fieldEscaped;
+            fieldCount++;
+        }
+
+        public int getFieldCount() {
+            return fieldCount;
+        }
+
+        // Absolute byte offset of the first byte of this row in the file
+        public long getRowOffset() {
+            return rowOffset;
+        }
+
+        // Number of line breaks in this row, including the one ending it
+        int lineBreaks() {
+            int count = 0;
+            for (int i = rowStart; i < rowEnd; i++) {
+                if (buffer.get(i) == '\n') {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        // The row exactly as it appears in the file, without its line ending
+        String rawText() {
+            int end = rowEnd;
+            if (end > rowStart && buffer.get(end - 1) == '\n') {
+                end--;
+            }
+            if (end > rowStart && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            byte[] bytes = new byte[end - rowStart];
+            buffer.get(rowStart, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        public boolean isFieldEmpty(int field) {
+            return ends[field] == starts[field];
+        }
+
+        public String getString(int field) {
+            int length = copyField(field);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Returns the field's code in the dictionary without allocating a String for known values.
+         */
+        public int encode(int field, StringDictionary dictionary) {
+            int length = copyField(field);
+            return dictionary.encode(scratch, 0, length);
+        }
+
+        public String getString(int field, StringDictionary dictionary) {
+            return dictionary.decode(encode(field, dictionary));
+        }
+
+        /**
+         * Parses the field as a double without creating a String. Plain decimals whose digits
+         * fit in 53 bits take an exact fast path; anything else falls back to
+         * {@link Double#parseDouble(String)}, so results are always identical to it.
+         *
+         * @throws NumberFormatException if the field is not a valid number
+         */
+        public double getDouble(int field) {
+            int start = starts[field];
+            int end = ends[field];
+            if (escaped[field] || start == end) {
+                return Double.parseDouble(getString(field));
+            }
+            int i = start;
+            boolean negative = false;
+            byte first = fields.get(i);
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                i++;
+            }
+            long mantissa = 0;
+            int scale = 0;
+            boolean sawDigit = false;
+            boolean sawDot = false;
+            for (; i < end; i++) {
+                byte b = fields.get(i);
+                if (b >= '0' && b <= '9') {
+                    sawDigit = true;
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (sawDot) {
+                        scale++;
+                    }
+                    if (mantissa >= MAX_EXACT_MANTISSA) {
+                        return Double.parseDouble(getString(field));
+                    }
+                } else if (b == '.' && !sawDot) {
+                    sawDot = true;
+                } else {
+                    return Double.parseDouble(getString(field)); // exponent, NaN, or invalid
+                }
+            }
+            if (!sawDigit || scale >= POWERS_OF_TEN.length) {
+                return Double.parseDouble(getString(field));
+            }
+            // Both operands are exact doubles, so one correctly rounded division matches parseDouble
+            double value = scale == 0 ? mantissa : mantissa / POWERS_OF_TEN[scale];
+            return negative ? -value : value;
+        }
+
+        /**
+         * Parses the field as a fixed-point amount in cents, without going through double.
+         *
+         * @throws IllegalArgumentException if the field is not a number, has more than two
+         *                                  significant decimal places or overflows a long
+         * @see Cents#parse(String)
+         */
+        public long getCents(int field) {
+            int length = copyField(field);
+            return Cents.parse(scratch, 0, length);
+        }
+
+        /**
+         * Parses the field as an int without creating a String.
+         *
+         * @throws NumberFormatException if the field is not a valid int
+         */
+        public int getInt(int field) {
+            int start = starts[field];
+            int end = ends[field];
+            if (escaped[field] || start == end) {
+                return Integer.parseInt(getString(field));
+            }
+            int i = start;
+            boolean negative = false;
+            byte first = fields.get(i);
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                i++;
+            }
+            if (i == end) {
+                throw new NumberFormatException("For input string: \"" + getString(field) + "\"");
+            }
+            long value = 0;
+            for (; i < end; i++) {
+                byte b = fields.get(i);
+                if (b < '0' || b > '9') {
+                    throw new NumberFormatException("For input string: \"" + getString(field) + "\"");
+                }
+                value = value * 10 + (b - '0');
+                if (value > (long) Integer.MAX_VALUE + 1) {
+                    throw new NumberFormatException("For input string: \"" + getString(field) + "\"");
+                }
+            }
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) {
+                throw new NumberFormatException("For input string: \"" + getString(field) + "\"");
+            }
+            return (int) value;
+        }
+
+        /**
+         * Converts this row into a SalesRecord, applying the same validation as {@link CSVReader}.
+         *
+         * @param dictionary dictionary used to share repeated dimension strings
+         * @throws IllegalArgumentException if the row is malformed
+         */
+        public SalesRecord toSalesRecord(StringDictionary dictionary) {
+            try {
+                validate();
+                double amount = parseAmount();
+                int quantity = parseQuantity();
+                return new SalesRecord(getString(0), getString(1, dictionary), getString(2, dictionary),
+                        getString(3, dictionary), amount, quantity, getString(6, dictionary));
+            } catch (IllegalArgumentException e) {
+                throw malformed(e);
+            }
+        }
+
+        // Wraps a validation failure with the row text, matching CSVReader's message format
+        IllegalArgumentException malformed(IllegalArgumentException e) {
+            return new IllegalArgumentException("Malformed CSV row: " + this + " - " + e.getMessage(), e);
+        }
+
+        double parseAmount() {
+            try {
+                return getDouble(4);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid amount value: " + getString(4), e);
+            }
+        }
+
+        int parseQuantity() {
+            try {
+                return getInt(5);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid quantity value: " + getString(5), e);
+            }
+        }
+
+        // Checks column count and non-empty fields
+        void validate() {
+            if (fieldCount != COLUMN_COUNT) {
+                throw new IllegalArgumentException(
+                        "Expected 7 columns (order_id, product, category, region, amount, quantity, order_date), but found " + fieldCount);
+            }
+            for (int field = 0; field < COLUMN_COUNT; field++) {
+                if (isFieldEmpty(field)) {
+                    throw new IllegalArgumentException("CSV row contains empty fields");
+                }
+            }
+        }
+
+        // Copies the (unescaped) field bytes into scratch() and returns the length
+        int copyField(int field) {
+            int start = starts[field];
+            int length = ends[field] - start;
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            fields.get(start, scratch, 0, length);
+            if (!escaped[field]) {
+                return length;
+            }
+            // Collapse doubled quotes in place
+            int out = 0;
+            for (int in = 0; in < length; in++) {
+                scratch[out++] = scratch[in];
+                if (scratch[in] == '"') {
+                    in++;
+                }
+            }
+            return out;
+        }
+
+        // Buffer holding the bytes of the last copied field; overwritten by the next field access
+        byte[] scratch() {
+            return scratch;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (int field = 0; field < fieldCount; field++) {
+                if (field > 0) {
+                    sb.append(',');
+                }
+                sb.append(getString(field));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package io.github.sawanc.assignment2;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Parallel sales CSV loader that splits the file into byte ranges and parses them on a ForkJoinPool.
+ * <p>
+ * Range boundaries are aligned to row starts in a quote-aware way: every raw chunk is first scanned
+ * in parallel to count its quotes and find its first line break at each quote parity. A prefix sum
+ * of the quote counts then tells whether each chunk starts inside a quoted field, so a line break
+ * embedded in a quoted value is never mistaken for the end of a row.
+ *
+ * @author sawan chakraborty
+ */
+public class ParallelCSVLoader {
+    // Below this size a chunk is not worth its own task
+    static final long MIN_CHUNK_BYTES = 1024 * 1024;
+
+    /**
+     * Reads sales records in parallel on the common pool, returning them in file order.
+     *
+     * @param filePath the path to the CSV file
+     * @return a list of SalesRecord objects in file order
+     * @throws IOException if the file cannot be read or does not exist
+     * @throws IllegalArgumentException if the CSV data is malformed
+     */
+    public static List<SalesRecord> readSalesData(String filePath) throws IOException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return readSalesData(filePath, pool, defaultChunkCount(filePath, pool));
+    }
+
+    /**
+     * Reads sales records in parallel, returning them in file order.
+     *
+     * @param filePath   the path to the CSV file
+     * @param pool       the pool running the chunk parsers
+     * @param chunkCount number of byte ranges to split the file into
+     * @return a list of SalesRecord objects in file order
+     */
+    public static List<SalesRecord> readSalesData(String filePath, ForkJoinPool pool, int chunkCount) throws IOException {
+        List<List<SalesRecord>> partitions = readPartitions(filePath, pool, chunkCount, ArrayList::new, List::add);
+        int total = partitions.stream().mapToInt(List::size).sum();
+        List<SalesRecord> salesRecords = new ArrayList<>(total);
+        partitions.forEach(salesRecords::addAll);
+        return salesRecords;
+    }
+
+    /**
+     * Parses the file in parallel, folding each chunk's records into its own partial result.
+     * Partial results are returned in file order and can be merged by the caller, so
+     * aggregations never need the full record list.
+     *
+     * @param filePath    the path to the CSV file
+     * @param pool        the pool running the chunk parsers
+     * @param chunkCount  number of byte ranges to split the file into
+     * @param supplier    creates an empty partial result for each chunk
+     * @param accumulator folds one record into a partial result
+     * @return one partial result per non-empty chunk, in file order
+     */
+    public static <A> List<A> readPartitions(String filePath, ForkJoinPool pool, int chunkCount,
+                                             Supplier<A> supplier, BiConsumer<A, SalesRecord> accumulator) throws IOException {
+        List<RecordPartition<A>> partitions = parseChunks(filePath, pool, chunkCount,
+                () -> new RecordPartition<>(supplier.get()),
+                (partition, row) -> accumulator.accept(partition.result, row.toSalesRecord(partition.dictionary)));
+        List<A> results = new ArrayList<>(partitions.size());
+        partitions.forEach(partition -> results.add(partition.result));
+        return results;
+    }
+
+    /**
+     * Row-level form of {@link #readPartitions}: each chunk's tokenized rows are passed to the
+     * accumulator without building SalesRecord objects.
+     */
+    public static <A> List<A> parseChunks(String filePath, ForkJoinPool pool, int chunkCount,
+                                          Supplier<A> supplier, BiConsumer<A, MappedCSVParser.Row> accumulator) throws IOException {
+        if (chunkCount <= 0) {
+            throw new IllegalArgumentException("Chunk count must be positive, but was " + chunkCount);
+        }
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            throw new IOException("CSV file not found: " + filePath);
+        }
+        if (GzipCSVParser.isGzip(path)) {
+            // Compressed bytes cannot be split at row boundaries; BGZF blocks still inflate in parallel
+            A partial = supplier.get();
+            GzipCSVParser.parse(filePath, pool, row -> accumulator.accept(partial, row));
+            return List.of(partial);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() == 0) {
+                throw new IllegalArgumentException("CSV file is empty: " + filePath);
+            }
+            long[] boundaries = splitPoints(channel, pool, chunkCount);
+
+            List<Callable<A>> tasks = new ArrayList<>();
+            for (int i = 0; i + 1 < boundaries.length; i++) {
+                long start = boundaries[i];
+                long end = boundaries[i + 1];
+                if (start == end) {
+                    continue;
+                }
+                boolean skipHeader = i == 0;
+                tasks.add(() -> {
+                    A partial = supplier.get();
+                    MappedCSVParser.parseRange(channel, start, end, skipHeader, MappedCSVParser.DEFAULT_WINDOW_SIZE,
+                            row -> accumulator.accept(partial, row));
+                    return partial;
+                });
+            }
+            return invokeAll(pool, tasks);
+        }
+    }
+
+    /**
+     * Splits the file into at most {@code chunkCount} ranges that each start at a row boundary.
+     *
+     * @return ascending offsets; range i is {@code [result[i], result[i + 1])} and may be empty
+     */
+    static long[] splitPoints(FileChannel channel, ForkJoinPool pool, int chunkCount) throws IOException {
+        long fileSize = channel.size();
+        int chunks = (int) Math.max(1, Math.min(chunkCount, fileSize));
+        long chunkSize = fileSize / chunks;
+
+        // Phase 1: scan raw chunks in parallel
+        List<Callable<ChunkScan>> scans = new ArrayList<>();
+        for (int i = 0; i < chunks; i++) {
+            long start = i * chunkSize;
+            long end = i == chunks - 1 ? fileSize : start + chunkSize;
+            scans.add(() -> scan(channel, start, end));
+        }
+        List<ChunkScan> results = invokeAll(pool, scans);
+
+        // Phase 2: resolve each chunk's starting quote parity, back to front so chunks without
+        // a usable line break inherit the next boundary
+        int[] startParity = new int[chunks];
+        for (int i = 1; i < chunks; i++) {
+            startParity[i] = (int) ((startParity[i - 1] + results.get(i - 1).quoteCount) & 1);
+        }
+        long[] boundaries = new long[chunks + 1];
+        boundaries[chunks] = fileSize;
+        for (int i = chunks - 1; i >= 1; i--) {
+            // A line break ends a row only when the global quote parity there is even
+            long newline = results.get(i).firstNewline[startParity[i]];
+            boundaries[i] = newline >= 0 ? newline + 1 : boundaries[i + 1];
+        }
+        boundaries[0] = 0;
+        return boundaries;
+    }
+
+    // Counts quotes and records the first line break at each local quote parity
+    private static ChunkScan scan(FileChannel channel, long start, long end) throws IOException {
+        ChunkScan result = new ChunkScan();
+        int parity = 0;
+        for (long position = start; position < end; ) {
+            long length = Math.min(end - position, MappedCSVParser.DEFAULT_WINDOW_SIZE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            for (int i = 0; i < length; i++) {
+                byte b = buffer.get(i);
+                if (b == '"') {
+                    result.quoteCount++;
+                    parity ^= 1;
+                } else if (b == '\n' && result.firstNewline[parity] < 0) {
+                    result.firstNewline[parity] = position + i;
+                }
+            }
+            position += length;
+        }
+        return result;
+    }
+
+    static <T> List<T> invokeAll(ForkJoinPool pool, List<Callable<T>> tasks) throws IOException {
+        List<T> results = new ArrayList<>(tasks.size());
+        for (Future<T> future : pool.invokeAll(tasks)) {
+            results.add(await(future));
+        }
+        return results;
+    }
+
+    // Waits for a task, rethrowing its I/O and runtime failures unwrapped
+    static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading CSV chunks", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            // ForkJoinPool wraps checked exceptions of callables in plain RuntimeExceptions
+            while (cause.getClass() == RuntimeException.class && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("CSV chunk parser failed", cause);
+        }
+    }
+
+    private static int defaultChunkCount(String filePath, ForkJoinPool pool) throws IOException {
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            throw new IOException("CSV file not found: " + filePath);
+        }
+        // A few chunks per worker smooths out uneven row costs
+        long bySize = Math.max(1, Files.size(path) / MIN_CHUNK_BYTES);
+        return (int) Math.min(bySize, (long) pool.getParallelism() * 4);
+    }
+
+    private static class ChunkScan {
+        private long quoteCount;
+        private final long[] firstNewline = {-1, -1};
+    }
+
+    // Per-chunk partial result plus the chunk's own (single-threaded) string dictionary
+    private static class RecordPartition<A> {
+        private final A result;
+        private final StringDictionary dictionary = new StringDictionary();
+
+        RecordPartition(A result) {
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package io.github.sawanc.assignment2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel mode of {@link SalesAnalysisService} with deterministic results.
+ * <p>
+ * Input is cut into fixed-size blocks of {@link #BLOCK_SIZE} rows. Each block is aggregated
+ * sequentially into its own partial result using {@link CompensatedSum}, blocks run in parallel on
+ * a ForkJoinPool, and the partials are merged in block order. Because block boundaries and merge
+ * order depend only on the input, totals are bit-for-bit identical for any pool size. Blocks run
+ * in waves of a few per worker and are folded into the result as each wave completes, so only one
+ * wave of partials is alive at a time; table partials are keyed sparsely by the codes a block
+ * actually contains, so their size does not grow with the dictionaries.
+ *
+ * @author sawan chakraborty
+ */
+public class ParallelSalesAnalysisService extends SalesAnalysisService {
+    // Rows per block; fixed so that the reduction tree never depends on the thread count
+    public static final int BLOCK_SIZE = 8192;
+    // Blocks per worker in one wave; only affects how many partials are alive at once
+    static final int BLOCKS_PER_WORKER = 4;
+
+    private final ForkJoinPool pool;
+
+    public ParallelSalesAnalysisService() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a parallel service that runs its blocks on the given pool.
+     *
+     * @param pool the pool used for block aggregation
+     */
+    public ParallelSalesAnalysisService(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.pool = pool;
+    }
+
+    @Override
+    public double getTotalSales(List<SalesRecord> records) {
+        List<SalesRecord> rows = randomAccess(records);
+        CompensatedSum total = new CompensatedSum();
+        forEachBlock(rows.size(), (start, end) -> {
+            CompensatedSum partial = new CompensatedSum();
+            for (int i = start; i < end; i++) {
+                partial.add(rows.get(i).getAmount());
+            }
+            return partial;
+        }, total::add);
+        return total.getSum();
+    }
+
+    @Override
+    public Map<String, Double> getSalesByCategory(List<SalesRecord> records) {
+        return sumsByKey(records, SalesRecord::getCategory);
+    }
+
+    @Override
+    public Map<String, Double> getSalesByRegion(List<SalesRecord> records) {
+        return sumsByKey(records, SalesRecord::getRegion);
+    }
+
+    @Override
+    public Map<String, Double> getAverageSalesPerProduct(List<SalesRecord> records) {
+        List<SalesRecord> rows = randomAccess(records);
+        Map<String, GroupStats> merged = new HashMap<>();
+        forEachBlock(rows.size(), (start, end) -> {
+            Map<String, GroupStats> partial = new HashMap<>();
+            for (int i = start; i < end; i++) {
+                SalesRecord record = rows.get(i);
+                partial.computeIfAbsent(record.getProduct(), key -> new GroupStats()).add(record.getAmount());
+            }
+            return partial;
+        }, partial -> partial.forEach((key, stats) ->
+                merged.computeIfAbsent(key, k -> new GroupStats()).merge(stats)));
+
+        Map<String, Double> avgSalesByProduct = new HashMap<>();
+        merged.forEach((product, stats) -> avgSalesByProduct.put(product, stats.average()));
+        return Map.copyOf(avgSalesByProduct);
+    }
+
+    @Override
+    public List<SalesRecord> filterHighValueTransactions(List<SalesRecord> records, double threshold) {
+        List<SalesRecord> rows = randomAccess(records);
+        List<SalesRecord> result = new ArrayList<>();
+        forEachBlock(rows.size(), (start, end) -> {
+            List<SalesRecord> partial = new ArrayList<>();
+            for (int i = start; i < end; i++) {
+                if (rows.get(i).getAmount() >= threshold) {
+                    partial.add(rows.get(i));
+                }
+            }
+            return partial;
+        }, result::addAll);
+        return result;
+    }
+
+    @Override
+    public SalesSummary summarize(List<SalesRecord> records, double highValueThreshold) {
+        List<SalesRecord> rows = randomAccess(records);
+        SalesSummary.Accumulator merged = new SalesSummary.Accumulator(highValueThreshold);
+        forEachBlock(rows.size(), (start, end) -> {
+            SalesSummary.Accumulator partial = new SalesSummary.Accumulator(highValueThreshold);
+            for (int i = start; i < end; i++) {
+                partial.add(rows.get(i));
+            }
+            return partial;
+        }, merged::merge);
+        return merged.build();
+    }
+
+    /**
+     * Selects the largest orders per block and merges the per-block heaps in block order.
+     */
+    @Override
+    public List<SalesRecord> getLargestOrders(List<SalesRecord> records, int k) {
+        List<SalesRecord> rows = randomAccess(records);
+        TopK<SalesRecord> merged = new TopK<>(k, BY_ORDER_ID);
+        forEachBlock(rows.size(), (start, end) -> {
+            TopK<SalesRecord> partial = new TopK<>(k, BY_ORDER_ID);
+            for (int i = start; i < end; i++) {
+                partial.offer(rows.get(i), rows.get(i).getAmount());
+            }
+            return partial;
+        }, merged::merge);
+        return values(merged);
+    }
+
+    // Group totals must be merged before ranking, since one key's total spans several blocks
+    @Override
+    protected Map<String, Double> groupTotals(List<SalesRecord> records, Function<SalesRecord, String> keyExtractor,
+                                              SalesMetric metric) {
+        checkMetric(metric);
+        List<SalesRecord> rows = randomAccess(records);
+        Map<String, CompensatedSum> merged = new HashMap<>();
+        forEachBlock(rows.size(), (start, end) -> {
+            Map<String, CompensatedSum> partial = new HashMap<>();
+            for (int i = start; i < end; i++) {
+                SalesRecord record = rows.get(i);
+                partial.computeIfAbsent(keyExtractor.apply(record), key -> new CompensatedSum()).add(metric.valueOf(record));
+            }
+            return partial;
+        }, partial -> partial.forEach((key, sum) ->
+                merged.computeIfAbsent(key, k -> new CompensatedSum()).add(sum)));
+
+        Map<String, Double> totals = new HashMap<>();
+        merged.forEach((key, sum) -> totals.put(key, sum.getSum()));
+        return totals;
+    }
+
+    @Override
+    public SalesSketch sketch(List<SalesRecord> records) {
+        List<SalesRecord> rows = randomAccess(records);
+        SalesSketch merged = new SalesSketch();
+        forEachBlock(rows.size(), (start, end) -> {
+            SalesSketch partial = new SalesSketch();
+            for (int i = start; i < end; i++) {
+                partial.add(rows.get(i));
+            }
+            return partial;
+        }, merged::merge);
+        return merged;
+    }
+
+    @Override
+    protected Map<String, SalesSketch> sketchBy(List<SalesRecord> records, Function<SalesRecord, String> keyExtractor) {
+        List<SalesRecord> rows = randomAccess(records);
+        Map<String, SalesSketch> merged = new HashMap<>();
+        forEachBlock(rows.size(), (start, end) -> {
+            Map<String, SalesSketch> partial = new HashMap<>();
+            for (int i = start; i < end; i++) {
+                SalesRecord record = rows.get(i);
+                partial.computeIfAbsent(keyExtractor.apply(record), key -> new SalesSketch()).add(record);
+            }
+            return partial;
+        }, partial -> partial.forEach((key, sketch) -> merged.merge(key, sketch, SalesSketch::merge)));
+        return Map.copyOf(merged);
+    }
+
+    @Override
+    public double getTotalSales(SalesTable table) {
+        double[] amounts = table.amountColumn();
+        CompensatedSum total = new CompensatedSum();
+        forEachBlock(table.size(), (start, end) -> {
+            CompensatedSum partial = new CompensatedSum();
+            for (int row = start; row < end; row++) {
+                partial.add(amounts[row]);
+            }
+            return partial;
+        }, total::add);
+        return total.getSum();
+    }
+
+    @Override
+    public Map<String, Double> getSalesByCategory(SalesTable table) {
+        return summarizeTable(table, Double.POSITIVE_INFINITY).getSalesByCategory();
+    }
+
+    @Override
+    public Map<String, Double> getSalesByRegion(SalesTable table) {
+        return summarizeTable(table, Double.POSITIVE_INFINITY).getSalesByRegion();
+    }
+
+    @Override
+    public Map<String, Double> getAverageSalesPerProduct(SalesTable table) {
+        return summarizeTable(table, Double.POSITIVE_INFINITY).getAverageSalesPerProduct();
+    }
+
+    @Override
+    public List<SalesRecord> filterHighValueTransactions(SalesTable table, double threshold) {
+        double[] amounts = table.amountColumn();
+        List<SalesRecord> result = new ArrayList<>();
+        forEachBlock(table.size(), (start, end) -> {
+            List<SalesRecord> partial = new ArrayList<>();
+            for (int row = start; row < end; row++) {
+                if (amounts[row] >= threshold) {
+                    partial.add(table.getRecord(row));
+                }
+            }
+            return partial;
+        }, result::addAll);
+        return result;
+    }
+
+    @Override
+    public SalesSummary summarize(SalesTable table, double highValueThreshold) {
+        return summarizeTable(table, highValueThreshold);
+    }
+
+    // One fused pass per block over the code columns, merged in block order
+    private SalesSummary summarizeTable(SalesTable table, double highValueThreshold) {
+        TableTotals merged = new TableTotals(table);
+        forEachBlock(table.size(), (start, end) -> {
+            TableBlock block = new TableBlock(table, end - start);
+            block.scan(table, start, end, highValueThreshold);
+            return block;
+        }, merged::merge);
+        return merged.build(table, highValueThreshold);
+    }
+
+    private Map<String, Double> sumsByKey(List<SalesRecord> records, Function<SalesRecord, String> keyExtractor) {
+        List<SalesRecord> rows = randomAccess(records);
+        Map<String, CompensatedSum> merged = new HashMap<>();
+        forEachBlock(rows.size(), (start, end) -> {
+            Map<String, CompensatedSum> partial = new HashMap<>();
+            for (int i = start; i < end; i++) {
+                SalesRecord record = rows.get(i);
+                partial.computeIfAbsent(keyExtractor.apply(record), key -> new CompensatedSum()).add(record.getAmount());
+            }
+            return partial;
+        }, partial -> partial.forEach((key, sum) ->
+                merged.computeIfAbsent(key, k -> new CompensatedSum()).add(sum)));
+
+        Map<String, Double> result = new HashMap<>();
+        merged.forEach((key, sum) -> result.put(key, sum.getSum()));
+        return Map.copyOf(result);
+    }
+
+    /**
+     * Runs {@code blockFunction} over every fixed-size block in parallel and passes each partial
+     * result to {@code merger} in block order. Blocks are submitted in waves of
+     * {@link #BLOCKS_PER_WORKER} per worker; since the fold is always in block order, the wave size
+     * only bounds how many partials are alive at once and never changes the result.
+     */
+    private <P> void forEachBlock(int size, BlockFunction<P> blockFunction, Consumer<? super P> merger) {
+        int blocks = (int) (((long) size + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        int wave = Math.max(1, pool.getParallelism() * BLOCKS_PER_WORKER);
+        for (int first = 0; first < blocks; first += wave) {
+            int from = first;
+            int to = Math.min(blocks, first + wave);
+            // Submitting the stream to the pool makes its parallel work run on that pool
+            pool.submit(() -> IntStream.range(from, to)
+                    .parallel()
+                    .mapToObj(block -> blockFunction.apply(block * BLOCK_SIZE,
+                            (int) Math.min(size, (long) (block + 1) * BLOCK_SIZE)))
+                    .toList()).join().forEach(merger);
+        }
+    }
+
+    private static List<SalesRecord> randomAccess(List<SalesRecord> records) {
+        return records instanceof RandomAccess ? records : new ArrayList<>(records);
+    }
+
+    @FunctionalInterface
+    private interface BlockFunction<P> {
+        P apply(int start, int end);
+    }
+
+    private static class GroupStats {
+        private final CompensatedSum sum = new CompensatedSum();
+        private long count;
+
+        void add(double amount) {
+            sum.add(amount);
+            count++;
+        }
+
+        void merge(GroupStats other) {
+            sum.add(other.sum);
+            count += other.count;
+        }
+
+        double average() {
+            return sum.getSum() / count;
+        }
+    }
+
+    // Fused aggregation of a whole SalesTable, indexed densely by dictionary code
+    private static class TableTotals {
+        private final CompensatedSum total = new CompensatedSum();
+        private final CompensatedSum[] categorySums;
+        private final CompensatedSum[] regionSums;
+        private final CompensatedSum[] productSums;
+        private final long[] productCounts;
+        private int[] highValueRows = new int[16];
+        private int highValueCount;
+
+        TableTotals(SalesTable table) {
+            this.categorySums = new CompensatedSum[table.getCategoryDictionary().size()];
+            this.regionSums = new CompensatedSum[table.getRegionDictionary().size()];
+            this.productSums = new CompensatedSum[table.getProductDictionary().size()];
+            this.productCounts = new long[productSums.length];
+        }
+
+        // Touches only the codes present in the block
+        void merge(TableBlock block) {
+            total.add(block.total);
+            block.categories.forEach((code, sum, count) -> slot(categorySums, code).add(sum));
+            block.regions.forEach((code, sum, count) -> slot(regionSums, code).add(sum));
+            block.products.forEach((code, sum, count) -> {
+                slot(productSums, code).add(sum);
+                productCounts[code] += count;
+            });
+            if (highValueCount + block.highValueCount > highValueRows.length) {
+                highValueRows = Arrays.copyOf(highValueRows,
+                        Math.max(highValueRows.length * 2, highValueCount + block.highValueCount));
+            }
+            System.arraycopy(block.highValueRows, 0, highValueRows, highValueCount, block.highValueCount);
+            highValueCount += block.highValueCount;
+        }
+
+        SalesSummary build(SalesTable table, double highValueThreshold) {
+            Map<String, Double> averageSalesPerProduct = new HashMap<>();
+            for (int code = 0; code < productSums.length; code++) {
+                if (productSums[code] != null) {
+                    averageSalesPerProduct.put(table.getProductDictionary().decode(code),
+                            productSums[code].getSum() / productCounts[code]);
+                }
+            }
+            List<SalesRecord> highValueTransactions = new ArrayList<>(highValueCount);
+            for (int i = 0; i < highValueCount; i++) {
+                highValueTransactions.add(table.getRecord(highValueRows[i]));
+            }
+            return new SalesSummary(total.getSum(), decode(categorySums, table.getCategoryDictionary()),
+                    decode(regionSums, table.getRegionDictionary()), averageSalesPerProduct,
+                    highValueThreshold, highValueTransactions);
+        }
+
+        private static CompensatedSum slot(CompensatedSum[] sums, int code) {
+            CompensatedSum sum = sums[code];
+            if (sum == null) {
+                sum = new CompensatedSum();
+                sums[code] = sum;
+            }
+            return sum;
+        }
+
+        private static Map<String, Double> decode(CompensatedSum[] sums, StringDictionary dictionary) {
+            Map<String, Double> result = new HashMap<>();
+            for (int code = 0; code < sums.length; code++) {
+                if (sums[code] != null) {
+                    result.put(dictionary.decode(code), sums[code].getSum());
+                }
+            }
+            return result;
+        }
+    }
+
+    // Partial fused aggregation of one block; sized by the block's rows, not by the dictionaries
+    private static class TableBlock {
+        private final CompensatedSum total = new CompensatedSum();
+        private final CodeSums categories;
+        private final CodeSums regions;
+        private final CodeSums products;
+        private int[] highValueRows = new int[16];
+        private int highValueCount;
+
+        TableBlock(SalesTable table, int rows) {
+            this.categories = new CodeSums(Math.min(rows, table.getCategoryDictionary().size()));
+            this.regions = new CodeSums(Math.min(rows, table.getRegionDictionary().size()));
+            this.products = new CodeSums(Math.min(rows, table.getProductDictionary().size()));
+        }
+
+        void scan(SalesTable table, int start, int end, double highValueThreshold) {
+            double[] amounts = table.amountColumn();
+            int[] categoryCodes = table.categoryColumn();
+            int[] regionCodes = table.regionColumn();
+            int[] productCodes = table.productColumn();
+            for (int row = start; row < end; row++) {
+                double amount = amounts[row];
+                total.add(amount);
+                categories.add(categoryCodes[row], amount);
+                regions.add(regionCodes[row], amount);
+                products.add(productCodes[row], amount);
+                if (amount >= highValueThreshold) {
+                    if (highValueCount == highValueRows.length) {
+                        highValueRows = Arrays.copyOf(highValueRows, highValueCount * 2);
+                    }
+                    highValueRows[highValueCount++] = row;
+                }
+            }
+        }
+    }
+
+    // Open-addressing map from dictionary code to sum and count, iterated in first-seen order
+    private static final class CodeSums {
+        private final int[] keys; // code + 1; 0 marks an empty slot
+        private final CompensatedSum[] sums;
+        private final long[] counts;
+        private final int[] slotOrder;
+        private final int mask;
+        private int size;
+
+        // maxCodes bounds the distinct codes, so the table never needs to grow
+        CodeSums(int maxCodes) {
+            int capacity = Integer.highestOneBit(Math.max(4, maxCodes) * 2 - 1) << 1;
+            this.keys = new int[capacity];
+            this.sums = new CompensatedSum[capacity];
+            this.counts = new long[capacity];
+            this.slotOrder = new int[Math.max(4, maxCodes)];
+            this.mask = capacity - 1;
+        }
+
+        void add(int code, double amount) {
+            int slot = (code * 0x9E3779B9) >>> 7 & mask;
+            while (keys[slot] != code + 1) {
+                if (keys[slot] == 0) {
+                    keys[slot] = code + 1;
+                    sums[slot] = new CompensatedSum();
+                    slotOrder[size++] = slot;
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            sums[slot].add(amount);
+            counts[slot]++;
+        }
+
+        void forEach(CodeConsumer action) {
+            for (int i = 0; i < size; i++) {
+                int slot = slotOrder[i];
+                action.accept(keys[slot] - 1, sums[slot], counts[slot]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface CodeConsumer {
+        void accept(int code, CompensatedSum sum, long count);
+    }
+}
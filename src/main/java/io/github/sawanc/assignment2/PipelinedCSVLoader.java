@@ -0,0 +1,373 @@
+package io.github.sawanc.assignment2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Streaming sales CSV loader built as a producer/consumer pipeline, the same pattern as
+ * {@link io.github.sawanc.assignment1.Producer} and {@link io.github.sawanc.assignment1.Consumer}.
+ * <p>
+ * A reader thread reads the file sequentially (plain or gzip) and cuts it into batches of whole
+ * rows, splitting only at line breaks outside quoted fields. The batches go into a bounded
+ * {@link BlockingQueue}, and {@code parserThreads} consumers take them, tokenize them and fold
+ * the records into a partial result per thread. One poison pill per consumer ends the run, and the
+ * calling thread merges the partial results. Reading overlaps with parsing, and the queue bounds
+ * memory to roughly {@code (queueCapacity + parserThreads + 1) * batchBytes}. When the parsers
+ * fall behind, a full queue blocks the reader. Unlike {@link ParallelCSVLoader} the file is never
+ * memory-mapped or split up front, so this also works for gzip streams.
+ *
+ * <pre>
+ *   PipelinedCSVLoader loader = new PipelinedCSVLoader.Builder().parserThreads(8).build();
+ *   Map&lt;String, Double&gt; byRegion = loader.aggregate("sales.csv", HashMap::new,
+ *           (totals, r) -&gt; totals.merge(r.getRegion(), r.getAmount(), Double::sum),
+ *           (a, b) -&gt; { b.forEach((k, v) -&gt; a.merge(k, v, Double::sum)); return a; });
+ * </pre>
+ *
+ * @author sawan chakraborty
+ */
+public class PipelinedCSVLoader {
+    static final int DEFAULT_BATCH_BYTES = 1024 * 1024;
+
+    // Sentinel batch telling a parser that reading is complete
+    private static final Batch POISON_PILL = new Batch(-1, new byte[0], 0, 0);
+
+    private final int parserThreads;
+    private final int queueCapacity;
+    private final int batchBytes;
+
+    private PipelinedCSVLoader(Builder builder) {
+        this.parserThreads = builder.parserThreads;
+        this.queueCapacity = builder.queueCapacity;
+        this.batchBytes = builder.batchBytes;
+    }
+
+    /**
+     * Reads every record, in file order.
+     *
+     * @param filePath the path to the CSV file
+     * @return the records in file order
+     * @throws IOException if the file cannot be read or does not exist
+     * @throws IllegalArgumentException if the CSV data is malformed
+     */
+    public List<SalesRecord> readSalesData(String filePath) throws IOException {
+        // Records are kept per batch so they can be reassembled in file order
+        ConcurrentHashMap<Long, List<SalesRecord>> batches = new ConcurrentHashMap<>();
+        run(filePath, StringDictionary::new, (dictionary, batch, row) ->
+                batches.computeIfAbsent(batch.sequence, key -> new ArrayList<>()).add(row.toSalesRecord(dictionary)));
+        List<SalesRecord> records = new ArrayList<>();
+        new TreeMap<>(batches).values().forEach(records::addAll);
+        return records;
+    }
+
+    /**
+     * Folds every record into a partial result per parser thread and merges the partials.
+     * Records reach each partial in file order, but the partials cover interleaved batches, so
+     * the accumulator and combiner should not depend on order across the file.
+     *
+     * @param filePath    the path to the CSV file
+     * @param supplier    creates an empty partial result for each parser thread
+     * @param accumulator folds one record into a partial result
+     * @param combiner    merges two partial results
+     * @return the merged result
+     * @throws IOException if the file cannot be read or does not exist
+     * @throws IllegalArgumentException if the CSV data is malformed
+     */
+    public <A> A aggregate(String filePath, Supplier<A> supplier, BiConsumer<A, SalesRecord> accumulator,
+                           BinaryOperator<A> combiner) throws IOException {
+        List<RecordPartial<A>> partials = run(filePath, () -> new RecordPartial<>(supplier.get()),
+                (partial, batch, row) -> accumulator.accept(partial.result, row.toSalesRecord(partial.dictionary)));
+        A merged = partials.get(0).result;
+        for (int i = 1; i < partials.size(); i++) {
+            merged = combiner.apply(merged, partials.get(i).result);
+        }
+        return merged;
+    }
+
+    /**
+     * Row-level form of {@link #aggregate}: returns one unmerged partial per parser thread, whose
+     * accumulator receives tokenized rows without building SalesRecord objects.
+     */
+    public <A> List<A> parsePartitions(String filePath, Supplier<A> supplier,
+                                       BiConsumer<A, MappedCSVParser.Row> accumulator) throws IOException {
+        return run(filePath, supplier, (partial, batch, row) -> accumulator.accept(partial, row));
+    }
+
+    private <A> List<A> run(String filePath, Supplier<A> supplier, BatchAccumulator<A> accumulator) throws IOException {
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            throw new IOException("CSV file not found: " + filePath);
+        }
+        if (Files.size(path) == 0) {
+            throw new IllegalArgumentException("CSV file is empty: " + filePath);
+        }
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<A> partials = new ArrayList<>(parserThreads);
+        List<Thread> threads = new ArrayList<>(parserThreads + 1);
+
+        for (int i = 0; i < parserThreads; i++) {
+            A partial = supplier.get();
+            partials.add(partial);
+            String name = "csv-parser-" + (i + 1);
+            threads.add(new Thread(() -> parse(queue, partial, accumulator, failure), name));
+        }
+        threads.add(new Thread(() -> read(path, queue, failure), "csv-reader"));
+        threads.forEach(Thread::start);
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            threads.forEach(Thread::interrupt);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading CSV batches", e);
+        }
+
+        Throwable cause = failure.get();
+        if (cause instanceof IOException ioException) {
+            throw ioException;
+        }
+        if (cause instanceof UncheckedIOException uncheckedIOException) {
+            throw uncheckedIOException.getCause();
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        if (cause != null) {
+            throw new IllegalStateException("CSV pipeline failed", cause);
+        }
+        return partials;
+    }
+
+    // Producer stage: cuts the stream into batches of whole rows
+    private void read(Path path, BlockingQueue<Batch> queue, AtomicReference<Throwable> failure) {
+        try {
+            try (InputStream in = GzipCSVParser.isGzip(path) ? GzipCSVParser.open(path) : Files.newInputStream(path)) {
+                BatchCutter cutter = new BatchCutter(batchBytes);
+                Batch batch;
+                while (failure.get() == null && (batch = cutter.next(in)) != null) {
+                    queue.put(batch); // blocks while the parsers are behind
+                }
+            }
+        } catch (InterruptedException e) {
+            failure.compareAndSet(null, e);
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e); // the parsers still need their poison pills
+        }
+        try {
+            for (int i = 0; i < parserThreads; i++) {
+                queue.put(POISON_PILL);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Consumer stage: parses batches until the poison pill, then leaves its partial result
+    private static <A> void parse(BlockingQueue<Batch> queue, A partial, BatchAccumulator<A> accumulator,
+                                  AtomicReference<Throwable> failure) {
+        MappedCSVParser.Row row = new MappedCSVParser.Row();
+        try {
+            while (true) {
+                Batch batch = queue.take();
+                if (batch == POISON_PILL) {
+                    return;
+                }
+                if (failure.get() != null) {
+                    continue; // keep draining so the reader is never blocked on a full queue
+                }
+                try {
+                    ByteBuffer buffer = ByteBuffer.wrap(batch.data, 0, batch.length);
+                    int position = 0;
+                    boolean headerPending = batch.sequence == 0;
+                    while (position < batch.length) {
+                        position = row.tokenize(buffer, position, batch.length, true, batch.fileOffset);
+                        if (headerPending) {
+                            headerPending = false;
+                        } else {
+                            accumulator.accept(partial, batch, row);
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e); // including Errors: this thread must keep draining
+                }
+            }
+        } catch (InterruptedException e) {
+            failure.compareAndSet(null, e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PipelinedCSVLoader{parsers=" + parserThreads + ", queueCapacity=" + queueCapacity
+                + ", batchBytes=" + batchBytes + "}";
+    }
+
+    @FunctionalInterface
+    private interface BatchAccumulator<A> {
+        void accept(A partial, Batch batch, MappedCSVParser.Row row);
+    }
+
+    // A run of whole rows; fileOffset is only used in error messages
+    private static final class Batch {
+        private final long sequence;
+        private final byte[] data;
+        private final int length;
+        private final long fileOffset;
+
+        Batch(long sequence, byte[] data, int length, long fileOffset) {
+            this.sequence = sequence;
+            this.data = data;
+            this.length = length;
+            this.fileOffset = fileOffset;
+        }
+    }
+
+    // Splits a byte stream at line breaks outside quoted fields
+    static final class BatchCutter {
+        private final int batchBytes;
+        private byte[] buffer;
+        private int filled;
+        private int scanned;
+        private int lastRowEnd;
+        private boolean inQuotes;
+        private long sequence;
+        private long fileOffset;
+        private boolean eof;
+
+        BatchCutter(int batchBytes) {
+            this.batchBytes = batchBytes;
+            this.buffer = new byte[batchBytes];
+        }
+
+        // Returns the next batch, or null once the stream is exhausted
+        Batch next(InputStream in) throws IOException {
+            while (!eof && lastRowEnd == 0) {
+                if (filled == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2); // a single row is larger than a batch
+                }
+                int read = in.read(buffer, filled, buffer.length - filled);
+                if (read < 0) {
+                    eof = true;
+                    break;
+                }
+                filled += read;
+                if (filled == buffer.length) {
+                    scan();
+                }
+            }
+            if (eof) {
+                scan();
+                if (filled == 0) {
+                    return null;
+                }
+                lastRowEnd = filled; // the final row may lack a line break
+            }
+            return cut();
+        }
+
+        private void scan() {
+            for (int i = scanned; i < filled; i++) {
+                byte b = buffer[i];
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                } else if (b == '\n' && !inQuotes) {
+                    lastRowEnd = i + 1;
+                }
+            }
+            scanned = filled;
+        }
+
+        private Batch cut() {
+            int remainder = filled - lastRowEnd;
+            byte[] next = new byte[Math.max(batchBytes, remainder * 2)]; // shrink back after an oversized row
+            System.arraycopy(buffer, lastRowEnd, next, 0, remainder);
+            Batch batch = new Batch(sequence++, buffer, lastRowEnd, fileOffset);
+            fileOffset += lastRowEnd;
+            buffer = next;
+            filled = remainder;
+            scanned = remainder; // the remainder was scanned; the quote state carries over
+            lastRowEnd = 0;
+            return batch;
+        }
+    }
+
+    // Per-thread partial result plus the thread's own (single-threaded) string dictionary
+    private static class RecordPartial<A> {
+        private final A result;
+        private final StringDictionary dictionary = new StringDictionary();
+
+        RecordPartial(A result) {
+            this.result = result;
+        }
+    }
+
+    /**
+     * Configures the pipeline; defaults to one parser per core, a queue of two batches per parser
+     * and 1 MiB batches.
+     */
+    public static class Builder {
+        private int parserThreads = Runtime.getRuntime().availableProcessors();
+        private int queueCapacity = -1;
+        private int batchBytes = DEFAULT_BATCH_BYTES;
+
+        public Builder parserThreads(int parserThreads) {
+            if (parserThreads <= 0) {
+                throw new IllegalArgumentException("Parser threads must be positive, but was " + parserThreads);
+            }
+            this.parserThreads = parserThreads;
+            return this;
+        }
+
+        /**
+         * Sets how many batches may wait between the reader and the parsers.
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            if (queueCapacity <= 0) {
+                throw new IllegalArgumentException("Queue capacity must be positive, but was " + queueCapacity);
+            }
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Sets the target batch size; a batch grows beyond it only to hold a single larger row.
+         */
+        public Builder batchBytes(int batchBytes) {
+            if (batchBytes <= 0) {
+                throw new IllegalArgumentException("Batch bytes must be positive, but was " + batchBytes);
+            }
+            this.batchBytes = batchBytes;
+            return this;
+        }
+
+        public PipelinedCSVLoader build() {
+            if (queueCapacity < 0) {
+                queueCapacity = parserThreads * 2;
+            }
+            return new PipelinedCSVLoader(this);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package io.github.sawanc.assignment2;
+
+/**
+ * Mergeable quantile sketch with relative-error guarantees.
+ * <p>
+ * Values are counted in logarithmic buckets whose bounds grow by a factor
+ * {@code gamma = (1 + a) / (1 - a)}, where {@code a} is the relative accuracy, so any quantile is
+ * returned within {@code a} of the true value (1% by default). Positive and negative values use
+ * separate bucket ranges and zeros a plain counter. At most {@code maxBuckets} buckets are kept
+ * per sign; beyond that the smallest magnitudes are collapsed together, which keeps memory fixed
+ * while preserving accuracy for the upper quantiles. NaN and infinite values have no bucket; they
+ * are left out of the quantiles and counted by {@link #getNonFiniteCount()} instead. Sketches
+ * with the same accuracy merge exactly. Not thread-safe.
+ *
+ * @author sawan chakraborty
+ */
+public class QuantileSketch {
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+    public static final int DEFAULT_MAX_BUCKETS = 2048;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final Buckets positive;
+    private final Buckets negative;
+    private long zeroCount;
+    private long count;
+    private long nonFiniteCount;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY, DEFAULT_MAX_BUCKETS);
+    }
+
+    /**
+     * Constructs an empty sketch.
+     *
+     * @param relativeAccuracy the relative error bound, between 0 and 1 exclusive
+     * @param maxBuckets       the maximum number of buckets per sign
+     */
+    public QuantileSketch(double relativeAccuracy, int maxBuckets) {
+        if (!(relativeAccuracy > 0.0 && relativeAccuracy < 1.0)) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1, but was " + relativeAccuracy);
+        }
+        if (maxBuckets <= 0) {
+            throw new IllegalArgumentException("Max buckets must be positive, but was " + maxBuckets);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1.0 + relativeAccuracy) / (1.0 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.positive = new Buckets(maxBuckets);
+        this.negative = new Buckets(maxBuckets);
+    }
+
+    public void add(double value) {
+        if (!Double.isFinite(value)) {
+            nonFiniteCount++;
+            return;
+        }
+        if (value > Double.MIN_NORMAL) {
+            positive.add(index(value), 1);
+        } else if (value < -Double.MIN_NORMAL) {
+            negative.add(index(-value), 1);
+        } else {
+            zeroCount++;
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Returns the approximate value at the given quantile.
+     *
+     * @param quantile a value between 0 and 1, e.g. 0.95 for p95
+     * @return the estimated value, or NaN if the sketch is empty
+     */
+    public double getQuantile(double quantile) {
+        if (!(quantile >= 0.0 && quantile <= 1.0)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1, but was " + quantile);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        // The extremes are tracked exactly
+        if (quantile == 0.0) {
+            return min;
+        }
+        if (quantile == 1.0) {
+            return max;
+        }
+        long rank = (long) (quantile * (count - 1));
+        long seen = 0;
+        // Most negative values first: largest magnitudes of the negative range
+        for (int i = negative.length() - 1; i >= 0; i--) {
+            seen += negative.countAt(i);
+            if (seen > rank) {
+                return clamp(-value(negative.indexAt(i)));
+            }
+        }
+        seen += zeroCount;
+        if (seen > rank) {
+            return clamp(0.0);
+        }
+        for (int i = 0; i < positive.length(); i++) {
+            seen += positive.countAt(i);
+            if (seen > rank) {
+                return clamp(value(positive.indexAt(i)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Folds another sketch into this one.
+     *
+     * @param other a sketch with the same relative accuracy
+     * @return this sketch
+     */
+    public QuantileSketch merge(QuantileSketch other) {
+        if (Double.compare(other.relativeAccuracy, relativeAccuracy) != 0) {
+            throw new IllegalArgumentException("Cannot merge sketches with relative accuracy "
+                    + other.relativeAccuracy + " and " + relativeAccuracy);
+        }
+        for (int i = 0; i < other.positive.length(); i++) {
+            positive.add(other.positive.indexAt(i), other.positive.countAt(i));
+        }
+        for (int i = 0; i < other.negative.length(); i++) {
+            negative.add(other.negative.indexAt(i), other.negative.countAt(i));
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        nonFiniteCount += other.nonFiniteCount;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /**
+     * Returns the number of finite values the quantiles are computed over.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the number of NaN and infinite values that were skipped.
+     */
+    public long getNonFiniteCount() {
+        return nonFiniteCount;
+    }
+
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    private int index(double magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) / logGamma);
+    }
+
+    // Midpoint of bucket (gamma^(i-1), gamma^i] in the relative sense
+    private double value(int index) {
+        return 2.0 * Math.pow(gamma, index) / (gamma + 1.0);
+    }
+
+    private double clamp(double value) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("QuantileSketch{count=%d, nonFinite=%d, p50=%.2f, p95=%.2f, p99=%.2f}",
+                count, nonFiniteCount, getQuantile(0.5), getQuantile(0.95), getQuantile(0.99));
+    }
+
+    // Dense counts for a contiguous range of bucket indexes
+    private static class Buckets {
+        private final int maxBuckets;
+        private long[] counts;
+        private int offset; // bucket index of counts[0]
+
+        Buckets(int maxBuckets) {
+            this.maxBuckets = maxBuckets;
+        }
+
+        void add(int index, long n) {
+            if (n == 0) {
+                return;
+            }
+            if (counts == null) {
+                counts = new long[1];
+                offset = index;
+            } else if (index < offset || index >= offset + counts.length) {
+                extend(index);
+            }
+            // Indexes below a collapsed range land in its lowest bucket
+            counts[Math.max(index, offset) - offset] += n;
+        }
+
+        private void extend(int index) {
+            int low = Math.min(offset, index);
+            int high = Math.max(offset + counts.length - 1, index);
+            if (high - low + 1 > maxBuckets) {
+                low = high - maxBuckets + 1;
+            }
+            long[] extended = new long[high - low + 1];
+            for (int i = 0; i < counts.length; i++) {
+                extended[Math.max(offset + i, low) - low] += counts[i];
+            }
+            counts = extended;
+            offset = low;
+        }
+
+        int length() {
+            return counts == null ? 0 : counts.length;
+        }
+
+        int indexAt(int i) {
+            return offset + i;
+        }
+
+        long countAt(int i) {
+            return counts[i];
+        }
+    }
+}
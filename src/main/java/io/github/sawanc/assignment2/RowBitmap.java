@@ -0,0 +1,439 @@
+package io.github.sawanc.assignment2;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Immutable compressed set of row positions.
+ * <p>
+ * Rows are split into chunks of 65536 by their high 16 bits. A chunk holding at most
+ * {@link #ARRAY_MAX} rows stores its low 16 bits as a sorted {@code char[]}; denser chunks use a
+ * fixed 1024-word {@code long[]} bitmap. Sparse dimension values therefore cost two bytes per row
+ * and dense ones one bit per row, and AND/OR work chunk by chunk on whichever form each side has.
+ *
+ * @author sawan chakraborty
+ */
+public final class RowBitmap {
+    // Largest sorted-array chunk; above this a 8 KB bitmap is smaller
+    static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+    private static final RowBitmap EMPTY = new RowBitmap(new int[0], new Object[0], new int[0]);
+
+    private final int[] keys;
+    private final Object[] chunks; // char[] (sorted low bits) or long[] (BITMAP_WORDS words)
+    private final int[] cardinalities;
+
+    private RowBitmap(int[] keys, Object[] chunks, int[] cardinalities) {
+        this.keys = keys;
+        this.chunks = chunks;
+        this.cardinalities = cardinalities;
+    }
+
+    public static RowBitmap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a bitmap holding the given rows, which may be in any order.
+     */
+    public static RowBitmap of(int... rows) {
+        int[] sorted = rows.clone();
+        Arrays.sort(sorted);
+        Builder builder = new Builder();
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                builder.add(sorted[i]);
+            }
+        }
+        return builder.build();
+    }
+
+    public int getCardinality() {
+        int cardinality = 0;
+        for (int chunkCardinality : cardinalities) {
+            cardinality += chunkCardinality;
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    public boolean contains(int row) {
+        if (row < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, row >>> 16);
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) row;
+        if (chunks[index] instanceof char[] array) {
+            return Arrays.binarySearch(array, low) >= 0;
+        }
+        long[] bits = (long[]) chunks[index];
+        return (bits[low >>> 6] & (1L << low)) != 0;
+    }
+
+    /**
+     * Returns the largest row in the bitmap.
+     *
+     * @throws NoSuchElementException if the bitmap is empty
+     */
+    public int last() {
+        if (keys.length == 0) {
+            throw new NoSuchElementException("Bitmap is empty");
+        }
+        int index = keys.length - 1;
+        int high = keys[index] << 16;
+        if (chunks[index] instanceof char[] array) {
+            return high | array[array.length - 1];
+        }
+        long[] bits = (long[]) chunks[index];
+        for (int word = BITMAP_WORDS - 1; ; word--) {
+            if (bits[word] != 0) {
+                return high | (word << 6) | (63 - Long.numberOfLeadingZeros(bits[word]));
+            }
+        }
+    }
+
+    /**
+     * Returns the rows present in both bitmaps.
+     */
+    public RowBitmap and(RowBitmap other) {
+        int capacity = Math.min(keys.length, other.keys.length);
+        ChunkList result = new ChunkList(capacity);
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.add(keys[i], andChunks(chunks[i], other.chunks[j]));
+                i++;
+                j++;
+            }
+        }
+        return result.toBitmap();
+    }
+
+    /**
+     * Returns the rows present in either bitmap.
+     */
+    public RowBitmap or(RowBitmap other) {
+        ChunkList result = new ChunkList(keys.length + other.keys.length);
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j == other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+                result.add(keys[i], chunks[i]);
+                i++;
+            } else if (i == keys.length || keys[i] > other.keys[j]) {
+                result.add(other.keys[j], other.chunks[j]);
+                j++;
+            } else {
+                result.add(keys[i], orChunks(chunks[i], other.chunks[j]));
+                i++;
+                j++;
+            }
+        }
+        return result.toBitmap();
+    }
+
+    /**
+     * Returns the rows in ascending order without boxing.
+     */
+    public PrimitiveIterator.OfInt rowIterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int chunk;
+            private int position; // index into a char[] chunk, or bit index into a long[] chunk
+            private int next = advance();
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                int row = next;
+                next = advance();
+                return row;
+            }
+
+            // Finds the next row at or after the cursor, or -1 when exhausted
+            private int advance() {
+                while (chunk < keys.length) {
+                    int high = keys[chunk] << 16;
+                    if (chunks[chunk] instanceof char[] array) {
+                        if (position < array.length) {
+                            return high | array[position++];
+                        }
+                    } else {
+                        long[] bits = (long[]) chunks[chunk];
+                        while (position < BITMAP_WORDS << 6) {
+                            long word = bits[position >>> 6] & (-1L << position);
+                            if (word != 0) {
+                                int bit = (position & ~63) | Long.numberOfTrailingZeros(word);
+                                position = bit + 1;
+                                return high | bit;
+                            }
+                            position = (position & ~63) + 64;
+                        }
+                    }
+                    chunk++;
+                    position = 0;
+                }
+                return -1;
+            }
+        };
+    }
+
+    public int[] toArray() {
+        int[] rows = new int[getCardinality()];
+        PrimitiveIterator.OfInt iterator = rowIterator();
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = iterator.nextInt();
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the approximate heap size of the chunk data in bytes.
+     */
+    public long getSizeInBytes() {
+        long bytes = (long) keys.length * (Integer.BYTES * 2);
+        for (Object chunk : chunks) {
+            bytes += chunk instanceof char[] array ? (long) array.length * Character.BYTES : BITMAP_WORDS * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    private static Object andChunks(Object a, Object b) {
+        if (a instanceof char[] left && b instanceof char[] right) {
+            char[] result = new char[Math.min(left.length, right.length)];
+            int count = 0;
+            for (int i = 0, j = 0; i < left.length && j < right.length; ) {
+                if (left[i] < right[j]) {
+                    i++;
+                } else if (left[i] > right[j]) {
+                    j++;
+                } else {
+                    result[count++] = left[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+        if (a instanceof char[] || b instanceof char[]) {
+            char[] array = a instanceof char[] left ? left : (char[]) b;
+            long[] bits = a instanceof long[] left ? left : (long[]) b;
+            char[] result = new char[array.length];
+            int count = 0;
+            for (char low : array) {
+                if ((bits[low >>> 6] & (1L << low)) != 0) {
+                    result[count++] = low;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+        long[] left = (long[]) a;
+        long[] right = (long[]) b;
+        long[] result = new long[BITMAP_WORDS];
+        for (int word = 0; word < BITMAP_WORDS; word++) {
+            result[word] = left[word] & right[word];
+        }
+        return result;
+    }
+
+    private static Object orChunks(Object a, Object b) {
+        if (a instanceof char[] left && b instanceof char[] right && left.length + right.length <= ARRAY_MAX) {
+            char[] result = new char[left.length + right.length];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < left.length || j < right.length) {
+                if (j == right.length || (i < left.length && left[i] < right[j])) {
+                    result[count++] = left[i++];
+                } else if (i == left.length || left[i] > right[j]) {
+                    result[count++] = right[j++];
+                } else {
+                    result[count++] = left[i++];
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+        long[] result = toBits(a);
+        if (b instanceof char[] array) {
+            for (char low : array) {
+                result[low >>> 6] |= 1L << low;
+            }
+        } else {
+            long[] bits = (long[]) b;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                result[word] |= bits[word];
+            }
+        }
+        return result;
+    }
+
+    // Returns a fresh long[] copy of a chunk in bitmap form
+    private static long[] toBits(Object chunk) {
+        if (chunk instanceof long[] bits) {
+            return bits.clone();
+        }
+        long[] bits = new long[BITMAP_WORDS];
+        for (char low : (char[]) chunk) {
+            bits[low >>> 6] |= 1L << low;
+        }
+        return bits;
+    }
+
+    private static int cardinality(Object chunk) {
+        if (chunk instanceof char[] array) {
+            return array.length;
+        }
+        int cardinality = 0;
+        for (long word : (long[]) chunk) {
+            cardinality += Long.bitCount(word);
+        }
+        return cardinality;
+    }
+
+    // Converts between array and bitmap form so each chunk uses the smaller one
+    private static Object normalize(Object chunk, int cardinality) {
+        if (chunk instanceof long[] bits && cardinality <= ARRAY_MAX) {
+            char[] array = new char[cardinality];
+            int count = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                for (long remaining = bits[word]; remaining != 0; remaining &= remaining - 1) {
+                    array[count++] = (char) ((word << 6) | Long.numberOfTrailingZeros(remaining));
+                }
+            }
+            return array;
+        }
+        if (chunk instanceof char[] && cardinality > ARRAY_MAX) {
+            return toBits(chunk);
+        }
+        return chunk;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RowBitmap other)) {
+            return false;
+        }
+        return Arrays.equals(toArray(), other.toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    @Override
+    public String toString() {
+        return "RowBitmap{cardinality=" + getCardinality() + ", chunks=" + keys.length + "}";
+    }
+
+    // Growable list of non-empty chunks in ascending key order
+    private static class ChunkList {
+        private int[] keys;
+        private Object[] chunks;
+        private int[] cardinalities;
+        private int size;
+
+        ChunkList(int capacity) {
+            this.keys = new int[Math.max(1, capacity)];
+            this.chunks = new Object[keys.length];
+            this.cardinalities = new int[keys.length];
+        }
+
+        void add(int key, Object chunk) {
+            int cardinality = cardinality(chunk);
+            if (cardinality == 0) {
+                return;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                chunks = Arrays.copyOf(chunks, size * 2);
+                cardinalities = Arrays.copyOf(cardinalities, size * 2);
+            }
+            keys[size] = key;
+            chunks[size] = normalize(chunk, cardinality);
+            cardinalities[size] = cardinality;
+            size++;
+        }
+
+        RowBitmap toBitmap() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            return new RowBitmap(Arrays.copyOf(keys, size), Arrays.copyOf(chunks, size),
+                    Arrays.copyOf(cardinalities, size));
+        }
+    }
+
+    /**
+     * Collects rows added in strictly ascending order.
+     */
+    public static class Builder {
+        private final ChunkList chunks = new ChunkList(4);
+        private int currentKey = -1;
+        private char[] current = new char[16];
+        private long[] currentBits;
+        private int currentSize;
+        private int lastRow = -1;
+
+        public Builder add(int row) {
+            if (row <= lastRow) {
+                throw new IllegalArgumentException("Rows must be added in ascending order: " + row + " after " + lastRow);
+            }
+            lastRow = row;
+            int key = row >>> 16;
+            if (key != currentKey) {
+                flush();
+                currentKey = key;
+            }
+            char low = (char) row;
+            if (currentBits != null) {
+                currentBits[low >>> 6] |= 1L << low;
+            } else if (currentSize == ARRAY_MAX) {
+                currentBits = toBits(Arrays.copyOf(current, currentSize));
+                currentBits[low >>> 6] |= 1L << low;
+            } else {
+                if (currentSize == current.length) {
+                    current = Arrays.copyOf(current, current.length * 2);
+                }
+                current[currentSize] = low;
+            }
+            currentSize++;
+            return this;
+        }
+
+        public RowBitmap build() {
+            flush();
+            return chunks.toBitmap();
+        }
+
+        private void flush() {
+            if (currentSize > 0) {
+                chunks.add(currentKey, currentBits != null ? currentBits : Arrays.copyOf(current, currentSize));
+            }
+            currentBits = null;
+            currentSize = 0;
+        }
+    }
+}
@@ -1,8 +1,22 @@
 package io.github.sawanc.assignment2;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for analyzing sales data.
@@ -10,6 +24,17 @@ import java.util.stream.Collectors;
  * @author sawan chakraborty
  */
 public class SalesAnalysisService {
+    // Threshold used for the high-value section of printSummary
+    public static final double HIGH_VALUE_THRESHOLD = 500.0;
+    // Tie-breaker for ranking individual orders
+    static final Comparator<SalesRecord> BY_ORDER_ID = Comparator.comparing(SalesRecord::getOrderId);
+    // Prebuilt queries behind the fixed table aggregations
+    private static final SalesQuery SALES_BY_CATEGORY = new SalesQuery.Builder()
+            .groupBy(SalesDimension.CATEGORY).aggregate(Aggregation.SUM).build();
+    private static final SalesQuery SALES_BY_REGION = new SalesQuery.Builder()
+            .groupBy(SalesDimension.REGION).aggregate(Aggregation.SUM).build();
+    private static final SalesQuery AVERAGE_SALES_BY_PRODUCT = new SalesQuery.Builder()
+            .groupBy(SalesDimension.PRODUCT).aggregate(Aggregation.AVG).build();
 
     /**
      * Calculates the total sales amount across all records.
@@ -18,7 +43,18 @@ public class SalesAnalysisService {
      * @return the total sales amount
      */
     public double getTotalSales(List<SalesRecord> records) {
-        return records.stream()
+        return getTotalSales(records.stream());
+    }
+
+    /**
+     * Calculates the total sales amount over a stream of records, e.g. one returned by
+     * {@link CSVReader#streamSalesData(String)}, so rows are aggregated as they are read.
+     *
+     * @param records the stream of sales records (consumed by this call)
+     * @return the total sales amount
+     */
+    public double getTotalSales(Stream<SalesRecord> records) {
+        return records
                 .mapToDouble(SalesRecord::getAmount)
                 .sum();
     }
@@ -30,7 +66,17 @@ public class SalesAnalysisService {
      * @return map of category to total sales
      */
     public Map<String, Double> getSalesByCategory(List<SalesRecord> records) {
-        Map<String, Double> salesByCategory = records.stream()
+        return getSalesByCategory(records.stream());
+    }
+
+    /**
+     * Groups a stream of sales by category and calculates the total for each category.
+     *
+     * @param records the stream of sales records (consumed by this call)
+     * @return map of category to total sales
+     */
+    public Map<String, Double> getSalesByCategory(Stream<SalesRecord> records) {
+        Map<String, Double> salesByCategory = records
                 .collect(Collectors.groupingBy(
                         SalesRecord::getCategory,
                         Collectors.summingDouble(SalesRecord::getAmount)
@@ -45,7 +91,17 @@ public class SalesAnalysisService {
      * @return map of region to total sales
      */
     public Map<String, Double> getSalesByRegion(List<SalesRecord> records) {
-        Map<String, Double> salesByRegion = records.stream()
+        return getSalesByRegion(records.stream());
+    }
+
+    /**
+     * Groups a stream of sales by region and calculates the total for each region.
+     *
+     * @param records the stream of sales records (consumed by this call)
+     * @return map of region to total sales
+     */
+    public Map<String, Double> getSalesByRegion(Stream<SalesRecord> records) {
+        Map<String, Double> salesByRegion = records
                 .collect(Collectors.groupingBy(
                         SalesRecord::getRegion,
                         Collectors.summingDouble(SalesRecord::getAmount)
@@ -60,7 +116,17 @@ public class SalesAnalysisService {
      * @return map of product to average sales
      */
     public Map<String, Double> getAverageSalesPerProduct(List<SalesRecord> records) {
-        Map<String, Double> avgSalesByProduct = records.stream()
+        return getAverageSalesPerProduct(records.stream());
+    }
+
+    /**
+     * Calculates the average sales amount per product over a stream of records.
+     *
+     * @param records the stream of sales records (consumed by this call)
+     * @return map of product to average sales
+     */
+    public Map<String, Double> getAverageSalesPerProduct(Stream<SalesRecord> records) {
+        Map<String, Double> avgSalesByProduct = records
                 .collect(Collectors.groupingBy(
                         SalesRecord::getProduct,
                         Collectors.averagingDouble(SalesRecord::getAmount)
@@ -81,42 +147,763 @@ public class SalesAnalysisService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Calculates the total sales amount over a columnar table.
+     *
+     * @param table the sales table
+     * @return the total sales amount
+     */
+    public double getTotalSales(SalesTable table) {
+        double[] amounts = table.amountColumn();
+        CompensatedSum total = new CompensatedSum();
+        for (int row = 0; row < table.size(); row++) {
+            total.add(amounts[row]);
+        }
+        return total.getSum();
+    }
+
+    /**
+     * Groups a columnar table by category and calculates the total for each category.
+     * Runs as a {@link SalesQuery}, which sums into an array indexed by dictionary code.
+     *
+     * @param table the sales table
+     * @return map of category to total sales
+     */
+    public Map<String, Double> getSalesByCategory(SalesTable table) {
+        return byKey(SALES_BY_CATEGORY.execute(table));
+    }
+
+    /**
+     * Groups a columnar table by region and calculates the total for each region.
+     *
+     * @param table the sales table
+     * @return map of region to total sales
+     */
+    public Map<String, Double> getSalesByRegion(SalesTable table) {
+        return byKey(SALES_BY_REGION.execute(table));
+    }
+
+    /**
+     * Calculates the average sales amount per product over a columnar table.
+     *
+     * @param table the sales table
+     * @return map of product to average sales
+     */
+    public Map<String, Double> getAverageSalesPerProduct(SalesTable table) {
+        return byKey(AVERAGE_SALES_BY_PRODUCT.execute(table));
+    }
+
+    // Flattens a single-dimension, single-aggregate result into a map
+    private static Map<String, Double> byKey(SalesQuery.Result result) {
+        Map<String, Double> totals = new HashMap<>();
+        result.getRows().forEach(row -> totals.put(row.getKey(0), row.getValue(0)));
+        return Map.copyOf(totals);
+    }
+
+    /**
+     * Calculates the exact total sales amount, in cents, over a table built with
+     * {@link SalesTable.Builder#amountsInCents()}. Integer sums do not drift the way double
+     * sums do; when the largest amount times the row count could overflow, every addition is
+     * checked instead.
+     *
+     * @param table the sales table
+     * @return the total sales amount in cents
+     * @throws IllegalStateException if the table has no cents column
+     * @throws ArithmeticException if the total overflows a long
+     */
+    public long getTotalSalesCents(SalesTable table) {
+        long[] cents = table.centsColumn();
+        int size = table.size();
+        long total = 0;
+        if (cannotOverflow(table)) {
+            for (int row = 0; row < size; row++) {
+                total += cents[row];
+            }
+        } else {
+            for (int row = 0; row < size; row++) {
+                total = Math.addExact(total, cents[row]);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Groups a table by category and calculates the exact total for each, in cents.
+     *
+     * @param table the sales table
+     * @return map of category to total sales in cents
+     * @see #getTotalSalesCents(SalesTable)
+     */
+    public Map<String, Long> getSalesByCategoryCents(SalesTable table) {
+        long[] counts = new long[table.getCategoryDictionary().size()];
+        return centsByKey(sumCentsByCode(table, table.categoryColumn(), counts), counts, table.getCategoryDictionary());
+    }
+
+    /**
+     * Groups a table by region and calculates the exact total for each, in cents.
+     *
+     * @param table the sales table
+     * @return map of region to total sales in cents
+     * @see #getTotalSalesCents(SalesTable)
+     */
+    public Map<String, Long> getSalesByRegionCents(SalesTable table) {
+        long[] counts = new long[table.getRegionDictionary().size()];
+        return centsByKey(sumCentsByCode(table, table.regionColumn(), counts), counts, table.getRegionDictionary());
+    }
+
+    /**
+     * Calculates the average sales amount per product from exact cent sums; the only rounding is
+     * the final division.
+     *
+     * @param table the sales table
+     * @return map of product to average sales, in currency units
+     * @see #getTotalSalesCents(SalesTable)
+     */
+    public Map<String, Double> getAverageSalesPerProductCents(SalesTable table) {
+        long[] counts = new long[table.getProductDictionary().size()];
+        long[] sums = sumCentsByCode(table, table.productColumn(), counts);
+        Map<String, Double> averages = new HashMap<>();
+        for (int code = 0; code < sums.length; code++) {
+            if (counts[code] > 0) {
+                averages.put(table.getProductDictionary().decode(code), sums[code] / (counts[code] * (double) Cents.PER_UNIT));
+            }
+        }
+        return Map.copyOf(averages);
+    }
+
+    // Sums cents into an array indexed by dictionary code, counting each code's rows into counts
+    private static long[] sumCentsByCode(SalesTable table, int[] codes, long[] counts) {
+        long[] cents = table.centsColumn();
+        long[] sums = new long[counts.length];
+        int size = table.size();
+        if (cannotOverflow(table)) {
+            for (int row = 0; row < size; row++) {
+                sums[codes[row]] += cents[row];
+                counts[codes[row]]++;
+            }
+        } else {
+            for (int row = 0; row < size; row++) {
+                sums[codes[row]] = Math.addExact(sums[codes[row]], cents[row]);
+                counts[codes[row]]++;
+            }
+        }
+        return sums;
+    }
+
+    // True if no sum of the table's cents, in any order, can leave the long range
+    private static boolean cannotOverflow(SalesTable table) {
+        return table.size() == 0 || table.maxAbsCents() <= Long.MAX_VALUE / table.size();
+    }
+
+    // Decodes the codes that have rows, matching the keys of the double overloads
+    private static Map<String, Long> centsByKey(long[] sums, long[] counts, StringDictionary dictionary) {
+        Map<String, Long> totals = new HashMap<>();
+        for (int code = 0; code < sums.length; code++) {
+            if (counts[code] > 0) {
+                totals.put(dictionary.decode(code), sums[code]);
+            }
+        }
+        return Map.copyOf(totals);
+    }
+
+    /**
+     * Filters a columnar table by minimum amount threshold.
+     * Only matching rows are materialized as SalesRecord objects.
+     *
+     * @param table     the sales table
+     * @param threshold the minimum amount threshold
+     * @return list of sales records meeting the threshold, in table order
+     */
+    public List<SalesRecord> filterHighValueTransactions(SalesTable table, double threshold) {
+        double[] amounts = table.amountColumn();
+        List<SalesRecord> result = new ArrayList<>();
+        for (int row = 0; row < table.size(); row++) {
+            if (amounts[row] >= threshold) {
+                result.add(table.getRecord(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the k products with the highest revenue or quantity, best first.
+     * Totals are grouped first and then selected with a bounded heap instead of a full sort.
+     *
+     * @param records the list of sales records
+     * @param k       the number of products to return
+     * @param metric  the measure to rank by
+     * @return up to k products with their totals, ties broken alphabetically
+     */
+    public List<TopK.Entry<String>> getTopProducts(List<SalesRecord> records, int k, SalesMetric metric) {
+        return TopK.select(groupTotals(records, SalesRecord::getProduct, metric), k);
+    }
+
+    /**
+     * Returns the k categories with the highest revenue or quantity, best first.
+     */
+    public List<TopK.Entry<String>> getTopCategories(List<SalesRecord> records, int k, SalesMetric metric) {
+        return TopK.select(groupTotals(records, SalesRecord::getCategory, metric), k);
+    }
+
+    /**
+     * Returns the k regions with the highest revenue or quantity, best first.
+     */
+    public List<TopK.Entry<String>> getTopRegions(List<SalesRecord> records, int k, SalesMetric metric) {
+        return TopK.select(groupTotals(records, SalesRecord::getRegion, metric), k);
+    }
+
+    /**
+     * Returns the k orders with the largest amounts in one streaming pass, largest first.
+     *
+     * @param records the list of sales records
+     * @param k       the number of orders to return
+     * @return up to k records, ties broken by order id
+     */
+    public List<SalesRecord> getLargestOrders(List<SalesRecord> records, int k) {
+        TopK<SalesRecord> topK = new TopK<>(k, BY_ORDER_ID);
+        records.forEach(record -> topK.offer(record, record.getAmount()));
+        return values(topK);
+    }
+
+    /**
+     * Returns the k products of a table with the highest revenue or quantity, best first.
+     * Totals are accumulated per dictionary code.
+     */
+    public List<TopK.Entry<String>> getTopProducts(SalesTable table, int k, SalesMetric metric) {
+        return topCodes(table, table.productColumn(), table.getProductDictionary(), k, metric);
+    }
+
+    public List<TopK.Entry<String>> getTopCategories(SalesTable table, int k, SalesMetric metric) {
+        return topCodes(table, table.categoryColumn(), table.getCategoryDictionary(), k, metric);
+    }
+
+    public List<TopK.Entry<String>> getTopRegions(SalesTable table, int k, SalesMetric metric) {
+        return topCodes(table, table.regionColumn(), table.getRegionDictionary(), k, metric);
+    }
+
+    /**
+     * Returns the k largest orders of a table, largest first; only the winners are materialized.
+     */
+    public List<SalesRecord> getLargestOrders(SalesTable table, int k) {
+        double[] amounts = table.amountColumn();
+        TopK<Integer> topK = new TopK<>(k, table::compareOrderIds);
+        for (int row = 0; row < table.size(); row++) {
+            topK.offer(row, amounts[row]);
+        }
+        List<SalesRecord> result = new ArrayList<>(topK.size());
+        topK.getResults().forEach(entry -> result.add(table.getRecord(entry.getValue())));
+        return result;
+    }
+
+    /**
+     * Totals a metric per group key; the parallel service overrides this with a block-wise version.
+     */
+    protected Map<String, Double> groupTotals(List<SalesRecord> records, Function<SalesRecord, String> keyExtractor,
+                                              SalesMetric metric) {
+        checkMetric(metric);
+        Map<String, CompensatedSum> sums = new HashMap<>();
+        for (SalesRecord record : records) {
+            sums.computeIfAbsent(keyExtractor.apply(record), key -> new CompensatedSum()).add(metric.valueOf(record));
+        }
+        Map<String, Double> totals = new HashMap<>();
+        sums.forEach((key, sum) -> totals.put(key, sum.getSum()));
+        return totals;
+    }
+
+    /**
+     * Aggregates a metric per key within a fixed memory budget, spilling partial groups to
+     * temporary files when there are more keys than fit in heap (e.g. per order id over a
+     * streamed file larger than memory).
+     *
+     * @param records      the stream of sales records (consumed by this call)
+     * @param keyExtractor function extracting the grouping key
+     * @param metric       the metric to aggregate
+     * @param memoryBudget estimated heap budget for the groups, in bytes
+     * @param action       callback receiving each group, in no particular order
+     * @throws IOException if the temporary files cannot be written or read
+     */
+    public void forEachGroup(Stream<SalesRecord> records, Function<SalesRecord, String> keyExtractor, SalesMetric metric,
+                             long memoryBudget, Consumer<ExternalAggregator.Group> action) throws IOException {
+        checkMetric(metric);
+        try (ExternalAggregator aggregator = new ExternalAggregator(memoryBudget)) {
+            records.forEachOrdered(record -> aggregator.add(keyExtractor.apply(record), metric.valueOf(record)));
+            aggregator.forEachGroup(action);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Builds approximate distinct counts and amount percentiles over all records.
+     *
+     * @param records the list of sales records
+     * @return the sketch of all records
+     */
+    public SalesSketch sketch(List<SalesRecord> records) {
+        SalesSketch sketch = new SalesSketch();
+        records.forEach(sketch::add);
+        return sketch;
+    }
+
+    /**
+     * Builds approximate distinct order/product counts and amount percentiles per category.
+     *
+     * @param records the list of sales records
+     * @return map of category to its sketch
+     */
+    public Map<String, SalesSketch> sketchByCategory(List<SalesRecord> records) {
+        return sketchBy(records, SalesRecord::getCategory);
+    }
+
+    /**
+     * Builds approximate distinct order/product counts and amount percentiles per region.
+     *
+     * @param records the list of sales records
+     * @return map of region to its sketch
+     */
+    public Map<String, SalesSketch> sketchByRegion(List<SalesRecord> records) {
+        return sketchBy(records, SalesRecord::getRegion);
+    }
+
+    protected Map<String, SalesSketch> sketchBy(List<SalesRecord> records, Function<SalesRecord, String> keyExtractor) {
+        Map<String, SalesSketch> sketches = new HashMap<>();
+        for (SalesRecord record : records) {
+            sketches.computeIfAbsent(keyExtractor.apply(record), key -> new SalesSketch()).add(record);
+        }
+        return Map.copyOf(sketches);
+    }
+
+    /**
+     * Builds approximate distinct counts and amount percentiles over a columnar table, reading
+     * rows through a flyweight cursor instead of materializing records.
+     *
+     * @param table the sales table
+     * @return the sketch of all rows
+     */
+    public SalesSketch sketch(SalesTable table) {
+        SalesSketch sketch = new SalesSketch();
+        table.forEachRow(sketch::add);
+        return sketch;
+    }
+
+    /**
+     * Builds a sketch per category over a columnar table.
+     *
+     * @param table the sales table
+     * @return map of category to its sketch
+     */
+    public Map<String, SalesSketch> sketchByCategory(SalesTable table) {
+        return sketchBy(table, SalesRecordView::getCategory);
+    }
+
+    /**
+     * Builds a sketch per region over a columnar table.
+     *
+     * @param table the sales table
+     * @return map of region to its sketch
+     */
+    public Map<String, SalesSketch> sketchByRegion(SalesTable table) {
+        return sketchBy(table, SalesRecordView::getRegion);
+    }
+
+    private static Map<String, SalesSketch> sketchBy(SalesTable table, Function<SalesRecordView, String> keyExtractor) {
+        Map<String, SalesSketch> sketches = new HashMap<>();
+        table.forEachRow(row -> sketches.computeIfAbsent(keyExtractor.apply(row), key -> new SalesSketch()).add(row));
+        return Map.copyOf(sketches);
+    }
+
+    /**
+     * Totals a metric per key over a columnar table, for keys the fixed queries do not cover
+     * (e.g. a derived key). Rows are read through a flyweight cursor, so nothing is allocated
+     * per row unless the key extractor does.
+     *
+     * @param table        the sales table
+     * @param keyExtractor function extracting the grouping key from the current row
+     * @param metric       the metric to total
+     * @return map of key to total
+     */
+    public Map<String, Double> getTotalsBy(SalesTable table, Function<? super SalesRecordView, String> keyExtractor,
+                                           SalesMetric metric) {
+        checkMetric(metric);
+        Map<String, CompensatedSum> sums = new HashMap<>();
+        table.forEachRow(row -> sums.computeIfAbsent(keyExtractor.apply(row), key -> new CompensatedSum()).add(metric.valueOf(row)));
+        Map<String, Double> totals = new HashMap<>();
+        sums.forEach((key, sum) -> totals.put(key, sum.getSum()));
+        return Map.copyOf(totals);
+    }
+
+    /**
+     * Returns the rows matching a predicate, in table order; only matches are materialized.
+     *
+     * @param table     the sales table
+     * @param predicate condition evaluated against the current row
+     * @return list of matching sales records
+     */
+    public List<SalesRecord> filter(SalesTable table, Predicate<? super SalesRecordView> predicate) {
+        List<SalesRecord> result = new ArrayList<>();
+        table.forEachRow(row -> {
+            if (predicate.test(row)) {
+                result.add(row.toSalesRecord());
+            }
+        });
+        return result;
+    }
+
+    static List<SalesRecord> values(TopK<SalesRecord> topK) {
+        List<SalesRecord> result = new ArrayList<>(topK.size());
+        topK.getResults().forEach(entry -> result.add(entry.getValue()));
+        return result;
+    }
+
+    static void checkMetric(SalesMetric metric) {
+        if (metric == null) {
+            throw new IllegalArgumentException("Metric cannot be null");
+        }
+    }
+
+    private static List<TopK.Entry<String>> topCodes(SalesTable table, int[] codes, StringDictionary dictionary,
+                                                     int k, SalesMetric metric) {
+        checkMetric(metric);
+        TopK<String> topK = new TopK<>(k, Comparator.naturalOrder());
+        CompensatedSum[] sums = new CompensatedSum[dictionary.size()];
+        double[] amounts = table.amountColumn();
+        int[] quantities = table.quantityColumn();
+        boolean revenue = metric == SalesMetric.REVENUE;
+        for (int row = 0; row < table.size(); row++) {
+            addTo(sums, codes[row], revenue ? amounts[row] : quantities[row]);
+        }
+        for (int code = 0; code < sums.length; code++) {
+            if (sums[code] != null) {
+                topK.offer(dictionary.decode(code), sums[code].getSum());
+            }
+        }
+        return topK.getResults();
+    }
+
+    /**
+     * Filters high-value transactions using a prebuilt amount index.
+     * Runs in O(log n) plus the result size; results are ordered by ascending amount.
+     *
+     * @param index     the amount index
+     * @param threshold the minimum amount threshold
+     * @return a read-only list of transactions with amount greater than or equal to threshold
+     */
+    public List<SalesRecord> filterHighValueTransactions(AmountIndex index, double threshold) {
+        return index.filterHighValueTransactions(threshold);
+    }
+
+    /**
+     * Computes every summary metric in a single pass over the records.
+     *
+     * @param records            the list of sales records
+     * @param highValueThreshold the minimum amount for high-value transactions
+     * @return the summary of all metrics
+     */
+    public SalesSummary summarize(List<SalesRecord> records, double highValueThreshold) {
+        return summarize(records.stream(), highValueThreshold);
+    }
+
+    /**
+     * Computes every summary metric in a single pass over a stream of records,
+     * so a streamed CSV file is summarized as it is read.
+     *
+     * @param records            the stream of sales records (consumed by this call)
+     * @param highValueThreshold the minimum amount for high-value transactions
+     * @return the summary of all metrics
+     */
+    public SalesSummary summarize(Stream<SalesRecord> records, double highValueThreshold) {
+        SalesSummary.Accumulator accumulator = new SalesSummary.Accumulator(highValueThreshold);
+        records.forEachOrdered(accumulator::add);
+        return accumulator.build();
+    }
+
+    /**
+     * Computes every summary metric in a single pass over a columnar table,
+     * accumulating group totals in arrays indexed by dictionary code.
+     *
+     * @param table              the sales table
+     * @param highValueThreshold the minimum amount for high-value transactions
+     * @return the summary of all metrics
+     */
+    public SalesSummary summarize(SalesTable table, double highValueThreshold) {
+        TableSummary summary = new TableSummary(table, highValueThreshold);
+        for (int row = 0; row < table.size(); row++) {
+            summary.add(row);
+        }
+        return summary.build();
+    }
+
+    /**
+     * Calculates the total sales amount of the selected rows of a table.
+     *
+     * @param table the sales table
+     * @param rows  the rows to include, e.g. from a {@link BitmapIndex}
+     * @return the total sales amount of the selected rows
+     */
+    public double getTotalSales(SalesTable table, RowBitmap rows) {
+        checkRows(table, rows);
+        double[] amounts = table.amountColumn();
+        CompensatedSum total = new CompensatedSum();
+        for (PrimitiveIterator.OfInt it = rows.rowIterator(); it.hasNext(); ) {
+            total.add(amounts[it.nextInt()]);
+        }
+        return total.getSum();
+    }
+
+    /**
+     * Groups the selected rows of a table by category and calculates the total for each category.
+     *
+     * @param table the sales table
+     * @param rows  the rows to include
+     * @return map of category to total sales over the selected rows
+     */
+    public Map<String, Double> getSalesByCategory(SalesTable table, RowBitmap rows) {
+        return sumByCode(table, rows, table.categoryColumn(), table.getCategoryDictionary());
+    }
+
+    /**
+     * Groups the selected rows of a table by region and calculates the total for each region.
+     *
+     * @param table the sales table
+     * @param rows  the rows to include
+     * @return map of region to total sales over the selected rows
+     */
+    public Map<String, Double> getSalesByRegion(SalesTable table, RowBitmap rows) {
+        return sumByCode(table, rows, table.regionColumn(), table.getRegionDictionary());
+    }
+
+    /**
+     * Computes every summary metric over the selected rows of a table in one pass.
+     * Only the rows in the bitmap are visited.
+     *
+     * @param table              the sales table
+     * @param rows               the rows to include
+     * @param highValueThreshold the minimum amount for high-value transactions
+     * @return the summary of the selected rows
+     */
+    public SalesSummary summarize(SalesTable table, RowBitmap rows, double highValueThreshold) {
+        checkRows(table, rows);
+        TableSummary summary = new TableSummary(table, highValueThreshold);
+        for (PrimitiveIterator.OfInt it = rows.rowIterator(); it.hasNext(); ) {
+            summary.add(it.nextInt());
+        }
+        return summary.build();
+    }
+
+    /**
+     * Totals sales per day, ISO week or month. Keys are the first day of each bucket, in
+     * chronological order; rows without a valid order date are skipped.
+     *
+     * @param table  the sales table
+     * @param bucket the bucket granularity
+     * @return sorted map of bucket start date to total sales
+     */
+    public SortedMap<LocalDate, Double> getSalesByPeriod(SalesTable table, TimeBucket bucket) {
+        int[] bucketOfCode = bucketOfDateCode(table, bucket);
+        int[] dateCodes = table.dateColumn();
+        double[] amounts = table.amountColumn();
+        CompensatedSum[] sums = new CompensatedSum[bucketOfCode.length];
+        for (int row = 0; row < table.size(); row++) {
+            addTo(sums, dateCodes[row], amounts[row]);
+        }
+        return foldBuckets(bucketOfCode, sums);
+    }
+
+    /**
+     * Totals the selected rows per day, ISO week or month, e.g. for a date range from a
+     * {@link DateIndex} or a filter from a {@link BitmapIndex}.
+     *
+     * @param table  the sales table
+     * @param rows   the rows to include
+     * @param bucket the bucket granularity
+     * @return sorted map of bucket start date to total sales over the selected rows
+     */
+    public SortedMap<LocalDate, Double> getSalesByPeriod(SalesTable table, RowBitmap rows, TimeBucket bucket) {
+        checkRows(table, rows);
+        int[] bucketOfCode = bucketOfDateCode(table, bucket);
+        int[] dateCodes = table.dateColumn();
+        double[] amounts = table.amountColumn();
+        CompensatedSum[] sums = new CompensatedSum[bucketOfCode.length];
+        for (PrimitiveIterator.OfInt it = rows.rowIterator(); it.hasNext(); ) {
+            int row = it.nextInt();
+            addTo(sums, dateCodes[row], amounts[row]);
+        }
+        return foldBuckets(bucketOfCode, sums);
+    }
+
+    // Bucket start epoch day of each date dictionary code, computed once per distinct date
+    private static int[] bucketOfDateCode(SalesTable table, TimeBucket bucket) {
+        if (bucket == null) {
+            throw new IllegalArgumentException("Time bucket cannot be null");
+        }
+        int[] codeDays = table.dateCodeEpochDays();
+        int[] bucketOfCode = new int[codeDays.length];
+        for (int code = 0; code < codeDays.length; code++) {
+            bucketOfCode[code] = codeDays[code] == SalesTable.NO_DATE ? SalesTable.NO_DATE : bucket.bucketStart(codeDays[code]);
+        }
+        return bucketOfCode;
+    }
+
+    // Folds per-date-code sums into their buckets
+    private static SortedMap<LocalDate, Double> foldBuckets(int[] bucketOfCode, CompensatedSum[] sums) {
+        TreeMap<Integer, CompensatedSum> byBucket = new TreeMap<>();
+        for (int code = 0; code < bucketOfCode.length; code++) {
+            if (sums[code] != null && bucketOfCode[code] != SalesTable.NO_DATE) {
+                byBucket.computeIfAbsent(bucketOfCode[code], start -> new CompensatedSum()).add(sums[code]);
+            }
+        }
+        TreeMap<LocalDate, Double> result = new TreeMap<>();
+        byBucket.forEach((start, sum) -> result.put(LocalDate.ofEpochDay(start), sum.getSum()));
+        return Collections.unmodifiableSortedMap(result);
+    }
+
+    private static Map<String, Double> sumByCode(SalesTable table, RowBitmap rows, int[] codes,
+                                                 StringDictionary dictionary) {
+        checkRows(table, rows);
+        double[] amounts = table.amountColumn();
+        CompensatedSum[] sums = new CompensatedSum[dictionary.size()];
+        for (PrimitiveIterator.OfInt it = rows.rowIterator(); it.hasNext(); ) {
+            int row = it.nextInt();
+            addTo(sums, codes[row], amounts[row]);
+        }
+        return Map.copyOf(decodeSums(sums, dictionary));
+    }
+
+    // Adds to the sum of a dictionary code, creating it on the code's first row
+    private static void addTo(CompensatedSum[] sums, int code, double value) {
+        CompensatedSum sum = sums[code];
+        if (sum == null) {
+            sum = new CompensatedSum();
+            sums[code] = sum;
+        }
+        sum.add(value);
+    }
+
+    // Decodes the codes that have rows; codes without a sum stay out of the result
+    private static Map<String, Double> decodeSums(CompensatedSum[] sums, StringDictionary dictionary) {
+        Map<String, Double> result = new HashMap<>();
+        for (int code = 0; code < sums.length; code++) {
+            if (sums[code] != null) {
+                result.put(dictionary.decode(code), sums[code].getSum());
+            }
+        }
+        return result;
+    }
+
+    // One pass of summary accumulators over some rows of a table, summed like the parallel service
+    private static final class TableSummary {
+        private final SalesTable table;
+        private final double highValueThreshold;
+        private final double[] amounts;
+        private final int[] categoryCodes;
+        private final int[] regionCodes;
+        private final int[] productCodes;
+        private final CompensatedSum total = new CompensatedSum();
+        private final CompensatedSum[] categorySums;
+        private final CompensatedSum[] regionSums;
+        private final CompensatedSum[] productSums;
+        private final long[] productCounts;
+        private final List<SalesRecord> highValueTransactions = new ArrayList<>();
+
+        TableSummary(SalesTable table, double highValueThreshold) {
+            this.table = table;
+            this.highValueThreshold = highValueThreshold;
+            this.amounts = table.amountColumn();
+            this.categoryCodes = table.categoryColumn();
+            this.regionCodes = table.regionColumn();
+            this.productCodes = table.productColumn();
+            this.categorySums = new CompensatedSum[table.getCategoryDictionary().size()];
+            this.regionSums = new CompensatedSum[table.getRegionDictionary().size()];
+            this.productSums = new CompensatedSum[table.getProductDictionary().size()];
+            this.productCounts = new long[productSums.length];
+        }
+
+        void add(int row) {
+            double amount = amounts[row];
+            total.add(amount);
+            addTo(categorySums, categoryCodes[row], amount);
+            addTo(regionSums, regionCodes[row], amount);
+            addTo(productSums, productCodes[row], amount);
+            productCounts[productCodes[row]]++;
+            if (amount >= highValueThreshold) {
+                highValueTransactions.add(table.getRecord(row));
+            }
+        }
+
+        SalesSummary build() {
+            Map<String, Double> averageSalesPerProduct = new HashMap<>();
+            for (int code = 0; code < productSums.length; code++) {
+                if (productCounts[code] > 0) {
+                    averageSalesPerProduct.put(table.getProductDictionary().decode(code),
+                            productSums[code].getSum() / productCounts[code]);
+                }
+            }
+            return new SalesSummary(total.getSum(), decodeSums(categorySums, table.getCategoryDictionary()),
+                    decodeSums(regionSums, table.getRegionDictionary()), averageSalesPerProduct,
+                    highValueThreshold, highValueTransactions);
+        }
+    }
+
+    private static void checkRows(SalesTable table, RowBitmap rows) {
+        if (rows == null) {
+            throw new IllegalArgumentException("Row bitmap cannot be null");
+        }
+        if (!rows.isEmpty() && rows.last() >= table.size()) {
+            throw new IllegalArgumentException("Row bitmap references row " + rows.last()
+                    + " but the table has " + table.size() + " rows");
+        }
+    }
+
     /**
      * Prints a comprehensive summary of sales data analysis.
+     * All metrics are computed in one pass via {@link #summarize(List, double)}.
      *
      * @param records the list of sales records to analyze
      */
     public void printSummary(List<SalesRecord> records) {
+        printSummary(summarize(records, HIGH_VALUE_THRESHOLD));
+    }
+
+    /**
+     * Prints a comprehensive summary of a columnar sales table.
+     *
+     * @param table the sales table to analyze
+     */
+    public void printSummary(SalesTable table) {
+        printSummary(summarize(table, HIGH_VALUE_THRESHOLD));
+    }
+
+    /**
+     * Renders a precomputed summary.
+     *
+     * @param summary the summary to print
+     */
+    public void printSummary(SalesSummary summary) {
         System.out.println("=".repeat(60));
         System.out.println("SALES ANALYSIS SUMMARY");
         System.out.println("=".repeat(60));
 
         // 1. Total Sales
-        double totalSales = getTotalSales(records);
-        System.out.printf("\n1. TOTAL SALES: $%.2f\n", totalSales);
+        System.out.printf("\n1. TOTAL SALES: $%.2f\n", summary.getTotalSales());
 
         // 2. Sales by Category
         System.out.println("\n2. SALES BY CATEGORY:");
-        Map<String, Double> salesByCategory = getSalesByCategory(records);
-        salesByCategory.forEach((category, amount) ->
+        summary.getSalesByCategory().forEach((category, amount) ->
                 System.out.printf("   %-15s: $%.2f\n", category, amount));
 
         // 3. Sales by Region
         System.out.println("\n3. SALES BY REGION:");
-        Map<String, Double> salesByRegion = getSalesByRegion(records);
-        salesByRegion.forEach((region, amount) ->
+        summary.getSalesByRegion().forEach((region, amount) ->
                 System.out.printf("   %-15s: $%.2f\n", region, amount));
 
         // 4. Average Sales per Product
         System.out.println("\n4. AVERAGE SALES PER PRODUCT:");
-        Map<String, Double> avgSalesPerProduct = getAverageSalesPerProduct(records);
-        avgSalesPerProduct.forEach((product, avgAmount) ->
+        summary.getAverageSalesPerProduct().forEach((product, avgAmount) ->
                 System.out.printf("   %-15s: $%.2f\n", product, avgAmount));
 
-        // 5. High-Value Transactions (threshold = 500.0)
-        double threshold = 500.0;
-        System.out.printf("\n5. HIGH-VALUE TRANSACTIONS (>= $%.2f):\n", threshold);
-        List<SalesRecord> highValueTransactions = filterHighValueTransactions(records, threshold);
+        // 5. High-Value Transactions
+        System.out.printf("\n5. HIGH-VALUE TRANSACTIONS (>= $%.2f):\n", summary.getHighValueThreshold());
+        List<SalesRecord> highValueTransactions = summary.getHighValueTransactions();
         if (highValueTransactions.isEmpty()) {
             System.out.println("   No high-value transactions found.");
         } else {
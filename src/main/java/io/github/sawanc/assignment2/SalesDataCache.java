@@ -0,0 +1,310 @@
+package io.github.sawanc.assignment2;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+
+/**
+ * Memory-bounded LRU cache of parsed sales datasets and analysis results.
+ * <p>
+ * Entries are keyed by file path and validated against the file's identity (size, modification
+ * time and a CRC32C content hash) on every access. If size and modification time are unchanged the
+ * entry is reused without touching the file contents; otherwise the hash is recomputed, and the
+ * entry is reloaded only if the contents actually changed. Memoized results are dropped together
+ * with their dataset. When the estimated heap footprint exceeds the budget, least recently used
+ * entries are evicted.
+ *
+ * @author sawan chakraborty
+ */
+public class SalesDataCache {
+    // Rough heap cost of one SalesRecord with its five String fields, excluding characters
+    static final long RECORD_OVERHEAD_BYTES = 250;
+    // Flat allowance for each memoized result
+    static final long RESULT_OVERHEAD_BYTES = 1024;
+
+    private final long maxBytes;
+    private final SalesAnalysisService service;
+    private final LinkedHashMap<Path, Entry> entries;
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructs a cache with the given memory budget and a sequential analysis service.
+     *
+     * @param maxBytes estimated heap budget for all cached entries
+     */
+    public SalesDataCache(long maxBytes) {
+        this(maxBytes, new SalesAnalysisService());
+    }
+
+    /**
+     * Constructs a cache with the given memory budget and analysis service.
+     *
+     * @param maxBytes estimated heap budget for all cached entries
+     * @param service  service used by {@link #getSummary(String, double)}
+     */
+    public SalesDataCache(long maxBytes, SalesAnalysisService service) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache budget must be positive, but was " + maxBytes);
+        }
+        if (service == null) {
+            throw new IllegalArgumentException("Service cannot be null");
+        }
+        this.maxBytes = maxBytes;
+        this.service = service;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true); // access order = LRU
+    }
+
+    /**
+     * Returns the parsed records of a CSV file, reading it only if it is not cached or has changed.
+     *
+     * @param filePath the path to the CSV file
+     * @return an unmodifiable list of the file's records
+     * @throws IOException if the file cannot be read or does not exist
+     */
+    public synchronized List<SalesRecord> getSalesData(String filePath) throws IOException {
+        return entry(filePath).records;
+    }
+
+    /**
+     * Returns the memoized summary of a CSV file for the given threshold.
+     *
+     * @param filePath           the path to the CSV file
+     * @param highValueThreshold the minimum amount for high-value transactions
+     * @return the cached or newly computed summary
+     * @throws IOException if the file cannot be read or does not exist
+     */
+    public synchronized SalesSummary getSummary(String filePath, double highValueThreshold) throws IOException {
+        return compute(filePath, "summary:" + highValueThreshold,
+                records -> service.summarize(records, highValueThreshold));
+    }
+
+    /**
+     * Returns a memoized analysis result, computing it on the cached dataset if needed.
+     * Results are invalidated together with the dataset when the file changes.
+     *
+     * @param filePath    the path to the CSV file
+     * @param resultKey   key identifying the computation, e.g. "salesByRegion"
+     * @param computation function producing the result from the file's records
+     * @return the cached or newly computed result
+     * @throws IOException if the file cannot be read or does not exist
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T compute(String filePath, String resultKey,
+                                      Function<List<SalesRecord>, T> computation) throws IOException {
+        Entry entry = entry(filePath);
+        Object result = entry.results.get(resultKey);
+        // A computation may legitimately return null; that result is cached like any other
+        if (result == null && !entry.results.containsKey(resultKey)) {
+            result = computation.apply(entry.records);
+            entry.results.put(resultKey, result);
+            entry.estimatedBytes += RESULT_OVERHEAD_BYTES;
+            usedBytes += RESULT_OVERHEAD_BYTES;
+            evictOverBudget(entry);
+        }
+        return (T) result;
+    }
+
+    public synchronized void invalidate(String filePath) {
+        Entry removed = entries.remove(normalize(filePath));
+        if (removed != null) {
+            usedBytes -= removed.estimatedBytes;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    // Returns a valid entry for the file, reloading it if the file changed since it was cached
+    private Entry entry(String filePath) throws IOException {
+        Path path = normalize(filePath);
+        if (!Files.exists(path)) {
+            invalidate(filePath);
+            throw new IOException("CSV file not found: " + filePath);
+        }
+        Entry entry = entries.get(path);
+        if (entry != null) {
+            long size = Files.size(path);
+            long modified = Files.getLastModifiedTime(path).toMillis();
+            if (size == entry.identity.size && modified == entry.identity.lastModified) {
+                hits++;
+                return entry;
+            }
+            // Metadata changed; only a different content hash forces a reload
+            FileIdentity current = new FileIdentity(path, size, modified, contentHash(path));
+            if (current.contentHash == entry.identity.contentHash && current.size == entry.identity.size) {
+                entry.identity = current;
+                hits++;
+                return entry;
+            }
+            invalidate(filePath);
+        }
+
+        misses++;
+        FileIdentity identity = FileIdentity.of(path);
+        List<SalesRecord> records = Collections.unmodifiableList(CSVReader.readSalesData(filePath));
+        entry = new Entry(identity, records, estimateBytes(records));
+        entries.put(path, entry);
+        usedBytes += entry.estimatedBytes;
+        evictOverBudget(entry);
+        return entry;
+    }
+
+    // Evicts least recently used entries, never the one currently being served
+    private void evictOverBudget(Entry current) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (usedBytes > maxBytes && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            if (eldest == current) {
+                continue;
+            }
+            iterator.remove();
+            usedBytes -= eldest.estimatedBytes;
+            evictions++;
+        }
+    }
+
+    private static long estimateBytes(List<SalesRecord> records) {
+        long bytes = 0;
+        for (SalesRecord record : records) {
+            bytes += RECORD_OVERHEAD_BYTES + record.getOrderId().length() + record.getProduct().length()
+                    + record.getCategory().length() + record.getRegion().length() + record.getOrderDate().length();
+        }
+        return bytes;
+    }
+
+    private static Path normalize(String filePath) {
+        return Paths.get(filePath).toAbsolutePath().normalize();
+    }
+
+    static long contentHash(Path path) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; ) {
+                long length = Math.min(size - position, MappedCSVParser.DEFAULT_WINDOW_SIZE);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                crc.update(buffer);
+                position += length;
+            }
+        }
+        return crc.getValue();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "SalesDataCache{entries=" + entries.size() + ", usedBytes=" + usedBytes + ", maxBytes=" + maxBytes
+                + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + "}";
+    }
+
+    /**
+     * Identity of a file's contents: path, size, modification time and content hash.
+     */
+    public static final class FileIdentity {
+        private final Path path;
+        private final long size;
+        private final long lastModified;
+        private final long contentHash;
+
+        FileIdentity(Path path, long size, long lastModified, long contentHash) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+        }
+
+        public static FileIdentity of(Path path) throws IOException {
+            return new FileIdentity(path.toAbsolutePath().normalize(), Files.size(path),
+                    Files.getLastModifiedTime(path).toMillis(), contentHash(path));
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public long getContentHash() {
+            return contentHash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FileIdentity other)) {
+                return false;
+            }
+            return size == other.size && lastModified == other.lastModified
+                    && contentHash == other.contentHash && path.equals(other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, size, lastModified, contentHash);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("FileIdentity{path='%s', size=%d, lastModified=%d, contentHash=%08x}",
+                    path, size, lastModified, contentHash);
+        }
+    }
+
+    private static class Entry {
+        private FileIdentity identity;
+        private final List<SalesRecord> records;
+        private final Map<String, Object> results = new HashMap<>();
+        private long estimatedBytes;
+
+        Entry(FileIdentity identity, List<SalesRecord> records, long estimatedBytes) {
+            this.identity = identity;
+            this.records = records;
+            this.estimatedBytes = estimatedBytes;
+        }
+    }
+}
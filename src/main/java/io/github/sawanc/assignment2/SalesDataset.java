@@ -0,0 +1,350 @@
+package io.github.sawanc.assignment2;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Sales data spread over many CSV files (e.g. one per day), handled as one partition per file.
+ * <p>
+ * Files are selected by a directory (every {@code *.csv} or {@code *.csv.gz} file directly inside
+ * it) or a glob such as {@code data/2025-*.csv} or {@code data/**.csv}. Loading scans the files in
+ * parallel and keeps only the row count and min/max order date and amount of each one; a
+ * partition's {@link SalesTable} is read when a query needs it. A query with a date or amount
+ * predicate therefore only reads and scans the partitions whose range overlaps the predicate; the
+ * per-partition results are then merged by group key.
+ * <p>
+ * Statistics are cached for the life of the process, keyed by absolute path and checked against
+ * the file's size and modification time, so loading the same files again only looks at their
+ * attributes and rescans just the files that changed. Tables read by queries are kept through
+ * soft references and reused by later queries until the file changes or memory runs short.
+ *
+ * @author sawan chakraborty
+ */
+public class SalesDataset {
+    // Statistics of every file scanned so far; an entry is reused while its file is unchanged
+    private static final ConcurrentHashMap<Path, Partition> SCANNED = new ConcurrentHashMap<>();
+
+    private final List<Partition> partitions;
+    private final ForkJoinPool pool;
+
+    private SalesDataset(List<Partition> partitions, ForkJoinPool pool) {
+        this.partitions = List.copyOf(partitions);
+        this.pool = pool;
+    }
+
+    /**
+     * Scans every matching file that was not scanned before for its statistics, in parallel on
+     * the common pool.
+     *
+     * @param directoryOrGlob a directory, a single file or a glob pattern
+     * @return the dataset, with partitions in path order
+     * @throws IOException if no file matches or a file cannot be read
+     * @throws IllegalArgumentException if the CSV data is malformed
+     */
+    public static SalesDataset load(String directoryOrGlob) throws IOException {
+        return load(directoryOrGlob, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Scans every new or changed matching file in parallel; the pool is also used to scan
+     * partitions in queries.
+     */
+    public static SalesDataset load(String directoryOrGlob, ForkJoinPool pool) throws IOException {
+        List<Callable<Partition>> tasks = new ArrayList<>();
+        for (Path path : resolve(directoryOrGlob)) {
+            tasks.add(() -> Partition.of(path));
+        }
+        return new SalesDataset(ParallelCSVLoader.invokeAll(pool, tasks), pool);
+    }
+
+    /**
+     * Lists the files selected by a directory, file or glob pattern, sorted by path.
+     */
+    static List<Path> resolve(String directoryOrGlob) throws IOException {
+        int firstMeta = indexOfGlobMeta(directoryOrGlob);
+        List<Path> files;
+        if (firstMeta < 0) {
+            Path path = Paths.get(directoryOrGlob);
+            if (Files.isRegularFile(path)) {
+                return List.of(path);
+            }
+            if (!Files.isDirectory(path)) {
+                throw new IOException("CSV file or directory not found: " + directoryOrGlob);
+            }
+            try (Stream<Path> children = Files.list(path)) {
+                files = children.filter(Files::isRegularFile)
+                        .filter(child -> child.getFileName().toString().endsWith(".csv")
+                                || child.getFileName().toString().endsWith(".csv.gz"))
+                        .sorted()
+                        .toList();
+            }
+        } else {
+            // Walk from the deepest directory before the first wildcard and match relative paths
+            int separator = Math.max(directoryOrGlob.lastIndexOf('/', firstMeta), directoryOrGlob.lastIndexOf('\\', firstMeta));
+            Path base = Paths.get(separator < 0 ? "" : directoryOrGlob.substring(0, separator + 1));
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + directoryOrGlob.substring(separator + 1));
+            if (!Files.isDirectory(base.toAbsolutePath())) {
+                throw new IOException("Directory not found for pattern: " + directoryOrGlob);
+            }
+            try (Stream<Path> walk = Files.walk(base)) {
+                files = walk.filter(Files::isRegularFile)
+                        .filter(file -> matcher.matches(base.relativize(file)))
+                        .sorted()
+                        .toList();
+            }
+        }
+        if (files.isEmpty()) {
+            throw new IOException("No CSV files match: " + directoryOrGlob);
+        }
+        return files;
+    }
+
+    private static int indexOfGlobMeta(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            if ("*?[{".indexOf(pattern.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public List<Partition> getPartitions() {
+        return partitions;
+    }
+
+    /**
+     * Returns the total number of rows across all partitions.
+     */
+    public long size() {
+        return partitions.stream().mapToLong(Partition::size).sum();
+    }
+
+    /**
+     * Returns the partitions that may hold rows matching the query's date and amount predicates.
+     */
+    public List<Partition> prune(SalesQuery query) {
+        List<Partition> matching = new ArrayList<>();
+        for (Partition partition : partitions) {
+            if (partition.mayContain(query)) {
+                matching.add(partition);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Returns the partitions that may hold orders dated on or after {@code from} and before {@code to}.
+     */
+    public List<Partition> prune(LocalDate from, LocalDate to) {
+        List<Partition> matching = new ArrayList<>();
+        for (Partition partition : partitions) {
+            if (partition.mayContainDates(from, to)) {
+                matching.add(partition);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Runs a query over the partitions that survive pruning, reading and scanning them in
+     * parallel and merging their groups. Pruned partitions are never read.
+     *
+     * @param query the query to run
+     * @return the merged result, ordered by group key
+     * @throws IOException if a partition cannot be read or the scan is interrupted
+     */
+    public SalesQuery.Result query(SalesQuery query) throws IOException {
+        List<Callable<SalesQuery.PartialResult>> scans = new ArrayList<>();
+        for (Partition partition : prune(query)) {
+            scans.add(() -> query.scan(partition.getTable()));
+        }
+        SalesQuery.PartialResult merged = new SalesQuery.PartialResult();
+        ParallelCSVLoader.invokeAll(pool, scans).forEach(merged::merge);
+        return query.finish(merged);
+    }
+
+    @Override
+    public String toString() {
+        return "SalesDataset{partitions=" + partitions.size() + ", rows=" + size() + "}";
+    }
+
+    /**
+     * One file together with its row count and the value ranges of its rows.
+     * Rows without a valid date or amount do not widen the ranges; such rows never match
+     * date or amount predicates anyway.
+     */
+    public static final class Partition {
+        private final Path path;
+        private final long fileSize;
+        private final long lastModified;
+        private final long size;
+        private final int minEpochDay;
+        private final int maxEpochDay;
+        private final double minAmount;
+        private final double maxAmount;
+        private volatile SoftReference<SalesTable> table = new SoftReference<>(null);
+
+        private Partition(Path path, long fileSize, long lastModified, long size, int minEpochDay, int maxEpochDay,
+                          double minAmount, double maxAmount) {
+            this.path = path;
+            this.fileSize = fileSize;
+            this.lastModified = lastModified;
+            this.size = size;
+            this.minEpochDay = minEpochDay;
+            this.maxEpochDay = maxEpochDay;
+            this.minAmount = minAmount;
+            this.maxAmount = maxAmount;
+        }
+
+        // Returns the cached statistics while the file keeps its size and modification time
+        static Partition of(Path path) throws IOException {
+            Path key = path.toAbsolutePath().normalize();
+            long fileSize = Files.size(path);
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            Partition cached = SCANNED.get(key);
+            if (cached != null && cached.fileSize == fileSize && cached.lastModified == lastModified) {
+                return cached.path.equals(path) ? cached : cached.at(path);
+            }
+            Partition scanned = scan(path, fileSize, lastModified);
+            SCANNED.put(key, scanned);
+            return scanned;
+        }
+
+        private Partition at(Path other) {
+            return new Partition(other, fileSize, lastModified, size, minEpochDay, maxEpochDay, minAmount, maxAmount);
+        }
+
+        // Reads the file once for its statistics without building a table
+        private static Partition scan(Path path, long fileSize, long lastModified) throws IOException {
+            StringDictionary dates = new StringDictionary();
+            double[] range = {Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+            long rows = MappedCSVParser.parse(path.toString(), row -> {
+                try {
+                    row.validate();
+                    double amount = row.parseAmount();
+                    row.parseQuantity();
+                    row.encode(6, dates);
+                    // NaN fails both comparisons and is skipped
+                    if (amount < range[0]) {
+                        range[0] = amount;
+                    }
+                    if (amount > range[1]) {
+                        range[1] = amount;
+                    }
+                } catch (IllegalArgumentException e) {
+                    throw row.malformed(e);
+                }
+            });
+            int minDay = Integer.MAX_VALUE;
+            int maxDay = SalesTable.NO_DATE;
+            for (int day : SalesTable.parseDates(dates)) {
+                if (day != SalesTable.NO_DATE) {
+                    minDay = Math.min(minDay, day);
+                    maxDay = Math.max(maxDay, day);
+                }
+            }
+            boolean hasAmounts = range[0] <= range[1];
+            return new Partition(path, fileSize, lastModified, rows, minDay, maxDay, hasAmounts ? range[0] : Double.NaN,
+                    hasAmounts ? range[1] : Double.NaN);
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        /**
+         * Returns the number of data rows in the file.
+         */
+        public long size() {
+            return size;
+        }
+
+        /**
+         * Returns the partition's file as a table. The table is kept through a soft reference
+         * and returned again while the file has the size and modification time it was scanned
+         * with; otherwise the file is read again.
+         *
+         * @throws IOException if the file cannot be read
+         */
+        public SalesTable getTable() throws IOException {
+            SalesTable cached = table.get();
+            if (cached != null && Files.size(path) == fileSize
+                    && Files.getLastModifiedTime(path).toMillis() == lastModified) {
+                return cached;
+            }
+            SalesTable read = CSVReader.readSalesTable(path.toString());
+            table = new SoftReference<>(read);
+            return read;
+        }
+
+        /**
+         * Returns the earliest valid order date, or null if no row has one.
+         */
+        public LocalDate getMinDate() {
+            return maxEpochDay == SalesTable.NO_DATE ? null : LocalDate.ofEpochDay(minEpochDay);
+        }
+
+        /**
+         * Returns the latest valid order date, or null if no row has one.
+         */
+        public LocalDate getMaxDate() {
+            return maxEpochDay == SalesTable.NO_DATE ? null : LocalDate.ofEpochDay(maxEpochDay);
+        }
+
+        /**
+         * Returns the smallest amount, or NaN if no row has a comparable amount.
+         */
+        public double getMinAmount() {
+            return minAmount;
+        }
+
+        /**
+         * Returns the largest amount, or NaN if no row has a comparable amount.
+         */
+        public double getMaxAmount() {
+            return maxAmount;
+        }
+
+        /**
+         * Tests whether any row may be dated on or after {@code from} and before {@code to}.
+         */
+        public boolean mayContainDates(LocalDate from, LocalDate to) {
+            return maxEpochDay != SalesTable.NO_DATE
+                    && maxEpochDay >= from.toEpochDay() && minEpochDay < to.toEpochDay();
+        }
+
+        /**
+         * Tests whether any row may have {@code min <= amount < max}.
+         */
+        public boolean mayContainAmounts(double min, double max) {
+            return maxAmount >= min && minAmount < max;
+        }
+
+        boolean mayContain(SalesQuery query) {
+            if (query.getFromDate() != null && !mayContainDates(query.getFromDate(), query.getToDate())) {
+                return false;
+            }
+            boolean amountFilter = query.getMinAmount() != Double.NEGATIVE_INFINITY
+                    || query.getMaxAmount() != Double.POSITIVE_INFINITY;
+            return !amountFilter || mayContainAmounts(query.getMinAmount(), query.getMaxAmount());
+        }
+
+        @Override
+        public String toString() {
+            return "Partition{path=" + path + ", rows=" + size + ", dates=[" + getMinDate() + ", "
+                    + getMaxDate() + "], amounts=[" + minAmount + ", " + maxAmount + "]}";
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.sawanc.assignment2;
+
+/**
+ * Attribute a {@link SalesQuery} can group or filter by.
+ * The time dimensions group by the first day of each {@link TimeBucket}.
+ *
+ * @author sawan chakraborty
+ */
+public enum SalesDimension {
+    PRODUCT,
+    CATEGORY,
+    REGION,
+    DAY,
+    WEEK,
+    MONTH;
+
+    boolean isTime() {
+        return this == DAY || this == WEEK || this == MONTH;
+    }
+
+    TimeBucket toTimeBucket() {
+        switch (this) {
+            case DAY:
+                return TimeBucket.DAY;
+            case WEEK:
+                return TimeBucket.WEEK;
+            case MONTH:
+                return TimeBucket.MONTH;
+            default:
+                throw new IllegalStateException(this + " is not a time dimension");
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package io.github.sawanc.assignment2;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Follow ("tail") mode for a sales CSV file that is appended to while it is being read.
+ * <p>
+ * The follower remembers the byte offset up to which the file has been consumed, and each
+ * {@link #poll()} parses only the complete rows appended since then, so the cost of a refresh is
+ * proportional to the new data rather than the file size. A row counts as complete once its
+ * terminating line break has been written; a partially written last row is left for the next
+ * poll. {@link #start(Duration)} polls on a background thread, woken by a {@link WatchService}
+ * when the file changes and at least once per interval otherwise (some file systems do not
+ * deliver change events). Records go to a callback, typically
+ * {@link IncrementalSalesAggregator#append(SalesRecord)}, so running aggregates stay seconds
+ * behind the file.
+ * <p>
+ * Malformed rows are skipped and counted by reason, as in {@link LenientCSVReader}, so one bad
+ * line does not stop live ingest. Only plain, append-only CSV files are supported: gzip input is
+ * rejected, and a file that shrinks or is replaced (a different file key, e.g. after log-style
+ * rotation) fails the poll rather than resuming from the middle of a row.
+ *
+ * <pre>
+ *   IncrementalSalesAggregator aggregator = new IncrementalSalesAggregator();
+ *   try (SalesFileFollower follower = new SalesFileFollower("sales.csv", aggregator::append)) {
+ *       follower.start(Duration.ofSeconds(1));
+ *       ...
+ *       aggregator.getTotalSales(); // includes rows appended a moment ago
+ *   }
+ * </pre>
+ *
+ * @author sawan chakraborty
+ */
+public class SalesFileFollower implements AutoCloseable {
+    private final Path path;
+    private final Consumer<SalesRecord> action;
+    private final StringDictionary dictionary = new StringDictionary();
+    private final MappedCSVParser.Row row = new MappedCSVParser.Row();
+    private long offset;
+    private boolean headerPending = true;
+    private long rowsRead;
+    private long rejectedRows;
+    private final Map<String, Long> rejectedByReason = new TreeMap<>();
+    private Object fileIdentity;
+    private volatile long lastPollMillis;
+    private volatile Exception failure;
+    private Thread thread;
+    private WatchService watcher;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a follower that starts at the beginning of the file. The file need not exist yet.
+     *
+     * @param filePath the path to the CSV file
+     * @param action   callback receiving each new record, in file order
+     */
+    public SalesFileFollower(String filePath, Consumer<SalesRecord> action) {
+        this.path = Paths.get(filePath);
+        this.action = action;
+    }
+
+    /**
+     * Parses the complete rows appended since the last poll and passes them to the action.
+     * Malformed rows are skipped and counted.
+     *
+     * @return the number of new records
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is gzip-compressed, has shrunk or was replaced
+     */
+    public synchronized long poll() throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Object identity = identityOf(path);
+            if (fileIdentity == null) {
+                fileIdentity = identity;
+            } else if (!fileIdentity.equals(identity)) {
+                throw new IllegalArgumentException("CSV file was replaced after " + offset
+                        + " bytes; follow mode only supports appends: " + path);
+            }
+            long size = channel.size();
+            if (size < offset) {
+                throw new IllegalArgumentException("CSV file shrank from " + offset + " to " + size
+                        + " bytes; follow mode only supports appends: " + path);
+            }
+            if (offset == 0 && size > 0 && GzipCSVParser.isGzip(path)) {
+                throw new IllegalArgumentException("Follow mode does not support gzip files: " + path);
+            }
+            long rows = 0;
+            int window = MappedCSVParser.DEFAULT_WINDOW_SIZE;
+            while (offset < size) {
+                long start = offset;
+                long windowEnd = Math.min(size, start + window);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, windowEnd - start);
+                int position = 0;
+                int next;
+                // atEof is false, so a row whose line break has not been written yet is incomplete
+                while ((next = row.tokenize(buffer, position, buffer.limit(), false, start)) >= 0) {
+                    position = next;
+                    offset = start + next; // consumed before conversion, so a malformed row is skipped
+                    if (headerPending) {
+                        headerPending = false;
+                        continue;
+                    }
+                    SalesRecord record;
+                    try {
+                        record = row.toSalesRecord(dictionary);
+                    } catch (IllegalArgumentException e) {
+                        rejectedRows++;
+                        rejectedByReason.merge(LenientCSVReader.reasonKey(LenientCSVReader.reason(e)), 1L, Long::sum);
+                        continue;
+                    }
+                    action.accept(record);
+                    rowsRead++;
+                    rows++;
+                }
+                if (position == 0) {
+                    if (windowEnd == size) {
+                        break; // the rest is an incomplete row
+                    }
+                    // A single row is larger than the window; retry with a bigger one
+                    window = (int) Math.min(Integer.MAX_VALUE, (long) window * 2);
+                }
+            }
+            lastPollMillis = System.currentTimeMillis();
+            return rows;
+        }
+    }
+
+    /**
+     * Starts polling on a daemon thread, on every change event and at least once per interval.
+     * Polling stops at the first failure, which is then available from {@link #getFailure()}.
+     *
+     * @param interval the longest time between polls
+     * @throws IOException if the file's directory cannot be watched
+     * @throws IllegalStateException if already started or closed
+     */
+    public synchronized void start(Duration interval) throws IOException {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Interval must be positive, but was " + interval);
+        }
+        if (thread != null || closed) {
+            throw new IllegalStateException("Follower has already been started or closed");
+        }
+        Path directory = path.toAbsolutePath().getParent();
+        watcher = FileSystems.getDefault().newWatchService();
+        directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        thread = new Thread(() -> follow(interval.toMillis()), "sales-follower-" + path.getFileName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void follow(long intervalMillis) {
+        try {
+            while (!closed) {
+                poll();
+                WatchKey key = watcher.poll(intervalMillis, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents(); // any change in the directory triggers a poll; cheap if nothing was appended
+                    key.reset();
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // closed
+        } catch (IOException | RuntimeException e) {
+            // Includes exceptions thrown by the action, which would otherwise end the thread unseen
+            failure = e;
+        }
+    }
+
+    // The file key identifies the file across renames; file systems without one fall back to the creation time
+    private static Object identityOf(Path path) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+    }
+
+    /**
+     * Returns the byte offset up to which the file has been consumed.
+     */
+    public synchronized long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the number of records passed to the action so far.
+     */
+    public synchronized long getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * Returns the number of malformed rows skipped so far.
+     */
+    public synchronized long getRejectedRows() {
+        return rejectedRows;
+    }
+
+    /**
+     * Returns skipped row counts keyed by reason, without the offending values.
+     */
+    public synchronized Map<String, Long> getRejectedByReason() {
+        return Map.copyOf(rejectedByReason);
+    }
+
+    /**
+     * Returns when the last successful poll finished (epoch millis), or 0 if none has.
+     */
+    public long getLastPollMillis() {
+        return lastPollMillis;
+    }
+
+    /**
+     * Returns the exception that stopped background polling, or null.
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+
+    /**
+     * Stops background polling and waits for the thread to finish.
+     */
+    @Override
+    public void close() throws IOException {
+        Thread running;
+        synchronized (this) {
+            closed = true;
+            running = thread;
+            if (watcher != null) {
+                watcher.close();
+            }
+        }
+        if (running != null) {
+            try {
+                running.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SalesFileFollower{path=" + path + ", offset=" + getOffset() + ", rows=" + getRowsRead()
+                + ", rejected=" + getRejectedRows() + "}";
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.sawanc.assignment2;
+
+/**
+ * Measure used to rank sales: revenue (sum of amounts) or units sold (sum of quantities).
+ *
+ * @author sawan chakraborty
+ */
+public enum SalesMetric {
+    REVENUE,
+    QUANTITY;
+
+    public double valueOf(SalesRecordView record) {
+        return this == REVENUE ? record.getAmount() : record.getQuantity();
+    }
+}
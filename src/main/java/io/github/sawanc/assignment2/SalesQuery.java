@@ -0,0 +1,684 @@
+package io.github.sawanc.assignment2;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Declarative group-by query over a {@link SalesTable}.
+ * <p>
+ * A query names any combination of group-by dimensions (e.g. category x region x month), value,
+ * amount and date filters, and aggregate functions. {@link #execute(SalesTable)} compiles it into
+ * primitive arrays - one code column per dimension, a boolean mask per filtered dimension and a
+ * mixed-radix stride per group key - and then runs a single scan loop with no per-row allocation
+ * or string hashing. Groups are kept in dense arrays when the key space is small and in an
+ * open-addressing table otherwise. Rows without a valid order date are excluded when grouping or
+ * filtering by time.
+ *
+ * <pre>
+ *   SalesQuery query = new SalesQuery.Builder()
+ *           .groupBy(SalesDimension.CATEGORY, SalesDimension.MONTH)
+ *           .where(SalesDimension.REGION, "Europe", "Asia")
+ *           .aggregate(Aggregation.SUM, SalesMetric.REVENUE)
+ *           .aggregate(Aggregation.COUNT)
+ *           .build();
+ * </pre>
+ *
+ * @author sawan chakraborty
+ */
+public class SalesQuery {
+    // Largest key space aggregated through a direct key-to-group array
+    static final int DENSE_LIMIT = 1 << 20;
+
+    private final List<SalesDimension> dimensions;
+    private final Map<SalesDimension, Set<String>> valueFilters;
+    private final double minAmount;
+    private final double maxAmount;
+    private final LocalDate fromDate;
+    private final LocalDate toDate;
+    private final List<Aggregate> aggregates;
+
+    private SalesQuery(Builder builder) {
+        this.dimensions = List.copyOf(builder.dimensions);
+        this.valueFilters = Collections.unmodifiableMap(new EnumMap<>(builder.valueFilters));
+        this.minAmount = builder.minAmount;
+        this.maxAmount = builder.maxAmount;
+        this.fromDate = builder.fromDate;
+        this.toDate = builder.toDate;
+        this.aggregates = List.copyOf(builder.aggregates);
+    }
+
+    public List<SalesDimension> getDimensions() {
+        return dimensions;
+    }
+
+    public List<Aggregate> getAggregates() {
+        return aggregates;
+    }
+
+    /**
+     * Runs the query over a list of records by first converting it to a SalesTable.
+     */
+    public Result execute(List<SalesRecord> records) {
+        return execute(SalesTable.fromRecords(records));
+    }
+
+    /**
+     * Compiles the query against the table's columns and runs it in one pass.
+     *
+     * @param table the sales table
+     * @return one result row per non-empty group, ordered by group key
+     */
+    public Result execute(SalesTable table) {
+        return finish(scan(table));
+    }
+
+    /**
+     * Runs the query over one table, keeping raw per-group accumulators so results over
+     * several tables (e.g. the partitions of a {@link SalesDataset}) can be merged.
+     */
+    PartialResult scan(SalesTable table) {
+        int dimensionCount = dimensions.size();
+        int[][] keyColumns = new int[dimensionCount][];
+        int[][] keyRemaps = new int[dimensionCount][];
+        String[][] keyLabels = new String[dimensionCount][];
+        long keySpace = 1;
+        for (int d = 0; d < dimensionCount; d++) {
+            SalesDimension dimension = dimensions.get(d);
+            if (dimension.isTime()) {
+                compileTimeKey(table, dimension.toTimeBucket(), d, keyColumns, keyRemaps, keyLabels);
+            } else {
+                keyColumns[d] = codeColumn(table, dimension);
+                keyLabels[d] = dictionary(table, dimension).values().toArray(new String[0]);
+            }
+            int cardinality = Math.max(1, keyLabels[d].length);
+            if (keySpace > Long.MAX_VALUE / cardinality) {
+                throw new IllegalArgumentException("Group key space too large for dimensions " + dimensions);
+            }
+            keySpace *= cardinality;
+        }
+
+        int[][] filterColumns = new int[valueFilters.size()][];
+        boolean[][] filterMasks = new boolean[valueFilters.size()][];
+        int f = 0;
+        for (Map.Entry<SalesDimension, Set<String>> filter : valueFilters.entrySet()) {
+            StringDictionary dictionary = dictionary(table, filter.getKey());
+            filterColumns[f] = codeColumn(table, filter.getKey());
+            filterMasks[f] = new boolean[dictionary.size()];
+            for (String value : filter.getValue()) {
+                int code = dictionary.lookup(value);
+                if (code >= 0) {
+                    filterMasks[f][code] = true;
+                }
+            }
+            f++;
+        }
+
+        boolean amountFilter = minAmount != Double.NEGATIVE_INFINITY || maxAmount != Double.POSITIVE_INFINITY;
+        boolean dateFilter = fromDate != null;
+        // NO_DATE is Integer.MIN_VALUE, so clamping the bounds above it excludes undated rows
+        int fromDay = dateFilter ? clampDay(fromDate.toEpochDay()) : 0;
+        int toDay = dateFilter ? clampDay(toDate.toEpochDay()) : 0;
+
+        boolean[] metricNeeded = new boolean[SalesMetric.values().length];
+        for (Aggregate aggregate : aggregates) {
+            if (aggregate.getFunction() != Aggregation.COUNT) {
+                metricNeeded[aggregate.getMetric().ordinal()] = true;
+            }
+        }
+        GroupTable groups = new GroupTable(keySpace, metricNeeded);
+        double[] amounts = table.amountColumn();
+        int[] quantities = table.quantityColumn();
+        int[] epochDays = table.epochDayColumn();
+        int[] cardinalities = new int[dimensionCount];
+        for (int d = 0; d < dimensionCount; d++) {
+            cardinalities[d] = Math.max(1, keyLabels[d].length);
+        }
+
+        rows:
+        for (int row = 0; row < table.size(); row++) {
+            double amount = amounts[row];
+            if (amountFilter && !(amount >= minAmount && amount < maxAmount)) {
+                continue;
+            }
+            if (dateFilter && (epochDays[row] < fromDay || epochDays[row] >= toDay)) {
+                continue;
+            }
+            for (int i = 0; i < filterColumns.length; i++) {
+                if (!filterMasks[i][filterColumns[i][row]]) {
+                    continue rows;
+                }
+            }
+            long key = 0;
+            for (int d = 0; d < dimensionCount; d++) {
+                int code = keyRemaps[d] == null ? keyColumns[d][row] : keyRemaps[d][keyColumns[d][row]];
+                if (code < 0) {
+                    continue rows;
+                }
+                key = key * cardinalities[d] + code;
+            }
+            groups.add(groups.slotFor(key), amount, quantities[row]);
+        }
+
+        return groups.toPartial(keyLabels, cardinalities);
+    }
+
+    /**
+     * Computes the final aggregate values of merged groups, ordered by group key.
+     */
+    Result finish(PartialResult partial) {
+        List<Row> rows = new ArrayList<>(partial.groups.size());
+        for (Group group : partial.groups.values()) {
+            rows.add(group.toRow(aggregates));
+        }
+        rows.sort((a, b) -> {
+            for (int d = 0; d < a.keys.size(); d++) {
+                int cmp = a.keys.get(d).compareTo(b.keys.get(d));
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            return 0;
+        });
+        return new Result(dimensions, aggregates, rows);
+    }
+
+    double getMinAmount() {
+        return minAmount;
+    }
+
+    double getMaxAmount() {
+        return maxAmount;
+    }
+
+    LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    LocalDate getToDate() {
+        return toDate;
+    }
+
+    // Maps each date code to the rank of its bucket; undated codes map to -1
+    private static void compileTimeKey(SalesTable table, TimeBucket bucket, int d, int[][] keyColumns,
+                                       int[][] keyRemaps, String[][] keyLabels) {
+        int[] codeDays = table.dateCodeEpochDays();
+        int[] starts = new int[codeDays.length];
+        for (int code = 0; code < codeDays.length; code++) {
+            starts[code] = codeDays[code] == SalesTable.NO_DATE ? SalesTable.NO_DATE : bucket.bucketStart(codeDays[code]);
+        }
+        int[] distinct = Arrays.stream(starts).filter(start -> start != SalesTable.NO_DATE).distinct().sorted().toArray();
+        int[] remap = new int[codeDays.length];
+        for (int code = 0; code < codeDays.length; code++) {
+            remap[code] = starts[code] == SalesTable.NO_DATE ? -1 : Arrays.binarySearch(distinct, starts[code]);
+        }
+        String[] labels = new String[distinct.length];
+        for (int rank = 0; rank < distinct.length; rank++) {
+            labels[rank] = LocalDate.ofEpochDay(distinct[rank]).toString();
+        }
+        keyColumns[d] = table.dateColumn();
+        keyRemaps[d] = remap;
+        keyLabels[d] = labels;
+    }
+
+    private static int[] codeColumn(SalesTable table, SalesDimension dimension) {
+        switch (dimension) {
+            case PRODUCT:
+                return table.productColumn();
+            case CATEGORY:
+                return table.categoryColumn();
+            default:
+                return table.regionColumn();
+        }
+    }
+
+    private static StringDictionary dictionary(SalesTable table, SalesDimension dimension) {
+        switch (dimension) {
+            case PRODUCT:
+                return table.getProductDictionary();
+            case CATEGORY:
+                return table.getCategoryDictionary();
+            default:
+                return table.getRegionDictionary();
+        }
+    }
+
+    private static int clampDay(long epochDay) {
+        return (int) Math.max(Integer.MIN_VALUE + 1L, Math.min(Integer.MAX_VALUE, epochDay));
+    }
+
+    @Override
+    public String toString() {
+        return "SalesQuery{groupBy=" + dimensions + ", where=" + valueFilters + ", amount=[" + minAmount + ", "
+                + maxAmount + "), date=[" + fromDate + ", " + toDate + "), aggregates=" + aggregates + "}";
+    }
+
+    /**
+     * An aggregate function applied to a metric, e.g. SUM(REVENUE).
+     */
+    public static final class Aggregate {
+        private final Aggregation function;
+        private final SalesMetric metric;
+
+        public Aggregate(Aggregation function, SalesMetric metric) {
+            if (function == null || metric == null) {
+                throw new IllegalArgumentException("Aggregation and metric cannot be null");
+            }
+            this.function = function;
+            this.metric = metric;
+        }
+
+        public Aggregation getFunction() {
+            return function;
+        }
+
+        public SalesMetric getMetric() {
+            return metric;
+        }
+
+        @Override
+        public String toString() {
+            return function == Aggregation.COUNT ? "COUNT" : function + "(" + metric + ")";
+        }
+    }
+
+    /**
+     * Query output: one row per group, ordered by group key.
+     */
+    public static final class Result {
+        private final List<SalesDimension> dimensions;
+        private final List<Aggregate> aggregates;
+        private final List<Row> rows;
+
+        Result(List<SalesDimension> dimensions, List<Aggregate> aggregates, List<Row> rows) {
+            this.dimensions = dimensions;
+            this.aggregates = aggregates;
+            this.rows = List.copyOf(rows);
+        }
+
+        public List<SalesDimension> getDimensions() {
+            return dimensions;
+        }
+
+        public List<Aggregate> getAggregates() {
+            return aggregates;
+        }
+
+        public List<Row> getRows() {
+            return rows;
+        }
+
+        public int size() {
+            return rows.size();
+        }
+
+        /**
+         * Returns the row for the given group key values, or null if the group is empty.
+         */
+        public Row find(String... keys) {
+            List<String> key = List.of(keys);
+            for (Row row : rows) {
+                if (row.keys.equals(key)) {
+                    return row;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns group key values mapped to one aggregate, in group key order.
+         *
+         * @param aggregateIndex position of the aggregate in the query
+         */
+        public Map<List<String>, Double> toMap(int aggregateIndex) {
+            Map<List<String>, Double> result = new LinkedHashMap<>();
+            rows.forEach(row -> result.put(row.keys, row.getValue(aggregateIndex)));
+            return Collections.unmodifiableMap(result);
+        }
+
+        @Override
+        public String toString() {
+            return "SalesQuery.Result{groups=" + rows.size() + ", aggregates=" + aggregates + "}";
+        }
+    }
+
+    /**
+     * One group: its key values and aggregate values in query order.
+     */
+    public static final class Row {
+        private final List<String> keys;
+        private final long count;
+        private final double[] values;
+
+        Row(List<String> keys, long count, double[] values) {
+            this.keys = keys;
+            this.count = count;
+            this.values = values;
+        }
+
+        public List<String> getKeys() {
+            return keys;
+        }
+
+        public String getKey(int dimensionIndex) {
+            return keys.get(dimensionIndex);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getValue(int aggregateIndex) {
+            return values[aggregateIndex];
+        }
+
+        @Override
+        public String toString() {
+            return keys + "=" + Arrays.toString(values);
+        }
+    }
+
+    // Group slots and their accumulators; slots are assigned in first-seen order
+    private static final class GroupTable {
+        private final int[] denseSlots; // slot + 1 per key, when the key space is small
+        private long[] hashKeys;
+        private int[] hashSlots;        // slot + 1 per open-addressing cell
+        private long[] slotKeys = new long[16];
+        private long[] counts = new long[16];
+        private final CompensatedSum[][] sums;
+        private final double[][] mins;
+        private final double[][] maxs;
+        private int size;
+
+        GroupTable(long keySpace, boolean[] metricNeeded) {
+            if (keySpace <= DENSE_LIMIT) {
+                this.denseSlots = new int[(int) keySpace];
+            } else {
+                this.denseSlots = null;
+                this.hashKeys = new long[64];
+                this.hashSlots = new int[64];
+            }
+            int metrics = metricNeeded.length;
+            this.sums = new CompensatedSum[metrics][];
+            this.mins = new double[metrics][];
+            this.maxs = new double[metrics][];
+            for (int m = 0; m < metrics; m++) {
+                if (metricNeeded[m]) {
+                    sums[m] = new CompensatedSum[16];
+                    mins[m] = new double[16];
+                    maxs[m] = new double[16];
+                }
+            }
+        }
+
+        int slotFor(long key) {
+            if (denseSlots != null) {
+                int entry = denseSlots[(int) key];
+                if (entry == 0) {
+                    entry = newSlot(key) + 1;
+                    denseSlots[(int) key] = entry;
+                }
+                return entry - 1;
+            }
+            int mask = hashKeys.length - 1;
+            for (int cell = mix(key) & mask; ; cell = (cell + 1) & mask) {
+                if (hashSlots[cell] == 0) {
+                    int slot = newSlot(key);
+                    hashKeys[cell] = key;
+                    hashSlots[cell] = slot + 1;
+                    if (size * 2 > hashKeys.length) {
+                        rehash();
+                    }
+                    return slot;
+                }
+                if (hashKeys[cell] == key) {
+                    return hashSlots[cell] - 1;
+                }
+            }
+        }
+
+        void add(int slot, double amount, int quantity) {
+            counts[slot]++;
+            accumulate(SalesMetric.REVENUE.ordinal(), slot, amount);
+            accumulate(SalesMetric.QUANTITY.ordinal(), slot, quantity);
+        }
+
+        private void accumulate(int metric, int slot, double value) {
+            if (sums[metric] == null) {
+                return;
+            }
+            if (counts[slot] == 1) {
+                sums[metric][slot] = new CompensatedSum();
+                mins[metric][slot] = value;
+                maxs[metric][slot] = value;
+            } else {
+                mins[metric][slot] = Math.min(mins[metric][slot], value);
+                maxs[metric][slot] = Math.max(maxs[metric][slot], value);
+            }
+            sums[metric][slot].add(value);
+        }
+
+        private int newSlot(long key) {
+            if (size == slotKeys.length) {
+                int capacity = size * 2;
+                slotKeys = Arrays.copyOf(slotKeys, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+                for (int m = 0; m < sums.length; m++) {
+                    if (sums[m] != null) {
+                        sums[m] = Arrays.copyOf(sums[m], capacity);
+                        mins[m] = Arrays.copyOf(mins[m], capacity);
+                        maxs[m] = Arrays.copyOf(maxs[m], capacity);
+                    }
+                }
+            }
+            slotKeys[size] = key;
+            return size++;
+        }
+
+        private void rehash() {
+            long[] oldKeys = hashKeys;
+            int[] oldSlots = hashSlots;
+            hashKeys = new long[oldKeys.length * 2];
+            hashSlots = new int[oldKeys.length * 2];
+            int mask = hashKeys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldSlots[i] != 0) {
+                    int cell = mix(oldKeys[i]) & mask;
+                    while (hashSlots[cell] != 0) {
+                        cell = (cell + 1) & mask;
+                    }
+                    hashKeys[cell] = oldKeys[i];
+                    hashSlots[cell] = oldSlots[i];
+                }
+            }
+        }
+
+        private static int mix(long key) {
+            key *= 0x9E3779B97F4A7C15L;
+            return (int) (key ^ (key >>> 32));
+        }
+
+        PartialResult toPartial(String[][] keyLabels, int[] cardinalities) {
+            PartialResult partial = new PartialResult();
+            for (int slot = 0; slot < size; slot++) {
+                String[] keys = new String[cardinalities.length];
+                long key = slotKeys[slot];
+                for (int d = cardinalities.length - 1; d >= 0; d--) {
+                    keys[d] = keyLabels[d][(int) (key % cardinalities[d])];
+                    key /= cardinalities[d];
+                }
+                Group group = new Group(List.of(keys), counts[slot], sums.length);
+                for (int m = 0; m < sums.length; m++) {
+                    group.sums[m] = sums[m] != null ? sums[m][slot] : new CompensatedSum();
+                }
+                for (int m = 0; m < sums.length; m++) {
+                    if (sums[m] != null) {
+                        group.mins[m] = mins[m][slot];
+                        group.maxs[m] = maxs[m][slot];
+                    }
+                }
+                partial.groups.put(group.keys, group);
+            }
+            return partial;
+        }
+    }
+
+    /**
+     * Per-group accumulators of one or more scans, keyed by group key values.
+     */
+    static final class PartialResult {
+        private final Map<List<String>, Group> groups = new HashMap<>();
+
+        /**
+         * Folds another partial result of the same query into this one.
+         *
+         * @return this partial result
+         */
+        PartialResult merge(PartialResult other) {
+            other.groups.forEach((keys, group) -> groups.merge(keys, group, Group::merge));
+            return this;
+        }
+    }
+
+    // Count plus sum/min/max per metric of one group
+    private static final class Group {
+        private final List<String> keys;
+        private long count;
+        private final CompensatedSum[] sums;
+        private final double[] mins;
+        private final double[] maxs;
+
+        Group(List<String> keys, long count, int metrics) {
+            this.keys = keys;
+            this.count = count;
+            this.sums = new CompensatedSum[metrics];
+            this.mins = new double[metrics];
+            this.maxs = new double[metrics];
+        }
+
+        Group merge(Group other) {
+            count += other.count;
+            for (int m = 0; m < sums.length; m++) {
+                sums[m].add(other.sums[m]);
+                mins[m] = Math.min(mins[m], other.mins[m]);
+                maxs[m] = Math.max(maxs[m], other.maxs[m]);
+            }
+            return this;
+        }
+
+        Row toRow(List<Aggregate> aggregates) {
+            double[] values = new double[aggregates.size()];
+            for (int a = 0; a < values.length; a++) {
+                Aggregate aggregate = aggregates.get(a);
+                int m = aggregate.getMetric().ordinal();
+                switch (aggregate.getFunction()) {
+                    case SUM:
+                        values[a] = sums[m].getSum();
+                        break;
+                    case COUNT:
+                        values[a] = count;
+                        break;
+                    case AVG:
+                        values[a] = sums[m].getSum() / count;
+                        break;
+                    case MIN:
+                        values[a] = mins[m];
+                        break;
+                    default:
+                        values[a] = maxs[m];
+                        break;
+                }
+            }
+            return new Row(keys, count, values);
+        }
+    }
+
+    /**
+     * Assembles a query; at least one aggregate is required.
+     */
+    public static class Builder {
+        private final List<SalesDimension> dimensions = new ArrayList<>();
+        private final Map<SalesDimension, Set<String>> valueFilters = new EnumMap<>(SalesDimension.class);
+        private final List<Aggregate> aggregates = new ArrayList<>();
+        private double minAmount = Double.NEGATIVE_INFINITY;
+        private double maxAmount = Double.POSITIVE_INFINITY;
+        private LocalDate fromDate;
+        private LocalDate toDate;
+
+        public Builder groupBy(SalesDimension... dimensions) {
+            for (SalesDimension dimension : dimensions) {
+                if (dimension == null || this.dimensions.contains(dimension)) {
+                    throw new IllegalArgumentException("Group-by dimensions must be distinct and non-null: "
+                            + Arrays.toString(dimensions));
+                }
+                this.dimensions.add(dimension);
+            }
+            return this;
+        }
+
+        /**
+         * Keeps rows whose value for the dimension is any of the given values.
+         * Time dimensions are filtered with {@link #whereDate(LocalDate, LocalDate)} instead.
+         */
+        public Builder where(SalesDimension dimension, String... values) {
+            if (dimension == null || dimension.isTime()) {
+                throw new IllegalArgumentException("Value filters apply to product, category or region, not " + dimension);
+            }
+            if (valueFilters.containsKey(dimension)) {
+                throw new IllegalArgumentException("Dimension " + dimension + " is already filtered");
+            }
+            valueFilters.put(dimension, Set.of(values));
+            return this;
+        }
+
+        /**
+         * Keeps rows with {@code min <= amount < max}.
+         */
+        public Builder whereAmount(double min, double max) {
+            if (Double.isNaN(min) || Double.isNaN(max)) {
+                throw new IllegalArgumentException("Amount bounds cannot be NaN");
+            }
+            this.minAmount = min;
+            this.maxAmount = max;
+            return this;
+        }
+
+        /**
+         * Keeps rows ordered on or after {@code from} and before {@code to}.
+         */
+        public Builder whereDate(LocalDate from, LocalDate to) {
+            if (from == null || to == null) {
+                throw new IllegalArgumentException("Date range bounds cannot be null");
+            }
+            this.fromDate = from;
+            this.toDate = to;
+            return this;
+        }
+
+        public Builder aggregate(Aggregation function, SalesMetric metric) {
+            aggregates.add(new Aggregate(function, metric));
+            return this;
+        }
+
+        /**
+         * Adds an aggregate over revenue, or a row count for {@link Aggregation#COUNT}.
+         */
+        public Builder aggregate(Aggregation function) {
+            return aggregate(function, SalesMetric.REVENUE);
+        }
+
+        public SalesQuery build() {
+            if (aggregates.isEmpty()) {
+                throw new IllegalArgumentException("A query needs at least one aggregate");
+            }
+            return new SalesQuery(this);
+        }
+    }
+}
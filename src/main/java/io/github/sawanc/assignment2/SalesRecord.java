@@ -5,7 +5,7 @@ package io.github.sawanc.assignment2;
  *
  * @author sawan chakraborty
  */
-public class SalesRecord {
+public class SalesRecord implements SalesRecordView {
     private final String orderId;
     private final String product;
     private final String category;
@@ -0,0 +1,159 @@
+package io.github.sawanc.assignment2;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Flyweight view of one row of a {@link SalesTable} at a time.
+ * <p>
+ * A single cursor is moved over the rows and reads each getter straight from the table's
+ * columns, so iterating a table allocates nothing per row: product, category, region and date
+ * come from the shared dictionary strings. Only {@link #getOrderId()} builds a new String,
+ * since order ids are packed as bytes. A cursor is only valid while positioned; values must be
+ * copied (or {@link #toSalesRecord()} called) before moving it. Not thread-safe; use one
+ * cursor per thread.
+ *
+ * <pre>
+ *   SalesRecordCursor cursor = table.cursor();
+ *   while (cursor.next()) {
+ *       total += cursor.getAmount();
+ *   }
+ * </pre>
+ *
+ * @author sawan chakraborty
+ */
+public final class SalesRecordCursor implements SalesRecordView {
+    private final SalesTable table;
+    private final int size;
+    private final byte[] orderIdBytes;
+    private final int[] orderIdOffsets;
+    private final int[] productCodes;
+    private final int[] categoryCodes;
+    private final int[] regionCodes;
+    private final double[] amounts;
+    private final int[] quantities;
+    private final int[] dateCodes;
+    private final StringDictionary products;
+    private final StringDictionary categories;
+    private final StringDictionary regions;
+    private final StringDictionary dates;
+    private int row = -1;
+
+    SalesRecordCursor(SalesTable table) {
+        this.table = table;
+        this.size = table.size();
+        this.orderIdBytes = table.orderIdBytes();
+        this.orderIdOffsets = table.orderIdOffsets();
+        this.productCodes = table.productColumn();
+        this.categoryCodes = table.categoryColumn();
+        this.regionCodes = table.regionColumn();
+        this.amounts = table.amountColumn();
+        this.quantities = table.quantityColumn();
+        this.dateCodes = table.dateColumn();
+        this.products = table.getProductDictionary();
+        this.categories = table.getCategoryDictionary();
+        this.regions = table.getRegionDictionary();
+        this.dates = table.getDateDictionary();
+    }
+
+    /**
+     * Advances to the next row.
+     *
+     * @return false once every row has been visited
+     */
+    public boolean next() {
+        if (row + 1 >= size) {
+            row = size;
+            return false;
+        }
+        row++;
+        return true;
+    }
+
+    /**
+     * Positions the cursor on the given row.
+     *
+     * @throws IndexOutOfBoundsException if the row is outside the table
+     */
+    public SalesRecordCursor moveTo(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " outside table of " + size + " rows");
+        }
+        this.row = row;
+        return this;
+    }
+
+    /**
+     * Moves the cursor before the first row, so the next call to {@link #next()} visits row 0.
+     */
+    public void reset() {
+        row = -1;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public SalesTable getTable() {
+        return table;
+    }
+
+    @Override
+    public String getOrderId() {
+        int start = orderIdOffsets[row];
+        return new String(orderIdBytes, start, orderIdOffsets[row + 1] - start, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String getProduct() {
+        return products.decode(productCodes[row]);
+    }
+
+    @Override
+    public String getCategory() {
+        return categories.decode(categoryCodes[row]);
+    }
+
+    @Override
+    public String getRegion() {
+        return regions.decode(regionCodes[row]);
+    }
+
+    @Override
+    public double getAmount() {
+        return amounts[row];
+    }
+
+    @Override
+    public int getQuantity() {
+        return quantities[row];
+    }
+
+    @Override
+    public String getOrderDate() {
+        return dates.decode(dateCodes[row]);
+    }
+
+    public int getProductCode() {
+        return productCodes[row];
+    }
+
+    public int getCategoryCode() {
+        return categoryCodes[row];
+    }
+
+    public int getRegionCode() {
+        return regionCodes[row];
+    }
+
+    /**
+     * Copies the current row into a standalone SalesRecord.
+     */
+    public SalesRecord toSalesRecord() {
+        return table.getRecord(row);
+    }
+
+    @Override
+    public String toString() {
+        return row < 0 || row >= size ? "SalesRecordCursor{row=" + row + "}" : toSalesRecord().toString();
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.sawanc.assignment2;
+
+/**
+ * Read-only getters of a sales record. Implemented by {@link SalesRecord} and by the flyweight
+ * {@link SalesRecordCursor}, so code written against this interface can run over a list of
+ * records or over a {@link SalesTable} without materializing a record per row.
+ *
+ * @author sawan chakraborty
+ */
+public interface SalesRecordView {
+
+    String getOrderId();
+
+    String getProduct();
+
+    String getCategory();
+
+    String getRegion();
+
+    double getAmount();
+
+    int getQuantity();
+
+    String getOrderDate();
+}
@@ -0,0 +1,80 @@
+package io.github.sawanc.assignment2;
+
+/**
+ * Approximate statistics for a group of sales records in bounded memory: distinct order and
+ * product counts via {@link HyperLogLog}, and amount percentiles via {@link QuantileSketch}.
+ * Records with a NaN or infinite amount still count towards the record and distinct counts but
+ * are left out of the percentiles. Sketches built over separate partitions can be merged. Not
+ * thread-safe.
+ *
+ * @author sawan chakraborty
+ */
+public class SalesSketch {
+    private final HyperLogLog orders;
+    private final HyperLogLog products;
+    private final QuantileSketch amounts;
+
+    public SalesSketch() {
+        this.orders = new HyperLogLog();
+        this.products = new HyperLogLog();
+        this.amounts = new QuantileSketch();
+    }
+
+    public void add(SalesRecordView record) {
+        orders.add(record.getOrderId());
+        products.add(record.getProduct());
+        amounts.add(record.getAmount());
+    }
+
+    public SalesSketch merge(SalesSketch other) {
+        orders.merge(other.orders);
+        products.merge(other.products);
+        amounts.merge(other.amounts);
+        return this;
+    }
+
+    public long getRecordCount() {
+        return amounts.getCount() + amounts.getNonFiniteCount();
+    }
+
+    /**
+     * Returns the number of records whose amount was NaN or infinite.
+     */
+    public long getNonFiniteAmounts() {
+        return amounts.getNonFiniteCount();
+    }
+
+    public long getDistinctOrders() {
+        return orders.estimate();
+    }
+
+    public long getDistinctProducts() {
+        return products.estimate();
+    }
+
+    /**
+     * Returns the approximate amount at the given quantile, e.g. 0.99 for p99.
+     */
+    public double getAmountQuantile(double quantile) {
+        return amounts.getQuantile(quantile);
+    }
+
+    public double getMedianAmount() {
+        return amounts.getQuantile(0.5);
+    }
+
+    public double getP95Amount() {
+        return amounts.getQuantile(0.95);
+    }
+
+    public double getP99Amount() {
+        return amounts.getQuantile(0.99);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SalesSketch{records=%d, distinctOrders~%d, distinctProducts~%d, p50=%.2f, p95=%.2f, p99=%.2f}",
+                getRecordCount(), getDistinctOrders(), getDistinctProducts(), getMedianAmount(), getP95Amount(),
+                getP99Amount());
+    }
+}
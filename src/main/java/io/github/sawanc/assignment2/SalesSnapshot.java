@@ -0,0 +1,332 @@
+package io.github.sawanc.assignment2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary columnar snapshot of a {@link SalesTable}.
+ * <p>
+ * Layout (little-endian):
+ * <pre>
+ *   header       magic (long), version (int), row count (int), order id byte count (int), flags (int),
+ *                dictionary section byte count (long)
+ *   dictionaries products, categories, regions, dates: value count (int), then per value length (int) + UTF-8
+ *   padding      zero bytes up to an 8-byte boundary
+ *   columns      amounts double[rows], cents long[rows] (only with {@link #FLAG_CENTS}), quantities int[rows],
+ *                product/category/region/date codes int[rows], order id offsets int[rows + 1],
+ *                order id bytes byte[]
+ * </pre>
+ * A table built with {@link SalesTable.Builder#amountsInCents()} keeps its exact cents column
+ * through a snapshot.
+ * Loading memory-maps each column and bulk-copies it into a SalesTable, so no text is parsed and
+ * only the (small) dictionaries are decoded value by value. The copied columns are then checked
+ * in one pass: every code must index its dictionary and the order id offsets must run from 0 to
+ * the order id byte count without decreasing, so a corrupt file fails here rather than on a later
+ * row access. Every kind of corruption is reported as an {@link IOException}.
+ *
+ * @author sawan chakraborty
+ */
+public class SalesSnapshot {
+    public static final long MAGIC = 0x50414E53454C4153L; // "SALESNAP" as little-endian bytes
+    public static final int VERSION = 2;
+    // Header flag: the snapshot stores the exact cents column
+    public static final int FLAG_CENTS = 1;
+
+    private static final int HEADER_BYTES = 32;
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private SalesSnapshot() {
+    }
+
+    /**
+     * Parses a CSV file and writes it as a snapshot.
+     *
+     * @param csvPath      the path to the CSV file
+     * @param snapshotPath the snapshot file to create or replace
+     * @return the parsed table
+     * @throws IOException if either file cannot be accessed
+     * @throws IllegalArgumentException if the CSV data is malformed
+     */
+    public static SalesTable convert(String csvPath, String snapshotPath) throws IOException {
+        SalesTable table = CSVReader.readSalesTable(csvPath);
+        write(table, snapshotPath);
+        return table;
+    }
+
+    /**
+     * Writes a table to a snapshot file, replacing any existing file.
+     *
+     * @param table        the table to write
+     * @param snapshotPath the snapshot file to create or replace
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(SalesTable table, String snapshotPath) throws IOException {
+        if (table == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        Path path = Paths.get(snapshotPath);
+        int rows = table.size();
+        byte[] orderIdBytes = table.orderIdBytes();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            long dictionaryBytes = 0;
+            for (StringDictionary dictionary : dictionaries(table)) {
+                dictionaryBytes += Integer.BYTES;
+                for (String value : dictionary.values()) {
+                    dictionaryBytes += Integer.BYTES + value.getBytes(StandardCharsets.UTF_8).length;
+                }
+            }
+            if (dictionaryBytes > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Dictionaries too large for a snapshot: " + dictionaryBytes + " bytes");
+            }
+            buffer.putLong(MAGIC).putInt(VERSION).putInt(rows).putInt(orderIdBytes.length)
+                    .putInt(table.hasCents() ? FLAG_CENTS : 0).putLong(dictionaryBytes);
+
+            for (StringDictionary dictionary : dictionaries(table)) {
+                ensure(channel, buffer, Integer.BYTES);
+                buffer.putInt(dictionary.size());
+                for (String value : dictionary.values()) {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    ensure(channel, buffer, Integer.BYTES);
+                    buffer.putInt(bytes.length);
+                    putBytes(channel, buffer, bytes, bytes.length);
+                }
+            }
+            long position = channel.position() + buffer.position();
+            putBytes(channel, buffer, new byte[8], (int) (-position & 7));
+
+            putDoubles(channel, buffer, table.amountColumn(), rows);
+            if (table.hasCents()) {
+                putLongs(channel, buffer, table.centsColumn(), rows);
+            }
+            putInts(channel, buffer, table.quantityColumn(), rows);
+            putInts(channel, buffer, table.productColumn(), rows);
+            putInts(channel, buffer, table.categoryColumn(), rows);
+            putInts(channel, buffer, table.regionColumn(), rows);
+            putInts(channel, buffer, table.dateColumn(), rows);
+            putInts(channel, buffer, table.orderIdOffsets(), rows + 1);
+            putBytes(channel, buffer, orderIdBytes, orderIdBytes.length);
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Memory-maps a snapshot file and loads it as a SalesTable.
+     *
+     * @param snapshotPath the snapshot file
+     * @return the table stored in the snapshot
+     * @throws IOException if the file cannot be read or does not exist, or is not a valid snapshot of
+     *                     this version (bad magic, unsupported version, wrong size, corrupt
+     *                     dictionaries or columns)
+     */
+    public static SalesTable load(String snapshotPath) throws IOException {
+        Path path = Paths.get(snapshotPath);
+        if (!Files.exists(path)) {
+            throw new IOException("Snapshot file not found: " + snapshotPath);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES) {
+                throw new IOException("Not a sales snapshot (file too small): " + snapshotPath);
+            }
+            ByteBuffer header = map(channel, 0, HEADER_BYTES);
+            if (header.getLong() != MAGIC) {
+                throw new IOException("Not a sales snapshot (bad magic): " + snapshotPath);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + snapshotPath);
+            }
+            int rows = header.getInt();
+            int orderIdByteCount = header.getInt();
+            int flags = header.getInt();
+            if ((flags & ~FLAG_CENTS) != 0) {
+                throw new IOException("Unsupported snapshot flags " + flags + ": " + snapshotPath);
+            }
+            boolean hasCents = (flags & FLAG_CENTS) != 0;
+            long dictionaryBytes = header.getLong();
+            if (dictionaryBytes < 0 || dictionaryBytes > Math.min(Integer.MAX_VALUE, fileSize - HEADER_BYTES)) {
+                throw new IOException("Corrupt sales snapshot (bad dictionary size): " + snapshotPath);
+            }
+
+            ByteBuffer dictionarySection = map(channel, HEADER_BYTES, dictionaryBytes);
+            StringDictionary[] dictionaries = new StringDictionary[4];
+            for (int i = 0; i < dictionaries.length; i++) {
+                dictionaries[i] = readDictionary(dictionarySection, snapshotPath);
+            }
+            if (dictionarySection.hasRemaining()) {
+                throw new IOException("Corrupt sales snapshot (" + dictionarySection.remaining()
+                        + " unread dictionary bytes): " + snapshotPath);
+            }
+            long position = HEADER_BYTES + dictionaryBytes;
+            position += -position & 7;
+
+            long expectedEnd = position + (long) rows * Double.BYTES + (hasCents ? (long) rows * Long.BYTES : 0)
+                    + (long) rows * 5 * Integer.BYTES
+                    + (long) (rows + 1) * Integer.BYTES + orderIdByteCount;
+            if (rows < 0 || orderIdByteCount < 0 || expectedEnd != fileSize) {
+                throw new IOException("Corrupt sales snapshot (expected " + expectedEnd
+                        + " bytes, found " + fileSize + "): " + snapshotPath);
+            }
+
+            double[] amounts = new double[rows];
+            map(channel, position, (long) rows * Double.BYTES).asDoubleBuffer().get(amounts);
+            position += (long) rows * Double.BYTES;
+            long[] cents = null;
+            if (hasCents) {
+                cents = new long[rows];
+                map(channel, position, (long) rows * Long.BYTES).asLongBuffer().get(cents);
+                position += (long) rows * Long.BYTES;
+            }
+            int[][] intColumns = new int[6][];
+            for (int i = 0; i < intColumns.length; i++) {
+                int length = i == 5 ? rows + 1 : rows;
+                intColumns[i] = new int[length];
+                map(channel, position, (long) length * Integer.BYTES).asIntBuffer().get(intColumns[i]);
+                position += (long) length * Integer.BYTES;
+            }
+            byte[] orderIdBytes = new byte[orderIdByteCount];
+            map(channel, position, orderIdByteCount).get(orderIdBytes);
+
+            checkCodes(intColumns[1], dictionaries[0], "product", snapshotPath);
+            checkCodes(intColumns[2], dictionaries[1], "category", snapshotPath);
+            checkCodes(intColumns[3], dictionaries[2], "region", snapshotPath);
+            checkCodes(intColumns[4], dictionaries[3], "date", snapshotPath);
+            checkOffsets(intColumns[5], orderIdByteCount, snapshotPath);
+
+            return new SalesTable(rows, orderIdBytes, intColumns[5], intColumns[1], intColumns[2], intColumns[3],
+                    amounts, cents, intColumns[0], intColumns[4], dictionaries[0], dictionaries[1], dictionaries[2],
+                    dictionaries[3]);
+        }
+    }
+
+    private static void checkCodes(int[] codes, StringDictionary dictionary, String column, String snapshotPath)
+            throws IOException {
+        int size = dictionary.size();
+        for (int row = 0; row < codes.length; row++) {
+            if (codes[row] < 0 || codes[row] >= size) {
+                throw new IOException("Corrupt sales snapshot (" + column + " code " + codes[row] + " at row " + row
+                        + " outside a dictionary of " + size + " values): " + snapshotPath);
+            }
+        }
+    }
+
+    private static void checkOffsets(int[] offsets, int orderIdByteCount, String snapshotPath) throws IOException {
+        if (offsets[0] != 0 || offsets[offsets.length - 1] != orderIdByteCount) {
+            throw new IOException("Corrupt sales snapshot (order id offsets do not span " + orderIdByteCount
+                    + " bytes): " + snapshotPath);
+        }
+        for (int row = 1; row < offsets.length; row++) {
+            if (offsets[row] < offsets[row - 1]) {
+                throw new IOException("Corrupt sales snapshot (order id offsets decrease at row " + (row - 1) + "): "
+                        + snapshotPath);
+            }
+        }
+    }
+
+    private static StringDictionary readDictionary(ByteBuffer section, String snapshotPath) throws IOException {
+        StringDictionary dictionary = new StringDictionary();
+        byte[] bytes = new byte[64];
+        int count = readLength(section, snapshotPath);
+        for (int i = 0; i < count; i++) {
+            int length = readLength(section, snapshotPath);
+            if (length > section.remaining()) {
+                throw new IOException("Corrupt sales snapshot (truncated dictionary): " + snapshotPath);
+            }
+            if (length > bytes.length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            section.get(bytes, 0, length);
+            if (dictionary.encode(bytes, 0, length) != i) {
+                throw new IOException("Corrupt sales snapshot (duplicate dictionary value): " + snapshotPath);
+            }
+        }
+        return dictionary;
+    }
+
+    private static int readLength(ByteBuffer section, String snapshotPath) throws IOException {
+        if (section.remaining() < Integer.BYTES) {
+            throw new IOException("Corrupt sales snapshot (truncated dictionary): " + snapshotPath);
+        }
+        int length = section.getInt();
+        if (length < 0) {
+            throw new IOException("Corrupt sales snapshot (negative length): " + snapshotPath);
+        }
+        return length;
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        return buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static StringDictionary[] dictionaries(SalesTable table) {
+        return new StringDictionary[]{table.getProductDictionary(), table.getCategoryDictionary(),
+                table.getRegionDictionary(), table.getDateDictionary()};
+    }
+
+    private static void putDoubles(FileChannel channel, ByteBuffer buffer, double[] values, int length)
+            throws IOException {
+        for (int offset = 0; offset < length; ) {
+            ensure(channel, buffer, Double.BYTES);
+            int count = Math.min(length - offset, buffer.remaining() / Double.BYTES);
+            buffer.asDoubleBuffer().put(values, offset, count);
+            buffer.position(buffer.position() + count * Double.BYTES);
+            offset += count;
+        }
+    }
+
+    private static void putLongs(FileChannel channel, ByteBuffer buffer, long[] values, int length)
+            throws IOException {
+        for (int offset = 0; offset < length; ) {
+            ensure(channel, buffer, Long.BYTES);
+            int count = Math.min(length - offset, buffer.remaining() / Long.BYTES);
+            buffer.asLongBuffer().put(values, offset, count);
+            buffer.position(buffer.position() + count * Long.BYTES);
+            offset += count;
+        }
+    }
+
+    private static void putInts(FileChannel channel, ByteBuffer buffer, int[] values, int length) throws IOException {
+        for (int offset = 0; offset < length; ) {
+            ensure(channel, buffer, Integer.BYTES);
+            int count = Math.min(length - offset, buffer.remaining() / Integer.BYTES);
+            buffer.asIntBuffer().put(values, offset, count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            offset += count;
+        }
+    }
+
+    private static void putBytes(FileChannel channel, ByteBuffer buffer, byte[] bytes, int length) throws IOException {
+        for (int offset = 0; offset < length; ) {
+            ensure(channel, buffer, 1);
+            int count = Math.min(length - offset, buffer.remaining());
+            buffer.put(bytes, offset, count);
+            offset += count;
+        }
+    }
+
+    // Flushes the buffer if fewer than the requested bytes remain
+    private static void ensure(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(channel, buffer);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.sawanc.assignment2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable result of a full sales analysis: the metrics rendered by
+ * {@link SalesAnalysisService#printSummary(List)}.
+ *
+ * @author sawan chakraborty
+ */
+public class SalesSummary {
+    private final double totalSales;
+    private final Map<String, Double> salesByCategory;
+    private final Map<String, Double> salesByRegion;
+    private final Map<String, Double> averageSalesPerProduct;
+    private final double highValueThreshold;
+    private final List<SalesRecord> highValueTransactions;
+
+    /**
+     * Constructs a sales summary.
+     */
+    public SalesSummary(double totalSales, Map<String, Double> salesByCategory, Map<String, Double> salesByRegion,
+                        Map<String, Double> averageSalesPerProduct, double highValueThreshold,
+                        List<SalesRecord> highValueTransactions) {
+        this.totalSales = totalSales;
+        this.salesByCategory = Map.copyOf(salesByCategory);
+        this.salesByRegion = Map.copyOf(salesByRegion);
+        this.averageSalesPerProduct = Map.copyOf(averageSalesPerProduct);
+        this.highValueThreshold = highValueThreshold;
+        this.highValueTransactions = List.copyOf(highValueTransactions);
+    }
+
+    public double getTotalSales() {
+        return totalSales;
+    }
+
+    public Map<String, Double> getSalesByCategory() {
+        return salesByCategory;
+    }
+
+    public Map<String, Double> getSalesByRegion() {
+        return salesByRegion;
+    }
+
+    public Map<String, Double> getAverageSalesPerProduct() {
+        return averageSalesPerProduct;
+    }
+
+    public double getHighValueThreshold() {
+        return highValueThreshold;
+    }
+
+    public List<SalesRecord> getHighValueTransactions() {
+        return highValueTransactions;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SalesSummary{totalSales=%.2f, categories=%d, regions=%d, products=%d, highValue=%d}",
+                totalSales, salesByCategory.size(), salesByRegion.size(), averageSalesPerProduct.size(),
+                highValueTransactions.size());
+    }
+
+    /**
+     * Fused accumulator that updates every summary metric from a single visit of each record.
+     * Sums are compensated, and partial accumulators can be merged in a fixed order to make
+     * parallel results independent of thread count. Not thread-safe.
+     */
+    public static class Accumulator {
+        private final double highValueThreshold;
+        private final CompensatedSum totalSales = new CompensatedSum();
+        private final Map<String, CompensatedSum> categoryTotals = new HashMap<>();
+        private final Map<String, CompensatedSum> regionTotals = new HashMap<>();
+        private final Map<String, CompensatedSum> productTotals = new HashMap<>();
+        private final Map<String, long[]> productCounts = new HashMap<>();
+        private final List<SalesRecord> highValueTransactions = new ArrayList<>();
+
+        public Accumulator(double highValueThreshold) {
+            this.highValueThreshold = highValueThreshold;
+        }
+
+        public void add(SalesRecord record) {
+            double amount = record.getAmount();
+            totalSales.add(amount);
+            categoryTotals.computeIfAbsent(record.getCategory(), key -> new CompensatedSum()).add(amount);
+            regionTotals.computeIfAbsent(record.getRegion(), key -> new CompensatedSum()).add(amount);
+            productTotals.computeIfAbsent(record.getProduct(), key -> new CompensatedSum()).add(amount);
+            productCounts.computeIfAbsent(record.getProduct(), key -> new long[1])[0]++;
+            if (amount >= highValueThreshold) {
+                highValueTransactions.add(record);
+            }
+        }
+
+        /**
+         * Merges the records seen by {@code other}, which must come after this accumulator's records.
+         */
+        public void merge(Accumulator other) {
+            totalSales.add(other.totalSales);
+            other.categoryTotals.forEach((key, sum) -> categoryTotals.computeIfAbsent(key, k -> new CompensatedSum()).add(sum));
+            other.regionTotals.forEach((key, sum) -> regionTotals.computeIfAbsent(key, k -> new CompensatedSum()).add(sum));
+            other.productTotals.forEach((key, sum) -> productTotals.computeIfAbsent(key, k -> new CompensatedSum()).add(sum));
+            other.productCounts.forEach((key, count) -> productCounts.computeIfAbsent(key, k -> new long[1])[0] += count[0]);
+            highValueTransactions.addAll(other.highValueTransactions);
+        }
+
+        public SalesSummary build() {
+            Map<String, Double> salesByCategory = new HashMap<>();
+            categoryTotals.forEach((category, sum) -> salesByCategory.put(category, sum.getSum()));
+            Map<String, Double> salesByRegion = new HashMap<>();
+            regionTotals.forEach((region, sum) -> salesByRegion.put(region, sum.getSum()));
+            Map<String, Double> averageSalesPerProduct = new HashMap<>();
+            productTotals.forEach((product, sum) ->
+                    averageSalesPerProduct.put(product, sum.getSum() / productCounts.get(product)[0]));
+            return new SalesSummary(totalSales.getSum(), salesByCategory, salesByRegion, averageSalesPerProduct,
+                    highValueThreshold, highValueTransactions);
+        }
+    }
+}
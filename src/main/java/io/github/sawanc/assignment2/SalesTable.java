@@ -0,0 +1,491 @@
+package io.github.sawanc.assignment2;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Columnar, immutable in-memory store of sales data.
+ * Amounts and quantities live in primitive arrays, product/category/region/date are stored as
+ * int codes into per-column {@link StringDictionary} instances, and order ids are packed into a
+ * single UTF-8 byte array. Compared to a {@code List<SalesRecord>} this removes the per-row
+ * object headers and the duplicated dimension strings.
+ * <p>
+ * Order dates are parsed once per distinct value into epoch days (days since 1970-01-01), so
+ * time-based queries work on a plain int column. Dates that are not ISO-8601 ({@code yyyy-MM-dd})
+ * are kept as strings and get {@link #NO_DATE}.
+ * <p>
+ * A builder created with {@link Builder#amountsInCents()} also keeps every amount as an exact
+ * {@code long} number of cents, parsed straight from the decimal text; the double amount column
+ * is then derived from it.
+ *
+ * @author sawan chakraborty
+ */
+public class SalesTable {
+    // Epoch day of rows whose order date could not be parsed
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    private final int size;
+    private final byte[] orderIdBytes;
+    private final int[] orderIdOffsets;
+    private final int[] productCodes;
+    private final int[] categoryCodes;
+    private final int[] regionCodes;
+    private final double[] amounts;
+    private final long[] cents;
+    private final long maxAbsCents;
+    private final int[] quantities;
+    private final int[] dateCodes;
+    private final StringDictionary products;
+    private final StringDictionary categories;
+    private final StringDictionary regions;
+    private final StringDictionary dates;
+    private final int[] dateCodeEpochDays;
+    private final int[] epochDays;
+
+    private SalesTable(Builder builder) {
+        this.size = builder.size;
+        this.orderIdBytes = Arrays.copyOf(builder.orderIdBytes, builder.orderIdLength);
+        this.orderIdOffsets = Arrays.copyOf(builder.orderIdOffsets, builder.size + 1);
+        this.productCodes = Arrays.copyOf(builder.productCodes, builder.size);
+        this.categoryCodes = Arrays.copyOf(builder.categoryCodes, builder.size);
+        this.regionCodes = Arrays.copyOf(builder.regionCodes, builder.size);
+        this.amounts = Arrays.copyOf(builder.amounts, builder.size);
+        this.cents = builder.cents == null ? null : Arrays.copyOf(builder.cents, builder.size);
+        this.maxAbsCents = builder.maxAbsCents;
+        this.quantities = Arrays.copyOf(builder.quantities, builder.size);
+        this.dateCodes = Arrays.copyOf(builder.dateCodes, builder.size);
+        this.products = builder.products;
+        this.categories = builder.categories;
+        this.regions = builder.regions;
+        this.dates = builder.dates;
+        this.dateCodeEpochDays = parseDates(dates);
+        this.epochDays = toEpochDays(dateCodes, size, dateCodeEpochDays);
+    }
+
+    // Wraps existing columns without copying; used by SalesSnapshot
+    SalesTable(int size, byte[] orderIdBytes, int[] orderIdOffsets, int[] productCodes, int[] categoryCodes,
+               int[] regionCodes, double[] amounts, long[] cents, int[] quantities, int[] dateCodes,
+               StringDictionary products, StringDictionary categories, StringDictionary regions,
+               StringDictionary dates) {
+        this.size = size;
+        this.orderIdBytes = orderIdBytes;
+        this.orderIdOffsets = orderIdOffsets;
+        this.productCodes = productCodes;
+        this.categoryCodes = categoryCodes;
+        this.regionCodes = regionCodes;
+        this.amounts = amounts;
+        this.cents = cents;
+        this.maxAbsCents = cents == null ? 0 : maxAbs(cents);
+        this.quantities = quantities;
+        this.dateCodes = dateCodes;
+        this.products = products;
+        this.categories = categories;
+        this.regions = regions;
+        this.dates = dates;
+        this.dateCodeEpochDays = parseDates(dates);
+        this.epochDays = toEpochDays(dateCodes, size, dateCodeEpochDays);
+    }
+
+    /**
+     * Builds a table from row objects.
+     *
+     * @param records the list of sales records
+     * @return a columnar copy of the records
+     */
+    public static SalesTable fromRecords(List<SalesRecord> records) {
+        Builder builder = new Builder(records.size());
+        records.forEach(builder::add);
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getOrderId(int row) {
+        int start = orderIdOffsets[row];
+        return new String(orderIdBytes, start, orderIdOffsets[row + 1] - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compares the order ids of two rows on their packed UTF-8 bytes, without decoding Strings.
+     * This is code point order, which matches {@link String#compareTo} except between
+     * supplementary characters and characters from U+E000 to U+FFFF.
+     */
+    int compareOrderIds(int a, int b) {
+        return Arrays.compareUnsigned(orderIdBytes, orderIdOffsets[a], orderIdOffsets[a + 1],
+                orderIdBytes, orderIdOffsets[b], orderIdOffsets[b + 1]);
+    }
+
+    public String getProduct(int row) {
+        return products.decode(productCodes[row]);
+    }
+
+    public String getCategory(int row) {
+        return categories.decode(categoryCodes[row]);
+    }
+
+    public String getRegion(int row) {
+        return regions.decode(regionCodes[row]);
+    }
+
+    public double getAmount(int row) {
+        return amounts[row];
+    }
+
+    /**
+     * Returns whether the table keeps exact amounts in cents.
+     */
+    public boolean hasCents() {
+        return cents != null;
+    }
+
+    /**
+     * Returns the exact amount in cents.
+     *
+     * @throws IllegalStateException if the table was not built with {@link Builder#amountsInCents()}
+     */
+    public long getAmountCents(int row) {
+        return centsColumn()[row];
+    }
+
+    public int getQuantity(int row) {
+        return quantities[row];
+    }
+
+    public String getOrderDate(int row) {
+        return dates.decode(dateCodes[row]);
+    }
+
+    /**
+     * Returns the order date as days since 1970-01-01, or {@link #NO_DATE} if it is not a valid date.
+     */
+    public int getOrderEpochDay(int row) {
+        return epochDays[row];
+    }
+
+    public int getProductCode(int row) {
+        return productCodes[row];
+    }
+
+    public int getCategoryCode(int row) {
+        return categoryCodes[row];
+    }
+
+    public int getRegionCode(int row) {
+        return regionCodes[row];
+    }
+
+    public int getDateCode(int row) {
+        return dateCodes[row];
+    }
+
+    public StringDictionary getProductDictionary() {
+        return products;
+    }
+
+    public StringDictionary getCategoryDictionary() {
+        return categories;
+    }
+
+    public StringDictionary getRegionDictionary() {
+        return regions;
+    }
+
+    public StringDictionary getDateDictionary() {
+        return dates;
+    }
+
+    // Raw column access for tight scan loops; callers must not modify the arrays
+    double[] amountColumn() {
+        return amounts;
+    }
+
+    long[] centsColumn() {
+        if (cents == null) {
+            throw new IllegalStateException("Table has no cents column; build it with amountsInCents()");
+        }
+        return cents;
+    }
+
+    // Largest absolute cents value, for choosing an overflow-free summation
+    long maxAbsCents() {
+        return maxAbsCents;
+    }
+
+    int[] quantityColumn() {
+        return quantities;
+    }
+
+    int[] productColumn() {
+        return productCodes;
+    }
+
+    int[] categoryColumn() {
+        return categoryCodes;
+    }
+
+    int[] regionColumn() {
+        return regionCodes;
+    }
+
+    int[] dateColumn() {
+        return dateCodes;
+    }
+
+    int[] epochDayColumn() {
+        return epochDays;
+    }
+
+    // Epoch day of each date dictionary code
+    int[] dateCodeEpochDays() {
+        return dateCodeEpochDays;
+    }
+
+    byte[] orderIdBytes() {
+        return orderIdBytes;
+    }
+
+    int[] orderIdOffsets() {
+        return orderIdOffsets;
+    }
+
+    /**
+     * Returns a new flyweight cursor positioned before the first row.
+     */
+    public SalesRecordCursor cursor() {
+        return new SalesRecordCursor(this);
+    }
+
+    /**
+     * Passes every row to the action through one reused cursor, in table order, without
+     * materializing SalesRecord objects. The cursor must not be kept past the call.
+     */
+    public void forEachRow(Consumer<? super SalesRecordCursor> action) {
+        SalesRecordCursor cursor = cursor();
+        while (cursor.next()) {
+            action.accept(cursor);
+        }
+    }
+
+    /**
+     * Materializes a single row as a SalesRecord.
+     */
+    public SalesRecord getRecord(int row) {
+        return new SalesRecord(getOrderId(row), getProduct(row), getCategory(row), getRegion(row),
+                amounts[row], quantities[row], getOrderDate(row));
+    }
+
+    /**
+     * Materializes every row as a SalesRecord, in table order.
+     */
+    public List<SalesRecord> toRecords() {
+        List<SalesRecord> records = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            records.add(getRecord(row));
+        }
+        return records;
+    }
+
+    // Epoch day of each date dictionary code, or NO_DATE where the value is not ISO-8601
+    static int[] parseDates(StringDictionary dates) {
+        int[] days = new int[dates.size()];
+        for (int code = 0; code < days.length; code++) {
+            try {
+                days[code] = Math.toIntExact(LocalDate.parse(dates.decode(code)).toEpochDay());
+            } catch (DateTimeParseException | ArithmeticException e) {
+                days[code] = NO_DATE;
+            }
+        }
+        return days;
+    }
+
+    private static long maxAbs(long[] cents) {
+        long max = 0;
+        for (long value : cents) {
+            max = Math.max(max, absCents(value));
+        }
+        return max;
+    }
+
+    // Long.MIN_VALUE has no positive counterpart; treat it as the maximum
+    private static long absCents(long value) {
+        return value == Long.MIN_VALUE ? Long.MAX_VALUE : Math.abs(value);
+    }
+
+    private static int[] toEpochDays(int[] dateCodes, int size, int[] dateCodeEpochDays) {
+        int[] days = new int[size];
+        for (int row = 0; row < size; row++) {
+            days[row] = dateCodeEpochDays[dateCodes[row]];
+        }
+        return days;
+    }
+
+    @Override
+    public String toString() {
+        return "SalesTable{rows=" + size + ", products=" + products.size() + ", categories=" + categories.size()
+                + ", regions=" + regions.size() + "}";
+    }
+
+    /**
+     * Appends rows column by column; growth doubles each array, and build() trims them to size.
+     */
+    public static class Builder {
+        private int size;
+        private byte[] orderIdBytes;
+        private int orderIdLength;
+        private int[] orderIdOffsets;
+        private int[] productCodes;
+        private int[] categoryCodes;
+        private int[] regionCodes;
+        private double[] amounts;
+        private long[] cents;
+        private long maxAbsCents;
+        private int[] quantities;
+        private int[] dateCodes;
+        private final StringDictionary products = new StringDictionary();
+        private final StringDictionary categories = new StringDictionary();
+        private final StringDictionary regions = new StringDictionary();
+        private final StringDictionary dates = new StringDictionary();
+        private boolean built;
+
+        public Builder() {
+            this(1024);
+        }
+
+        public Builder(int expectedRows) {
+            int capacity = Math.max(16, expectedRows);
+            this.orderIdBytes = new byte[capacity * 8];
+            this.orderIdOffsets = new int[capacity + 1];
+            this.productCodes = new int[capacity];
+            this.categoryCodes = new int[capacity];
+            this.regionCodes = new int[capacity];
+            this.amounts = new double[capacity];
+            this.quantities = new int[capacity];
+            this.dateCodes = new int[capacity];
+        }
+
+        /**
+         * Also keeps amounts as exact cents. CSV rows are then parsed straight into cents, and
+         * amounts with more than two significant decimal places are rejected; records added as
+         * SalesRecord objects are rounded to the nearest cent.
+         *
+         * @throws IllegalStateException if rows have already been added
+         */
+        public Builder amountsInCents() {
+            checkNotBuilt();
+            if (size > 0) {
+                throw new IllegalStateException("amountsInCents() must be called before adding rows");
+            }
+            if (cents == null) {
+                cents = new long[amounts.length];
+            }
+            return this;
+        }
+
+        public Builder add(SalesRecord record) {
+            checkNotBuilt();
+            byte[] orderId = record.getOrderId().getBytes(StandardCharsets.UTF_8);
+            long amountCents = cents == null ? 0 : Cents.fromDouble(record.getAmount());
+            appendRow(orderId, orderId.length, products.encode(record.getProduct()),
+                    categories.encode(record.getCategory()), regions.encode(record.getRegion()),
+                    record.getAmount(), amountCents, record.getQuantity(), dates.encode(record.getOrderDate()));
+            return this;
+        }
+
+        /**
+         * Appends a tokenized CSV row, encoding its dimensions straight from the file bytes.
+         *
+         * @throws IllegalArgumentException if the row is malformed
+         */
+        public Builder add(MappedCSVParser.Row row) {
+            checkNotBuilt();
+            try {
+                row.validate();
+                long amountCents = 0;
+                double amount;
+                if (cents == null) {
+                    amount = row.parseAmount();
+                } else {
+                    amountCents = row.getCents(4);
+                    amount = Cents.toDouble(amountCents);
+                }
+                int quantity = row.parseQuantity();
+                int product = row.encode(1, products);
+                int category = row.encode(2, categories);
+                int region = row.encode(3, regions);
+                int date = row.encode(6, dates);
+                int orderIdLen = row.copyField(0);
+                appendRow(row.scratch(), orderIdLen, product, category, region, amount, amountCents, quantity, date);
+            } catch (IllegalArgumentException e) {
+                throw row.malformed(e);
+            }
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Builds the table. The table shares this builder's dictionaries, so the builder cannot
+         * be used afterwards.
+         *
+         * @throws IllegalStateException if the builder has already built a table
+         */
+        public SalesTable build() {
+            checkNotBuilt();
+            built = true;
+            return new SalesTable(this);
+        }
+
+        private void checkNotBuilt() {
+            if (built) {
+                throw new IllegalStateException("Builder has already built a table");
+            }
+        }
+
+        private void appendRow(byte[] orderId, int orderIdLen, int product, int category, int region,
+                               double amount, long amountCents, int quantity, int date) {
+            if (size == amounts.length) {
+                grow();
+            }
+            if (orderIdLength + orderIdLen > orderIdBytes.length) {
+                orderIdBytes = Arrays.copyOf(orderIdBytes, Math.max(orderIdBytes.length * 2, orderIdLength + orderIdLen));
+            }
+            System.arraycopy(orderId, 0, orderIdBytes, orderIdLength, orderIdLen);
+            orderIdLength += orderIdLen;
+            productCodes[size] = product;
+            categoryCodes[size] = category;
+            regionCodes[size] = region;
+            amounts[size] = amount;
+            if (cents != null) {
+                cents[size] = amountCents;
+                maxAbsCents = Math.max(maxAbsCents, absCents(amountCents));
+            }
+            quantities[size] = quantity;
+            dateCodes[size] = date;
+            size++;
+            orderIdOffsets[size] = orderIdLength;
+        }
+
+        private void grow() {
+            int capacity = amounts.length * 2;
+            orderIdOffsets = Arrays.copyOf(orderIdOffsets, capacity + 1);
+            productCodes = Arrays.copyOf(productCodes, capacity);
+            categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+            regionCodes = Arrays.copyOf(regionCodes, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            if (cents != null) {
+                cents = Arrays.copyOf(cents, capacity);
+            }
+            quantities = Arrays.copyOf(quantities, capacity);
+            dateCodes = Arrays.copyOf(dateCodes, capacity);
+        }
+    }
+}
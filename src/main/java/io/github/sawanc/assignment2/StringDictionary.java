@@ -0,0 +1,138 @@
+package io.github.sawanc.assignment2;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Dictionary that assigns dense int codes to distinct strings.
+ * Strings can be encoded straight from UTF-8 bytes, so repeated values such as
+ * "Electronics" are decoded into a String only once. Not thread-safe.
+ *
+ * @author sawan chakraborty
+ */
+public class StringDictionary {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private String[] values;
+    private byte[][] valueBytes;
+    private int[] valueHashes;
+    private int[] slots; // open-addressing table of code + 1 (0 = empty)
+    private int size;
+
+    public StringDictionary() {
+        this.values = new String[INITIAL_CAPACITY];
+        this.valueBytes = new byte[INITIAL_CAPACITY][];
+        this.valueHashes = new int[INITIAL_CAPACITY];
+        this.slots = new int[INITIAL_CAPACITY * 2];
+    }
+
+    /**
+     * Returns the code for a string, adding it to the dictionary if needed.
+     */
+    public int encode(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return encode(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Returns the code for the UTF-8 string held in {@code bytes[offset, offset + length)},
+     * adding it to the dictionary if needed.
+     */
+    public int encode(byte[] bytes, int offset, int length) {
+        int hash = hash(bytes, offset, length);
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                return insert(slot, hash, Arrays.copyOfRange(bytes, offset, offset + length));
+            }
+            int code = entry - 1;
+            if (valueHashes[code] == hash
+                    && Arrays.equals(valueBytes[code], 0, valueBytes[code].length, bytes, offset, offset + length)) {
+                return code;
+            }
+        }
+    }
+
+    /**
+     * Returns the code for a string without adding it.
+     *
+     * @return the code, or -1 if the string is not in the dictionary
+     */
+    public int lookup(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(bytes, 0, bytes.length);
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            int code = entry - 1;
+            if (valueHashes[code] == hash && Arrays.equals(valueBytes[code], bytes)) {
+                return code;
+            }
+        }
+    }
+
+    public String decode(int code) {
+        if (code < 0 || code >= size) {
+            throw new IllegalArgumentException("Unknown dictionary code: " + code);
+        }
+        return values[code];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Values in code order
+    public List<String> values() {
+        return List.of(Arrays.copyOf(values, size));
+    }
+
+    private int insert(int slot, int hash, byte[] bytes) {
+        int code = size++;
+        if (code == values.length) {
+            values = Arrays.copyOf(values, code * 2);
+            valueBytes = Arrays.copyOf(valueBytes, code * 2);
+            valueHashes = Arrays.copyOf(valueHashes, code * 2);
+        }
+        values[code] = new String(bytes, StandardCharsets.UTF_8);
+        valueBytes[code] = bytes;
+        valueHashes[code] = hash;
+        slots[slot] = code + 1;
+        // Keep the table at most a quarter full so probe chains stay short
+        if (size * 4 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return code;
+    }
+
+    private void rehash(int capacity) {
+        int[] newSlots = new int[capacity];
+        int mask = capacity - 1;
+        for (int code = 0; code < size; code++) {
+            int slot = valueHashes[code] & mask;
+            while (newSlots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newSlots[slot] = code + 1;
+        }
+        slots = newSlots;
+    }
+
+    private static int hash(byte[] bytes, int offset, int length) {
+        int h = 1;
+        for (int i = offset; i < offset + length; i++) {
+            h = 31 * h + bytes[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public String toString() {
+        return "StringDictionary{size=" + size + ", values=" + values() + "}";
+    }
+}
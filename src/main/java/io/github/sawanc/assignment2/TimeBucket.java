@@ -0,0 +1,31 @@
+package io.github.sawanc.assignment2;
+
+import java.time.LocalDate;
+
+/**
+ * Granularity of time-bucketed aggregations.
+ * Each bucket is identified by its first day: the day itself, the Monday of its ISO week, or
+ * the first of its month.
+ *
+ * @author sawan chakraborty
+ */
+public enum TimeBucket {
+    DAY,
+    WEEK,
+    MONTH;
+
+    /**
+     * Returns the first day, as an epoch day, of the bucket containing {@code epochDay}.
+     */
+    public int bucketStart(int epochDay) {
+        switch (this) {
+            case DAY:
+                return epochDay;
+            case WEEK:
+                // 1970-01-01 was a Thursday, three days after a Monday
+                return epochDay - Math.floorMod(epochDay + 3, 7);
+            default:
+                return (int) LocalDate.ofEpochDay(epochDay).withDayOfMonth(1).toEpochDay();
+        }
+    }
+}
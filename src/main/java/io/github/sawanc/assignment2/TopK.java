@@ -0,0 +1,141 @@
+package io.github.sawanc.assignment2;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Bounded selection of the {@code k} highest-scoring values.
+ * <p>
+ * Values are offered one at a time into a min-heap of at most {@code k} entries, so selecting from
+ * n candidates costs O(n log k) time and O(k) memory instead of a full sort. Equal scores are
+ * ordered by a tie-breaker, which makes results deterministic. Instances built over separate
+ * partitions can be combined with {@link #merge(TopK)}. Not thread-safe.
+ *
+ * @author sawan chakraborty
+ */
+public class TopK<T> {
+    private final int k;
+    private final Comparator<Entry<T>> ranking; // descending score, then ascending tie-breaker
+    private final PriorityQueue<Entry<T>> heap; // head is the lowest-ranked retained entry
+
+    /**
+     * Constructs an empty selection.
+     *
+     * @param k          the maximum number of values to keep
+     * @param tieBreaker orders values with equal scores; lower values rank higher
+     */
+    public TopK(int k, Comparator<? super T> tieBreaker) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive, but was " + k);
+        }
+        if (tieBreaker == null) {
+            throw new IllegalArgumentException("Tie-breaker cannot be null");
+        }
+        this.k = k;
+        Comparator<Entry<T>> byScore = Comparator.comparingDouble(Entry<T>::getScore);
+        this.ranking = byScore.reversed().thenComparing(Entry::getValue, tieBreaker);
+        this.heap = new PriorityQueue<>(Math.min(k, 1024) + 1, ranking.reversed());
+    }
+
+    /**
+     * Selects the {@code k} highest totals of a map, ties broken by key.
+     */
+    public static <K extends Comparable<? super K>> List<Entry<K>> select(Map<K, Double> totals, int k) {
+        TopK<K> topK = new TopK<>(k, Comparator.naturalOrder());
+        totals.forEach(topK::offer);
+        return topK.getResults();
+    }
+
+    public void offer(T value, double score) {
+        if (Double.isNaN(score)) {
+            return;
+        }
+        Entry<T> entry = new Entry<>(value, score);
+        if (heap.size() < k) {
+            heap.add(entry);
+        } else if (ranking.compare(entry, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(entry);
+        }
+    }
+
+    /**
+     * Adds every entry of another selection to this one.
+     * Exact for partitions that hold disjoint values, such as individual orders.
+     *
+     * @param other a selection with the same k and tie-breaker
+     * @return this selection
+     */
+    public TopK<T> merge(TopK<T> other) {
+        other.heap.forEach(entry -> offer(entry.getValue(), entry.getScore()));
+        return this;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Returns the retained entries, highest score first.
+     */
+    public List<Entry<T>> getResults() {
+        List<Entry<T>> results = new ArrayList<>(heap);
+        results.sort(ranking);
+        return results;
+    }
+
+    @Override
+    public String toString() {
+        return "TopK{k=" + k + ", results=" + getResults() + "}";
+    }
+
+    /**
+     * A value and its score.
+     */
+    public static final class Entry<T> {
+        private final T value;
+        private final double score;
+
+        public Entry(T value, double score) {
+            this.value = value;
+            this.score = score;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Entry<?> other)) {
+                return false;
+            }
+            return Double.compare(score, other.score) == 0 && Objects.equals(value, other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(value, score);
+        }
+
+        @Override
+        public String toString() {
+            return value + "=" + score;
+        }
+    }
+}
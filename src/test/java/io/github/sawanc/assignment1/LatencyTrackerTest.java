@@ -0,0 +1,255 @@
+package io.github.sawanc.assignment1;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LatencyHistogram, LatencyTracker and TracedQueue.
+ *
+ * @author sawan chakraborty
+ */
+public class LatencyTrackerTest {
+
+    /**
+     * Tests that percentiles stay within the histogram's relative error bound.
+     */
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1000);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000_000, histogram.getMax());
+        assertEquals(5_000_000, histogram.getValueAtPercentile(50), 5_000_000 * 0.07);
+        assertEquals(9_900_000, histogram.getValueAtPercentile(99), 9_900_000 * 0.07);
+        assertEquals(10_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    /**
+     * Tests that an empty histogram reports zero and rejects invalid percentiles.
+     */
+    @Test
+    public void testHistogramEmptyAndInvalidPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0.0, histogram.getMean());
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101));
+    }
+
+    /**
+     * Tests that every bucket's upper bound maps back into the same bucket.
+     */
+    @Test
+    public void testHistogramBucketBoundaries() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long upper = LatencyHistogram.bucketUpperBound(index);
+            assertTrue(upper >= value, "Upper bound should cover " + value);
+            assertEquals(index, LatencyHistogram.bucketIndex(upper));
+        }
+    }
+
+    /**
+     * Tests percentile export order.
+     */
+    @Test
+    public void testHistogramPercentileExport() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        histogram.record(20);
+
+        Map<Double, Long> percentiles = histogram.getPercentiles(50, 99);
+
+        assertEquals(List.of(50.0, 99.0), new ArrayList<>(percentiles.keySet()));
+        assertEquals(10L, percentiles.get(50.0));
+        assertEquals(20L, percentiles.get(99.0));
+    }
+
+    /**
+     * Tests that a traced pipeline records sojourn and transit times for every item.
+     */
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    public void testPipelineRecordsLatencies() throws InterruptedException {
+        LatencyTracker tracker = new LatencyTracker();
+        TracedQueue queue = new TracedQueue(4, tracker);
+        DestinationContainer destination = new DestinationContainer();
+
+        Thread producer = new Thread(new Producer(new SourceContainer(values(50)), queue));
+        Thread consumer = new Thread(new Consumer(destination, queue, 5000, 0, tracker));
+        producer.start();
+        consumer.start();
+        producer.join();
+        consumer.join();
+
+        assertEquals(50, destination.size());
+        assertEquals(50, tracker.getSojournHistogram().getCount(), "The poison pill should not be traced");
+        assertEquals(50, tracker.getTransitHistogram().getCount());
+        assertTrue(tracker.getTransitHistogram().getMax() >= tracker.getSojournHistogram().getValueAtPercentile(0));
+    }
+
+    /**
+     * Tests that several producers and consumers sharing equal values trace every item once.
+     */
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    public void testSeveralProducersAndConsumers() throws InterruptedException {
+        LatencyTracker tracker = new LatencyTracker();
+        TracedQueue queue = new TracedQueue(4, tracker);
+        DestinationContainer destination = new DestinationContainer();
+        List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            producers.add(new Thread(new Producer(new SourceContainer(values(40)), queue, false, 0)));
+        }
+        List<Thread> consumers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            consumers.add(new Thread(new Consumer(destination, queue, 5000, 0, tracker)));
+        }
+        producers.forEach(Thread::start);
+        consumers.forEach(Thread::start);
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        queue.put(Producer.POISON_PILL);
+        queue.put(Producer.POISON_PILL);
+        for (Thread consumer : consumers) {
+            consumer.join();
+        }
+
+        assertEquals(120, destination.size());
+        assertEquals(120, tracker.getSojournHistogram().getCount());
+        assertEquals(120, tracker.getTransitHistogram().getCount());
+    }
+
+    /**
+     * Tests that each stamp leaves the queue with its own item, even for equal values.
+     */
+    @Test
+    public void testStampTravelsWithItem() throws InterruptedException {
+        LatencyTracker tracker = new LatencyTracker();
+        TracedQueue queue = new TracedQueue(4, tracker);
+        queue.put(7);
+        Thread.sleep(50);
+        queue.put(7);
+
+        consume(queue, tracker);
+        long first = tracker.getSojournHistogram().getMax();
+        consume(queue, tracker);
+
+        assertTrue(first >= TimeUnit.MILLISECONDS.toNanos(50), "The first 7 waited at least 50 ms: " + first);
+        assertTrue(tracker.getSojournHistogram().getValueAtPercentile(0) < first,
+                "The second 7 should keep its own, later stamp");
+    }
+
+    /**
+     * Tests that only items taken from the queue are traced, so unconsumed items add nothing.
+     */
+    @Test
+    public void testOnlyConsumedItemsAreTraced() throws InterruptedException {
+        LatencyTracker tracker = new LatencyTracker();
+        TracedQueue queue = new TracedQueue(4, tracker);
+        queue.put(1);
+        queue.put(2);
+        queue.put(3);
+
+        consume(queue, tracker);
+
+        assertEquals(1, tracker.getSojournHistogram().getCount());
+        assertEquals(1, tracker.getTransitHistogram().getCount());
+        assertEquals(List.of(2, 3), new ArrayList<>(queue));
+    }
+
+    /**
+     * Tests that each consumer thread reports the item it took itself.
+     */
+    @Test
+    public void testStampsArePerThread() throws InterruptedException {
+        LatencyTracker tracker = new LatencyTracker();
+        TracedQueue queue = new TracedQueue(4, tracker);
+        queue.put(1);
+        queue.put(2);
+        assertEquals(1, queue.poll());
+
+        Thread other = new Thread(() -> consume(queue, tracker));
+        other.start();
+        other.join();
+        tracker.recordDequeued();
+        tracker.recordCommitted();
+
+        assertEquals(2, tracker.getSojournHistogram().getCount());
+        assertEquals(2, tracker.getTransitHistogram().getCount());
+    }
+
+    /**
+     * Tests that reporting an item twice records it once.
+     */
+    @Test
+    public void testRepeatedReportsRecordedOnce() throws InterruptedException {
+        LatencyTracker tracker = new LatencyTracker();
+        TracedQueue queue = new TracedQueue(4, tracker);
+        queue.put(1);
+        consume(queue, tracker);
+        tracker.recordDequeued();
+        tracker.recordCommitted();
+
+        assertEquals(1, tracker.getSojournHistogram().getCount());
+        assertEquals(1, tracker.getTransitHistogram().getCount());
+    }
+
+    /**
+     * Tests that items from an untraced queue are ignored.
+     */
+    @Test
+    public void testUnstampedItemsIgnored() {
+        LatencyTracker tracker = new LatencyTracker();
+        tracker.recordDequeued();
+        tracker.recordCommitted();
+
+        assertEquals(0, tracker.getSojournHistogram().getCount());
+        assertEquals(0, tracker.getTransitHistogram().getCount());
+    }
+
+    /**
+     * Tests the bounded queue operations of TracedQueue.
+     */
+    @Test
+    public void testTracedQueueOperations() throws InterruptedException {
+        TracedQueue queue = new TracedQueue(2, new LatencyTracker());
+        assertTrue(queue.offer(1));
+        assertTrue(queue.offer(2, 10, TimeUnit.MILLISECONDS));
+        assertFalse(queue.offer(3));
+        assertEquals(0, queue.remainingCapacity());
+        assertEquals(1, queue.peek());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(2, queue.drainTo(drained));
+        assertEquals(List.of(1, 2), drained);
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        assertThrows(NullPointerException.class, () -> queue.put(null));
+        assertThrows(IllegalArgumentException.class, () -> new TracedQueue(2, null));
+    }
+
+    private static void consume(TracedQueue queue, LatencyTracker tracker) {
+        queue.poll();
+        tracker.recordDequeued();
+        tracker.recordCommitted();
+    }
+
+    private static List<Integer> values(int count) {
+        List<Integer> data = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            data.add(i % 5); // duplicate values
+        }
+        return data;
+    }
+}
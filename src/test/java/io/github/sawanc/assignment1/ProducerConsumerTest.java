@@ -3,6 +3,11 @@ package io.github.sawanc.assignment1;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -10,6 +15,7 @@ import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -424,4 +430,82 @@ public class ProducerConsumerTest {
         // Verify all items consumed (distributed among consumers)
         assertEquals(50, dest.size(), "All items should be consumed");
     }
+
+    /**
+     * Tests that a bounded destination spills past its budget and iterates in insertion order.
+     */
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    public void testBoundedDestinationSpillsToDisk(@TempDir Path tempDir) throws InterruptedException {
+        List<Integer> data = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            data.add(i);
+        }
+        SourceContainer src = new SourceContainer(data);
+        DestinationContainer dest = new DestinationContainer(64, tempDir);
+
+        Thread producerThread = new Thread(new Producer(src, sharedQueue));
+        Thread consumerThread = new Thread(new Consumer(dest, sharedQueue));
+        producerThread.start();
+        consumerThread.start();
+        producerThread.join();
+        consumerThread.join();
+
+        assertEquals(1000, dest.size(), "All items should be counted across memory and disk");
+        assertTrue(dest.getInMemoryCount() < 64, "In-memory buffer should stay within budget");
+        assertEquals(15, dest.getSpillSegmentCount(), "Each full buffer should become one segment");
+
+        List<Integer> iterated = new ArrayList<>();
+        dest.forEach(iterated::add);
+        assertEquals(data, iterated, "Iteration should read segments then memory in insertion order");
+        assertEquals(data, dest.getAllItems());
+    }
+
+    /**
+     * Tests that clearing or closing a bounded destination removes its spill segments.
+     */
+    @Test
+    public void testBoundedDestinationClearDeletesSegments(@TempDir Path tempDir) throws IOException {
+        DestinationContainer dest = new DestinationContainer(2, tempDir);
+        for (int i = 0; i < 5; i++) {
+            dest.add(i);
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(2, files.count());
+        }
+
+        dest.clear();
+
+        assertTrue(dest.isEmpty());
+        assertEquals(0, dest.getSpilledCount());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count(), "Spill segments should be deleted");
+        }
+
+        // An iterator abandoned mid-segment releases its stream on close; close() deletes the segments
+        try (DestinationContainer closing = new DestinationContainer(4, tempDir)) {
+            for (int i = 0; i < 10; i++) {
+                closing.add(i);
+            }
+            DestinationContainer.SegmentIterator it = closing.iterator();
+            assertEquals(0, it.next());
+            it.close();
+            assertFalse(it.hasNext());
+            assertEquals(2, closing.getSpillSegmentCount());
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count(), "close() should delete spill segments");
+        }
+    }
+
+    /**
+     * Tests validation of bounded destination arguments.
+     */
+    @Test
+    public void testBoundedDestinationValidation(@TempDir Path tempDir) {
+        assertThrows(IllegalArgumentException.class, () -> new DestinationContainer(0, tempDir));
+        assertThrows(IllegalArgumentException.class, () -> new DestinationContainer(10, null));
+        assertThrows(IllegalArgumentException.class, () -> new DestinationContainer(10, tempDir).add(null));
+        assertFalse(new DestinationContainer().isBounded());
+    }
 }
@@ -0,0 +1,171 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AmountIndex.
+ *
+ * @author sawan chakraborty
+ */
+public class AmountIndexTest {
+
+    private static final double[] THRESHOLDS = {-1.0, 0.0, 25.99, 100.0, 500.0, 1200.50, 1_000_000.0};
+
+    // Ties at 100.0 and an amount on each side of the [100, 200) range
+    private static final List<SalesRecord> SMALL = List.of(
+            record("ORD-1", 50.0), record("ORD-2", 100.0), record("ORD-3", 100.0),
+            record("ORD-4", 200.0), record("ORD-5", 10.0), record("ORD-6", 150.0));
+
+    private List<SalesRecord> records;
+    private SalesAnalysisService service;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        records = CSVReader.readSalesData("data/sales.csv");
+        service = new SalesAnalysisService();
+    }
+
+    /**
+     * Tests that threshold queries on a list index return the same records as the linear filter.
+     */
+    @Test
+    public void testListIndexMatchesLinearFilter() {
+        AmountIndex index = AmountIndex.build(records);
+        for (double threshold : THRESHOLDS) {
+            assertEquals(orderIds(service.filterHighValueTransactions(records, threshold)),
+                    orderIds(service.filterHighValueTransactions(index, threshold)), "threshold " + threshold);
+        }
+    }
+
+    /**
+     * Tests that threshold queries on a table index return the same records as the linear filter.
+     */
+    @Test
+    public void testTableIndexMatchesLinearFilter() {
+        AmountIndex index = AmountIndex.build(SalesTable.fromRecords(records));
+        for (double threshold : THRESHOLDS) {
+            assertEquals(orderIds(service.filterHighValueTransactions(records, threshold)),
+                    orderIds(index.filterHighValueTransactions(threshold)), "threshold " + threshold);
+        }
+    }
+
+    /**
+     * Tests that counts agree with the linear filter.
+     */
+    @Test
+    public void testCountAtLeast() {
+        AmountIndex index = AmountIndex.build(records);
+        for (double threshold : THRESHOLDS) {
+            assertEquals(service.filterHighValueTransactions(records, threshold).size(), index.countAtLeast(threshold),
+                    "threshold " + threshold);
+        }
+    }
+
+    /**
+     * Tests that threshold results are sorted by amount.
+     */
+    @Test
+    public void testResultsSortedByAmount() {
+        List<SalesRecord> indexed = AmountIndex.build(records).filterHighValueTransactions(100.0);
+        for (int i = 1; i < indexed.size(); i++) {
+            assertTrue(indexed.get(i - 1).getAmount() <= indexed.get(i).getAmount());
+        }
+    }
+
+    /**
+     * Tests that results are read-only views.
+     */
+    @Test
+    public void testResultsAreUnmodifiable() {
+        AmountIndex index = AmountIndex.build(records);
+
+        assertThrows(UnsupportedOperationException.class, () -> index.filterHighValueTransactions(0.0).remove(0));
+    }
+
+    /**
+     * Tests that ranges are half-open and ties keep file order.
+     */
+    @Test
+    public void testRangeIsHalfOpen() {
+        AmountIndex index = AmountIndex.build(SMALL);
+
+        assertEquals(List.of("ORD-2", "ORD-3", "ORD-6"),
+                index.filterByAmountRange(100.0, 200.0).stream().map(SalesRecord::getOrderId).toList(),
+                "Ties should keep file order and max should be exclusive");
+        assertArrayEquals(new int[]{1, 2, 5}, index.getRowsInRange(100.0, 200.0));
+    }
+
+    /**
+     * Tests range totals and counts.
+     */
+    @Test
+    public void testRangeTotalsAndCounts() {
+        AmountIndex index = AmountIndex.build(SMALL);
+
+        assertEquals(350.0, index.getTotalSales(100.0, 200.0), 1e-9);
+        assertEquals(6, index.countInRange(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY));
+    }
+
+    /**
+     * Tests inverted ranges and ranges between amounts.
+     */
+    @Test
+    public void testEmptyRanges() {
+        AmountIndex index = AmountIndex.build(SMALL);
+
+        assertEquals(0, index.countInRange(200.0, 100.0));
+        assertEquals(0, index.countInRange(60.0, 90.0));
+        assertEquals(0.0, index.getTotalSales(60.0, 90.0));
+        assertArrayEquals(new int[0], index.getRowsInRange(60.0, 90.0));
+    }
+
+    /**
+     * Tests an index over no records.
+     */
+    @Test
+    public void testEmptyIndex() {
+        AmountIndex empty = AmountIndex.build(List.of());
+
+        assertEquals(0, empty.size());
+        assertTrue(empty.filterHighValueTransactions(0.0).isEmpty());
+    }
+
+    /**
+     * Tests that NaN amounts never match.
+     */
+    @Test
+    public void testNaNAmountsNeverMatch() {
+        AmountIndex index = AmountIndex.build(List.of(record("ORD-1", Double.NaN), record("ORD-2", 5.0)));
+
+        assertEquals(1, index.countAtLeast(Double.NEGATIVE_INFINITY));
+        assertEquals("ORD-2", index.filterHighValueTransactions(1.0).get(0).getOrderId());
+        assertThrows(IndexOutOfBoundsException.class, () -> index.filterHighValueTransactions(1.0).get(1));
+    }
+
+    /**
+     * Tests that NaN bounds are rejected.
+     */
+    @Test
+    public void testRejectsNaNBounds() {
+        AmountIndex index = AmountIndex.build(SMALL);
+
+        assertThrows(IllegalArgumentException.class, () -> index.countAtLeast(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> index.filterByAmountRange(0.0, Double.NaN));
+    }
+
+    private static SalesRecord record(String orderId, double amount) {
+        return new SalesRecord(orderId, "Laptop", "Electronics", "Europe", amount, 1, "2025-01-01");
+    }
+
+    private static Set<String> orderIds(List<SalesRecord> records) {
+        return records.stream().map(SalesRecord::getOrderId).collect(Collectors.toSet());
+    }
+}
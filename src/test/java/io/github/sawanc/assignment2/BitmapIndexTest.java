@@ -0,0 +1,234 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BitmapIndex and RowBitmap.
+ *
+ * @author sawan chakraborty
+ */
+public class BitmapIndexTest extends SalesTestSupport {
+
+    private static final double[] DENSITIES = {0.001, 0.05, 0.5};
+
+    private List<SalesRecord> records;
+    private SalesTable table;
+    private BitmapIndex index;
+    private SalesAnalysisService service;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        records = CSVReader.readSalesData("data/sales.csv");
+        table = SalesTable.fromRecords(records);
+        index = BitmapIndex.build(table);
+        service = new SalesAnalysisService();
+    }
+
+    /**
+     * Tests that AND matches a BitSet reference for sparse and dense chunks.
+     */
+    @Test
+    public void testAndMatchesBitSet() {
+        Random random = new Random(7);
+        // Densities on both sides of the array/bitmap cut-over, spanning several chunks
+        for (double leftDensity : DENSITIES) {
+            for (double rightDensity : DENSITIES) {
+                BitSet left = randomBits(random, 200_000, leftDensity);
+                BitSet right = randomBits(random, 200_000, rightDensity);
+                BitSet and = (BitSet) left.clone();
+                and.and(right);
+
+                assertArrayEquals(and.stream().toArray(), toBitmap(left).and(toBitmap(right)).toArray());
+            }
+        }
+    }
+
+    /**
+     * Tests that OR matches a BitSet reference for sparse and dense chunks.
+     */
+    @Test
+    public void testOrMatchesBitSet() {
+        Random random = new Random(8);
+        for (double leftDensity : DENSITIES) {
+            for (double rightDensity : DENSITIES) {
+                BitSet left = randomBits(random, 200_000, leftDensity);
+                BitSet right = randomBits(random, 200_000, rightDensity);
+                BitSet or = (BitSet) left.clone();
+                or.or(right);
+                RowBitmap union = toBitmap(left).or(toBitmap(right));
+
+                assertArrayEquals(or.stream().toArray(), union.toArray());
+                assertEquals(or.cardinality(), union.getCardinality());
+            }
+        }
+    }
+
+    /**
+     * Tests membership and the last row for sparse and dense chunks.
+     */
+    @Test
+    public void testContainsAndLast() {
+        Random random = new Random(9);
+        for (double density : DENSITIES) {
+            BitSet bits = randomBits(random, 200_000, density);
+            RowBitmap bitmap = toBitmap(bits);
+
+            assertEquals(bits.length() - 1, bitmap.last());
+            for (int i = 0; i < 100; i++) {
+                int probe = random.nextInt(200_000);
+                assertEquals(bits.get(probe), bitmap.contains(probe), "row " + probe);
+            }
+        }
+    }
+
+    /**
+     * Tests that dense chunks use one bit per row.
+     */
+    @Test
+    public void testDenseChunkSize() {
+        RowBitmap dense = toBitmap(randomBits(new Random(7), 65_536, 0.9));
+
+        assertTrue(dense.getSizeInBytes() < 65_536 / 8 + 64, "Dense chunks should use one bit per row");
+    }
+
+    /**
+     * Tests that of() sorts and removes duplicate rows.
+     */
+    @Test
+    public void testOfSortsAndDeduplicates() {
+        assertEquals(RowBitmap.of(3, 1, 2, 1), RowBitmap.of(1, 2, 3));
+    }
+
+    /**
+     * Tests that intersecting with the empty bitmap is empty.
+     */
+    @Test
+    public void testAndWithEmpty() {
+        assertTrue(RowBitmap.empty().and(RowBitmap.of(1, 2, 3)).isEmpty());
+        assertTrue(RowBitmap.of(1, 2, 3).and(RowBitmap.empty()).isEmpty());
+    }
+
+    /**
+     * Tests a category and region intersection against a stream filter.
+     */
+    @Test
+    public void testIntersectionTotal() {
+        RowBitmap electronicsInEurope = index.getCategoryRows("Electronics").and(index.getRegionRows("Europe"));
+        List<SalesRecord> expected = records.stream()
+                .filter(r -> r.getCategory().equals("Electronics") && r.getRegion().equals("Europe"))
+                .toList();
+
+        assertEquals(expected.size(), electronicsInEurope.getCardinality());
+        assertEquals(service.getTotalSales(expected), service.getTotalSales(table, electronicsInEurope), 1e-9);
+    }
+
+    /**
+     * Tests that looking up several values gives the union of their rows.
+     */
+    @Test
+    public void testMultiValueLookupIsUnion() {
+        assertEquals(index.getRegionRows("Europe").or(index.getRegionRows("Asia")), index.getRegionRows("Europe", "Asia"));
+    }
+
+    /**
+     * Tests filtered group totals against stream filters.
+     */
+    @Test
+    public void testFilteredGroupTotals() {
+        RowBitmap europeOrAsia = index.getRegionRows("Europe", "Asia");
+        List<SalesRecord> either = europeOrAsia(records);
+
+        assertMapsClose(service.getSalesByCategory(either), service.getSalesByCategory(table, europeOrAsia));
+        assertMapsClose(service.getSalesByRegion(either), service.getSalesByRegion(table, europeOrAsia));
+    }
+
+    /**
+     * Tests a filtered summary against the summary of the filtered records.
+     */
+    @Test
+    public void testFilteredSummary() {
+        List<SalesRecord> either = europeOrAsia(records);
+        SalesSummary summary = service.summarize(table, index.getRegionRows("Europe", "Asia"), 500.0);
+        SalesSummary reference = service.summarize(either, 500.0);
+
+        assertEquals(reference.getTotalSales(), summary.getTotalSales(), 1e-9);
+        assertMapsClose(reference.getAverageSalesPerProduct(), summary.getAverageSalesPerProduct());
+        assertEquals(reference.getHighValueTransactions().stream().map(SalesRecord::getOrderId).collect(Collectors.toList()),
+                summary.getHighValueTransactions().stream().map(SalesRecord::getOrderId).collect(Collectors.toList()));
+    }
+
+    /**
+     * Tests that unknown values select no rows.
+     */
+    @Test
+    public void testUnknownValues() {
+        assertTrue(index.getCategoryRows("Toys").isEmpty());
+        assertEquals(0.0, service.getTotalSales(table, index.getProductRows("Unknown")));
+    }
+
+    /**
+     * Tests aggregations over the empty bitmap.
+     */
+    @Test
+    public void testEmptyBitmapAggregations() {
+        assertEquals(Map.of(), service.getSalesByRegion(table, RowBitmap.empty()));
+        assertEquals(0.0, service.getTotalSales(table, RowBitmap.empty()));
+    }
+
+    /**
+     * Tests that rows past the end of the table are rejected.
+     */
+    @Test
+    public void testRejectsRowOutsideTable() {
+        assertThrows(IllegalArgumentException.class, () -> service.getTotalSales(table, RowBitmap.of(100)));
+    }
+
+    /**
+     * Tests that the builder rejects rows that are not strictly increasing.
+     */
+    @Test
+    public void testBuilderRejectsRepeatedRow() {
+        assertThrows(IllegalArgumentException.class, () -> new RowBitmap.Builder().add(5).add(5));
+        assertThrows(IllegalArgumentException.class, () -> new RowBitmap.Builder().add(5).add(4));
+    }
+
+    /**
+     * Tests that an index needs a table.
+     */
+    @Test
+    public void testRejectsNullTable() {
+        assertThrows(IllegalArgumentException.class, () -> BitmapIndex.build(null));
+    }
+
+    private static List<SalesRecord> europeOrAsia(List<SalesRecord> records) {
+        return records.stream()
+                .filter(r -> r.getRegion().equals("Europe") || r.getRegion().equals("Asia"))
+                .toList();
+    }
+
+    private static BitSet randomBits(Random random, int size, double density) {
+        BitSet bits = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (random.nextDouble() < density) {
+                bits.set(i);
+            }
+        }
+        return bits;
+    }
+
+    private static RowBitmap toBitmap(BitSet bits) {
+        RowBitmap.Builder builder = new RowBitmap.Builder();
+        bits.stream().forEach(builder::add);
+        return builder.build();
+    }
+}
@@ -6,7 +6,10 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -264,5 +267,53 @@ public class CSVReaderTest {
         assertEquals("Furniture", records.get(3).getCategory());
         assertEquals("Stationery", records.get(4).getCategory());
     }
-}
 
+    /**
+     * Tests streaming records one row at a time in file order.
+     */
+    @Test
+    public void testStreamSalesData(@TempDir Path tempDir) throws IOException {
+        Path csvFile = tempDir.resolve("stream.csv");
+        String csvContent = """
+                order_id,product,category,region,amount,quantity,order_date
+                ORD-001,Laptop,Electronics,North America,1200.50,1,2025-01-05
+                ORD-002,Mouse,Electronics,Europe,25.99,2,2025-01-06
+                ORD-003,Desk,Furniture,Asia,450.00,1,2025-01-07
+                """;
+        Files.writeString(csvFile, csvContent);
+
+        try (Stream<SalesRecord> records = CSVReader.streamSalesData(csvFile.toString())) {
+            List<String> orderIds = records.map(SalesRecord::getOrderId).toList();
+            assertEquals(List.of("ORD-001", "ORD-002", "ORD-003"), orderIds);
+        }
+
+        List<SalesRecord> viaCallback = new ArrayList<>();
+        long count = CSVReader.forEachSalesRecord(csvFile.toString(), viaCallback::add);
+        assertEquals(3, count);
+        assertEquals("Desk", viaCallback.get(2).getProduct());
+    }
+
+    /**
+     * Tests that the streaming API validates the file up front and reports malformed rows lazily.
+     */
+    @Test
+    public void testStreamSalesDataErrors(@TempDir Path tempDir) throws IOException {
+        Path emptyFile = tempDir.resolve("empty.csv");
+        Files.writeString(emptyFile, "");
+        assertThrows(IOException.class, () -> CSVReader.streamSalesData("non_existent_file.csv"));
+        assertThrows(IllegalArgumentException.class, () -> CSVReader.streamSalesData(emptyFile.toString()));
+
+        Path malformed = tempDir.resolve("malformed.csv");
+        Files.writeString(malformed, """
+                order_id,product,category,region,amount,quantity,order_date
+                ORD-001,Laptop,Electronics,North America,1200.50,1,2025-01-05
+                ORD-002,Mouse,Electronics,Europe,invalid,2,2025-01-06
+                """);
+        try (Stream<SalesRecord> records = CSVReader.streamSalesData(malformed.toString())) {
+            Iterator<SalesRecord> iterator = records.iterator();
+            assertEquals("ORD-001", iterator.next().getOrderId(), "Rows before the bad one should be delivered");
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, iterator::next);
+            assertTrue(exception.getMessage().contains("Malformed CSV row"));
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Cents and the cents column of SalesTable.
+ *
+ * @author sawan chakraborty
+ */
+public class CentsTest extends SalesTestSupport {
+
+    /**
+     * Tests parsing of plain decimal amounts.
+     */
+    @Test
+    public void testParse() {
+        assertEquals(120050, Cents.parse("1200.50"));
+        assertEquals(120050, Cents.parse(" 1200.5 "));
+        assertEquals(1200, Cents.parse("12"));
+        assertEquals(10, Cents.parse(".1"));
+    }
+
+    /**
+     * Tests parsing of signed amounts.
+     */
+    @Test
+    public void testParseSigned() {
+        assertEquals(-705, Cents.parse("-7.05"));
+        assertEquals(100, Cents.parse("+1.000"));
+    }
+
+    /**
+     * Tests that exponent notation falls back to the slow path.
+     */
+    @Test
+    public void testParseExponent() {
+        assertEquals(150, Cents.parse("1.5E0"));
+    }
+
+    /**
+     * Tests parsing at the limits of a long.
+     */
+    @Test
+    public void testParseLimits() {
+        assertEquals(Long.MAX_VALUE, Cents.parse("92233720368547758.07"));
+        assertEquals(Long.MIN_VALUE, Cents.parse("-92233720368547758.08"));
+        assertTrue(assertThrows(IllegalArgumentException.class, () -> Cents.parse("92233720368547758.08"))
+                .getMessage().startsWith("Amount out of range"));
+    }
+
+    /**
+     * Tests that malformed amounts are rejected with the reader's message.
+     */
+    @Test
+    public void testParseMalformed() {
+        assertTrue(assertThrows(IllegalArgumentException.class, () -> Cents.parse("abc"))
+                .getMessage().startsWith("Invalid amount value"));
+        assertThrows(IllegalArgumentException.class, () -> Cents.parse("-"));
+        assertThrows(IllegalArgumentException.class, () -> Cents.parse("1.2.3"));
+        assertThrows(IllegalArgumentException.class, () -> Cents.parse(""));
+    }
+
+    /**
+     * Tests that sub-cent amounts are rejected rather than rounded.
+     */
+    @Test
+    public void testParseRejectsSubCent() {
+        assertTrue(assertThrows(IllegalArgumentException.class, () -> Cents.parse("0.005"))
+                .getMessage().startsWith("Amount has more than 2 decimal places"));
+    }
+
+    /**
+     * Tests rounding of doubles to cents and its range checks.
+     */
+    @Test
+    public void testFromDouble() {
+        assertEquals(30, Cents.fromDouble(0.1 + 0.2));
+        assertThrows(IllegalArgumentException.class, () -> Cents.fromDouble(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Cents.fromDouble(1e17));
+    }
+
+    /**
+     * Tests conversion and formatting of cents.
+     */
+    @Test
+    public void testToDoubleAndFormat() {
+        assertEquals(0.1, Cents.toDouble(10));
+        assertEquals("-0.05", Cents.format(-5));
+        assertEquals("1200.50", Cents.format(120050));
+    }
+
+    /**
+     * Tests that a cents table reads like the double table.
+     */
+    @Test
+    public void testCentsTableMatchesDoubleTable() throws IOException {
+        Path file = writeTenCentRows();
+        SalesTable table = readCentsTable(file);
+        SalesTable doubles = CSVReader.readSalesTable(file.toString());
+
+        assertTrue(table.hasCents());
+        assertFalse(doubles.hasCents());
+        assertEquals(doubles.toRecords().toString(), table.toRecords().toString());
+        assertEquals(10, table.getAmountCents(0));
+    }
+
+    /**
+     * Tests that cents totals are exact where a naive double sum drifts.
+     */
+    @Test
+    public void testCentsSumExactly() throws IOException {
+        Path file = writeTenCentRows();
+        SalesTable table = readCentsTable(file);
+        double naive = 0.0;
+        for (double amount : CSVReader.readSalesTable(file.toString()).amountColumn()) {
+            naive += amount;
+        }
+
+        assertNotEquals(1000.0, naive, "naive double sums drift");
+        assertEquals(100_000, new SalesAnalysisService().getTotalSalesCents(table));
+    }
+
+    /**
+     * Tests the grouped cents aggregations.
+     */
+    @Test
+    public void testCentsGroupTotals() throws IOException {
+        SalesTable table = readCentsTable(writeTenCentRows());
+        SalesAnalysisService service = new SalesAnalysisService();
+
+        assertEquals(Map.of("Office", 100_000L), service.getSalesByCategoryCents(table));
+        assertEquals(Map.of("Europe", 50_000L, "Asia", 50_000L), service.getSalesByRegionCents(table));
+        assertEquals(service.getSalesByCategory(table).keySet(), service.getSalesByCategoryCents(table).keySet());
+        assertEquals(Map.of("Pen", 0.1, "Ink", 0.1), service.getAverageSalesPerProductCents(table));
+    }
+
+    /**
+     * Tests that cents queries on a double-only table fail.
+     */
+    @Test
+    public void testDoubleTableHasNoCents() throws IOException {
+        SalesTable doubles = CSVReader.readSalesTable("data/sales.csv");
+
+        assertThrows(IllegalStateException.class, () -> new SalesAnalysisService().getTotalSalesCents(doubles));
+        assertThrows(IllegalStateException.class, () -> doubles.getAmountCents(0));
+    }
+
+    /**
+     * Tests that cents must be enabled before the first row is added.
+     */
+    @Test
+    public void testCentsEnabledBeforeRows() {
+        SalesRecord record = new SalesRecord("ORD-1", "Pen", "Office", "Europe", 0.10, 1, "2025-01-10");
+
+        assertThrows(IllegalStateException.class, () -> new SalesTable.Builder().add(record).amountsInCents());
+    }
+
+    /**
+     * Tests that the cents column survives a snapshot round trip.
+     */
+    @Test
+    public void testCentsSurviveSnapshot() throws IOException {
+        SalesTable.Builder builder = new SalesTable.Builder().amountsInCents();
+        builder.add(new SalesRecord("ORD-1", "Pen", "Office", "Europe", 0.10, 1, "2025-01-10"));
+        builder.add(new SalesRecord("ORD-2", "Ink", "Office", "Asia", 1200.55, 2, "2025-01-11"));
+        SalesTable table = builder.build();
+        String snapshot = tempDir.resolve("cents.snap").toString();
+
+        SalesSnapshot.write(table, snapshot);
+        SalesTable loaded = SalesSnapshot.load(snapshot);
+
+        SalesAnalysisService service = new SalesAnalysisService();
+        assertTrue(loaded.hasCents());
+        assertEquals(120055, loaded.getAmountCents(1));
+        assertEquals(service.getTotalSalesCents(table), service.getTotalSalesCents(loaded));
+        assertEquals(service.getSalesByCategoryCents(table), service.getSalesByCategoryCents(loaded));
+    }
+
+    /**
+     * Tests that a snapshot of a double-only table still loads without cents.
+     */
+    @Test
+    public void testDoubleSnapshotHasNoCents() throws IOException {
+        String snapshot = tempDir.resolve("doubles.snap").toString();
+        SalesSnapshot.convert("data/sales.csv", snapshot);
+
+        assertFalse(SalesSnapshot.load(snapshot).hasCents());
+    }
+
+    /**
+     * Tests that the overflow check still applies to a cents table loaded from a snapshot.
+     */
+    @Test
+    public void testSnapshotKeepsOverflowCheck() throws IOException {
+        SalesTable.Builder huge = new SalesTable.Builder().amountsInCents();
+        huge.add(new SalesRecord("ORD-1", "Pen", "Office", "Europe", 5e16, 1, "2025-01-10"));
+        huge.add(new SalesRecord("ORD-2", "Pen", "Office", "Europe", 5e16, 1, "2025-01-10"));
+        String snapshot = tempDir.resolve("huge.snap").toString();
+        SalesSnapshot.write(huge.build(), snapshot);
+
+        SalesTable loaded = SalesSnapshot.load(snapshot);
+
+        assertThrows(ArithmeticException.class, () -> new SalesAnalysisService().getTotalSalesCents(loaded));
+    }
+
+    /**
+     * Tests that sub-cent amounts in a CSV file are rejected while loading a cents table.
+     */
+    @Test
+    public void testLoadRejectsSubCentAmounts() throws IOException {
+        Path file = tempDir.resolve("sales.csv");
+        Files.writeString(file, HEADER + "ORD-1,Pen,Office,Europe,1.005,1,2025-01-10\n");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> readCentsTable(file));
+        assertTrue(e.getMessage().contains("more than 2 decimal places"), e.getMessage());
+    }
+
+    /**
+     * Tests that records added as doubles are rounded to whole cents.
+     */
+    @Test
+    public void testRecordsRoundToCents() throws IOException {
+        List<SalesRecord> records = CSVReader.readSalesData("data/sales.csv");
+        SalesTable.Builder builder = new SalesTable.Builder().amountsInCents();
+        records.forEach(builder::add);
+        Map<String, Long> expected = records.stream().collect(Collectors.groupingBy(SalesRecord::getCategory,
+                Collectors.summingLong(record -> Math.round(record.getAmount() * 100))));
+
+        assertEquals(expected, new SalesAnalysisService().getSalesByCategoryCents(builder.build()));
+    }
+
+    /**
+     * Tests that cents totals overflowing a long fail instead of wrapping.
+     */
+    @Test
+    public void testDetectsOverflow() {
+        SalesTable.Builder huge = new SalesTable.Builder().amountsInCents();
+        huge.add(new SalesRecord("ORD-1", "Pen", "Office", "Europe", 5e16, 1, "2025-01-10"));
+        huge.add(new SalesRecord("ORD-2", "Pen", "Office", "Europe", 5e16, 1, "2025-01-10"));
+        SalesTable table = huge.build();
+
+        assertThrows(ArithmeticException.class, () -> new SalesAnalysisService().getTotalSalesCents(table));
+        assertThrows(ArithmeticException.class, () -> new SalesAnalysisService().getSalesByCategoryCents(table));
+    }
+
+    private Path writeTenCentRows() throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 10_000; i++) {
+            csv.append("ORD-").append(i).append(i % 2 == 0 ? ",Pen,Office,Europe," : ",Ink,Office,Asia,")
+                    .append("0.10,1,2025-01-10\n");
+        }
+        Path file = tempDir.resolve("sales.csv");
+        Files.writeString(file, csv);
+        return file;
+    }
+
+    private static SalesTable readCentsTable(Path file) throws IOException {
+        SalesTable.Builder builder = new SalesTable.Builder().amountsInCents();
+        MappedCSVParser.parse(file.toString(), builder::add);
+        return builder.build();
+    }
+}
@@ -0,0 +1,178 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SortedMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for typed order dates, time buckets and DateIndex.
+ *
+ * @author sawan chakraborty
+ */
+public class DateIndexTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 10);
+    private static final LocalDate TO = LocalDate.of(2025, 2, 1);
+
+    private List<SalesRecord> records;
+    private SalesTable table;
+    private DateIndex index;
+    private SalesAnalysisService service;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        records = CSVReader.readSalesData("data/sales.csv");
+        table = SalesTable.fromRecords(records);
+        index = DateIndex.build(table);
+        service = new SalesAnalysisService();
+    }
+
+    /**
+     * Tests that order dates are stored as epoch days.
+     */
+    @Test
+    public void testOrderEpochDay() {
+        assertEquals(LocalDate.of(2025, 1, 5).toEpochDay(), table.getOrderEpochDay(0));
+    }
+
+    /**
+     * Tests that every bucket size adds up to the total sales.
+     */
+    @Test
+    public void testBucketsAddUpToTotal() {
+        double total = service.getTotalSales(records);
+        for (TimeBucket bucket : TimeBucket.values()) {
+            SortedMap<LocalDate, Double> byPeriod = service.getSalesByPeriod(table, bucket);
+            assertEquals(total, byPeriod.values().stream().mapToDouble(Double::doubleValue).sum(), 1e-6, bucket.name());
+        }
+    }
+
+    /**
+     * Tests that each record falls in the bucket starting on its day, Monday or first of month.
+     */
+    @Test
+    public void testBucketStarts() {
+        for (TimeBucket bucket : TimeBucket.values()) {
+            SortedMap<LocalDate, Double> byPeriod = service.getSalesByPeriod(table, bucket);
+            for (SalesRecord record : records) {
+                LocalDate date = LocalDate.parse(record.getOrderDate());
+                LocalDate start = switch (bucket) {
+                    case DAY -> date;
+                    case WEEK -> date.with(DayOfWeek.MONDAY);
+                    case MONTH -> date.withDayOfMonth(1);
+                };
+                assertTrue(byPeriod.containsKey(start), bucket + " should contain " + start);
+            }
+        }
+    }
+
+    /**
+     * Tests one monthly total against a per-record computation.
+     */
+    @Test
+    public void testMonthlyTotal() {
+        double january = records.stream().filter(r -> r.getOrderDate().startsWith("2025-01"))
+                .mapToDouble(SalesRecord::getAmount).sum();
+
+        assertEquals(january, service.getSalesByPeriod(table, TimeBucket.MONTH).get(LocalDate.of(2025, 1, 1)), 1e-9);
+    }
+
+    /**
+     * Tests that range counts and rows match a filter over the parsed dates.
+     */
+    @Test
+    public void testRangeRows() {
+        List<SalesRecord> expected = inRange(records);
+
+        assertEquals(records.size(), index.size());
+        assertEquals(expected.size(), index.countInRange(FROM, TO));
+        assertEquals(expected.size(), index.getRows(FROM, TO).getCardinality());
+    }
+
+    /**
+     * Tests that range totals match a filter over the parsed dates.
+     */
+    @Test
+    public void testRangeTotals() {
+        double expected = service.getTotalSales(inRange(records));
+
+        assertEquals(expected, index.getTotalSales(FROM, TO), 1e-9);
+        assertEquals(expected, service.getTotalSales(table, index.getRows(FROM, TO)), 1e-9);
+    }
+
+    /**
+     * Tests that bucketing a range's rows equals the same days of the full bucketing.
+     */
+    @Test
+    public void testRangeBuckets() {
+        assertEquals(service.getSalesByPeriod(table, index.getRows(FROM, TO), TimeBucket.DAY),
+                service.getSalesByPeriod(table, TimeBucket.DAY).subMap(FROM, TO));
+    }
+
+    /**
+     * Tests inverted ranges and missing bounds.
+     */
+    @Test
+    public void testInvalidRanges() {
+        assertEquals(0, index.countInRange(TO, FROM));
+        assertThrows(IllegalArgumentException.class, () -> index.countInRange(null, TO));
+    }
+
+    /**
+     * Tests that unparseable dates are kept as strings but left out of the index.
+     */
+    @Test
+    public void testInvalidDatesKeptAsStrings() {
+        SalesTable mixed = mixedDates();
+        DateIndex mixedIndex = DateIndex.build(mixed);
+
+        assertEquals(SalesTable.NO_DATE, mixed.getOrderEpochDay(1));
+        assertEquals("31/03/2025", mixed.getOrderDate(1));
+        assertEquals(2, mixedIndex.size());
+        assertEquals(LocalDate.of(2025, 3, 31), mixedIndex.getFirstDate());
+        assertEquals(LocalDate.of(2025, 4, 1), mixedIndex.getLastDate());
+    }
+
+    /**
+     * Tests that unparseable dates are left out of time buckets.
+     */
+    @Test
+    public void testInvalidDatesExcludedFromBuckets() {
+        SalesTable mixed = mixedDates();
+
+        assertEquals(List.of(100.0, 25.0), List.copyOf(service.getSalesByPeriod(mixed, TimeBucket.MONTH).values()));
+        assertEquals(125.0, service.getSalesByPeriod(mixed, TimeBucket.WEEK).get(LocalDate.of(2025, 3, 31)));
+    }
+
+    /**
+     * Tests an index over no rows.
+     */
+    @Test
+    public void testEmptyIndex() {
+        DateIndex empty = DateIndex.build(SalesTable.fromRecords(List.of()));
+
+        assertEquals(0, empty.size());
+        assertNull(empty.getFirstDate());
+        assertEquals(0, empty.countInRange(FROM, TO));
+    }
+
+    private static List<SalesRecord> inRange(List<SalesRecord> records) {
+        return records.stream()
+                .filter(r -> !LocalDate.parse(r.getOrderDate()).isBefore(FROM) && LocalDate.parse(r.getOrderDate()).isBefore(TO))
+                .toList();
+    }
+
+    private static SalesTable mixedDates() {
+        return SalesTable.fromRecords(List.of(
+                new SalesRecord("ORD-1", "Laptop", "Electronics", "Europe", 100.0, 1, "2025-03-31"),
+                new SalesRecord("ORD-2", "Laptop", "Electronics", "Europe", 50.0, 1, "31/03/2025"),
+                new SalesRecord("ORD-3", "Laptop", "Electronics", "Europe", 25.0, 1, "2025-04-01")));
+    }
+}
@@ -0,0 +1,225 @@
+package io.github.sawanc.assignment2;
+
+import com.sun.management.UnixOperatingSystemMXBean;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for ExternalAggregator.
+ *
+ * @author sawan chakraborty
+ */
+public class ExternalAggregatorTest extends SalesTestSupport {
+
+    /**
+     * Tests that spilled and merged groups equal an in-memory aggregation.
+     */
+    @Test
+    public void testSpilledGroupsMatchInMemory() throws IOException {
+        Random random = new Random(5);
+        Map<String, double[]> expected = new HashMap<>(); // count, sum, min, max
+        Map<String, ExternalAggregator.Group> actual = new HashMap<>();
+        try (ExternalAggregator aggregator = new ExternalAggregator(64 * 1024, tempDir, 8)) {
+            for (int i = 0; i < 50_000; i++) {
+                String key = "K" + random.nextInt(10_000);
+                double value = random.nextInt(100_000) / 100.0;
+                aggregator.add(key, value);
+                expected.merge(key, new double[]{1, value, value, value}, (a, b) ->
+                        new double[]{a[0] + 1, a[1] + b[1], Math.min(a[2], b[2]), Math.max(a[3], b[3])});
+            }
+            assertTrue(aggregator.getSpillCount() > 1, "Expected repeated spills: " + aggregator);
+            aggregator.forEachGroup(group -> actual.put(group.getKey(), group));
+        }
+
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((key, stats) -> {
+            ExternalAggregator.Group group = actual.get(key);
+            assertEquals((long) stats[0], group.getCount(), key);
+            assertEquals(stats[1], group.getSum(), 1e-6, key);
+            assertEquals(stats[2], group.getMin(), key);
+            assertEquals(stats[3], group.getMax(), key);
+        });
+    }
+
+    /**
+     * Tests that sums are compensated and do not change with the budget or the spill order.
+     */
+    @Test
+    public void testSumsDoNotDependOnBudget() throws IOException {
+        for (long budget : List.of(4L * 1024, 1024L * 1024)) {
+            try (ExternalAggregator aggregator = new ExternalAggregator(budget, tempDir, 4)) {
+                for (int i = 0; i < 100_000; i++) {
+                    aggregator.add("K" + (i % 1_000), 0.1);
+                }
+                aggregator.forEachGroup(group -> assertEquals(10.0, group.getSum(), 0.0, group.toString()));
+            }
+        }
+    }
+
+    /**
+     * Tests that every temporary file is deleted once the groups have been read.
+     */
+    @Test
+    public void testDeletesSpillFiles() throws IOException {
+        try (ExternalAggregator aggregator = new ExternalAggregator(4 * 1024, tempDir, 4)) {
+            for (int i = 0; i < 10_000; i++) {
+                aggregator.add("K" + i, 1.0);
+            }
+            aggregator.forEachGroup(group -> { });
+        }
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count(), "Spill files should be deleted");
+        }
+    }
+
+    /**
+     * Tests that partitions larger than the budget are re-partitioned.
+     */
+    @Test
+    public void testRepartitionsOversizedPartitions() throws IOException {
+        Map<String, Long> counts = new HashMap<>();
+        try (ExternalAggregator aggregator = new ExternalAggregator(4 * 1024, tempDir, 2)) {
+            for (int i = 0; i < 30_000; i++) {
+                aggregator.add("K" + (i % 10_000), 1.0);
+            }
+            long spillsBeforeMerge = aggregator.getSpillCount();
+            aggregator.forEachGroup(group -> counts.put(group.getKey(), group.getCount()));
+            assertTrue(aggregator.getSpillCount() > spillsBeforeMerge + 1, "Expected re-partitioning");
+        }
+
+        assertEquals(10_000, counts.size());
+        assertTrue(counts.values().stream().allMatch(count -> count == 3));
+    }
+
+    /**
+     * Tests that a budget large enough for all groups never touches disk.
+     */
+    @Test
+    public void testSmallInputStaysInMemory() throws IOException {
+        try (ExternalAggregator aggregator = new ExternalAggregator(1024 * 1024, tempDir, 4)) {
+            aggregator.add("A", 2.0);
+            aggregator.add("A", 4.0);
+            aggregator.forEachGroup(group -> assertEquals(3.0, group.getAverage()));
+            assertEquals(0, aggregator.getSpillCount());
+        }
+    }
+
+    /**
+     * Tests that the groups can only be read once and no values are accepted afterwards.
+     */
+    @Test
+    public void testProducesGroupsOnce() throws IOException {
+        try (ExternalAggregator aggregator = new ExternalAggregator(1024, tempDir, 4)) {
+            aggregator.add("A", 1.0);
+            aggregator.forEachGroup(group -> { });
+
+            assertThrows(IllegalStateException.class, () -> aggregator.add("A", 1.0));
+            assertThrows(IllegalStateException.class, () -> aggregator.forEachGroup(group -> { }));
+        }
+    }
+
+    /**
+     * Tests that a merge failing on a corrupt partition leaves no spill stream open.
+     */
+    @Test
+    public void testFailedMergeClosesSpillStreams() throws IOException {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        assumeTrue(os instanceof UnixOperatingSystemMXBean, "Needs open file descriptor counts");
+        UnixOperatingSystemMXBean unix = (UnixOperatingSystemMXBean) os;
+
+        long[] openBefore = {-1};
+        try (ExternalAggregator aggregator = new ExternalAggregator(2 * 1024, tempDir, 2)) {
+            for (int i = 0; i < 5_000; i++) {
+                aggregator.add("K" + i, 1.0);
+            }
+            // On the first group, cut the last record of the largest partition still on disk short;
+            // it needs re-partitioning, so its merge fails with overflow files open
+            IOException failure = assertThrows(IOException.class, () -> aggregator.forEachGroup(group -> {
+                if (openBefore[0] < 0) {
+                    openBefore[0] = unix.getOpenFileDescriptorCount();
+                    truncateLargestSpillFile();
+                }
+            }));
+
+            assertTrue(openBefore[0] >= 0, "Expected some groups before the failure: " + failure);
+            assertEquals(openBefore[0], unix.getOpenFileDescriptorCount(), "Overflow streams should be closed");
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count(), "close() should delete every spill file");
+        }
+    }
+
+    private void truncateLargestSpillFile() {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            Path largest = files.max(Comparator.comparingLong(ExternalAggregatorTest::size)).orElseThrow();
+            try (FileChannel channel = FileChannel.open(largest, StandardOpenOption.WRITE)) {
+                channel.truncate(channel.size() - 1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Tests constructor argument validation.
+     */
+    @Test
+    public void testRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ExternalAggregator(0, tempDir, 4));
+        assertThrows(IllegalArgumentException.class, () -> new ExternalAggregator(1024, tempDir, 1));
+        assertThrows(IOException.class, () -> new ExternalAggregator(1024, tempDir.resolve("missing"), 4));
+    }
+
+    /**
+     * Tests the service's memory-bounded group-by over a streamed CSV file.
+     */
+    @Test
+    public void testServiceForEachGroup() throws IOException {
+        SalesAnalysisService service = new SalesAnalysisService();
+        Map<String, Double> expected = CSVReader.readSalesData("data/sales.csv").stream()
+                .collect(Collectors.groupingBy(SalesRecord::getProduct, Collectors.summingDouble(SalesRecord::getAmount)));
+        Map<String, Double> actual = new HashMap<>();
+        try (Stream<SalesRecord> records = CSVReader.streamSalesData("data/sales.csv")) {
+            service.forEachGroup(records, SalesRecord::getProduct, SalesMetric.REVENUE, 1024,
+                    group -> actual.put(group.getKey(), group.getSum()));
+        }
+
+        assertMapsClose(expected, actual);
+    }
+
+    /**
+     * Tests that the service rejects a null metric.
+     */
+    @Test
+    public void testServiceRejectsNullMetric() {
+        assertThrows(IllegalArgumentException.class, () -> new SalesAnalysisService().forEachGroup(Stream.empty(),
+                SalesRecord::getProduct, null, 1024, group -> { }));
+    }
+}
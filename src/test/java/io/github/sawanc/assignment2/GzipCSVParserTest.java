@@ -0,0 +1,207 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GzipCSVParser and transparent gzip input in the CSV readers.
+ *
+ * @author sawan chakraborty
+ */
+public class GzipCSVParserTest extends SalesTestSupport {
+
+    /**
+     * Tests gzip detection by magic bytes.
+     */
+    @Test
+    public void testIsGzip() throws IOException {
+        assertTrue(GzipCSVParser.isGzip(writePlainGzip()));
+        assertFalse(GzipCSVParser.isGzip(Path.of("data/sales.csv")));
+    }
+
+    /**
+     * Tests that CSVReader reads a plain gzip file like the uncompressed one.
+     */
+    @Test
+    public void testCSVReaderReadsGzip() throws IOException {
+        assertEquals(expected(), CSVReader.readSalesData(writePlainGzip().toString()).toString());
+    }
+
+    /**
+     * Tests that the streaming reader decompresses on the fly.
+     */
+    @Test
+    public void testStreamReadsGzip() throws IOException {
+        try (Stream<SalesRecord> stream = CSVReader.streamSalesData(writePlainGzip().toString())) {
+            assertEquals(expected(), stream.toList().toString());
+        }
+    }
+
+    /**
+     * Tests that the memory-mapped parser falls back to decompression for gzip input.
+     */
+    @Test
+    public void testMappedParserReadsGzip() throws IOException {
+        assertEquals(expected(), MappedCSVParser.readSalesData(writePlainGzip().toString()).toString());
+    }
+
+    /**
+     * Tests that the parallel loader reads a plain gzip file.
+     */
+    @Test
+    public void testParallelLoaderReadsGzip() throws IOException {
+        assertEquals(expected(), ParallelCSVLoader.readSalesData(writePlainGzip().toString()).toString());
+    }
+
+    /**
+     * Tests that tables and datasets accept gzip files.
+     */
+    @Test
+    public void testTableAndDatasetReadGzip() throws IOException {
+        Path gz = writePlainGzip();
+
+        assertEquals(100, CSVReader.readSalesTable(gz.toString()).size());
+        assertEquals(1, SalesDataset.load(tempDir.toString()).getPartitions().size());
+    }
+
+    /**
+     * Tests that the BGZF block index covers the whole file in many blocks.
+     */
+    @Test
+    public void testBgzfBlockIndex() throws IOException {
+        Path bgzf = tempDir.resolve("large.csv.gz");
+        GzipCSVParser.compress(writeLargeCsv().toString(), bgzf.toString());
+
+        try (FileChannel channel = FileChannel.open(bgzf)) {
+            long[] blocks = GzipCSVParser.bgzfBlocks(channel);
+            assertTrue(blocks.length > 10, "Expected many blocks, got " + blocks.length);
+            assertEquals(0, blocks[0]);
+            assertEquals(Files.size(bgzf), blocks[blocks.length - 1]);
+        }
+    }
+
+    /**
+     * Tests that BGZF blocks decompressed in parallel give the same rows, including quoted rows
+     * that straddle block boundaries.
+     */
+    @Test
+    public void testBgzfBlocksDecompressInParallel() throws IOException {
+        Path plain = writeLargeCsv();
+        Path bgzf = tempDir.resolve("large.csv.gz");
+        GzipCSVParser.compress(plain.toString(), bgzf.toString());
+
+        List<SalesRecord> records = new ArrayList<>();
+        StringDictionary dictionary = new StringDictionary();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            long rows = GzipCSVParser.parse(bgzf.toString(), pool, row -> records.add(row.toSalesRecord(dictionary)));
+            assertEquals(20_000, rows);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(MappedCSVParser.readSalesData(plain.toString()).toString(), records.toString());
+    }
+
+    /**
+     * Tests that BGZF output is still ordinary multi-member gzip for the streaming reader.
+     */
+    @Test
+    public void testBgzfIsMultiMemberGzip() throws IOException {
+        Path plain = writeLargeCsv();
+        Path bgzf = tempDir.resolve("large.csv.gz");
+        GzipCSVParser.compress(plain.toString(), bgzf.toString());
+
+        assertEquals(MappedCSVParser.readSalesData(plain.toString()).toString(),
+                CSVReader.readSalesData(bgzf.toString()).toString());
+    }
+
+    /**
+     * Tests that a block with corrupt compressed data is rejected.
+     */
+    @Test
+    public void testRejectsCorruptBlock() throws IOException {
+        byte[] corrupt = bgzfSample();
+        corrupt[40] ^= 0x55;
+        Path path = tempDir.resolve("corrupt.csv.gz");
+        Files.write(path, corrupt);
+
+        assertThrows(IllegalArgumentException.class, () -> GzipCSVParser.parse(path.toString(), row -> { }));
+    }
+
+    /**
+     * Tests that a file cut off inside a block is rejected.
+     */
+    @Test
+    public void testRejectsTruncatedBlock() throws IOException {
+        byte[] bytes = bgzfSample();
+        Path path = tempDir.resolve("truncated.csv.gz");
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 40));
+
+        assertThrows(IllegalArgumentException.class, () -> GzipCSVParser.parse(path.toString(), row -> { }));
+    }
+
+    /**
+     * Tests that an archive without even a header is rejected.
+     */
+    @Test
+    public void testRejectsEmptyArchive() throws IOException {
+        Path path = tempDir.resolve("empty.csv.gz");
+        new GZIPOutputStream(Files.newOutputStream(path)).close();
+
+        assertThrows(IllegalArgumentException.class, () -> CSVReader.readSalesTable(path.toString()));
+    }
+
+    /**
+     * Tests that a missing file is reported as an IOException.
+     */
+    @Test
+    public void testRejectsMissingFile() {
+        assertThrows(IOException.class, () -> GzipCSVParser.parse(tempDir.resolve("missing.gz").toString(), row -> { }));
+    }
+
+    private static String expected() throws IOException {
+        return CSVReader.readSalesData("data/sales.csv").toString();
+    }
+
+    private Path writePlainGzip() throws IOException {
+        Path gz = tempDir.resolve("sales.csv.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gz))) {
+            Files.copy(Path.of("data/sales.csv"), out);
+        }
+        return gz;
+    }
+
+    private Path writeLargeCsv() throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 20_000; i++) {
+            String product = i % 7 == 0 ? "\"Desk, \"\"Oak\"\"\nEdition\"" : "Product" + (i % 50);
+            csv.append("ORD-").append(i).append(',').append(product).append(",Furniture,Region")
+                    .append(i % 5).append(',').append(i % 1000).append(".25,").append(1 + i % 3)
+                    .append(",2025-01-").append(10 + i % 20).append('\n');
+        }
+        Path plain = tempDir.resolve("large.csv");
+        Files.writeString(plain, csv);
+        return plain;
+    }
+
+    private byte[] bgzfSample() throws IOException {
+        Path plain = tempDir.resolve("sales.csv");
+        Files.copy(Path.of("data/sales.csv"), plain);
+        Path bgzf = tempDir.resolve("sales.csv.gz");
+        GzipCSVParser.compress(plain.toString(), bgzf.toString());
+        return Files.readAllBytes(bgzf);
+    }
+}
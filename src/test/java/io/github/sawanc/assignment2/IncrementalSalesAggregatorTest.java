@@ -0,0 +1,187 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IncrementalSalesAggregator.
+ *
+ * @author sawan chakraborty
+ */
+public class IncrementalSalesAggregatorTest extends SalesTestSupport {
+    private static final SalesRecord LAPTOP =
+            new SalesRecord("ORD-001", "Laptop", "Electronics", "Europe", 1200.0, 1, "2025-01-01");
+    private static final SalesRecord DESK =
+            new SalesRecord("ORD-002", "Desk", "Furniture", "Asia", 450.0, 1, "2025-01-02");
+    private static final SalesRecord LAPTOP_ASIA =
+            new SalesRecord("ORD-003", "Laptop", "Electronics", "Asia", 1000.0, 1, "2025-01-03");
+
+    /**
+     * Tests that running aggregates match a full recomputation.
+     */
+    @Test
+    public void testMatchesFullRecomputation() throws IOException {
+        List<SalesRecord> records = CSVReader.readSalesData("data/sales.csv");
+        SalesAnalysisService service = new SalesAnalysisService();
+        IncrementalSalesAggregator aggregator = new IncrementalSalesAggregator();
+
+        aggregator.appendAll(records);
+
+        assertEquals(100, aggregator.getRecordCount());
+        assertEquals(service.getTotalSales(records), aggregator.getTotalSales(), 1e-9);
+        assertMapsClose(service.getSalesByCategory(records), aggregator.getSalesByCategory());
+        assertMapsClose(service.getSalesByRegion(records), aggregator.getSalesByRegion());
+        assertMapsClose(service.getAverageSalesPerProduct(records), aggregator.getAverageSalesPerProduct());
+    }
+
+    /**
+     * Tests that retracting records updates every aggregate.
+     */
+    @Test
+    public void testRetractUpdatesAggregates() {
+        IncrementalSalesAggregator aggregator = threeRecords();
+
+        aggregator.retract(DESK);
+        aggregator.retract(LAPTOP);
+
+        assertEquals(1, aggregator.getRecordCount());
+        assertEquals(1000.0, aggregator.getTotalSales(), 1e-9);
+        assertEquals(Map.of("Laptop", 1000.0), aggregator.getAverageSalesPerProduct());
+    }
+
+    /**
+     * Tests that groups whose last record is retracted disappear from the results.
+     */
+    @Test
+    public void testRetractRemovesEmptyGroups() {
+        IncrementalSalesAggregator aggregator = threeRecords();
+
+        aggregator.retract(DESK);
+        aggregator.retract(LAPTOP);
+
+        assertEquals(Map.of("Electronics", 1000.0), aggregator.getSalesByCategory());
+        assertEquals(Map.of("Asia", 1000.0), aggregator.getSalesByRegion());
+    }
+
+    /**
+     * Tests that a record whose group has no rows cannot be retracted.
+     */
+    @Test
+    public void testRejectsRetractFromEmptyGroup() {
+        IncrementalSalesAggregator aggregator = threeRecords();
+        aggregator.retract(DESK);
+
+        assertThrows(IllegalStateException.class, () -> aggregator.retract(DESK));
+        assertThrows(IllegalStateException.class, () -> aggregator.retract(
+                new SalesRecord("ORD-004", "Laptop", "Electronics", "Oceania", 1000.0, 1, "2025-01-04")));
+    }
+
+    /**
+     * Tests that an amount outside the amounts appended to a group cannot be retracted.
+     */
+    @Test
+    public void testRejectsRetractOutsideAmountRange() {
+        IncrementalSalesAggregator aggregator = threeRecords();
+
+        assertThrows(IllegalStateException.class, () -> aggregator.retract(
+                new SalesRecord("ORD-004", "Laptop", "Electronics", "Asia", 999.0, 1, "2025-01-04")));
+        assertThrows(IllegalStateException.class, () -> aggregator.retract(
+                new SalesRecord("ORD-004", "Laptop", "Electronics", "Europe", 1300.0, 1, "2025-01-04")));
+    }
+
+    /**
+     * Tests that a rejected retraction leaves every aggregate unchanged.
+     */
+    @Test
+    public void testRejectedRetractChangesNothing() {
+        IncrementalSalesAggregator aggregator = threeRecords();
+        IncrementalSalesAggregator.Snapshot before = aggregator.snapshot();
+
+        assertThrows(IllegalStateException.class, () -> aggregator.retract(
+                new SalesRecord("ORD-004", "Laptop", "Electronics", "Oceania", 1000.0, 1, "2025-01-04")));
+
+        IncrementalSalesAggregator.Snapshot after = aggregator.snapshot();
+        assertEquals(before.getRecordCount(), after.getRecordCount());
+        assertEquals(before.getTotalSales(), after.getTotalSales());
+        assertEquals(before.getSalesByCategory(), after.getSalesByCategory());
+        assertEquals(before.getSalesByRegion(), after.getSalesByRegion());
+        assertEquals(before.getAverageSalesPerProduct(), after.getAverageSalesPerProduct());
+    }
+
+    /**
+     * Tests that null records are rejected.
+     */
+    @Test
+    public void testRejectsNullRecords() {
+        IncrementalSalesAggregator aggregator = new IncrementalSalesAggregator();
+
+        assertThrows(IllegalArgumentException.class, () -> aggregator.append(null));
+        assertThrows(IllegalArgumentException.class, () -> aggregator.retract(null));
+    }
+
+    /**
+     * Tests that clear() resets every aggregate.
+     */
+    @Test
+    public void testClear() {
+        IncrementalSalesAggregator aggregator = threeRecords();
+
+        aggregator.clear();
+
+        assertEquals(0, aggregator.getRecordCount());
+        assertEquals(0.0, aggregator.getTotalSales());
+        assertTrue(aggregator.getSalesByCategory().isEmpty());
+        assertThrows(IllegalStateException.class, () -> aggregator.retract(DESK));
+    }
+
+    /**
+     * Tests that snapshots stay internally consistent while another thread writes.
+     */
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    public void testConsistentSnapshotsDuringWrites() throws InterruptedException {
+        IncrementalSalesAggregator aggregator = new IncrementalSalesAggregator();
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                SalesRecord record = new SalesRecord("ORD-" + i, "P" + (i % 10), "C" + (i % 3), "R" + (i % 4),
+                        1.0, 1, "2025-01-01");
+                aggregator.append(record);
+                if (i % 3 == 0) {
+                    aggregator.retract(record);
+                }
+            }
+        });
+        Thread reader = new Thread(() -> {
+            while (writer.isAlive() && failure.get() == null) {
+                IncrementalSalesAggregator.Snapshot snapshot = aggregator.snapshot();
+                double categoryTotal = snapshot.getSalesByCategory().values().stream().mapToDouble(Double::doubleValue).sum();
+                if (categoryTotal != snapshot.getTotalSales() || snapshot.getTotalSales() != snapshot.getRecordCount()) {
+                    failure.set("Inconsistent snapshot: " + snapshot.getTotalSales() + " vs " + categoryTotal);
+                }
+            }
+        });
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+
+        assertNull(failure.get(), failure.get());
+        assertEquals(20_000 - 6_667, aggregator.getRecordCount());
+    }
+
+    private static IncrementalSalesAggregator threeRecords() {
+        IncrementalSalesAggregator aggregator = new IncrementalSalesAggregator();
+        aggregator.appendAll(List.of(LAPTOP, DESK, LAPTOP_ASIA));
+        return aggregator;
+    }
+}
@@ -0,0 +1,219 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LenientCSVReader.
+ *
+ * @author sawan chakraborty
+ */
+public class LenientCSVReaderTest extends SalesTestSupport {
+
+    private static final String COLUMN_COUNT_REASON =
+            "Expected 7 columns (order_id, product, category, region, amount, quantity, order_date), but found 4";
+
+    /**
+     * Tests that only the good rows reach the table, including a quoted line break.
+     */
+    @Test
+    public void testKeepsGoodRows() throws IOException {
+        SalesTable.Builder builder = new SalesTable.Builder();
+        new LenientCSVReader.Builder().build().readSalesTable(writeMixedRows().toString(), builder);
+        SalesTable table = builder.build();
+
+        assertEquals(List.of("ORD-1", "ORD-3", "ORD-6"),
+                List.of(table.getOrderId(0), table.getOrderId(1), table.getOrderId(2)));
+        assertEquals("Desk\nOak", table.getProduct(1));
+    }
+
+    /**
+     * Tests the accepted and rejected counts of the report.
+     */
+    @Test
+    public void testReportCounts() throws IOException {
+        LenientCSVReader.Report report = new LenientCSVReader.Builder().build()
+                .readSalesTable(writeMixedRows().toString(), new SalesTable.Builder());
+
+        assertEquals(3, report.getAcceptedRows());
+        assertEquals(3, report.getRejectedRows());
+        assertEquals(6, report.getTotalRows());
+        assertEquals(0.5, report.getErrorRate());
+    }
+
+    /**
+     * Tests that rejections are counted per reason without the offending value.
+     */
+    @Test
+    public void testRejectedByReason() throws IOException {
+        LenientCSVReader.Report report = new LenientCSVReader.Builder().build()
+                .readSalesTable(writeMixedRows().toString(), new SalesTable.Builder());
+
+        assertEquals(Map.of("Invalid amount value", 1L, "CSV row contains empty fields", 1L, COLUMN_COUNT_REASON, 1L),
+                report.getRejectedByReason());
+    }
+
+    /**
+     * Tests the quarantine file's line numbers, reasons and escaped raw rows.
+     */
+    @Test
+    public void testQuarantineFile() throws IOException {
+        Path quarantine = tempDir.resolve("rejected.tsv");
+        LenientCSVReader.Report report = new LenientCSVReader.Builder()
+                .quarantineFile(quarantine)
+                .build()
+                .readSalesTable(writeMixedRows().toString(), new SalesTable.Builder());
+
+        assertEquals(quarantine, report.getQuarantineFile());
+        // The quoted line break in ORD-3 shifts later rows down by one line
+        assertEquals(List.of(
+                LenientCSVReader.QUARANTINE_HEADER,
+                "3\tInvalid amount value: abc\tORD-2,Ink,Office,Europe,abc,1,2025-01-11",
+                "6\t" + COLUMN_COUNT_REASON + "\tORD-4,Lamp,Furniture\\tHome,Asia",
+                "7\tCSV row contains empty fields\tORD-5,Chair,Furniture,Asia,150.0,,2025-01-13"),
+                Files.readAllLines(quarantine));
+    }
+
+    /**
+     * Tests that the error-rate limit aborts the read once past the minimum sample.
+     */
+    @Test
+    public void testErrorRateLimitAborts() throws IOException {
+        Path csv = writeEveryFourthRowBad();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> new LenientCSVReader.Builder()
+                .maxErrorRate(0.1, 100)
+                .build()
+                .forEachSalesRecord(csv.toString(), record -> { }));
+        // The rate is checked on each rejection; the first one past 100 rows is row 101
+        assertTrue(e.getMessage().contains("after 101 rows (26 rejected)"), e.getMessage());
+    }
+
+    /**
+     * Tests that rows rejected before an abort are still quarantined.
+     */
+    @Test
+    public void testAbortKeepsQuarantinedRows() throws IOException {
+        Path csv = writeEveryFourthRowBad();
+        Path quarantine = tempDir.resolve("rejected.tsv");
+
+        assertThrows(IllegalArgumentException.class, () -> new LenientCSVReader.Builder()
+                .quarantineFile(quarantine)
+                .maxErrorRate(0.1, 100)
+                .build()
+                .forEachSalesRecord(csv.toString(), record -> { }));
+        assertEquals(1 + 26, Files.readAllLines(quarantine).size());
+    }
+
+    /**
+     * Tests that an error rate within the limit reads the whole file.
+     */
+    @Test
+    public void testErrorRateWithinLimit() throws IOException {
+        List<SalesRecord> records = new ArrayList<>();
+        LenientCSVReader.Report report = new LenientCSVReader.Builder()
+                .maxErrorRate(0.3, 100)
+                .build()
+                .forEachSalesRecord(writeEveryFourthRowBad().toString(), records::add);
+
+        assertEquals(750, records.size());
+        assertEquals(250, report.getRejectedRows());
+        assertNull(report.getQuarantineFile());
+    }
+
+    /**
+     * Tests that the limit is not applied before the minimum sample.
+     */
+    @Test
+    public void testErrorRateIgnoredBeforeMinimumSample() throws IOException {
+        Path csv = tempDir.resolve("sales.csv");
+        Files.writeString(csv, HEADER + "ORD-1,Pen,Office,Europe,x,1,2025-01-10\n");
+
+        LenientCSVReader.Report report = new LenientCSVReader.Builder()
+                .maxErrorRate(0.0, 10)
+                .build()
+                .forEachSalesRecord(csv.toString(), record -> { });
+        assertEquals(1.0, report.getErrorRate());
+    }
+
+    /**
+     * Tests builder argument validation.
+     */
+    @Test
+    public void testRejectsInvalidErrorRate() {
+        assertThrows(IllegalArgumentException.class, () -> new LenientCSVReader.Builder().maxErrorRate(1.5, 0));
+        assertThrows(IllegalArgumentException.class, () -> new LenientCSVReader.Builder().maxErrorRate(-0.1, 0));
+    }
+
+    /**
+     * Tests that a clean gzip file reads exactly like the strict reader.
+     */
+    @Test
+    public void testCleanFileMatchesStrictReader() throws IOException {
+        Path gz = tempDir.resolve("sales.csv.gz");
+        GzipCSVParser.compress("data/sales.csv", gz.toString());
+        List<SalesRecord> records = new ArrayList<>();
+
+        LenientCSVReader.Report report = new LenientCSVReader.Builder()
+                .maxErrorRate(0.0, 0)
+                .build()
+                .forEachSalesRecord(gz.toString(), records::add);
+
+        assertEquals(CSVReader.readSalesData("data/sales.csv").toString(), records.toString());
+        assertEquals(100, report.getTotalRows());
+        assertEquals(0.0, report.getErrorRate());
+    }
+
+    /**
+     * Tests that a clean file leaves only the header in the quarantine file.
+     */
+    @Test
+    public void testCleanFileQuarantinesNothing() throws IOException {
+        LenientCSVReader.Report report = new LenientCSVReader.Builder()
+                .quarantineFile(tempDir.resolve("rejected.tsv"))
+                .build()
+                .forEachSalesRecord("data/sales.csv", record -> { });
+
+        assertEquals(List.of(LenientCSVReader.QUARANTINE_HEADER), Files.readAllLines(report.getQuarantineFile()));
+    }
+
+    /**
+     * Tests that a missing file is reported as an IOException.
+     */
+    @Test
+    public void testRejectsMissingFile() {
+        assertThrows(IOException.class, () -> new LenientCSVReader.Builder().build()
+                .forEachSalesRecord(tempDir.resolve("missing.csv").toString(), record -> { }));
+    }
+
+    private Path writeMixedRows() throws IOException {
+        Path csv = tempDir.resolve("sales.csv");
+        Files.writeString(csv, HEADER
+                + "ORD-1,Pen,Office,Europe,10.0,1,2025-01-10\n"
+                + "ORD-2,Ink,Office,Europe,abc,1,2025-01-11\n"
+                + "ORD-3,\"Desk\nOak\",Furniture,Asia,300.0,1,2025-01-12\n"
+                + "ORD-4,Lamp,Furniture\tHome,Asia\n"
+                + "ORD-5,Chair,Furniture,Asia,150.0,,2025-01-13\n"
+                + "ORD-6,Sofa,Furniture,Asia,900.0,2,2025-01-14");
+        return csv;
+    }
+
+    private Path writeEveryFourthRowBad() throws IOException {
+        StringBuilder data = new StringBuilder(HEADER);
+        for (int i = 0; i < 1_000; i++) {
+            data.append("ORD-").append(i).append(",Pen,Office,Europe,").append(i % 4 == 0 ? "x" : "1.0")
+                    .append(",1,2025-01-10\n");
+        }
+        Path csv = tempDir.resolve("sales.csv");
+        Files.writeString(csv, data);
+        return csv;
+    }
+}
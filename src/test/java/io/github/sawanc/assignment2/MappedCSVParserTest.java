@@ -0,0 +1,242 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MappedCSVParser and StringDictionary.
+ *
+ * @author sawan chakraborty
+ */
+public class MappedCSVParserTest {
+
+    /**
+     * Tests that the fast path produces the same records as the OpenCSV reader.
+     */
+    @Test
+    public void testMatchesCSVReaderOnSalesFile() throws IOException {
+        List<SalesRecord> expected = CSVReader.readSalesData("data/sales.csv");
+        List<SalesRecord> actual = MappedCSVParser.readSalesData("data/sales.csv");
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+            assertEquals(expected.get(i).getAmount(), actual.get(i).getAmount(), 0.0,
+                    "Amounts should be bit-identical to Double.parseDouble");
+        }
+    }
+
+    /**
+     * Tests quoted fields with embedded delimiters, doubled quotes and line breaks, plus CRLF endings.
+     */
+    @Test
+    public void testQuotedFieldsAndCrlf(@TempDir Path tempDir) throws IOException {
+        Path csvFile = tempDir.resolve("quoted.csv");
+        String csvContent = "order_id,product,category,region,amount,quantity,order_date\r\n"
+                + "ORD-001,\"Desk, Standing\",Furniture,\"North America\",\"450.00\",1,2025-01-07\r\n"
+                + "ORD-002,\"24\"\" Monitor\",Electronics,Europe,199.99, 2 ,2025-01-08\r\n"
+                + "ORD-003,\"Multi\nLine\",Stationery,Asia,5.5,3,2025-01-09";
+        Files.writeString(csvFile, csvContent);
+
+        List<SalesRecord> records = MappedCSVParser.readSalesData(csvFile.toString());
+
+        assertEquals(3, records.size());
+        assertEquals("Desk, Standing", records.get(0).getProduct());
+        assertEquals("North America", records.get(0).getRegion());
+        assertEquals(450.0, records.get(0).getAmount());
+        assertEquals("24\" Monitor", records.get(1).getProduct());
+        assertEquals(2, records.get(1).getQuantity());
+        assertEquals("2025-01-08", records.get(1).getOrderDate(), "CR should be trimmed from the last field");
+        assertEquals("Multi\nLine", records.get(2).getProduct());
+        assertEquals(5.5, records.get(2).getAmount());
+    }
+
+    /**
+     * Tests that non-ASCII text survives whitespace trimming on every fast path.
+     */
+    @Test
+    public void testNonAsciiFieldsMatchCSVReader(@TempDir Path tempDir) throws IOException {
+        Path csvFile = tempDir.resolve("utf8.csv");
+        Files.writeString(csvFile, "order_id,product,category,region,amount,quantity,order_date\n"
+                + "ORD-é1,Café,Électronique, Région Île ,10.5,1,2025-01-07\n"
+                + "ORD-2,\"Über, groß\",日本,Ελλάδα,20.0,2,2025-01-08\n");
+        String expected = CSVReader.readSalesData(csvFile.toString()).toString();
+
+        assertEquals("Café", CSVReader.readSalesData(csvFile.toString()).get(0).getProduct());
+        assertEquals(expected, MappedCSVParser.readSalesData(csvFile.toString()).toString());
+        assertEquals(expected, ParallelCSVLoader.readSalesData(csvFile.toString()).toString());
+        assertEquals(expected, CSVReader.readSalesTable(csvFile.toString()).toRecords().toString());
+    }
+
+    /**
+     * Tests that whitespace inside quotes is trimmed, as CSVReader trims every field.
+     */
+    @Test
+    public void testQuotedFieldsAreTrimmed(@TempDir Path tempDir) throws IOException {
+        Path csvFile = writeRows(tempDir, "ORD-001,\" Laptop \",\"Electronics\t\", \" Europe\" ,10,1,2025-01-07");
+
+        assertEquals("Laptop", MappedCSVParser.readSalesData(csvFile.toString()).get(0).getProduct());
+        assertSameRecords(csvFile);
+    }
+
+    /**
+     * Tests that text after a closing quote is kept the way OpenCSV keeps it.
+     */
+    @Test
+    public void testTextAfterClosingQuoteMatchesCSVReader(@TempDir Path tempDir) throws IOException {
+        Path csvFile = writeRows(tempDir,
+                "ORD-001,\"ab\"cd,Electronics,Europe,10,1,2025-01-07",
+                "ORD-002,\"24\"\" Monitor\" Pro,Electronics,Europe,20,2,2025-01-08",
+                "ORD-003,\"Desk\" ,Furniture,Asia,30,3,2025-01-09");
+
+        assertEquals("ab\"cd", MappedCSVParser.readSalesData(csvFile.toString()).get(0).getProduct());
+        assertSameRecords(csvFile);
+    }
+
+    /**
+     * Tests quotes inside unquoted fields and OpenCSV's backslash escapes.
+     */
+    @Test
+    public void testEmbeddedQuotesAndBackslashesMatchCSVReader(@TempDir Path tempDir) throws IOException {
+        Path csvFile = writeRows(tempDir,
+                "ORD-001,ab\"cd\",Electronics,Europe,10,1,2025-01-07",
+                "ORD-002,C:\\\\temp,Electronics,Europe,20,2,2025-01-08",
+                "ORD-003,\"say \\\"hi\\\"\",Furniture,Asia,30,3,2025-01-09");
+
+        assertSameRecords(csvFile);
+    }
+
+    /**
+     * Tests that a quote reopened after a closing quote is rejected rather than read into later rows.
+     */
+    @Test
+    public void testReopenedQuoteIsRejected(@TempDir Path tempDir) throws IOException {
+        Path csvFile = writeRows(tempDir,
+                "ORD-001,\"ab\"c\"d,Electronics,Europe,10,1,2025-01-07",
+                "ORD-002,Desk,Furniture,Asia,30,3,2025-01-09");
+
+        assertMessageContains(csvFile, "Unterminated quoted field");
+    }
+
+    /**
+     * Tests that rows crossing mapping windows are re-read from the next window.
+     */
+    @Test
+    public void testSmallWindowsGiveSameRows() throws IOException {
+        List<String> expected = new ArrayList<>();
+        MappedCSVParser.parse("data/sales.csv", row -> expected.add(row.toString()));
+
+        List<String> actual = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(Path.of("data/sales.csv"), StandardOpenOption.READ)) {
+            long rows = MappedCSVParser.parseRange(channel, 0, channel.size(), true, 16,
+                    row -> actual.add(row.toString()));
+            assertEquals(100, rows);
+        }
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Tests byte-level number parsing against the JDK parsers.
+     */
+    @Test
+    public void testNumberParsingMatchesJdk(@TempDir Path tempDir) throws IOException {
+        String[] amounts = {"0.1", "1200.50", "-3.25", "+7", "1.", ".5", "0.30000000000000004",
+                "123456789012345678901234", "1e3", "0.0000000000000000000000001"};
+        StringBuilder csv = new StringBuilder("order_id,product,category,region,amount,quantity,order_date\n");
+        for (int i = 0; i < amounts.length; i++) {
+            csv.append("ORD-").append(i).append(",P,C,R,").append(amounts[i]).append(",+").append(i).append(",D\n");
+        }
+        Path csvFile = tempDir.resolve("numbers.csv");
+        Files.writeString(csvFile, csv.toString());
+
+        List<SalesRecord> records = MappedCSVParser.readSalesData(csvFile.toString());
+
+        for (int i = 0; i < amounts.length; i++) {
+            assertEquals(Double.parseDouble(amounts[i]), records.get(i).getAmount(), 0.0, amounts[i]);
+            assertEquals(i, records.get(i).getQuantity());
+        }
+    }
+
+    /**
+     * Tests that validation errors match the OpenCSV reader's messages.
+     */
+    @Test
+    public void testMalformedRows(@TempDir Path tempDir) throws IOException {
+        String header = "order_id,product,category,region,amount,quantity,order_date\n";
+        Path wrongColumns = tempDir.resolve("columns.csv");
+        Files.writeString(wrongColumns, header + "ORD-001,Laptop,Electronics,North America\n");
+        Path badAmount = tempDir.resolve("amount.csv");
+        Files.writeString(badAmount, header + "ORD-001,Laptop,Electronics,North America,12x,1,2025-01-05\n");
+        Path badQuantity = tempDir.resolve("quantity.csv");
+        Files.writeString(badQuantity, header + "ORD-001,Laptop,Electronics,North America,12,99999999999,2025-01-05\n");
+        Path emptyField = tempDir.resolve("empty_field.csv");
+        Files.writeString(emptyField, header + "ORD-001,\"\",Electronics,North America,12,1,2025-01-05\n");
+        Path unterminated = tempDir.resolve("unterminated.csv");
+        Files.writeString(unterminated, header + "ORD-001,\"Laptop,Electronics,North America,12,1,2025-01-05\n");
+        Path empty = tempDir.resolve("empty.csv");
+        Files.writeString(empty, "");
+
+        assertMessageContains(wrongColumns, "Expected 7 columns");
+        assertMessageContains(badAmount, "Invalid amount value: 12x");
+        assertMessageContains(badQuantity, "Invalid quantity value");
+        assertMessageContains(emptyField, "empty fields");
+        assertMessageContains(unterminated, "Unterminated quoted field");
+        assertMessageContains(empty, "empty");
+        assertThrows(IOException.class, () -> MappedCSVParser.readSalesData("non_existent_file.csv"));
+    }
+
+    /**
+     * Tests that the dictionary assigns stable dense codes and shares String instances.
+     */
+    @Test
+    public void testStringDictionary() {
+        StringDictionary dictionary = new StringDictionary();
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            words.add("value-" + i);
+        }
+        for (String word : words) {
+            dictionary.encode(word);
+        }
+
+        assertEquals(1000, dictionary.size());
+        for (int i = 0; i < words.size(); i++) {
+            assertEquals(i, dictionary.encode(words.get(i)), "Re-encoding should return the original code");
+            assertEquals(words.get(i), dictionary.decode(i));
+        }
+        assertEquals(-1, dictionary.lookup("missing"));
+        assertSame(dictionary.decode(3), dictionary.decode(dictionary.lookup("value-3")));
+        assertThrows(IllegalArgumentException.class, () -> dictionary.decode(1000));
+    }
+
+    private static Path writeRows(Path dir, String... rows) throws IOException {
+        Path csvFile = dir.resolve("rows.csv");
+        Files.writeString(csvFile, "order_id,product,category,region,amount,quantity,order_date\n"
+                + String.join("\n", rows) + "\n");
+        return csvFile;
+    }
+
+    // Every entry point that parses through MappedCSVParser should agree with CSVReader
+    private static void assertSameRecords(Path csvFile) throws IOException {
+        String expected = CSVReader.readSalesData(csvFile.toString()).toString();
+        assertEquals(expected, MappedCSVParser.readSalesData(csvFile.toString()).toString());
+        assertEquals(expected, CSVReader.readSalesTable(csvFile.toString()).toRecords().toString());
+    }
+
+    private static void assertMessageContains(Path csvFile, String expected) {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> MappedCSVParser.readSalesData(csvFile.toString()));
+        assertTrue(exception.getMessage().contains(expected),
+                "Expected message containing '" + expected + "' but was: " + exception.getMessage());
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ParallelCSVLoader.
+ *
+ * @author sawan chakraborty
+ */
+public class ParallelCSVLoaderTest extends SalesTestSupport {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Tests that every chunk count yields the sequential result in file order.
+     */
+    @Test
+    public void testMatchesSequentialForAnyChunkCount() throws IOException {
+        List<String> expected = CSVReader.readSalesData("data/sales.csv").stream().map(SalesRecord::toString).toList();
+
+        for (int chunkCount : new int[]{1, 2, 3, 7, 64, 100_000}) {
+            List<String> actual = ParallelCSVLoader.readSalesData("data/sales.csv", pool, chunkCount)
+                    .stream().map(SalesRecord::toString).toList();
+            assertEquals(expected, actual, "Mismatch with " + chunkCount + " chunks");
+        }
+    }
+
+    /**
+     * Tests the overload using the common pool.
+     */
+    @Test
+    public void testDefaultPool() throws IOException {
+        assertEquals(100, ParallelCSVLoader.readSalesData("data/sales.csv").size());
+    }
+
+    /**
+     * Tests that a file with only a header yields no records.
+     */
+    @Test
+    public void testHeaderOnly() throws IOException {
+        Path csvFile = tempDir.resolve("header.csv");
+        Files.writeString(csvFile, HEADER);
+
+        assertEquals(List.of(), ParallelCSVLoader.readSalesData(csvFile.toString(), pool, 4));
+    }
+
+    /**
+     * Tests that quoted fields with line breaks are parsed whole whatever the chunk count.
+     */
+    @Test
+    public void testMultilineFieldsAcrossChunks() throws IOException {
+        Path csvFile = writeMultilineCsv();
+        List<SalesRecord> expected = MappedCSVParser.readSalesData(csvFile.toString());
+
+        for (int chunkCount : new int[]{2, 5, 33, 500}) {
+            List<SalesRecord> actual = ParallelCSVLoader.readSalesData(csvFile.toString(), pool, chunkCount);
+            assertEquals(200, actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).toString(), actual.get(i).toString());
+            }
+        }
+    }
+
+    /**
+     * Tests that line breaks inside quoted fields never become chunk boundaries.
+     */
+    @Test
+    public void testSplitPointsLandOnRowStarts() throws IOException {
+        Path csvFile = writeMultilineCsv();
+        String contents = Files.readString(csvFile);
+
+        try (FileChannel channel = FileChannel.open(csvFile, StandardOpenOption.READ)) {
+            long[] boundaries = ParallelCSVLoader.splitPoints(channel, pool, 17);
+            for (int i = 1; i < boundaries.length - 1; i++) {
+                assertTrue(boundaries[i] >= boundaries[i - 1], "Boundaries should be ascending");
+                if (boundaries[i] < channel.size()) {
+                    assertTrue(contents.startsWith("ORD-", (int) boundaries[i]), "Boundary should land on a row start");
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests per-chunk partial results that the caller merges.
+     */
+    @Test
+    public void testPartialResultsForAggregation() throws IOException {
+        double expectedTotal = new SalesAnalysisService().getTotalSales(CSVReader.readSalesData("data/sales.csv"));
+
+        List<double[]> partials = ParallelCSVLoader.readPartitions("data/sales.csv", pool, 8,
+                () -> new double[1], (sum, record) -> sum[0] += record.getAmount());
+
+        assertTrue(partials.size() > 1, "File should be split into several partitions");
+        assertEquals(expectedTotal, partials.stream().mapToDouble(sum -> sum[0]).sum(), 0.001);
+    }
+
+    /**
+     * Tests that parse errors from worker threads surface with their original type.
+     */
+    @Test
+    public void testErrorsPropagate() throws IOException {
+        Path csvFile = tempDir.resolve("bad.csv");
+        Files.writeString(csvFile, HEADER
+                + "ORD-001,Laptop,Electronics,North America,1200.50,1,2025-01-05\n"
+                + "ORD-002,Mouse,Electronics,Europe,oops,2,2025-01-06\n");
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> ParallelCSVLoader.readSalesData(csvFile.toString(), pool, 4));
+        assertTrue(exception.getMessage().contains("Invalid amount value"));
+    }
+
+    /**
+     * Tests reading a non-existent file.
+     */
+    @Test
+    public void testMissingFile() {
+        assertThrows(IOException.class, () -> ParallelCSVLoader.readSalesData("non_existent_file.csv"));
+    }
+
+    /**
+     * Tests that the chunk count must be positive.
+     */
+    @Test
+    public void testRejectsZeroChunks() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ParallelCSVLoader.readSalesData("data/sales.csv", pool, 0));
+    }
+
+    private Path writeMultilineCsv() throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 200; i++) {
+            csv.append("ORD-").append(i).append(",\"Line one\nline \"\"two\"\"\nline three\",C,R,")
+                    .append(i).append(".5,1,2025-01-01\n");
+        }
+        Path csvFile = tempDir.resolve("multiline.csv");
+        Files.writeString(csvFile, csv.toString());
+        return csvFile;
+    }
+}
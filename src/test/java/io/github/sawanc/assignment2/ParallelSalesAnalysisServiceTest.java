@@ -0,0 +1,202 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ParallelSalesAnalysisService and CompensatedSum.
+ *
+ * @author sawan chakraborty
+ */
+public class ParallelSalesAnalysisServiceTest extends SalesTestSupport {
+
+    private static List<SalesRecord> largeRecords;
+
+    @BeforeAll
+    public static void setUp() {
+        // Amounts spanning many magnitudes make naive summation order-sensitive
+        Random random = new Random(42);
+        String[] categories = {"Electronics", "Furniture", "Stationery"};
+        String[] regions = {"Europe", "Asia", "Africa", "Australia"};
+        largeRecords = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            double amount = Math.pow(10, random.nextInt(12) - 2) * random.nextDouble();
+            largeRecords.add(new SalesRecord("ORD-" + i, "Product" + random.nextInt(50),
+                    categories[random.nextInt(categories.length)], regions[random.nextInt(regions.length)],
+                    amount, 1 + random.nextInt(5), "2025-01-01"));
+        }
+    }
+
+    /**
+     * Tests that the parallel total agrees with the sequential service on the sample data.
+     */
+    @Test
+    public void testTotalSalesMatchesSequential() throws IOException {
+        List<SalesRecord> records = CSVReader.readSalesData("data/sales.csv");
+
+        assertEquals(new SalesAnalysisService().getTotalSales(records),
+                new ParallelSalesAnalysisService().getTotalSales(records), 1e-9);
+    }
+
+    /**
+     * Tests that the parallel group-bys agree with the sequential service on the sample data.
+     */
+    @Test
+    public void testGroupTotalsMatchSequential() throws IOException {
+        List<SalesRecord> records = CSVReader.readSalesData("data/sales.csv");
+        SalesAnalysisService sequential = new SalesAnalysisService();
+        SalesAnalysisService parallel = new ParallelSalesAnalysisService();
+
+        assertMapsClose(sequential.getSalesByCategory(records), parallel.getSalesByCategory(records));
+        assertMapsClose(sequential.getSalesByRegion(records), parallel.getSalesByRegion(records));
+        assertMapsClose(sequential.getAverageSalesPerProduct(records), parallel.getAverageSalesPerProduct(records));
+    }
+
+    /**
+     * Tests that the parallel filter keeps the records in file order.
+     */
+    @Test
+    public void testFilterKeepsFileOrder() throws IOException {
+        List<SalesRecord> records = CSVReader.readSalesData("data/sales.csv");
+
+        assertEquals(new SalesAnalysisService().filterHighValueTransactions(records, 500.0),
+                new ParallelSalesAnalysisService().filterHighValueTransactions(records, 500.0));
+    }
+
+    /**
+     * Tests an empty list without random access.
+     */
+    @Test
+    public void testEmptyLinkedList() {
+        assertEquals(0.0, new ParallelSalesAnalysisService().getTotalSales(new LinkedList<>()));
+    }
+
+    /**
+     * Tests that record-based results are bit-for-bit identical for every pool size.
+     */
+    @Test
+    public void testRecordResultsIndependentOfThreadCount() {
+        SalesSummary reference = summarize(1, largeRecords);
+        for (int threads : new int[]{2, 3, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                ParallelSalesAnalysisService service = new ParallelSalesAnalysisService(pool);
+                SalesSummary summary = service.summarize(largeRecords, 1000.0);
+
+                assertEquals(reference.getTotalSales(), summary.getTotalSales(), 0.0, "threads=" + threads);
+                assertEquals(reference.getTotalSales(), service.getTotalSales(largeRecords), 0.0, "threads=" + threads);
+                assertEquals(reference.getSalesByCategory(), summary.getSalesByCategory());
+                assertEquals(reference.getSalesByCategory(), service.getSalesByCategory(largeRecords));
+                assertEquals(reference.getHighValueTransactions(), summary.getHighValueTransactions());
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Tests that table-based results are bit-for-bit identical for every pool size.
+     */
+    @Test
+    public void testTableResultsIndependentOfThreadCount() {
+        SalesTable table = SalesTable.fromRecords(largeRecords);
+        SalesSummary reference = summarize(1, largeRecords);
+        for (int threads : new int[]{2, 3, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                SalesSummary summary = new ParallelSalesAnalysisService(pool).summarize(table, 1000.0);
+
+                assertEquals(reference.getTotalSales(), summary.getTotalSales(), 0.0, "threads=" + threads);
+                assertEquals(reference.getSalesByRegion(), summary.getSalesByRegion());
+                assertEquals(reference.getAverageSalesPerProduct(), summary.getAverageSalesPerProduct());
+                assertEquals(reference.getHighValueTransactions().size(), summary.getHighValueTransactions().size());
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Tests a table with far more distinct product codes than rows per block.
+     */
+    @Test
+    public void testManyDistinctProductsPerBlock() {
+        // One product per order id
+        List<SalesRecord> distinctProducts = new ArrayList<>();
+        largeRecords.forEach(r -> distinctProducts.add(new SalesRecord(r.getOrderId(), r.getOrderId(), r.getCategory(),
+                r.getRegion(), r.getAmount(), r.getQuantity(), r.getOrderDate())));
+        SalesSummary expected = summarize(1, distinctProducts);
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            SalesSummary actual = new ParallelSalesAnalysisService(pool)
+                    .summarize(SalesTable.fromRecords(distinctProducts), 1000.0);
+            assertEquals(expected.getAverageSalesPerProduct(), actual.getAverageSalesPerProduct());
+            assertEquals(expected.getHighValueTransactions().toString(), actual.getHighValueTransactions().toString());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests that compensation recovers low-order bits that naive summation drops.
+     */
+    @Test
+    public void testCompensatedSumAccuracy() {
+        CompensatedSum sum = new CompensatedSum();
+        double naive = 0.0;
+        for (double value : new double[]{1e16, 1.0, -1e16, 0.1, 0.2, -0.3}) {
+            sum.add(value);
+            naive += value;
+        }
+
+        assertEquals(1.0, sum.getSum(), 1e-15);
+        assertNotEquals(1.0, naive, 1e-15, "Naive summation should lose the 1.0");
+    }
+
+    /**
+     * Tests that merging partial sums keeps both compensation terms.
+     */
+    @Test
+    public void testCompensatedSumMerge() {
+        CompensatedSum left = new CompensatedSum();
+        CompensatedSum right = new CompensatedSum();
+        for (int i = 0; i < 1_000; i++) {
+            left.add(0.1);
+            right.add(0.1);
+        }
+        left.add(right);
+
+        assertEquals(200.0, left.getSum(), 0.0);
+    }
+
+    /**
+     * Tests that an infinite value gives an infinite sum instead of NaN.
+     */
+    @Test
+    public void testCompensatedSumInfinity() {
+        CompensatedSum infinite = new CompensatedSum();
+        infinite.add(Double.POSITIVE_INFINITY);
+        infinite.add(1.0);
+
+        assertEquals(Double.POSITIVE_INFINITY, infinite.getSum());
+    }
+
+    private static SalesSummary summarize(int threads, List<SalesRecord> records) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return new ParallelSalesAnalysisService(pool).summarize(records, 1000.0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PipelinedCSVLoader.
+ *
+ * @author sawan chakraborty
+ */
+public class PipelinedCSVLoaderTest extends SalesTestSupport {
+
+    /**
+     * Tests that batches cut at row boundaries reassemble into the same records as CSVReader,
+     * including rows larger than a batch.
+     */
+    @Test
+    public void testMatchesCSVReaderForAnyBatchSize() throws IOException {
+        String expected = CSVReader.readSalesData("data/sales.csv").toString();
+        for (int batchBytes : new int[]{16, 300, 1024 * 1024}) {
+            PipelinedCSVLoader loader = new PipelinedCSVLoader.Builder()
+                    .parserThreads(3).queueCapacity(2).batchBytes(batchBytes).build();
+            assertEquals(expected, loader.readSalesData("data/sales.csv").toString(), "batchBytes=" + batchBytes);
+        }
+    }
+
+    /**
+     * Tests that quoted line breaks and CRLF endings are never split across batches.
+     */
+    @Test
+    public void testQuotedLineBreaks() throws IOException {
+        Path csv = writeQuotedRows();
+        PipelinedCSVLoader loader = new PipelinedCSVLoader.Builder().parserThreads(4).batchBytes(100).build();
+
+        assertEquals(CSVReader.readSalesData(csv.toString()).toString(), loader.readSalesData(csv.toString()).toString());
+    }
+
+    /**
+     * Tests that gzip input is decompressed by the reader thread.
+     */
+    @Test
+    public void testReadsGzip() throws IOException {
+        Path csv = writeQuotedRows();
+        Path gz = tempDir.resolve("quoted.csv.gz");
+        GzipCSVParser.compress(csv.toString(), gz.toString());
+        PipelinedCSVLoader loader = new PipelinedCSVLoader.Builder().parserThreads(4).batchBytes(100).build();
+
+        assertEquals(CSVReader.readSalesData(csv.toString()).toString(), loader.readSalesData(gz.toString()).toString());
+    }
+
+    /**
+     * Tests that a file with only a header has no records.
+     */
+    @Test
+    public void testHeaderOnly() throws IOException {
+        Path csv = tempDir.resolve("header.csv");
+        Files.writeString(csv, HEADER);
+
+        assertEquals(List.of(), new PipelinedCSVLoader.Builder().build().readSalesData(csv.toString()));
+    }
+
+    /**
+     * Tests that per-thread partial results merge into the same totals as the service.
+     */
+    @Test
+    public void testAggregate() throws IOException {
+        PipelinedCSVLoader loader = new PipelinedCSVLoader.Builder().parserThreads(4).batchBytes(256).build();
+
+        Map<String, Double> byRegion = loader.aggregate("data/sales.csv", HashMap::new,
+                (totals, record) -> totals.merge(record.getRegion(), record.getAmount(), Double::sum),
+                (a, b) -> {
+                    b.forEach((key, value) -> a.merge(key, value, Double::sum));
+                    return a;
+                });
+        assertMapsClose(new SalesAnalysisService().getSalesByRegion(CSVReader.readSalesData("data/sales.csv")), byRegion);
+    }
+
+    /**
+     * Tests that each parser thread folds rows into its own partial result.
+     */
+    @Test
+    public void testParsePartitions() throws IOException {
+        List<SalesRecord> records = CSVReader.readSalesData("data/sales.csv");
+        PipelinedCSVLoader loader = new PipelinedCSVLoader.Builder().parserThreads(4).batchBytes(256).build();
+
+        List<long[]> partitions = loader.parsePartitions("data/sales.csv", () -> new long[1],
+                (count, row) -> count[0] += row.getInt(5));
+        assertEquals(4, partitions.size());
+        assertEquals(records.stream().mapToLong(SalesRecord::getQuantity).sum(),
+                partitions.stream().mapToLong(count -> count[0]).sum());
+    }
+
+    /**
+     * Tests that a malformed row fails the load with the parser's message.
+     */
+    @Test
+    public void testReportsMalformedRow() throws IOException {
+        Path csv = writeRowsWithBadAmount();
+        PipelinedCSVLoader loader = new PipelinedCSVLoader.Builder().parserThreads(2).queueCapacity(1).batchBytes(64).build();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> loader.readSalesData(csv.toString()));
+        assertTrue(e.getMessage().contains("Invalid amount value: abc"), e.getMessage());
+        assertNoPipelineThreads();
+    }
+
+    /**
+     * Tests that an Error in one parser does not leave the reader blocked on a full queue.
+     */
+    @Test
+    public void testErrorInParserStopsThePipeline() throws IOException {
+        Path csv = writeRowsWithBadAmount();
+        PipelinedCSVLoader loader = new PipelinedCSVLoader.Builder().parserThreads(2).queueCapacity(1).batchBytes(64).build();
+
+        OutOfMemoryError error = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> assertThrows(OutOfMemoryError.class,
+                () -> loader.parsePartitions(csv.toString(), () -> new long[1], (count, row) -> {
+                    if (++count[0] == 10) {
+                        throw new OutOfMemoryError("simulated");
+                    }
+                })));
+        assertEquals("simulated", error.getMessage());
+        assertNoPipelineThreads();
+    }
+
+    /**
+     * Tests that an empty file, without even a header, is rejected.
+     */
+    @Test
+    public void testRejectsEmptyFile() throws IOException {
+        Path empty = tempDir.resolve("empty.csv");
+        Files.writeString(empty, "");
+
+        assertThrows(IllegalArgumentException.class, () -> new PipelinedCSVLoader.Builder().build().readSalesData(empty.toString()));
+    }
+
+    /**
+     * Tests that a missing file is reported as an IOException.
+     */
+    @Test
+    public void testRejectsMissingFile() {
+        assertThrows(IOException.class, () -> new PipelinedCSVLoader.Builder().build()
+                .readSalesData(tempDir.resolve("missing.csv").toString()));
+    }
+
+    /**
+     * Tests builder argument validation.
+     */
+    @Test
+    public void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new PipelinedCSVLoader.Builder().parserThreads(0));
+        assertThrows(IllegalArgumentException.class, () -> new PipelinedCSVLoader.Builder().queueCapacity(0));
+    }
+
+    private Path writeQuotedRows() throws IOException {
+        StringBuilder data = new StringBuilder(HEADER);
+        for (int i = 0; i < 500; i++) {
+            data.append("ORD-").append(i).append(",\"Desk\n\"\"Oak\"\", large\",Furniture,Asia,").append(i)
+                    .append(".5,1,2025-01-12\r\n");
+        }
+        Path csv = tempDir.resolve("quoted.csv");
+        Files.writeString(csv, data);
+        return csv;
+    }
+
+    private Path writeRowsWithBadAmount() throws IOException {
+        StringBuilder data = new StringBuilder(HEADER);
+        for (int i = 0; i < 2_000; i++) {
+            data.append("ORD-").append(i).append(",Pen,Office,Europe,").append(i == 1_500 ? "abc" : "1.0")
+                    .append(",1,2025-01-10\n");
+        }
+        Path csv = tempDir.resolve("bad.csv");
+        Files.writeString(csv, data);
+        return csv;
+    }
+
+    private static void assertNoPipelineThreads() {
+        assertTrue(Thread.getAllStackTraces().keySet().stream()
+                .noneMatch(thread -> thread.getName().startsWith("csv-") && thread.isAlive()));
+    }
+}
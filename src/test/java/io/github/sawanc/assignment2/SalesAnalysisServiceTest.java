@@ -3,6 +3,8 @@ package io.github.sawanc.assignment2;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -363,4 +365,56 @@ public class SalesAnalysisServiceTest {
             salesByCategory.put("NewCategory", 100.0);
         }, "Map should be immutable and throw UnsupportedOperationException on modification");
     }
+
+    /**
+     * Tests that the stream overloads aggregate the same results as the list versions.
+     */
+    @Test
+    public void testStreamOverloadsMatchListResults() {
+        assertEquals(service.getTotalSales(testRecords), service.getTotalSales(testRecords.stream()), 0.0001);
+        assertEquals(service.getSalesByCategory(testRecords), service.getSalesByCategory(testRecords.stream()));
+        assertEquals(service.getSalesByRegion(testRecords), service.getSalesByRegion(testRecords.stream()));
+        assertEquals(service.getAverageSalesPerProduct(testRecords),
+                service.getAverageSalesPerProduct(testRecords.stream()));
+    }
+
+    /**
+     * Tests that the single-pass summary matches the individual aggregation methods.
+     */
+    @Test
+    public void testSummarizeMatchesIndividualMethods() {
+        SalesSummary summary = service.summarize(testRecords, 500.0);
+
+        assertEquals(service.getTotalSales(testRecords), summary.getTotalSales(), 0.0001);
+        assertEquals(service.getSalesByCategory(testRecords), summary.getSalesByCategory());
+        assertEquals(service.getSalesByRegion(testRecords), summary.getSalesByRegion());
+        assertEquals(service.getAverageSalesPerProduct(testRecords), summary.getAverageSalesPerProduct());
+        assertEquals(service.filterHighValueTransactions(testRecords, 500.0), summary.getHighValueTransactions());
+
+        SalesSummary tableSummary = service.summarize(SalesTable.fromRecords(testRecords), 500.0);
+        assertEquals(summary.getTotalSales(), tableSummary.getTotalSales(), 0.0001);
+        assertEquals(summary.getSalesByCategory(), tableSummary.getSalesByCategory());
+        assertEquals(summary.getHighValueTransactions().size(), tableSummary.getHighValueTransactions().size());
+    }
+
+    /**
+     * Tests that printSummary renders every section of the summary.
+     */
+    @Test
+    public void testPrintSummaryRendersAllSections() {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured));
+        try {
+            service.printSummary(testRecords);
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        String output = captured.toString();
+        assertTrue(output.contains("1. TOTAL SALES: $4250.00"));
+        assertTrue(output.contains("2. SALES BY CATEGORY:"));
+        assertTrue(output.contains("5. HIGH-VALUE TRANSACTIONS (>= $500.00):"));
+        assertTrue(output.contains("ORD-008"), "Threshold should be inclusive");
+    }
 }
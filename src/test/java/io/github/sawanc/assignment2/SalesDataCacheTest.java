@@ -0,0 +1,199 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SalesDataCache.
+ *
+ * @author sawan chakraborty
+ */
+public class SalesDataCacheTest extends SalesTestSupport {
+
+    private static final String ROW = "ORD-001,Laptop,Electronics,Europe,100.00,1,2025-01-01\n";
+    // Room for two single-record entries but not three
+    private static final long TWO_ENTRIES = 2 * SalesDataCache.RECORD_OVERHEAD_BYTES + 100;
+
+    private SalesDataCache cache;
+    private AtomicInteger computations;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new SalesDataCache(10_000_000);
+        computations = new AtomicInteger();
+    }
+
+    /**
+     * Tests that an unchanged file is served from the cache.
+     */
+    @Test
+    public void testReusesDataset() throws IOException {
+        List<SalesRecord> first = cache.getSalesData("data/sales.csv");
+
+        assertSame(first, cache.getSalesData("data/sales.csv"));
+        assertEquals(100, first.size());
+        assertEquals(1, cache.getMisses());
+    }
+
+    /**
+     * Tests that cached datasets cannot be modified by callers.
+     */
+    @Test
+    public void testDatasetIsUnmodifiable() throws IOException {
+        List<SalesRecord> records = cache.getSalesData("data/sales.csv");
+
+        assertThrows(UnsupportedOperationException.class, () -> records.remove(0));
+    }
+
+    /**
+     * Tests that a computed result is memoized per key.
+     */
+    @Test
+    public void testMemoizesResults() throws IOException {
+        Double total = cache.compute("data/sales.csv", "total", records -> {
+            computations.incrementAndGet();
+            return new SalesAnalysisService().getTotalSales(records);
+        });
+        Double cachedTotal = cache.compute("data/sales.csv", "total", records -> {
+            computations.incrementAndGet();
+            return 0.0;
+        });
+
+        assertEquals(total, cachedTotal);
+        assertEquals(1, computations.get());
+    }
+
+    /**
+     * Tests that summaries are memoized and match the service.
+     */
+    @Test
+    public void testMemoizesSummary() throws IOException {
+        SalesSummary summary = cache.getSummary("data/sales.csv", 500.0);
+
+        assertSame(summary, cache.getSummary("data/sales.csv", 500.0));
+        assertEquals(new SalesAnalysisService().getTotalSales(CSVReader.readSalesData("data/sales.csv")),
+                summary.getTotalSales(), 1e-9);
+        assertEquals(1, cache.getMisses());
+    }
+
+    /**
+     * Tests that a null result is memoized once and its allowance is counted once.
+     */
+    @Test
+    public void testMemoizesNullResults() throws IOException {
+        cache.getSalesData("data/sales.csv");
+        long datasetBytes = cache.getUsedBytes();
+
+        for (int i = 0; i < 3; i++) {
+            assertNull(cache.compute("data/sales.csv", "none", records -> {
+                computations.incrementAndGet();
+                return null;
+            }));
+        }
+
+        assertEquals(1, computations.get());
+        assertEquals(datasetBytes + SalesDataCache.RESULT_OVERHEAD_BYTES, cache.getUsedBytes());
+    }
+
+    /**
+     * Tests reading a non-existent file.
+     */
+    @Test
+    public void testMissingFile() {
+        assertThrows(IOException.class, () -> cache.getSalesData("data/missing.csv"));
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * Tests that a touch without content changes keeps the entry.
+     */
+    @Test
+    public void testKeepsEntryOnTouch() throws IOException {
+        Path csv = writeCsv("sales.csv", ROW);
+        cache.getSummary(csv.toString(), 500.0);
+
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(Files.getLastModifiedTime(csv).toMillis() + 5_000));
+
+        assertEquals(100.0, cache.getSummary(csv.toString(), 500.0).getTotalSales(), 1e-9);
+        assertEquals(1, cache.getMisses());
+    }
+
+    /**
+     * Tests that same-size content changes reload the dataset.
+     */
+    @Test
+    public void testInvalidatesOnContentChange() throws IOException {
+        Path csv = writeCsv("sales.csv", ROW);
+        assertEquals(100.0, cache.getSummary(csv.toString(), 500.0).getTotalSales(), 1e-9);
+
+        FileTime modified = Files.getLastModifiedTime(csv);
+        Files.writeString(csv, HEADER + ROW.replace("100.00", "900.00"));
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(modified.toMillis() + 5_000));
+        SalesSummary reloaded = cache.getSummary(csv.toString(), 500.0);
+
+        assertEquals(900.0, reloaded.getTotalSales(), 1e-9);
+        assertEquals(Map.of("Electronics", 900.0), reloaded.getSalesByCategory());
+        assertEquals(2, cache.getMisses());
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * Tests that the least recently used entry is evicted under the memory budget.
+     */
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws IOException {
+        SalesDataCache small = new SalesDataCache(TWO_ENTRIES);
+        Path a = writeCsv("a.csv", ROW);
+        Path b = writeCsv("b.csv", ROW);
+
+        small.getSalesData(a.toString());
+        small.getSalesData(b.toString());
+        small.getSalesData(a.toString()); // a becomes most recently used
+        small.getSalesData(writeCsv("c.csv", ROW).toString()); // evicts b
+
+        assertEquals(2, small.size());
+        assertEquals(1, small.getEvictions());
+        long misses = small.getMisses();
+        small.getSalesData(a.toString());
+        assertEquals(misses, small.getMisses(), "a should still be cached");
+        small.getSalesData(b.toString());
+        assertEquals(misses + 1, small.getMisses(), "b should have been evicted");
+    }
+
+    /**
+     * Tests that eviction keeps usage within the budget.
+     */
+    @Test
+    public void testStaysWithinBudget() throws IOException {
+        SalesDataCache small = new SalesDataCache(TWO_ENTRIES);
+
+        for (String name : List.of("a.csv", "b.csv", "c.csv", "d.csv")) {
+            small.getSalesData(writeCsv(name, ROW).toString());
+            assertTrue(small.getUsedBytes() <= TWO_ENTRIES, small.toString());
+        }
+    }
+
+    /**
+     * Tests that the budget must be positive.
+     */
+    @Test
+    public void testRejectsInvalidBudget() {
+        assertThrows(IllegalArgumentException.class, () -> new SalesDataCache(0));
+    }
+
+    private Path writeCsv(String name, String rows) throws IOException {
+        Path csv = tempDir.resolve(name);
+        Files.writeString(csv, HEADER + rows);
+        return csv;
+    }
+}
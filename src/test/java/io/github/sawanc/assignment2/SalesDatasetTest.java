@@ -0,0 +1,257 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SalesDataset.
+ *
+ * @author sawan chakraborty
+ */
+public class SalesDatasetTest extends SalesTestSupport {
+
+    /**
+     * Tests that a directory selects every CSV file directly inside it, in path order.
+     */
+    @Test
+    public void testLoadsDirectory() throws IOException {
+        writeDailyFiles();
+        Files.writeString(tempDir.resolve("notes.txt"), "not a partition");
+
+        SalesDataset dataset = SalesDataset.load(tempDir.toString());
+        assertEquals(3, dataset.getPartitions().size());
+        assertEquals(9, dataset.size());
+        assertEquals("sales-2025-01-10.csv", dataset.getPartitions().get(0).getPath().getFileName().toString());
+    }
+
+    /**
+     * Tests that a glob selects only the matching files.
+     */
+    @Test
+    public void testLoadsGlob() throws IOException {
+        writeDailyFiles();
+
+        assertEquals(2, SalesDataset.load(tempDir + "/sales-2025-0[12]-*.csv").getPartitions().size());
+    }
+
+    /**
+     * Tests that loading fails when nothing matches.
+     */
+    @Test
+    public void testRejectsNoMatches() throws IOException {
+        writeDailyFiles();
+
+        assertThrows(IOException.class, () -> SalesDataset.load(tempDir + "/*.json"));
+        assertThrows(IOException.class, () -> SalesDataset.load(tempDir.resolve("missing").toString()));
+    }
+
+    /**
+     * Tests the date and amount ranges recorded for a partition.
+     */
+    @Test
+    public void testRecordsPartitionRanges() throws IOException {
+        writeDailyFiles();
+        SalesDataset.Partition january = SalesDataset.load(tempDir.toString()).getPartitions().get(0);
+
+        assertEquals(3, january.size());
+        assertEquals(LocalDate.of(2025, 1, 10), january.getMinDate());
+        assertEquals(LocalDate.of(2025, 1, 12), january.getMaxDate());
+        assertEquals(10.0, january.getMinAmount());
+        assertEquals(30.0, january.getMaxAmount());
+    }
+
+    /**
+     * Tests that rows without a valid date or amount leave the ranges empty and never match.
+     */
+    @Test
+    public void testPartitionWithoutRanges() throws IOException {
+        Files.writeString(tempDir.resolve("unknown.csv"), HEADER + "ORD-1,Pen,Office,Europe,NaN,1,not-a-date\n");
+        SalesDataset dataset = SalesDataset.load(tempDir.toString());
+        SalesDataset.Partition partition = dataset.getPartitions().get(0);
+
+        assertNull(partition.getMinDate());
+        assertTrue(Double.isNaN(partition.getMaxAmount()));
+        assertTrue(dataset.prune(LocalDate.MIN, LocalDate.MAX).isEmpty());
+        assertFalse(partition.mayContainAmounts(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY));
+    }
+
+    /**
+     * Tests that a date predicate skips partitions whose dates cannot match.
+     */
+    @Test
+    public void testPrunesByDate() throws IOException {
+        writeDailyFiles();
+        SalesDataset dataset = SalesDataset.load(tempDir.toString());
+
+        assertEquals(1, dataset.prune(FEBRUARY).size());
+        assertEquals(600.0, dataset.query(FEBRUARY).getRows().get(0).getValue(0));
+        assertEquals(0, dataset.prune(LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 10)).size());
+        assertEquals(3, dataset.prune(LocalDate.of(2025, 1, 12), LocalDate.of(2025, 3, 11)).size());
+    }
+
+    /**
+     * Tests that an amount predicate skips partitions whose amounts cannot match.
+     */
+    @Test
+    public void testPrunesByAmount() throws IOException {
+        writeDailyFiles();
+        SalesDataset dataset = SalesDataset.load(tempDir.toString());
+        SalesQuery large = new SalesQuery.Builder()
+                .whereAmount(1_000.0, Double.POSITIVE_INFINITY)
+                .aggregate(Aggregation.COUNT)
+                .build();
+
+        assertEquals(1, dataset.prune(large).size());
+        assertEquals(3.0, dataset.query(large).getRows().get(0).getValue(0));
+    }
+
+    /**
+     * Tests that a query outside every partition's range is empty.
+     */
+    @Test
+    public void testQueryOutsideAllPartitions() throws IOException {
+        writeDailyFiles();
+        SalesDataset dataset = SalesDataset.load(tempDir.toString());
+
+        assertEquals(0, dataset.query(new SalesQuery.Builder()
+                .whereDate(LocalDate.of(2026, 1, 1), LocalDate.of(2027, 1, 1))
+                .aggregate(Aggregation.SUM).build()).size());
+    }
+
+    /**
+     * Tests that only partitions that survive pruning are read when a query runs.
+     */
+    @Test
+    public void testQueryReadsOnlySurvivingPartitions() throws IOException {
+        writeDailyFiles();
+        SalesDataset dataset = SalesDataset.load(tempDir.toString());
+        Files.delete(tempDir.resolve("sales-2025-01-10.csv"));
+
+        assertEquals(600.0, dataset.query(FEBRUARY).getRows().get(0).getValue(0));
+        assertThrows(IOException.class, () -> dataset.query(new SalesQuery.Builder().aggregate(Aggregation.SUM).build()));
+    }
+
+    /**
+     * Tests that loading the same files again reuses their statistics instead of scanning them.
+     */
+    @Test
+    public void testReloadReusesStatistics() throws IOException {
+        writeDailyFiles();
+        List<SalesDataset.Partition> first = SalesDataset.load(tempDir.toString()).getPartitions();
+        List<SalesDataset.Partition> second = SalesDataset.load(tempDir.toString()).getPartitions();
+
+        for (int i = 0; i < first.size(); i++) {
+            assertSame(first.get(i), second.get(i));
+        }
+    }
+
+    /**
+     * Tests that a file changed since it was scanned is scanned again on the next load.
+     */
+    @Test
+    public void testReloadRescansChangedFile() throws IOException {
+        writeDailyFiles();
+        SalesDataset.Partition before = SalesDataset.load(tempDir.toString()).getPartitions().get(0);
+        Files.writeString(tempDir.resolve("sales-2025-01-10.csv"), HEADER
+                + "ORD-1,Pen,Office,Europe,5.0,1,2025-01-05\n", StandardOpenOption.TRUNCATE_EXISTING);
+        SalesDataset.Partition after = SalesDataset.load(tempDir.toString()).getPartitions().get(0);
+
+        assertNotSame(before, after);
+        assertEquals(1, after.size());
+        assertEquals(LocalDate.of(2025, 1, 5), after.getMinDate());
+        assertEquals(5.0, after.getMaxAmount());
+    }
+
+    /**
+     * Tests that later queries reuse the table read for a partition.
+     */
+    @Test
+    public void testQueriesReuseTables() throws IOException {
+        writeDailyFiles();
+        SalesDataset.Partition january = SalesDataset.load(tempDir.toString()).getPartitions().get(0);
+
+        assertSame(january.getTable(), january.getTable());
+    }
+
+    /**
+     * Tests that a partition whose file changed reads the file again.
+     */
+    @Test
+    public void testChangedFileIsReadAgain() throws IOException {
+        writeDailyFiles();
+        SalesDataset.Partition january = SalesDataset.load(tempDir.toString()).getPartitions().get(0);
+        SalesTable before = january.getTable();
+        Files.writeString(tempDir.resolve("sales-2025-01-10.csv"), HEADER
+                + "ORD-1,Pen,Office,Europe,5.0,1,2025-01-05\n", StandardOpenOption.TRUNCATE_EXISTING);
+
+        SalesTable after = january.getTable();
+        assertNotSame(before, after);
+        assertEquals(1, after.size());
+    }
+
+    /**
+     * Tests that merged partition results equal the same query over all rows in one table.
+     */
+    @Test
+    public void testMergedQueryMatchesSingleTable() throws IOException {
+        List<SalesRecord> all = CSVReader.readSalesData("data/sales.csv");
+        List<String> lines = Files.readAllLines(Path.of("data/sales.csv"));
+        for (int part = 0; part < 4; part++) {
+            StringBuilder csv = new StringBuilder(HEADER);
+            for (int line = 1 + part; line < lines.size(); line += 4) {
+                csv.append(lines.get(line)).append('\n');
+            }
+            Files.writeString(tempDir.resolve("part-" + part + ".csv"), csv.toString());
+        }
+        SalesQuery query = new SalesQuery.Builder()
+                .groupBy(SalesDimension.CATEGORY, SalesDimension.MONTH)
+                .aggregate(Aggregation.SUM)
+                .aggregate(Aggregation.AVG, SalesMetric.QUANTITY)
+                .aggregate(Aggregation.MIN)
+                .aggregate(Aggregation.MAX)
+                .build();
+
+        SalesQuery.Result expected = query.execute(all);
+        SalesQuery.Result merged = SalesDataset.load(tempDir + "/part-*.csv").query(query);
+        assertEquals(expected.size(), merged.size());
+        List<String> expectedKeys = new ArrayList<>();
+        List<String> mergedKeys = new ArrayList<>();
+        expected.getRows().forEach(row -> expectedKeys.add(row.getKeys().toString()));
+        merged.getRows().forEach(row -> mergedKeys.add(row.getKeys().toString()));
+        assertEquals(expectedKeys, mergedKeys);
+        for (int i = 0; i < expected.size(); i++) {
+            for (int a = 0; a < 4; a++) {
+                assertEquals(expected.getRows().get(i).getValue(a), merged.getRows().get(i).getValue(a), 1e-9);
+            }
+        }
+    }
+
+    private static final SalesQuery FEBRUARY = new SalesQuery.Builder()
+            .whereDate(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1))
+            .aggregate(Aggregation.SUM)
+            .build();
+
+    private void writeDailyFiles() throws IOException {
+        Files.writeString(tempDir.resolve("sales-2025-01-10.csv"), HEADER
+                + "ORD-1,Pen,Office,Europe,10.0,1,2025-01-10\n"
+                + "ORD-2,Ink,Office,Europe,20.0,1,2025-01-11\n"
+                + "ORD-3,Pad,Office,Asia,30.0,1,2025-01-12\n");
+        Files.writeString(tempDir.resolve("sales-2025-02-10.csv"), HEADER
+                + "ORD-4,Desk,Furniture,Europe,100.0,1,2025-02-10\n"
+                + "ORD-5,Lamp,Furniture,Asia,200.0,1,2025-02-11\n"
+                + "ORD-6,Chair,Furniture,Asia,300.0,1,2025-02-12\n");
+        Files.writeString(tempDir.resolve("sales-2025-03-10.csv"), HEADER
+                + "ORD-7,Laptop,Electronics,Europe,1000.0,1,2025-03-10\n"
+                + "ORD-8,Phone,Electronics,Asia,2000.0,1,2025-03-11\n"
+                + "ORD-9,Tablet,Electronics,Asia,3000.0,1,2025-03-12\n");
+    }
+}
@@ -0,0 +1,211 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SalesFileFollower.
+ *
+ * @author sawan chakraborty
+ */
+public class SalesFileFollowerTest extends SalesTestSupport {
+
+    private static final String ROW = "ORD-1,Pen,Office,Europe,1.0,1,2025-01-10\n";
+
+    /**
+     * Tests that a file that does not exist yet has no rows.
+     */
+    @Test
+    public void testMissingFileHasNoRows() throws IOException {
+        SalesFileFollower follower = new SalesFileFollower(tempDir.resolve("sales.csv").toString(), record -> { });
+
+        assertEquals(0, follower.poll());
+        assertEquals(0, follower.getOffset());
+    }
+
+    /**
+     * Tests that a poll stops before a partial last row and the next poll reads nothing new.
+     */
+    @Test
+    public void testPollStopsBeforePartialRow() throws IOException {
+        Path csv = tempDir.resolve("sales.csv");
+        Files.writeString(csv, HEADER
+                + "ORD-1,Pen,Office,Europe,10.0,1,2025-01-10\n"
+                + "ORD-2,Ink,Office,Europe,5.0,2,2025-01-11\n"
+                + "ORD-3,\"Desk,");
+        SalesFileFollower follower = new SalesFileFollower(csv.toString(), record -> { });
+
+        assertEquals(2, follower.poll());
+        assertEquals(Files.size(csv) - "ORD-3,\"Desk,".length(), follower.getOffset());
+        assertEquals(0, follower.poll());
+    }
+
+    /**
+     * Tests that a row is only read once its line break has been written.
+     */
+    @Test
+    public void testRowWithoutLineBreakIsIncomplete() throws IOException {
+        Path csv = tempDir.resolve("sales.csv");
+        Files.writeString(csv, HEADER + "ORD-3,\"Desk,");
+        SalesFileFollower follower = new SalesFileFollower(csv.toString(), record -> { });
+        follower.poll();
+
+        append(csv, " Oak\",Furniture,Asia,300.0,1,2025-01-12");
+        assertEquals(0, follower.poll());
+        append(csv, "\n");
+        assertEquals(1, follower.poll());
+    }
+
+    /**
+     * Tests that rows appended over several polls equal a full read of the final file.
+     */
+    @Test
+    public void testAppendedRowsMatchFullRead() throws IOException {
+        Path csv = tempDir.resolve("sales.csv");
+        List<SalesRecord> records = new ArrayList<>();
+        SalesFileFollower follower = new SalesFileFollower(csv.toString(), records::add);
+        Files.writeString(csv, HEADER + "ORD-1,Pen,Office,Europe,10.0,1,2025-01-10\nORD-2,\"Desk,");
+        follower.poll();
+        append(csv, " Oak\",Furniture,Asia,300.0,1,2025-01-12\nORD-3,Lamp,Furniture,Asia,40.0,1,2025-01-13\n");
+
+        assertEquals(2, follower.poll());
+        assertEquals(Files.size(csv), follower.getOffset());
+        assertEquals(3, follower.getRowsRead());
+        assertTrue(follower.getLastPollMillis() > 0);
+        assertEquals(CSVReader.readSalesData(csv.toString()).toString(), records.toString());
+    }
+
+    /**
+     * Tests that malformed rows are skipped and counted by reason.
+     */
+    @Test
+    public void testSkipsMalformedRows() throws IOException {
+        Path csv = tempDir.resolve("sales.csv");
+        Files.writeString(csv, HEADER
+                + "ORD-1,Pen,Office,Europe,abc,1,2025-01-10\n"
+                + "ORD-2,Ink,Office,Europe,5.0,2,2025-01-11\n"
+                + "ORD-3,Ink,Office\n");
+        IncrementalSalesAggregator aggregator = new IncrementalSalesAggregator();
+        SalesFileFollower follower = new SalesFileFollower(csv.toString(), aggregator::append);
+
+        assertEquals(1, follower.poll());
+        assertEquals(5.0, aggregator.getTotalSales());
+        assertEquals(2, follower.getRejectedRows());
+        assertEquals(Map.of("Invalid amount value", 1L,
+                        "Expected 7 columns (order_id, product, category, region, amount, quantity, order_date), but found 3", 1L),
+                follower.getRejectedByReason());
+    }
+
+    /**
+     * Tests that a file that shrank below the consumed offset is rejected.
+     */
+    @Test
+    public void testRejectsTruncatedFile() throws IOException {
+        Path csv = tempDir.resolve("sales.csv");
+        Files.writeString(csv, HEADER + ROW);
+        SalesFileFollower follower = new SalesFileFollower(csv.toString(), record -> { });
+        follower.poll();
+
+        Files.writeString(csv, HEADER);
+        assertThrows(IllegalArgumentException.class, follower::poll);
+    }
+
+    /**
+     * Tests that a rotated file already longer than the consumed offset is not read from the middle.
+     */
+    @Test
+    public void testRejectsReplacedFile() throws IOException {
+        Path rotating = tempDir.resolve("rotating.csv");
+        Files.writeString(rotating, HEADER + ROW);
+        SalesFileFollower follower = new SalesFileFollower(rotating.toString(), record -> { });
+        assertEquals(1, follower.poll());
+
+        Path replacement = tempDir.resolve("replacement.csv");
+        Files.writeString(replacement, HEADER + ROW.repeat(10));
+        Files.move(replacement, rotating, StandardCopyOption.REPLACE_EXISTING);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, follower::poll);
+        assertTrue(e.getMessage().contains("replaced"), e.getMessage());
+    }
+
+    /**
+     * Tests that gzip files, which cannot be appended to, are rejected.
+     */
+    @Test
+    public void testRejectsGzip() throws IOException {
+        Path gz = tempDir.resolve("sales.csv.gz");
+        GzipCSVParser.compress("data/sales.csv", gz.toString());
+
+        assertThrows(IllegalArgumentException.class, new SalesFileFollower(gz.toString(), record -> { })::poll);
+    }
+
+    /**
+     * Tests that background following feeds appended rows into running aggregates.
+     */
+    @Test
+    public void testBackgroundFollowUpdatesAggregates() throws Exception {
+        Path csv = tempDir.resolve("sales.csv");
+        Files.writeString(csv, HEADER + "ORD-0,Pen,Office,Europe,1.0,1,2025-01-10\n");
+        IncrementalSalesAggregator aggregator = new IncrementalSalesAggregator();
+        try (SalesFileFollower follower = new SalesFileFollower(csv.toString(), aggregator::append)) {
+            follower.start(Duration.ofMillis(50));
+            for (int i = 1; i <= 20; i++) {
+                append(csv, "ORD-" + i + ",Pen,Office,Europe,1.0,1,2025-01-10\n");
+            }
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (aggregator.getRecordCount() < 21 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertNull(follower.getFailure());
+            assertEquals(21, aggregator.getRecordCount());
+            assertEquals(21.0, aggregator.getTotalSales());
+        }
+    }
+
+    /**
+     * Tests that a follower can only be started once and needs a positive interval.
+     */
+    @Test
+    public void testStartValidation() throws IOException {
+        Path csv = tempDir.resolve("sales.csv");
+        try (SalesFileFollower follower = new SalesFileFollower(csv.toString(), record -> { })) {
+            follower.start(Duration.ofMillis(50));
+            assertThrows(IllegalStateException.class, () -> follower.start(Duration.ofMillis(50)));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new SalesFileFollower(csv.toString(), record -> { })
+                .start(Duration.ZERO));
+    }
+
+    /**
+     * Tests that a failing sink stops the background poll and is reported.
+     */
+    @Test
+    public void testBackgroundFailureIsReported() throws Exception {
+        Path csv = tempDir.resolve("sales.csv");
+        Files.writeString(csv, HEADER + ROW);
+        try (SalesFileFollower failing = new SalesFileFollower(csv.toString(), record -> {
+            throw new IllegalStateException("sink closed");
+        })) {
+            failing.start(Duration.ofMillis(50));
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (failing.getFailure() == null && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertInstanceOf(IllegalStateException.class, failing.getFailure());
+        }
+    }
+
+    private static void append(Path file, String text) throws IOException {
+        Files.writeString(file, text, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,235 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SalesQuery.
+ *
+ * @author sawan chakraborty
+ */
+public class SalesQueryTest {
+
+    private static final List<SalesRecord> RECORDS = List.of(
+            new SalesRecord("ORD-1", "Laptop", "Electronics", "Europe", 1000.0, 1, "2025-01-05"),
+            new SalesRecord("ORD-2", "Mouse", "Electronics", "Europe", 20.0, 3, "2025-01-20"),
+            new SalesRecord("ORD-3", "Desk", "Furniture", "Europe", 300.0, 1, "2025-02-02"),
+            new SalesRecord("ORD-4", "Phone", "Electronics", "Asia", 700.0, 2, "2025-01-11"),
+            new SalesRecord("ORD-5", "Chair", "Furniture", "Europe", 150.0, 4, "not-a-date"));
+
+    // 1e16 + 1 - 1e16: a naive sum loses the 1.0
+    private static final List<SalesRecord> CANCELLING = List.of(
+            new SalesRecord("ORD-1", "Pen", "Office", "Europe", 1e16, 1, "2025-01-05"),
+            new SalesRecord("ORD-2", "Pen", "Office", "Europe", 1.0, 1, "2025-01-06"),
+            new SalesRecord("ORD-3", "Pen", "Office", "Europe", -1e16, 1, "2025-01-07"));
+
+    private static final SalesQuery BY_CATEGORY =
+            new SalesQuery.Builder().groupBy(SalesDimension.CATEGORY).aggregate(Aggregation.SUM).build();
+
+    /**
+     * Tests that groups are ordered by key and rows without a month are left out of month groups.
+     */
+    @Test
+    public void testGroupsOrderedByKey() {
+        SalesQuery.Result result = multiDimensionQuery().execute(RECORDS);
+
+        // The undated row cannot be bucketed by month
+        assertEquals(3, result.size());
+        assertEquals(List.of("Electronics", "Asia", "2025-01-01"), result.getRows().get(0).getKeys());
+        assertEquals(List.of("Electronics", "Europe", "2025-01-01"), result.getRows().get(1).getKeys());
+        assertEquals(List.of("Furniture", "Europe", "2025-02-01"), result.getRows().get(2).getKeys());
+    }
+
+    /**
+     * Tests every aggregate of one group against hand-computed values.
+     */
+    @Test
+    public void testAggregateValues() {
+        SalesQuery.Row electronicsEurope = multiDimensionQuery().execute(RECORDS).find("Electronics", "Europe", "2025-01-01");
+
+        assertEquals(1020.0, electronicsEurope.getValue(0));
+        assertEquals(2.0, electronicsEurope.getValue(1));
+        assertEquals(2.0, electronicsEurope.getValue(2));
+        assertEquals(20.0, electronicsEurope.getValue(3));
+        assertEquals(1000.0, electronicsEurope.getValue(4));
+        assertEquals(2, electronicsEurope.getCount());
+    }
+
+    /**
+     * Tests looking up present and absent groups.
+     */
+    @Test
+    public void testFind() {
+        SalesQuery.Result result = multiDimensionQuery().execute(RECORDS);
+
+        assertEquals(300.0, result.find("Furniture", "Europe", "2025-02-01").getValue(0));
+        assertNull(result.find("Furniture", "Asia", "2025-02-01"));
+    }
+
+    /**
+     * Tests that a query without dimensions gives one row with no keys.
+     */
+    @Test
+    public void testNoGroupingGivesOneRow() {
+        SalesQuery.Result total = new SalesQuery.Builder().aggregate(Aggregation.SUM).build().execute(RECORDS);
+
+        assertEquals(1, total.size());
+        assertEquals(2170.0, total.getRows().get(0).getValue(0), 1e-9);
+        assertEquals(List.of(), total.getRows().get(0).getKeys());
+    }
+
+    /**
+     * Tests that an empty input has no groups.
+     */
+    @Test
+    public void testEmptyInputHasNoGroups() {
+        assertEquals(0, BY_CATEGORY.execute(List.of()).size());
+    }
+
+    /**
+     * Tests that sums are compensated within a scan.
+     */
+    @Test
+    public void testSumsAreCompensated() {
+        assertEquals(1.0, BY_CATEGORY.execute(CANCELLING).find("Office").getValue(0));
+    }
+
+    /**
+     * Tests that sums stay compensated across merged partial results.
+     */
+    @Test
+    public void testMergedSumsAreCompensated() {
+        SalesQuery.PartialResult merged = BY_CATEGORY.scan(SalesTable.fromRecords(CANCELLING.subList(0, 2)))
+                .merge(BY_CATEGORY.scan(SalesTable.fromRecords(CANCELLING.subList(2, 3))));
+
+        assertEquals(1.0, BY_CATEGORY.finish(merged).find("Office").getValue(0));
+    }
+
+    /**
+     * Tests that table totals are compensated like the parallel service.
+     */
+    @Test
+    public void testTableTotalsMatchParallelService() {
+        assertEquals(new ParallelSalesAnalysisService().getSalesByCategory(CANCELLING), new SalesAnalysisService()
+                .getSalesByCategory(SalesTable.fromRecords(CANCELLING)));
+    }
+
+    /**
+     * Tests value, amount and date filters against the equivalent stream pipeline.
+     */
+    @Test
+    public void testFiltersMatchStreams() throws IOException {
+        List<SalesRecord> records = CSVReader.readSalesData("data/sales.csv");
+        String region = records.get(0).getRegion();
+        LocalDate from = LocalDate.parse(records.get(10).getOrderDate());
+        LocalDate to = from.plusDays(60);
+
+        SalesQuery query = new SalesQuery.Builder()
+                .groupBy(SalesDimension.PRODUCT)
+                .where(SalesDimension.REGION, region, "No Such Region")
+                .whereAmount(50.0, 900.0)
+                .whereDate(from, to)
+                .aggregate(Aggregation.SUM)
+                .build();
+        Map<String, Double> expected = records.stream()
+                .filter(r -> r.getRegion().equals(region))
+                .filter(r -> r.getAmount() >= 50.0 && r.getAmount() < 900.0)
+                .filter(r -> !LocalDate.parse(r.getOrderDate()).isBefore(from))
+                .filter(r -> LocalDate.parse(r.getOrderDate()).isBefore(to))
+                .collect(Collectors.groupingBy(SalesRecord::getProduct, Collectors.summingDouble(SalesRecord::getAmount)));
+        Map<List<String>, Double> actual = query.execute(SalesTable.fromRecords(records)).toMap(0);
+
+        assertEquals(expected.size(), actual.size());
+        expected.forEach((product, sum) -> assertEquals(sum, actual.get(List.of(product)), 1e-9, product));
+    }
+
+    /**
+     * Tests that the service's table methods agree with their list counterparts.
+     */
+    @Test
+    public void testServiceTableMethodsMatchLists() throws IOException {
+        List<SalesRecord> records = CSVReader.readSalesData("data/sales.csv");
+        SalesTable table = SalesTable.fromRecords(records);
+        SalesAnalysisService service = new SalesAnalysisService();
+
+        assertEquals(service.getSalesByCategory(records).keySet(), service.getSalesByCategory(table).keySet());
+        service.getSalesByRegion(records).forEach((key, sum) ->
+                assertEquals(sum, service.getSalesByRegion(table).get(key), 1e-9));
+        service.getAverageSalesPerProduct(records).forEach((key, avg) ->
+                assertEquals(avg, service.getAverageSalesPerProduct(table).get(key), 1e-9));
+    }
+
+    /**
+     * Tests the hash-table path for key spaces too large for dense group arrays.
+     */
+    @Test
+    public void testLargeKeySpace() {
+        // 2000 products x 1000 categories exceeds the dense limit
+        List<SalesRecord> records = IntStream.range(0, 20_000)
+                .mapToObj(i -> new SalesRecord("ORD-" + i, "P" + (i % 2_000), "C" + (i % 1_000), "R",
+                        1.0, 1, "2025-03-01"))
+                .toList();
+        SalesQuery.Result result = new SalesQuery.Builder()
+                .groupBy(SalesDimension.PRODUCT, SalesDimension.CATEGORY)
+                .aggregate(Aggregation.COUNT)
+                .build()
+                .execute(records);
+
+        assertEquals(2_000, result.size());
+        assertTrue(result.getRows().stream().allMatch(row -> row.getCount() == 10));
+        assertEquals(10.0, result.find("P1999", "C999").getValue(0));
+    }
+
+    /**
+     * Tests that a query needs at least one aggregate.
+     */
+    @Test
+    public void testRejectsQueryWithoutAggregates() {
+        assertThrows(IllegalArgumentException.class, () -> new SalesQuery.Builder().build());
+    }
+
+    /**
+     * Tests that a dimension can only be grouped by once.
+     */
+    @Test
+    public void testRejectsRepeatedDimension() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SalesQuery.Builder().groupBy(SalesDimension.REGION, SalesDimension.REGION));
+    }
+
+    /**
+     * Tests that the month is filtered with whereDate rather than where.
+     */
+    @Test
+    public void testRejectsWhereOnMonth() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SalesQuery.Builder().where(SalesDimension.MONTH, "2025-01-01"));
+    }
+
+    /**
+     * Tests that amount bounds must be numbers.
+     */
+    @Test
+    public void testRejectsNaNAmountBound() {
+        assertThrows(IllegalArgumentException.class, () -> new SalesQuery.Builder().whereAmount(Double.NaN, 1.0));
+    }
+
+    private static SalesQuery multiDimensionQuery() {
+        return new SalesQuery.Builder()
+                .groupBy(SalesDimension.CATEGORY, SalesDimension.REGION, SalesDimension.MONTH)
+                .aggregate(Aggregation.SUM)
+                .aggregate(Aggregation.COUNT)
+                .aggregate(Aggregation.AVG, SalesMetric.QUANTITY)
+                .aggregate(Aggregation.MIN)
+                .aggregate(Aggregation.MAX)
+                .build();
+    }
+}
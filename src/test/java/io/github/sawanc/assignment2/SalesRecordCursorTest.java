@@ -0,0 +1,191 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SalesRecordCursor and the cursor-based service methods.
+ *
+ * @author sawan chakraborty
+ */
+public class SalesRecordCursorTest extends SalesTestSupport {
+
+    private List<SalesRecord> records;
+    private SalesTable table;
+    private SalesAnalysisService service;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        records = CSVReader.readSalesData("data/sales.csv");
+        table = SalesTable.fromRecords(records);
+        service = new SalesAnalysisService();
+    }
+
+    /**
+     * Tests that one reused cursor visits every row with the same values as the records.
+     */
+    @Test
+    public void testCursorMatchesRecords() {
+        SalesRecordCursor cursor = table.cursor();
+        List<String> visited = new ArrayList<>();
+        while (cursor.next()) {
+            assertEquals(visited.size(), cursor.getRow());
+            visited.add(cursor.toString());
+        }
+        assertFalse(cursor.next());
+        assertEquals(records.toString(), visited.toString());
+    }
+
+    /**
+     * Tests that a reset cursor starts again at the first row.
+     */
+    @Test
+    public void testReset() {
+        SalesRecordCursor cursor = table.cursor();
+        while (cursor.next()) {
+            // run to the end
+        }
+        cursor.reset();
+
+        assertTrue(cursor.next());
+        assertEquals(0, cursor.getRow());
+    }
+
+    /**
+     * Tests positioning on a row and reading its columns.
+     */
+    @Test
+    public void testMoveTo() {
+        int lastRow = records.size() - 1;
+        SalesRecord last = records.get(lastRow);
+        SalesRecordCursor cursor = table.cursor();
+        cursor.moveTo(lastRow);
+
+        assertEquals(last.getOrderId(), cursor.getOrderId());
+        assertEquals(last.getAmount(), cursor.getAmount());
+        assertSame(table.getProduct(lastRow), cursor.getProduct(), "dictionary strings are shared");
+        assertEquals(table.getCategoryCode(lastRow), cursor.getCategoryCode());
+    }
+
+    /**
+     * Tests that rows outside the table are rejected.
+     */
+    @Test
+    public void testMoveToRejectsOutOfRange() {
+        SalesRecordCursor cursor = table.cursor();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> cursor.moveTo(records.size()));
+        assertThrows(IndexOutOfBoundsException.class, () -> cursor.moveTo(-1));
+    }
+
+    /**
+     * Tests that forEachRow visits every row once in order.
+     */
+    @Test
+    public void testForEachRow() {
+        List<Integer> rows = new ArrayList<>();
+        table.forEachRow(row -> rows.add(row.getRow()));
+
+        assertEquals(records.size(), rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(i, rows.get(i));
+        }
+    }
+
+    /**
+     * Tests that a cursor over an empty table has no rows.
+     */
+    @Test
+    public void testEmptyTable() {
+        assertFalse(new SalesTable.Builder().build().cursor().next());
+    }
+
+    /**
+     * Tests that metrics give the same totals on a cursor as on records.
+     */
+    @Test
+    public void testMetricsOnCursor() {
+        SalesRecordCursor cursor = table.cursor();
+        double revenue = 0;
+        double quantity = 0;
+        while (cursor.next()) {
+            revenue += SalesMetric.REVENUE.valueOf(cursor);
+            quantity += SalesMetric.QUANTITY.valueOf(cursor);
+        }
+
+        assertEquals(service.getTotalSales(records), revenue, 1e-9);
+        assertEquals(records.stream().mapToInt(SalesRecord::getQuantity).sum(), quantity);
+    }
+
+    /**
+     * Tests that sketches built from a table equal those built from records.
+     */
+    @Test
+    public void testSketchOnTable() {
+        SalesSketch fromRecords = service.sketch(records);
+        SalesSketch fromTable = service.sketch(table);
+
+        assertEquals(fromRecords.getRecordCount(), fromTable.getRecordCount());
+        assertEquals(fromRecords.getDistinctOrders(), fromTable.getDistinctOrders());
+        assertEquals(fromRecords.getMedianAmount(), fromTable.getMedianAmount());
+    }
+
+    /**
+     * Tests that grouped sketches built from a table equal those built from records.
+     */
+    @Test
+    public void testSketchByOnTable() {
+        assertEquals(service.sketchByCategory(records).keySet(), service.sketchByCategory(table).keySet());
+        assertEquals(service.sketchByRegion(records).get("North America").getP95Amount(),
+                service.sketchByRegion(table).get("North America").getP95Amount());
+    }
+
+    /**
+     * Tests the generic cursor-based group-by against a stream equivalent.
+     */
+    @Test
+    public void testTotalsBy() {
+        Map<String, Double> expected = records.stream().collect(Collectors.groupingBy(
+                record -> record.getRegion() + "/" + record.getCategory(), Collectors.summingDouble(SalesRecord::getAmount)));
+        Map<String, Double> actual = service.getTotalsBy(table, row -> row.getRegion() + "/" + row.getCategory(),
+                SalesMetric.REVENUE);
+
+        assertMapsClose(expected, actual);
+    }
+
+    /**
+     * Tests that the group-by over categories equals getSalesByCategory.
+     */
+    @Test
+    public void testTotalsByCategoryMatchesSalesByCategory() {
+        assertEquals(service.getSalesByCategory(table), service.getTotalsBy(table, SalesRecordView::getCategory,
+                SalesMetric.REVENUE));
+    }
+
+    /**
+     * Tests that the group-by rejects a null metric.
+     */
+    @Test
+    public void testTotalsByRejectsNullMetric() {
+        assertThrows(IllegalArgumentException.class, () -> service.getTotalsBy(table, SalesRecordView::getProduct, null));
+    }
+
+    /**
+     * Tests the cursor-based filter against a stream equivalent.
+     */
+    @Test
+    public void testFilter() {
+        List<SalesRecord> filtered = service.filter(table, row -> row.getQuantity() > 5 && row.getRegion().equals("Europe"));
+
+        assertEquals(records.stream().filter(record -> record.getQuantity() > 5 && record.getRegion().equals("Europe"))
+                .collect(Collectors.toList()).toString(), filtered.toString());
+    }
+}
@@ -0,0 +1,318 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HyperLogLog, QuantileSketch and the sketch queries of SalesAnalysisService.
+ *
+ * @author sawan chakraborty
+ */
+public class SalesSketchTest {
+
+    /**
+     * Tests that linear counting is near exact for small sets and ignores duplicates.
+     */
+    @Test
+    public void testHyperLogLogSmallSet() {
+        HyperLogLog small = new HyperLogLog();
+        for (int i = 0; i < 1_000; i++) {
+            small.add("ORD-" + (i % 100));
+        }
+        assertEquals(100, small.estimate(), 2, "Linear counting should be near exact for small sets");
+    }
+
+    /**
+     * Tests that merging two estimators estimates the size of the union.
+     */
+    @Test
+    public void testHyperLogLogMergeEstimatesUnion() {
+        HyperLogLog left = new HyperLogLog();
+        HyperLogLog right = new HyperLogLog();
+        for (int i = 0; i < 300_000; i++) {
+            (i % 2 == 0 ? left : right).add("SKU-" + i);
+            right.add("SKU-" + (i / 2)); // overlaps the first half
+        }
+        assertEquals(300_000, left.merge(right).estimate(), 300_000 * 0.03, "Merged estimate should be within 3%");
+    }
+
+    /**
+     * Tests that an estimator stays sparse for a few values and turns dense as it fills up.
+     */
+    @Test
+    public void testHyperLogLogStartsSparse() {
+        HyperLogLog hll = new HyperLogLog();
+        for (int i = 0; i < 100; i++) {
+            hll.add("P" + i);
+        }
+        assertTrue(hll.isSparse());
+
+        for (int i = 100; i < 50_000; i++) {
+            hll.add("P" + i);
+        }
+        assertFalse(hll.isSparse());
+        assertEquals(50_000, hll.estimate(), 50_000 * 0.03);
+    }
+
+    /**
+     * Tests that sparse and dense estimators merge in any order to the same estimate.
+     */
+    @Test
+    public void testHyperLogLogMergesSparseAndDense() {
+        HyperLogLog all = new HyperLogLog();
+        HyperLogLog dense = new HyperLogLog();
+        HyperLogLog sparse = new HyperLogLog();
+        for (int i = 0; i < 20_000; i++) {
+            all.add("K" + i);
+            dense.add("K" + i);
+        }
+        for (int i = 20_000; i < 20_050; i++) {
+            all.add("K" + i);
+            sparse.add("K" + i);
+        }
+        long expected = all.estimate();
+
+        HyperLogLog denseFirst = new HyperLogLog().merge(dense).merge(sparse);
+        HyperLogLog sparseFirst = new HyperLogLog().merge(sparse).merge(dense);
+        assertEquals(expected, denseFirst.estimate());
+        assertEquals(expected, sparseFirst.estimate());
+        assertTrue(sparse.isSparse(), "Merging should not modify the argument");
+    }
+
+    /**
+     * Tests that an empty estimator estimates zero.
+     */
+    @Test
+    public void testHyperLogLogEmpty() {
+        assertEquals(0, new HyperLogLog().estimate());
+        assertEquals(0, new HyperLogLog().merge(new HyperLogLog()).estimate());
+    }
+
+    /**
+     * Tests precision validation on construction and merging.
+     */
+    @Test
+    public void testHyperLogLogRejectsInvalidPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog().merge(new HyperLogLog(10)));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(19));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog().add(null));
+    }
+
+    /**
+     * Tests that quantiles stay within the relative error bound.
+     */
+    @Test
+    public void testQuantileSketchRelativeError() {
+        double[] values = logNormalValues();
+        QuantileSketch sketch = new QuantileSketch();
+        Arrays.stream(values).forEach(sketch::add);
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        for (double q : new double[]{0.0, 0.5, 0.95, 0.99, 1.0}) {
+            double exact = sorted[(int) (q * (sorted.length - 1))];
+            assertEquals(exact, sketch.getQuantile(q), exact * 0.0101, "q=" + q);
+        }
+    }
+
+    /**
+     * Tests that merging partial sketches gives exactly the sketch of all values.
+     */
+    @Test
+    public void testQuantileSketchMergeIsExact() {
+        double[] values = logNormalValues();
+        QuantileSketch whole = new QuantileSketch();
+        QuantileSketch left = new QuantileSketch();
+        QuantileSketch right = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            whole.add(values[i]);
+            (i % 3 == 0 ? left : right).add(values[i]);
+        }
+        left.merge(right);
+
+        assertEquals(whole.getCount(), left.getCount());
+        for (double q : new double[]{0.0, 0.5, 0.95, 0.99, 1.0}) {
+            assertEquals(whole.getQuantile(q), left.getQuantile(q), 0.0, "q=" + q);
+        }
+    }
+
+    /**
+     * Tests negative values, zeros and positive values in one sketch.
+     */
+    @Test
+    public void testQuantileSketchMixedSigns() {
+        QuantileSketch mixed = new QuantileSketch();
+        for (double value : new double[]{-50.0, -5.0, 0.0, 0.0, 5.0, 50.0, 500.0}) {
+            mixed.add(value);
+        }
+        assertEquals(-50.0, mixed.getQuantile(0.0), 0.5);
+        assertEquals(0.0, mixed.getQuantile(0.5));
+        assertEquals(500.0, mixed.getQuantile(1.0));
+    }
+
+    /**
+     * Tests that an empty sketch has no quantiles.
+     */
+    @Test
+    public void testQuantileSketchEmpty() {
+        QuantileSketch empty = new QuantileSketch();
+        assertTrue(Double.isNaN(empty.getQuantile(0.5)));
+        assertTrue(Double.isNaN(empty.getMin()));
+        assertTrue(Double.isNaN(empty.getMax()));
+    }
+
+    /**
+     * Tests that a smaller bucket budget collapses the low end but keeps the upper quantiles accurate.
+     */
+    @Test
+    public void testQuantileSketchBoundedBuckets() {
+        double[] values = logNormalValues();
+        QuantileSketch bounded = new QuantileSketch(0.01, 512);
+        Arrays.stream(values).forEach(bounded::add);
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        double p99 = sorted[(int) (0.99 * (sorted.length - 1))];
+        assertEquals(p99, bounded.getQuantile(0.99), p99 * 0.0101);
+    }
+
+    /**
+     * Tests that NaN and infinite values are counted but left out of the quantiles.
+     */
+    @Test
+    public void testQuantileSketchSkipsNonFiniteValues() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (double value : new double[]{1.0, Double.NaN, 2.0, Double.POSITIVE_INFINITY, 3.0,
+                Double.NEGATIVE_INFINITY}) {
+            sketch.add(value);
+        }
+
+        assertEquals(3, sketch.getCount());
+        assertEquals(3, sketch.getNonFiniteCount());
+        assertEquals(1.0, sketch.getMin());
+        assertEquals(3.0, sketch.getMax());
+        assertEquals(2.0, sketch.getQuantile(0.5), 0.02);
+    }
+
+    /**
+     * Tests that merging adds up the non-finite counts.
+     */
+    @Test
+    public void testQuantileSketchMergesNonFiniteCounts() {
+        QuantileSketch left = new QuantileSketch();
+        QuantileSketch right = new QuantileSketch();
+        left.add(Double.NaN);
+        right.add(Double.POSITIVE_INFINITY);
+        right.add(4.0);
+
+        left.merge(right);
+        assertEquals(1, left.getCount());
+        assertEquals(2, left.getNonFiniteCount());
+        assertEquals(4.0, left.getQuantile(0.5));
+    }
+
+    /**
+     * Tests argument validation of the quantile sketch.
+     */
+    @Test
+    public void testQuantileSketchRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch().getQuantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch().getQuantile(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(0.0, 16));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(0.01, 0));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(0.01, 16).merge(new QuantileSketch(0.02, 16)));
+    }
+
+    /**
+     * Tests the overall sketch of the sample data.
+     */
+    @Test
+    public void testServiceSketch() throws IOException {
+        List<SalesRecord> records = CSVReader.readSalesData("data/sales.csv");
+        SalesSketch all = new SalesAnalysisService().sketch(records);
+
+        assertEquals(100, all.getRecordCount());
+        assertEquals(0, all.getNonFiniteAmounts());
+        assertEquals(records.stream().map(SalesRecord::getOrderId).distinct().count(), all.getDistinctOrders(), 1);
+        assertEquals(records.stream().map(SalesRecord::getProduct).distinct().count(), all.getDistinctProducts(), 1);
+    }
+
+    /**
+     * Tests per-category sketches of the sample data.
+     */
+    @Test
+    public void testServiceSketchByCategory() throws IOException {
+        List<SalesRecord> records = CSVReader.readSalesData("data/sales.csv");
+        SalesAnalysisService service = new SalesAnalysisService();
+        Map<String, SalesSketch> byCategory = service.sketchByCategory(records);
+
+        assertEquals(service.getSalesByCategory(records).keySet(), byCategory.keySet());
+        byCategory.forEach((category, sketch) -> {
+            double max = records.stream().filter(r -> r.getCategory().equals(category))
+                    .mapToDouble(SalesRecord::getAmount).max().orElseThrow();
+            assertEquals(max, sketch.getAmountQuantile(1.0), 0.0, category);
+            assertTrue(sketch.getMedianAmount() <= sketch.getP95Amount());
+            assertTrue(sketch.getP95Amount() <= sketch.getP99Amount());
+        });
+    }
+
+    /**
+     * Tests that the parallel per-region sketches equal the sequential ones.
+     */
+    @Test
+    public void testParallelSketchByRegionMatchesSequential() {
+        Random random = new Random(9);
+        List<SalesRecord> large = IntStream.range(0, 30_000)
+                .mapToObj(i -> new SalesRecord("ORD-" + i, "P" + random.nextInt(5_000), "C", "R" + (i % 3),
+                        random.nextInt(10_000) / 10.0, 1, "2025-01-01"))
+                .toList();
+        Map<String, SalesSketch> sequential = new SalesAnalysisService().sketchByRegion(large);
+        Map<String, SalesSketch> parallel = new ParallelSalesAnalysisService().sketchByRegion(large);
+
+        assertEquals(sequential.keySet(), parallel.keySet());
+        sequential.forEach((region, sketch) -> {
+            assertEquals(sketch.getRecordCount(), parallel.get(region).getRecordCount(), region);
+            assertEquals(sketch.getDistinctProducts(), parallel.get(region).getDistinctProducts(), region);
+            assertEquals(sketch.getP99Amount(), parallel.get(region).getP99Amount(), 0.0, region);
+        });
+    }
+
+    /**
+     * Tests that records with NaN or infinite amounts are sketched like every other aggregation accepts them.
+     */
+    @Test
+    public void testServiceSketchesAcceptNonFiniteAmounts() {
+        List<SalesRecord> records = List.of(
+                new SalesRecord("ORD-1", "Laptop", "Electronics", "Asia", 10.0, 1, "2025-01-01"),
+                new SalesRecord("ORD-2", "Laptop", "Electronics", "Asia", Double.NaN, 1, "2025-01-01"),
+                new SalesRecord("ORD-3", "Desk", "Furniture", "Europe", Double.POSITIVE_INFINITY, 1, "2025-01-01"),
+                new SalesRecord("ORD-4", "Desk", "Furniture", "Europe", 30.0, 1, "2025-01-01"));
+
+        for (SalesAnalysisService service : List.of(new SalesAnalysisService(), new ParallelSalesAnalysisService())) {
+            SalesSketch all = service.sketch(records);
+            assertEquals(4, all.getRecordCount());
+            assertEquals(2, all.getNonFiniteAmounts());
+            assertEquals(4, all.getDistinctOrders());
+            assertEquals(30.0, all.getAmountQuantile(1.0));
+
+            Map<String, SalesSketch> byCategory = service.sketchByCategory(records);
+            assertEquals(2, byCategory.get("Electronics").getRecordCount());
+            assertEquals(10.0, byCategory.get("Electronics").getMedianAmount());
+            assertEquals(1, byCategory.get("Furniture").getNonFiniteAmounts());
+        }
+    }
+
+    private static double[] logNormalValues() {
+        Random random = new Random(3);
+        return IntStream.range(0, 100_000).mapToDouble(i -> Math.exp(random.nextGaussian() * 2) * 100).toArray();
+    }
+}
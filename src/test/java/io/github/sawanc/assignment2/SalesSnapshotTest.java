@@ -0,0 +1,175 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SalesSnapshot.
+ *
+ * @author sawan chakraborty
+ */
+public class SalesSnapshotTest extends SalesTestSupport {
+
+    /**
+     * Tests that a converted snapshot loads back to the same rows and analysis results.
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        String snapshot = tempDir.resolve("sales.snap").toString();
+        SalesTable original = SalesSnapshot.convert("data/sales.csv", snapshot);
+        SalesTable loaded = SalesSnapshot.load(snapshot);
+        SalesAnalysisService service = new SalesAnalysisService();
+
+        assertEquals(100, loaded.size());
+        assertEquals(CSVReader.readSalesData("data/sales.csv").toString(), loaded.toRecords().toString());
+        assertEquals(original.getProductDictionary().values(), loaded.getProductDictionary().values());
+        assertEquals(original.getCategoryCode(7), loaded.getCategoryCode(7));
+        assertEquals(service.getTotalSales(original), service.getTotalSales(loaded), 0.0);
+        assertEquals(service.getSalesByRegion(original), service.getSalesByRegion(loaded));
+        assertEquals(loaded.getProductCode(0), loaded.getProductDictionary().lookup(loaded.getProduct(0)));
+    }
+
+    /**
+     * Tests that an empty table round-trips.
+     */
+    @Test
+    public void testEmptyTable() throws IOException {
+        String empty = tempDir.resolve("empty.snap").toString();
+        SalesSnapshot.write(SalesTable.fromRecords(List.of()), empty);
+
+        assertEquals(0, SalesSnapshot.load(empty).size());
+    }
+
+    /**
+     * Tests that non-ASCII order ids and dictionary values round-trip.
+     */
+    @Test
+    public void testUnicodeValues() throws IOException {
+        List<SalesRecord> records = List.of(
+                new SalesRecord("ORD-ü1", "Café Table", "Möbel", "Europe", 99.5, 2, "2025-01-01"),
+                new SalesRecord("ORD-2", "Café Table", "Möbel", "Asia", 0.1, 1, "2025-01-02"));
+        String unicode = tempDir.resolve("unicode.snap").toString();
+        SalesSnapshot.write(SalesTable.fromRecords(records), unicode);
+
+        assertEquals(records.toString(), SalesSnapshot.load(unicode).toRecords().toString());
+    }
+
+    /**
+     * Tests that a missing file is reported as an IOException.
+     */
+    @Test
+    public void testRejectsMissingFile() {
+        assertThrows(IOException.class, () -> SalesSnapshot.load(tempDir.resolve("missing.snap").toString()));
+    }
+
+    /**
+     * Tests that a file without the snapshot magic number is rejected.
+     */
+    @Test
+    public void testRejectsBadMagic() throws IOException {
+        Path csv = tempDir.resolve("not-a-snapshot.snap");
+        Files.copy(Path.of("data/sales.csv"), csv);
+
+        assertCorrupt(csv, "bad magic");
+    }
+
+    /**
+     * Tests that a snapshot written by another format version is rejected.
+     */
+    @Test
+    public void testRejectsOtherVersion() throws IOException {
+        byte[] bytes = snapshotBytes();
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(8, SalesSnapshot.VERSION - 1);
+
+        assertCorrupt(write(bytes), "Unsupported snapshot version");
+    }
+
+    /**
+     * Tests that a truncated file is rejected by its size check.
+     */
+    @Test
+    public void testRejectsTruncatedFile() throws IOException {
+        byte[] bytes = snapshotBytes();
+
+        assertCorrupt(write(Arrays.copyOf(bytes, bytes.length - 10)), "expected");
+    }
+
+    /**
+     * Tests that a duplicated dictionary value is rejected.
+     */
+    @Test
+    public void testRejectsDuplicateDictionaryValue() throws IOException {
+        SalesTable table = SalesTable.fromRecords(List.of(
+                new SalesRecord("ORD-1", "AA", "C", "R", 1.0, 1, "2025-01-01"),
+                new SalesRecord("ORD-2", "BB", "C", "R", 1.0, 1, "2025-01-01")));
+        Path snapshot = tempDir.resolve("sales.snap");
+        SalesSnapshot.write(table, snapshot.toString());
+        byte[] bytes = Files.readAllBytes(snapshot);
+        // Header, product count and the first value's length precede "AA"; its second copy is "BB"
+        int second = 32 + 4 + 4 + 2 + 4;
+        bytes[second] = 'A';
+        bytes[second + 1] = 'A';
+
+        assertCorrupt(write(bytes), "duplicate dictionary value");
+    }
+
+    /**
+     * Tests that a product code outside its dictionary fails at load time, not on first access.
+     */
+    @Test
+    public void testRejectsCodeOutsideDictionary() throws IOException {
+        byte[] bytes = snapshotBytes();
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(productCodeOffset(bytes), 9_999);
+
+        assertCorrupt(write(bytes), "product code 9999 at row 0");
+    }
+
+    /**
+     * Tests that decreasing order id offsets fail at load time.
+     */
+    @Test
+    public void testRejectsDecreasingOrderIdOffsets() throws IOException {
+        byte[] bytes = snapshotBytes();
+        int offsets = productCodeOffset(bytes) + rows(bytes) * 4 * Integer.BYTES;
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(offsets + Integer.BYTES, 1_000_000);
+
+        assertCorrupt(write(bytes), "order id offsets decrease at row 1");
+    }
+
+    private byte[] snapshotBytes() throws IOException {
+        Path snapshot = tempDir.resolve("source.snap");
+        SalesSnapshot.convert("data/sales.csv", snapshot.toString());
+        return Files.readAllBytes(snapshot);
+    }
+
+    private Path write(byte[] bytes) throws IOException {
+        Path snapshot = tempDir.resolve("corrupt.snap");
+        Files.write(snapshot, bytes);
+        return snapshot;
+    }
+
+    private static int rows(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).getInt(12);
+    }
+
+    // Columns start after the header and dictionaries, aligned to 8 bytes; codes follow amounts and quantities
+    private static int productCodeOffset(byte[] bytes) {
+        long columns = 32 + ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).getLong(24);
+        columns += -columns & 7;
+        return (int) (columns + (long) rows(bytes) * (Double.BYTES + Integer.BYTES));
+    }
+
+    private static void assertCorrupt(Path snapshot, String expected) {
+        IOException e = assertThrows(IOException.class, () -> SalesSnapshot.load(snapshot.toString()));
+        assertTrue(e.getMessage().contains(expected), e.getMessage());
+    }
+}
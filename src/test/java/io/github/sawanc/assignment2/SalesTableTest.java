@@ -0,0 +1,192 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SalesTable and the columnar SalesAnalysisService overloads.
+ *
+ * @author sawan chakraborty
+ */
+public class SalesTableTest extends SalesTestSupport {
+
+    /**
+     * Tests that loading straight from CSV matches the row-based reader.
+     */
+    @Test
+    public void testReadSalesTableMatchesRecords() throws IOException {
+        List<SalesRecord> records = CSVReader.readSalesData("data/sales.csv");
+        SalesTable table = CSVReader.readSalesTable("data/sales.csv");
+
+        assertEquals(records.size(), table.size());
+        for (int row = 0; row < table.size(); row++) {
+            assertEquals(records.get(row).toString(), table.getRecord(row).toString());
+        }
+    }
+
+    /**
+     * Tests that repeated strings are dictionary-encoded once.
+     */
+    @Test
+    public void testDictionariesEncodeOnce() throws IOException {
+        SalesTable table = CSVReader.readSalesTable("data/sales.csv");
+
+        assertEquals(3, table.getCategoryDictionary().size());
+        assertEquals(6, table.getRegionDictionary().size());
+    }
+
+    /**
+     * Tests that the builder grows its arrays from a zero initial capacity.
+     */
+    @Test
+    public void testBuilderGrows() {
+        SalesTable table = buildTable(new SalesTable.Builder(0));
+
+        assertEquals(1000, table.size());
+        assertEquals("ORD-999", table.getOrderId(999));
+        assertEquals(999 * 1.5, table.getAmount(999));
+    }
+
+    /**
+     * Tests that non-ASCII values round-trip.
+     */
+    @Test
+    public void testNonAsciiValues() {
+        assertEquals("Région4", buildTable(new SalesTable.Builder()).getRegion(999));
+    }
+
+    /**
+     * Tests that equal values share one dictionary code.
+     */
+    @Test
+    public void testEqualValuesShareCodes() {
+        SalesTable table = buildTable(new SalesTable.Builder());
+
+        assertEquals(7, table.getProductDictionary().size());
+        assertEquals(table.getProductCode(0), table.getProductCode(7));
+    }
+
+    /**
+     * Tests converting a table back to records.
+     */
+    @Test
+    public void testToRecords() {
+        SalesTable table = buildTable(new SalesTable.Builder());
+        List<SalesRecord> records = table.toRecords();
+
+        assertEquals(1000, records.size());
+        assertEquals(table.getRecord(500).toString(), records.get(500).toString());
+    }
+
+    /**
+     * Tests that the builder is closed after build(), since the table shares its dictionaries.
+     */
+    @Test
+    public void testBuilderClosedAfterBuild() {
+        SalesTable.Builder builder = new SalesTable.Builder();
+        SalesTable table = buildTable(builder);
+
+        SalesRecord extra = new SalesRecord("ORD-X", "New", "New", "New", 1.0, 1, "2025-01-10");
+        assertThrows(IllegalStateException.class, () -> builder.add(extra));
+        assertThrows(IllegalStateException.class, builder::build);
+        assertEquals(7, table.getProductDictionary().size());
+    }
+
+    /**
+     * Tests a table without rows.
+     */
+    @Test
+    public void testEmptyTable() {
+        SalesTable table = SalesTable.fromRecords(List.of());
+
+        assertEquals(0, table.size());
+        assertEquals(0.0, new SalesAnalysisService().getTotalSales(table));
+        assertEquals(List.of(), table.toRecords());
+    }
+
+    /**
+     * Tests that the columnar total matches the row-based one.
+     */
+    @Test
+    public void testTotalSalesMatchesList() throws IOException {
+        SalesAnalysisService service = new SalesAnalysisService();
+        List<SalesRecord> records = CSVReader.readSalesData("data/sales.csv");
+
+        assertEquals(service.getTotalSales(records), service.getTotalSales(SalesTable.fromRecords(records)), 0.0001);
+    }
+
+    /**
+     * Tests that the columnar group totals match the row-based ones.
+     */
+    @Test
+    public void testGroupTotalsMatchList() throws IOException {
+        SalesAnalysisService service = new SalesAnalysisService();
+        List<SalesRecord> records = CSVReader.readSalesData("data/sales.csv");
+        SalesTable table = SalesTable.fromRecords(records);
+
+        assertMapsClose(service.getSalesByCategory(records), service.getSalesByCategory(table));
+        assertMapsClose(service.getSalesByRegion(records), service.getSalesByRegion(table));
+        assertMapsClose(service.getAverageSalesPerProduct(records), service.getAverageSalesPerProduct(table));
+    }
+
+    /**
+     * Tests that the columnar filter matches the row-based one.
+     */
+    @Test
+    public void testFilterMatchesList() throws IOException {
+        SalesAnalysisService service = new SalesAnalysisService();
+        List<SalesRecord> records = CSVReader.readSalesData("data/sales.csv");
+
+        assertEquals(service.filterHighValueTransactions(records, 500.0).toString(),
+                service.filterHighValueTransactions(SalesTable.fromRecords(records), 500.0).toString());
+    }
+
+    /**
+     * Tests that table aggregations use the same compensated summation as the parallel service.
+     */
+    @Test
+    public void testSummaryMatchesParallelService() throws IOException {
+        SalesAnalysisService service = new SalesAnalysisService();
+        List<SalesRecord> records = CSVReader.readSalesData("data/sales.csv");
+        SalesTable table = SalesTable.fromRecords(records);
+
+        SalesSummary expected = new ParallelSalesAnalysisService().summarize(records, 500.0);
+        SalesSummary actual = service.summarize(table, 500.0);
+        assertEquals(expected.getTotalSales(), service.getTotalSales(table), 0.0);
+        assertEquals(expected.getTotalSales(), actual.getTotalSales(), 0.0);
+        assertEquals(expected.getSalesByCategory(), actual.getSalesByCategory());
+        assertEquals(expected.getSalesByRegion(), service.getSalesByRegion(table));
+        assertEquals(expected.getAverageSalesPerProduct(), actual.getAverageSalesPerProduct());
+    }
+
+    /**
+     * Tests that malformed rows fail with the reader's message format.
+     */
+    @Test
+    public void testReadSalesTableMalformedRow() throws IOException {
+        Path csvFile = tempDir.resolve("malformed.csv");
+        Files.writeString(csvFile, """
+                order_id,product,category,region,amount,quantity,order_date
+                ORD-001,Laptop,Electronics,North America,1200.50,x,2025-01-05
+                """);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> CSVReader.readSalesTable(csvFile.toString()));
+        assertTrue(exception.getMessage().startsWith("Malformed CSV row: ORD-001,Laptop"));
+        assertTrue(exception.getMessage().contains("Invalid quantity value: x"));
+    }
+
+    private static SalesTable buildTable(SalesTable.Builder builder) {
+        for (int i = 0; i < 1000; i++) {
+            builder.add(new SalesRecord("ORD-" + i, "Product" + (i % 7), "Category" + (i % 3), "Région" + (i % 5),
+                    i * 1.5, i % 10, "2025-01-" + (10 + i % 20)));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Shared fixture for the assignment 2 tests: a per-test temporary directory, the sales CSV header
+ * and approximate comparison of aggregated maps.
+ *
+ * @author sawan chakraborty
+ */
+abstract class SalesTestSupport {
+
+    static final String HEADER = "order_id,product,category,region,amount,quantity,order_date\n";
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Asserts that both maps have the same keys and that each value agrees to within 1e-9.
+     */
+    static void assertMapsClose(Map<String, Double> expected, Map<String, Double> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((key, value) -> assertEquals(value, actual.get(key), 1e-9, key));
+    }
+}
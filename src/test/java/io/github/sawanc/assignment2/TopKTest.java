@@ -0,0 +1,232 @@
+package io.github.sawanc.assignment2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TopK and the top-K queries of SalesAnalysisService.
+ *
+ * @author sawan chakraborty
+ */
+public class TopKTest {
+
+    private static final List<Integer> SCORES = new Random(11).ints(5_000, 0, 500).boxed().toList();
+
+    private List<SalesRecord> records;
+    private SalesTable table;
+    private SalesAnalysisService service;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        records = CSVReader.readSalesData("data/sales.csv");
+        table = SalesTable.fromRecords(records);
+        service = new SalesAnalysisService();
+    }
+
+    /**
+     * Tests that bounded selection matches a full sort, with ties ranked by insertion order.
+     */
+    @Test
+    public void testMatchesFullSort() {
+        TopK<Integer> whole = new TopK<>(25, Comparator.naturalOrder());
+        for (int i = 0; i < SCORES.size(); i++) {
+            whole.offer(i, SCORES.get(i));
+        }
+        List<Integer> expected = IntStream.range(0, SCORES.size()).boxed()
+                .sorted(Comparator.comparing((Integer i) -> SCORES.get(i)).reversed().thenComparing(i -> i))
+                .limit(25)
+                .toList();
+
+        assertEquals(expected, whole.getResults().stream().map(TopK.Entry::getValue).toList());
+    }
+
+    /**
+     * Tests that merging two halves equals selecting over the whole input.
+     */
+    @Test
+    public void testMerge() {
+        TopK<Integer> whole = new TopK<>(25, Comparator.naturalOrder());
+        TopK<Integer> left = new TopK<>(25, Comparator.naturalOrder());
+        TopK<Integer> right = new TopK<>(25, Comparator.naturalOrder());
+        for (int i = 0; i < SCORES.size(); i++) {
+            whole.offer(i, SCORES.get(i));
+            (i < 2_000 ? left : right).offer(i, SCORES.get(i));
+        }
+
+        assertEquals(whole.getResults(), left.merge(right).getResults());
+    }
+
+    /**
+     * Tests that fewer candidates than K are all returned, best first.
+     */
+    @Test
+    public void testFewerThanK() {
+        TopK<String> top = new TopK<>(10, Comparator.naturalOrder());
+        top.offer("a", 1.0);
+        top.offer("b", 2.0);
+
+        assertEquals(List.of(new TopK.Entry<>("b", 2.0), new TopK.Entry<>("a", 1.0)), top.getResults());
+        assertEquals(List.of(), new TopK<>(10, Comparator.<String>naturalOrder()).getResults());
+    }
+
+    /**
+     * Tests that map selection breaks ties by key.
+     */
+    @Test
+    public void testSelectBreaksTiesByKey() {
+        assertEquals(List.of(new TopK.Entry<>("b", 3.0), new TopK.Entry<>("a", 1.0)),
+                TopK.select(Map.of("a", 1.0, "b", 3.0, "c", 1.0), 2));
+    }
+
+    /**
+     * Tests that K must be positive.
+     */
+    @Test
+    public void testRejectsInvalidK() {
+        assertThrows(IllegalArgumentException.class, () -> new TopK<>(0, Comparator.<String>naturalOrder()));
+    }
+
+    /**
+     * Tests top products on the sample data against a grouped full sort.
+     */
+    @Test
+    public void testTopProducts() {
+        Map<String, Double> quantities = records.stream().collect(Collectors.groupingBy(SalesRecord::getProduct,
+                Collectors.summingDouble(SalesRecord::getQuantity)));
+        List<String> expected = quantities.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(5).map(Map.Entry::getKey).toList();
+
+        assertEquals(expected, names(service.getTopProducts(records, 5, SalesMetric.QUANTITY)));
+        assertEquals(expected, names(service.getTopProducts(table, 5, SalesMetric.QUANTITY)));
+    }
+
+    /**
+     * Tests that asking for more categories than exist returns all of them, best first.
+     */
+    @Test
+    public void testTopCategories() {
+        Map<String, Double> byCategory = service.getSalesByCategory(records);
+        List<TopK.Entry<String>> top = service.getTopCategories(records, 10, SalesMetric.REVENUE);
+
+        assertEquals(byCategory.size(), top.size());
+        assertEquals(byCategory.values().stream().max(Double::compare).orElseThrow(),
+                byCategory.get(top.get(0).getValue()));
+        assertEquals(names(top), names(service.getTopCategories(table, 10, SalesMetric.REVENUE)));
+    }
+
+    /**
+     * Tests that table and list region rankings agree.
+     */
+    @Test
+    public void testTopRegions() {
+        assertEquals(names(service.getTopRegions(records, 2, SalesMetric.REVENUE)),
+                names(service.getTopRegions(table, 2, SalesMetric.REVENUE)));
+    }
+
+    /**
+     * Tests the largest orders on the sample data against a full sort.
+     */
+    @Test
+    public void testLargestOrders() {
+        List<String> expected = records.stream()
+                .sorted(Comparator.comparingDouble(SalesRecord::getAmount).reversed().thenComparing(SalesRecord::getOrderId))
+                .limit(3).map(SalesRecord::getOrderId).toList();
+
+        assertEquals(expected, orderIds(service.getLargestOrders(records, 3)));
+        assertEquals(expected, orderIds(service.getLargestOrders(table, 3)));
+    }
+
+    /**
+     * Tests that the service rejects a null metric.
+     */
+    @Test
+    public void testRejectsNullMetric() {
+        assertThrows(IllegalArgumentException.class, () -> service.getTopRegions(records, 2, null));
+    }
+
+    /**
+     * Tests that the parallel service ranks identically across block boundaries.
+     */
+    @Test
+    public void testParallelRankings() {
+        Random random = new Random(5);
+        List<SalesRecord> records = IntStream.range(0, 40_000)
+                .mapToObj(i -> new SalesRecord("ORD-" + i, "P" + random.nextInt(300), "C" + random.nextInt(4),
+                        "R" + random.nextInt(6), random.nextInt(100_000) / 100.0, 1 + random.nextInt(9), "2025-01-01"))
+                .toList();
+        SalesAnalysisService sequential = new SalesAnalysisService();
+        SalesAnalysisService parallel = new ParallelSalesAnalysisService();
+
+        assertEquals(orderIds(sequential.getLargestOrders(records, 50)), orderIds(parallel.getLargestOrders(records, 50)));
+        assertEquals(names(sequential.getTopProducts(records, 20, SalesMetric.QUANTITY)),
+                names(parallel.getTopProducts(records, 20, SalesMetric.QUANTITY)));
+        assertEquals(names(sequential.getTopRegions(records, 3, SalesMetric.REVENUE)),
+                names(parallel.getTopRegions(records, 3, SalesMetric.REVENUE)));
+    }
+
+    /**
+     * Tests that table top-K totals are the same compensated sums as getSalesByCategory.
+     */
+    @Test
+    public void testTableTotalsMatchSalesByCategory() {
+        SalesTable table = SalesTable.fromRecords(List.of(
+                new SalesRecord("ORD-1", "P", "Big", "R", 1e16, 1, "2025-01-01"),
+                new SalesRecord("ORD-2", "P", "Big", "R", 1.0, 1, "2025-01-01"),
+                new SalesRecord("ORD-3", "P", "Big", "R", -1e16, 1, "2025-01-01"),
+                new SalesRecord("ORD-4", "P", "Small", "R", 0.5, 1, "2025-01-01")));
+        SalesAnalysisService service = new SalesAnalysisService();
+
+        List<TopK.Entry<String>> top = service.getTopCategories(table, 2, SalesMetric.REVENUE);
+
+        assertEquals(List.of(new TopK.Entry<>("Big", 1.0), new TopK.Entry<>("Small", 0.5)), top);
+        assertEquals(service.getSalesByCategory(table).get("Big"), top.get(0).getScore());
+    }
+
+    /**
+     * Tests that record-list top-K totals are compensated like the parallel service's.
+     */
+    @Test
+    public void testListTotalsAreCompensated() {
+        List<SalesRecord> records = IntStream.range(0, 10)
+                .mapToObj(i -> new SalesRecord("ORD-" + i, "Pen", "Office", "Europe", 0.1, 1, "2025-01-01"))
+                .toList();
+
+        List<TopK.Entry<String>> top = new SalesAnalysisService().getTopProducts(records, 1, SalesMetric.REVENUE);
+
+        assertEquals(1.0, top.get(0).getScore(), 0.0);
+        assertEquals(new ParallelSalesAnalysisService().getTopProducts(records, 1, SalesMetric.REVENUE), top);
+    }
+
+    /**
+     * Tests that equal amounts in a table are ranked by order id.
+     */
+    @Test
+    public void testTableLargestOrdersBreakTiesByOrderId() {
+        SalesTable table = SalesTable.fromRecords(List.of(
+                new SalesRecord("ORD-c", "P", "C", "R", 10.0, 1, "2025-01-01"),
+                new SalesRecord("ORD-a", "P", "C", "R", 10.0, 1, "2025-01-01"),
+                new SalesRecord("ORD-b", "P", "C", "R", 10.0, 1, "2025-01-01"),
+                new SalesRecord("ORD-d", "P", "C", "R", 5.0, 1, "2025-01-01")));
+
+        assertEquals(List.of("ORD-a", "ORD-b"), orderIds(new SalesAnalysisService().getLargestOrders(table, 2)));
+    }
+
+    private static List<String> names(List<TopK.Entry<String>> entries) {
+        return entries.stream().map(TopK.Entry::getValue).toList();
+    }
+
+    private static List<String> orderIds(List<SalesRecord> records) {
+        return records.stream().map(SalesRecord::getOrderId).toList();
+    }
+}